@@ -12,9 +12,12 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+import com.google.common.util.concurrent.RateLimiter;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
 import org.apache.commons.cli.DefaultParser;
@@ -30,6 +33,8 @@ import org.dspace.checker.HandleDispatcher;
 import org.dspace.checker.IteratorDispatcher;
 import org.dspace.checker.LimitedCountDispatcher;
 import org.dspace.checker.LimitedDurationDispatcher;
+import org.dspace.checker.ParallelCheckerCommand;
+import org.dspace.checker.ParallelDispatcher;
 import org.dspace.checker.ResultsLogger;
 import org.dspace.checker.ResultsPruner;
 import org.dspace.checker.SimpleDispatcher;
@@ -38,6 +43,8 @@ import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.content.service.BitstreamService;
 import org.dspace.core.Context;
 import org.dspace.core.Utils;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 
 /**
  * Command line access to the checksum checker. Options are listed in the
@@ -52,6 +59,9 @@ public final class ChecksumChecker {
 
     private static final BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
 
+    private static final ConfigurationService configurationService
+        = DSpaceServicesFactory.getInstance().getConfigurationService();
+
     /**
      * Blanked off constructor, this class should be used as a command line
      * tool.
@@ -79,6 +89,10 @@ public final class ChecksumChecker {
      * <dd>Report only errors in the logs</dd>
      * <dt>-p</dt>
      * <dd>Don't prune results before running checker</dd>
+     * <dt>-t [threads]</dt>
+     * <dd>check the bitstreams with several threads</dd>
+     * <dt>-m [bytes]</dt>
+     * <dd>maximum number of bytes checked per second</dd>
      * </dl>
      *
      * @param args the command line arguments given
@@ -100,6 +114,8 @@ public final class ChecksumChecker {
         options.addOption("c", "count", true, "Check count");
         options.addOption("a", "handle", true, "Specify a handle to check");
         options.addOption("v", "verbose", false, "Report all processing");
+        options.addOption("t", "threads", true, "Number of threads checking the bitstreams");
+        options.addOption("m", "max-bytes-per-second", true, "Maximum number of bytes checked per second");
 
         Option option;
 
@@ -151,14 +167,26 @@ public final class ChecksumChecker {
 
             Date processStart = Calendar.getInstance().getTime();
 
+            int threads = line.hasOption('t') ? Integer.parseInt(line.getOptionValue('t'))
+                : configurationService.getIntProperty("checker.threads", 1);
+            long maxBytesPerSecond = line.hasOption('m') ? Long.parseLong(line.getOptionValue('m'))
+                : configurationService.getLongProperty("checker.max-bytes-per-second", 0);
+            // the parallel checks skip the bitstreams being checked when dispatching the oldest ones
+            ParallelDispatcher parallelDispatcher = threads > 1
+                ? new ParallelDispatcher(context, processStart,
+                    !line.hasOption('l') && (line.hasOption('L') || line.hasOption('d')), threads * 2)
+                : null;
+
             BitstreamDispatcher dispatcher = null;
 
             // process should loop infinitely through
             // most_recent_checksum table
             if (line.hasOption('l')) {
-                dispatcher = new SimpleDispatcher(context, processStart, false);
+                dispatcher = parallelDispatcher != null ? parallelDispatcher
+                    : new SimpleDispatcher(context, processStart, false);
             } else if (line.hasOption('L')) {
-                dispatcher = new SimpleDispatcher(context, processStart, true);
+                dispatcher = parallelDispatcher != null ? parallelDispatcher
+                    : new SimpleDispatcher(context, processStart, true);
             } else if (line.hasOption('b')) {
                 // check only specified bitstream(s)
                 String[] ids = line.getOptionValues('b');
@@ -179,8 +207,8 @@ public final class ChecksumChecker {
             } else if (line.hasOption('d')) {
                 // run checker process for specified duration
                 try {
-                    dispatcher = new LimitedDurationDispatcher(
-                        new SimpleDispatcher(context, processStart, true), new Date(
+                    dispatcher = new LimitedDurationDispatcher(parallelDispatcher != null ? parallelDispatcher
+                        : new SimpleDispatcher(context, processStart, true), new Date(
                         System.currentTimeMillis()
                             + Utils.parseDuration(line
                                                       .getOptionValue('d'))));
@@ -193,24 +221,39 @@ public final class ChecksumChecker {
                 int count = Integer.valueOf(line.getOptionValue('c'));
 
                 // run checker process for specified number of bitstreams
-                dispatcher = new LimitedCountDispatcher(new SimpleDispatcher(
-                    context, processStart, false), count);
+                dispatcher = new LimitedCountDispatcher(parallelDispatcher != null ? parallelDispatcher
+                    : new SimpleDispatcher(context, processStart, false), count);
             } else {
-                dispatcher = new LimitedCountDispatcher(new SimpleDispatcher(
-                    context, processStart, false), 1);
+                dispatcher = new LimitedCountDispatcher(parallelDispatcher != null ? parallelDispatcher
+                    : new SimpleDispatcher(context, processStart, false), 1);
             }
 
             ResultsLogger logger = new ResultsLogger(processStart);
-            CheckerCommand checker = new CheckerCommand(context);
-            // verbose reporting
-            if (line.hasOption('v')) {
-                checker.setReportVerbose(true);
-            }
+            RateLimiter rateLimiter = maxBytesPerSecond > 0 ? RateLimiter.create(maxBytesPerSecond) : null;
+            if (threads > 1) {
+                ParallelCheckerCommand checker = new ParallelCheckerCommand(context, threads);
+                checker.setReportVerbose(line.hasOption('v'));
+                checker.setProcessStartDate(processStart);
+                checker.setDispatcher(dispatcher);
+                checker.setParallelDispatcher(parallelDispatcher);
+                checker.setCollector(logger);
+                checker.setRateLimiter(rateLimiter);
+                checker.setStoreThreads(getStoreThreads());
+                checker.process();
+                checker.getSummary().forEach(System.out::println);
+            } else {
+                CheckerCommand checker = new CheckerCommand(context);
+                // verbose reporting
+                if (line.hasOption('v')) {
+                    checker.setReportVerbose(true);
+                }
 
-            checker.setProcessStartDate(processStart);
-            checker.setDispatcher(dispatcher);
-            checker.setCollector(logger);
-            checker.process();
+                checker.setProcessStartDate(processStart);
+                checker.setDispatcher(dispatcher);
+                checker.setCollector(logger);
+                checker.setRateLimiter(rateLimiter);
+                checker.process();
+            }
             context.complete();
             context = null;
         } finally {
@@ -220,6 +263,27 @@ public final class ChecksumChecker {
         }
     }
 
+    /**
+     * Read the maximum number of threads checking the bitstreams of each store
+     * from the checker.store.&lt;store number&gt;.threads properties.
+     *
+     * @return the maximum number of threads by store number
+     */
+    private static Map<Integer, Integer> getStoreThreads() {
+        Map<Integer, Integer> storeThreads = new HashMap<>();
+        for (String key : configurationService.getPropertyKeys("checker.store.")) {
+            String[] parts = key.split("\\.");
+            if (parts.length == 4 && "threads".equals(parts[3])) {
+                try {
+                    storeThreads.put(Integer.valueOf(parts[2]), configurationService.getIntProperty(key));
+                } catch (NumberFormatException e) {
+                    LOG.warn("Ignoring " + key + ", " + parts[2] + " is not a store number");
+                }
+            }
+        }
+        return storeThreads;
+    }
+
     /**
      * Print the help options for the user
      *
@@ -239,6 +303,8 @@ public final class ChecksumChecker {
         System.out.println("\nLoop continuously through all bitstreams: ChecksumChecker -L");
         System.out.println("\nCheck a defined number of bitstreams: ChecksumChecker -c 10");
         System.out.println("\nReport all processing (verbose)(default reports only errors): ChecksumChecker -v");
+        System.out.println("\nCheck all bitstreams once with 8 threads, reading at most 50 MB per second: "
+                               + "ChecksumChecker -l -t 8 -m 52428800");
         System.out.println("\nDefault (no arguments) is equivalent to '-c 1'");
         System.exit(0);
     }
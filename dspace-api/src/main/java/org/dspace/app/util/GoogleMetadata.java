@@ -23,12 +23,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.UUID;
 
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ListMultimap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.factory.AuthorizeServiceFactory;
+import org.dspace.authorize.service.AnonymousReadStateService;
 import org.dspace.content.Bitstream;
 import org.dspace.content.Bundle;
 import org.dspace.content.Item;
@@ -137,6 +139,11 @@ public class GoogleMetadata {
     private final ConfigurationService configurationService
             = DSpaceServicesFactory.getInstance().getConfigurationService();
 
+    private final AnonymousReadStateService anonymousReadStateService
+            = AuthorizeServiceFactory.getInstance().getAnonymousReadStateService();
+
+    private Context context;
+
     /**
      * Load configured fields from google-metadata.properties.
      */
@@ -220,6 +227,7 @@ public class GoogleMetadata {
         }
 
         // Hold onto the item in case we need to refresh a stale parse
+        this.context = context;
         this.item = item;
         this.itemService = ContentServiceFactory.getInstance().getItemService();
         itemURL = HandleServiceFactory.getInstance().getHandleService().resolveToURL(context, item.getHandle());
@@ -942,16 +950,17 @@ public class GoogleMetadata {
         for (Bundle bundle : contentBundles) {
             List<Bitstream> bitstreams = bundle.getBitstreams();
             Collections.sort(bitstreams, googleBitstreamComparator);
+            Map<UUID, Boolean> publicBitstreams = arePublic(bitstreams);
 
             for (Bitstream candidate : bitstreams) {
+                boolean isPublic = Boolean.TRUE.equals(publicBitstreams.get(candidate.getID()));
                 if (candidate.equals(bundle.getPrimaryBitstream())) { // is primary -> use this one
-                    if (isPublic(candidate)) {
+                    if (isPublic) {
                         return candidate;
                     }
                 } else {
-                    if (bestSoFar == null && isPublic(
-                        candidate)) { //if bestSoFar is null but the candidate is not public you don't use it and try
-                        // to find another
+                    if (bestSoFar == null && isPublic) { //if bestSoFar is null but the candidate is not public you
+                        // don't use it and try to find another
                         bestSoFar = candidate;
                     }
                 }
@@ -961,6 +970,21 @@ public class GoogleMetadata {
         return bestSoFar;
     }
 
+    /**
+     * Find out which bitstreams of a bundle are readable by the public, reading their anonymous READ states at once.
+     *
+     * @param bitstreams the bitstreams of a bundle
+     * @return whether each bitstream is readable by the Anonymous group, by bitstream id
+     */
+    protected Map<UUID, Boolean> arePublic(List<Bitstream> bitstreams) {
+        try {
+            return anonymousReadStateService.isAnonymousReadable(context, bitstreams);
+        } catch (SQLException e) {
+            log.error("Cannot determine whether the bitstreams are public, assuming they aren't.", e);
+            return Map.of();
+        }
+    }
+
     /**
      * Find out whether bitstream is readable by the public.
      *
@@ -972,11 +996,8 @@ public class GoogleMetadata {
             return false;
         }
         boolean result = false;
-        Context context = null;
         try {
-            context = new Context();
-            result = AuthorizeServiceFactory.getInstance().getAuthorizeService()
-                                            .authorizeActionBoolean(context, bitstream, Constants.READ, true);
+            result = anonymousReadStateService.isAnonymousReadable(context, bitstream);
         } catch (SQLException e) {
             log.error(
                 "Cannot determine whether bitstream is public, assuming it isn't. bitstream_id=" + bitstream.getID(),
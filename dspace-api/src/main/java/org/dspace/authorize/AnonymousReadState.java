@@ -0,0 +1,118 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import java.util.Date;
+import java.util.UUID;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+import org.dspace.authorize.service.AnonymousReadStateService;
+import org.dspace.content.DSpaceObject;
+import org.dspace.core.Context;
+import org.dspace.core.ReloadableEntity;
+
+/**
+ * Entity that models the materialized anonymous READ state of an object:
+ * whether the anonymous users can read it, and the date of the next start or
+ * end of one of its READ policies, after which the state must be computed
+ * again. A state without last update date was invalidated, e.g. by a change
+ * of the groups, and must be computed again too. The record is deleted with
+ * its object.
+ */
+@Entity
+@Table(name = "anonymous_read_state")
+public class AnonymousReadState implements ReloadableEntity<UUID> {
+
+    @Id
+    @Column(name = "dspace_object_id")
+    private UUID dspaceObjectId;
+
+    /**
+     * The type of the object, from <code>org.dspace.core.Constants</code>
+     */
+    @Column(name = "resource_type_id", nullable = false)
+    private Integer resourceTypeId;
+
+    @Column(name = "readable", nullable = false)
+    private boolean readable;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "next_transition")
+    private Date nextTransition;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "last_updated")
+    private Date lastUpdated;
+
+    /**
+     * Protected constructor, create object using:
+     * {@link AnonymousReadStateService#update(Context, DSpaceObject)}
+     */
+    protected AnonymousReadState() {
+
+    }
+
+    @Override
+    public UUID getID() {
+        return dspaceObjectId;
+    }
+
+    public void setDSpaceObjectId(UUID dspaceObjectId) {
+        this.dspaceObjectId = dspaceObjectId;
+    }
+
+    public Integer getResourceTypeId() {
+        return resourceTypeId;
+    }
+
+    public void setResourceTypeId(Integer resourceTypeId) {
+        this.resourceTypeId = resourceTypeId;
+    }
+
+    public boolean isReadable() {
+        return readable;
+    }
+
+    public void setReadable(boolean readable) {
+        this.readable = readable;
+    }
+
+    public Date getNextTransition() {
+        return nextTransition;
+    }
+
+    public void setNextTransition(Date nextTransition) {
+        this.nextTransition = nextTransition;
+    }
+
+    public Date getLastUpdated() {
+        return lastUpdated;
+    }
+
+    public void setLastUpdated(Date lastUpdated) {
+        this.lastUpdated = lastUpdated;
+    }
+
+    /**
+     * @param  date         the date to check
+     * @param  updatedAfter the date before which the states are too old to be
+     *                      trusted
+     * @return              whether the state is still valid at the given date,
+     *                      i.e. it was computed after the given update date and
+     *                      no READ policy of the object started or ended since
+     */
+    public boolean isValidAt(Date date, Date updatedAfter) {
+        return lastUpdated != null && lastUpdated.after(updatedAfter)
+            && (nextTransition == null || nextTransition.after(date));
+    }
+}
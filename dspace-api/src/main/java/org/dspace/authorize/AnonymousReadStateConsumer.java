@@ -0,0 +1,137 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.authorize.service.AnonymousReadStateService;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Bundle;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamService;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.event.Consumer;
+import org.dspace.event.Event;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * Consumer updating the anonymous READ states of the items and bitstreams that changed, in the transaction being
+ * committed. The changes of the policies are notified by the MODIFY events fired when they update the last modified
+ * date of their object. The states of the bitstreams of an item are also updated when it is installed or when its
+ * bundles change, as the custom policies of the bitstreams only apply to the bitstreams of the installed items.
+ * The states of the deleted objects are deleted by the database.
+ * <p>
+ * A subgroup added to or removed from a group, or a deleted group, can change the readability of any object: all
+ * the states are then invalidated, until the anonymous-read-state script computes them again. When the states are
+ * disabled, the states of the objects that changed are invalidated instead of being updated, so that the states
+ * stored before are not trusted when they are enabled again.
+ */
+public class AnonymousReadStateConsumer implements Consumer {
+
+    private AnonymousReadStateService anonymousReadStateService = DSpaceServicesFactory.getInstance()
+        .getServiceManager().getServicesByType(AnonymousReadStateService.class).get(0);
+
+    private ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+
+    private BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
+
+    private final Set<UUID> itemIds = new LinkedHashSet<>();
+
+    private final Set<UUID> itemWithBitstreamsIds = new HashSet<>();
+
+    private final Set<UUID> bitstreamIds = new LinkedHashSet<>();
+
+    private boolean groupsChanged = false;
+
+    @Override
+    public void initialize() throws Exception {
+
+    }
+
+    @Override
+    public void consume(Context ctx, Event event) throws Exception {
+        switch (event.getSubjectType()) {
+            case Constants.ITEM:
+                itemIds.add(event.getSubjectID());
+                if (event.getEventType() != Event.MODIFY) {
+                    itemWithBitstreamsIds.add(event.getSubjectID());
+                }
+                break;
+            case Constants.BUNDLE:
+                if (event.getObjectType() == Constants.BITSTREAM) {
+                    bitstreamIds.add(event.getObjectID());
+                }
+                break;
+            case Constants.BITSTREAM:
+                bitstreamIds.add(event.getSubjectID());
+                break;
+            case Constants.GROUP:
+                if (event.getEventType() == Event.DELETE || event.getObjectType() == Constants.GROUP) {
+                    groupsChanged = true;
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void end(Context ctx) throws Exception {
+        try {
+            boolean enabled = anonymousReadStateService.isEnabled();
+            if (groupsChanged) {
+                anonymousReadStateService.invalidateAll(ctx);
+            }
+            for (UUID itemId : itemIds) {
+                Item item = itemService.find(ctx, itemId);
+                if (item == null) {
+                    continue;
+                }
+                if (enabled) {
+                    anonymousReadStateService.update(ctx, item);
+                }
+                if (itemWithBitstreamsIds.contains(itemId)) {
+                    for (Bundle bundle : item.getBundles()) {
+                        for (Bitstream bitstream : bundle.getBitstreams()) {
+                            bitstreamIds.add(bitstream.getID());
+                        }
+                    }
+                }
+            }
+            if (!enabled) {
+                Set<UUID> changedIds = new HashSet<>(itemIds);
+                changedIds.addAll(bitstreamIds);
+                anonymousReadStateService.invalidate(ctx, changedIds);
+                return;
+            }
+            for (UUID bitstreamId : bitstreamIds) {
+                Bitstream bitstream = bitstreamService.find(ctx, bitstreamId);
+                if (bitstream != null && !bitstream.isDeleted()) {
+                    anonymousReadStateService.update(ctx, bitstream);
+                }
+            }
+        } finally {
+            itemIds.clear();
+            itemWithBitstreamsIds.clear();
+            bitstreamIds.clear();
+            groupsChanged = false;
+        }
+    }
+
+    @Override
+    public void finish(Context ctx) throws Exception {
+
+    }
+
+}
@@ -0,0 +1,173 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.dspace.authorize.dao.AnonymousReadStateDAO;
+import org.dspace.authorize.service.AnonymousReadStateService;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.content.DSpaceObject;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Implementation of {@link AnonymousReadStateService}.
+ */
+public class AnonymousReadStateServiceImpl implements AnonymousReadStateService {
+
+    @Autowired
+    private AnonymousReadStateDAO anonymousReadStateDAO;
+
+    @Autowired
+    private AuthorizeService authorizeService;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Override
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("authorization.anonymous-read-state.enabled", false);
+    }
+
+    @Override
+    public boolean isAnonymousReadable(Context context, DSpaceObject dso) throws SQLException {
+        if (dso == null) {
+            return false;
+        }
+        if (isEnabled()) {
+            Date now = new Date();
+            AnonymousReadState state = anonymousReadStateDAO.findByID(context, AnonymousReadState.class, dso.getID());
+            if (state != null && state.isValidAt(now, getUpdatedAfter(now))) {
+                return state.isReadable();
+            }
+        }
+        return authorizeService.authorizeAnonymousActionBoolean(context, dso, Constants.READ);
+    }
+
+    @Override
+    public Map<UUID, Boolean> isAnonymousReadable(Context context, List<? extends DSpaceObject> dsos)
+        throws SQLException {
+        Map<UUID, DSpaceObject> toCheck = new LinkedHashMap<>();
+        for (DSpaceObject dso : dsos) {
+            if (dso != null) {
+                toCheck.put(dso.getID(), dso);
+            }
+        }
+        Map<UUID, Boolean> results = new HashMap<>();
+        if (toCheck.isEmpty()) {
+            return results;
+        }
+        if (isEnabled()) {
+            Date now = new Date();
+            Date updatedAfter = getUpdatedAfter(now);
+            for (AnonymousReadState state : anonymousReadStateDAO.findByDSpaceObjectIds(context, toCheck.keySet())) {
+                if (state.isValidAt(now, updatedAfter)) {
+                    results.put(state.getID(), state.isReadable());
+                }
+            }
+        }
+        for (DSpaceObject dso : toCheck.values()) {
+            if (!results.containsKey(dso.getID())) {
+                results.put(dso.getID(),
+                    authorizeService.authorizeAnonymousActionBoolean(context, dso, Constants.READ));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public AnonymousReadState find(Context context, DSpaceObject dso) throws SQLException {
+        return anonymousReadStateDAO.findByID(context, AnonymousReadState.class, dso.getID());
+    }
+
+    @Override
+    public boolean update(Context context, DSpaceObject dso) throws SQLException {
+        Date now = new Date();
+        boolean readable = authorizeService.authorizeAnonymousActionBoolean(context, dso, Constants.READ);
+        AnonymousReadState state = anonymousReadStateDAO.findByID(context, AnonymousReadState.class, dso.getID());
+        boolean changed = state != null && state.isReadable() != readable;
+        boolean created = state == null;
+        if (created) {
+            state = new AnonymousReadState();
+            state.setDSpaceObjectId(dso.getID());
+            state.setResourceTypeId(dso.getType());
+        }
+        state.setReadable(readable);
+        state.setNextTransition(getNextTransition(context, dso, now));
+        state.setLastUpdated(now);
+        if (created) {
+            anonymousReadStateDAO.create(context, state);
+        } else {
+            anonymousReadStateDAO.save(context, state);
+        }
+        return changed;
+    }
+
+    @Override
+    public void invalidate(Context context, Collection<UUID> dspaceObjectIds) throws SQLException {
+        if (!dspaceObjectIds.isEmpty()) {
+            anonymousReadStateDAO.invalidate(context, dspaceObjectIds);
+        }
+    }
+
+    @Override
+    public void invalidateAll(Context context) throws SQLException {
+        anonymousReadStateDAO.invalidateAll(context);
+    }
+
+    @Override
+    public List<AnonymousReadState> findExpired(Context context, int limit) throws SQLException {
+        Date now = new Date();
+        return anonymousReadStateDAO.findExpired(context, now, getUpdatedAfter(now), limit);
+    }
+
+    @Override
+    public void delete(Context context, AnonymousReadState state) throws SQLException {
+        anonymousReadStateDAO.delete(context, state);
+    }
+
+    /**
+     * Get the date before which the states are too old to be trusted, as the
+     * changes made while the states were not maintained, or by the means which
+     * fire no event, are not noticed otherwise.
+     */
+    private Date getUpdatedAfter(Date now) {
+        long maxAge = configurationService.getLongProperty("authorization.anonymous-read-state.max-age", 604800);
+        return new Date(now.getTime() - maxAge * 1000);
+    }
+
+    /**
+     * Get the first date after now on which a READ policy of the object starts
+     * or ends. All the READ policies are considered, whatever their group:
+     * a few useless updates cost less than checking whether each group
+     * contains the anonymous group.
+     */
+    private Date getNextTransition(Context context, DSpaceObject dso, Date now) throws SQLException {
+        Date nextTransition = null;
+        for (ResourcePolicy rp : authorizeService.getPoliciesActionFilter(context, dso, Constants.READ)) {
+            // a policy is still valid on its end date, it ends just after it
+            Date endDate = rp.getEndDate() != null ? new Date(rp.getEndDate().getTime() + 1) : null;
+            for (Date date : new Date[] { rp.getStartDate(), endDate }) {
+                if (date != null && date.after(now) && (nextTransition == null || date.before(nextTransition))) {
+                    nextTransition = date;
+                }
+            }
+        }
+        return nextTransition;
+    }
+}
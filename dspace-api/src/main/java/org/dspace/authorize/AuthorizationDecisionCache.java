@@ -0,0 +1,289 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Bundle;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+import org.dspace.core.Context;
+import org.dspace.eperson.EPerson;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Bounded JVM-wide cache of the decisions of {@link AuthorizeServiceImpl}, shared by all the contexts, so that the
+ * same policies and group memberships are not checked again for each request (e.g. the READ of the same items and
+ * bitstreams by the anonymous users).
+ * <p>
+ * The decisions are keyed by the object, the action, the inheritance flag, the eperson and the special groups of the
+ * context. They expire after <code>authorization.cache.ttl</code> seconds, or before when one of the policies of the
+ * object starts or ends. They are invalidated by the {@link AuthorizationDecisionCacheConsumer} and the
+ * {@link ResourcePolicyServiceImpl} once the changes of the objects, of their policies and of the groups are
+ * committed, and are not used by the contexts having uncommitted changes: events or policy changes, which don't
+ * always fire an event.
+ */
+public class AuthorizationDecisionCache {
+
+    private static final Logger log = LogManager.getLogger(AuthorizationDecisionCache.class);
+
+    /**
+     * Number of lookups between two logs of the hit ratio
+     */
+    private static final int STATISTICS_LOG_INTERVAL = 10000;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    /**
+     * The cached decisions, the least recently used first
+     */
+    private final LinkedHashMap<String, Decision> decisions = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The keys of the cached decisions which depend on each object
+     */
+    private final Map<UUID, Set<String>> keysByObject = new HashMap<>();
+
+    /**
+     * Incremented by each invalidation, so that the decisions computed before it are not cached
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("authorization.cache.enabled", false);
+    }
+
+    /**
+     * Build the key of an authorization decision.
+     *
+     * @param context        the current context
+     * @param dso            the object the action is attempted on
+     * @param action         the action
+     * @param eperson        the eperson attempting the action, null for anonymous
+     * @param useInheritance whether the ADMIN policies of the parent objects are considered
+     * @return the key, or null if the cache is disabled or must not be used by this context
+     */
+    public Key getKey(Context context, DSpaceObject dso, int action, EPerson eperson, boolean useInheritance) {
+        if (!isEnabled() || context.hasEvents() || context.isAuthorizationChanged() || dso.getID() == null) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder();
+        key.append(dso.getID()).append('|').append(action).append('|').append(useInheritance).append('|')
+           .append(eperson != null ? eperson.getID() : "anonymous");
+        // the special groups are only considered by GroupService.isMember for the current user
+        if (Objects.equals(eperson, context.getCurrentUser())) {
+            for (UUID specialGroup : new TreeSet<>(context.getSpecialGroupUuids())) {
+                key.append('|').append(specialGroup);
+            }
+        }
+        return new Key(key.toString(), generation.get());
+    }
+
+    /**
+     * @param key the key of the decision
+     * @return the cached decision, or null if it is not cached or expired
+     */
+    public Boolean get(Key key) {
+        Decision decision;
+        synchronized (decisions) {
+            decision = decisions.get(key.value);
+        }
+        if (decision == null || decision.expiration < System.currentTimeMillis()) {
+            countLookup(misses);
+            return null;
+        }
+        countLookup(hits);
+        return decision.result;
+    }
+
+    /**
+     * Cache a decision, unless the cache was invalidated since its key was built.
+     *
+     * @param key      the key of the decision
+     * @param dso      the object the action was attempted on
+     * @param policies the policies of the object which were checked, to expire the decision when one of them starts
+     *                 or ends, may be null
+     * @param result   the decision
+     */
+    public void put(Key key, DSpaceObject dso, List<ResourcePolicy> policies, boolean result) {
+        long now = System.currentTimeMillis();
+        long expiration = now + configurationService.getLongProperty("authorization.cache.ttl", 300) * 1000;
+        if (policies != null) {
+            for (ResourcePolicy policy : policies) {
+                expiration = getEarliestFutureDate(expiration, now, policy.getStartDate());
+                expiration = getEarliestFutureDate(expiration, now, policy.getEndDate());
+            }
+        }
+        Set<UUID> objects = getDependencies(dso);
+        int maxSize = configurationService.getIntProperty("authorization.cache.max-size", 10000);
+        synchronized (decisions) {
+            if (key.generation != generation.get()) {
+                return;
+            }
+            Decision previous = decisions.put(key.value, new Decision(result, expiration, objects));
+            if (previous != null) {
+                unindex(key.value, previous);
+            }
+            for (UUID object : objects) {
+                keysByObject.computeIfAbsent(object, id -> new HashSet<>()).add(key.value);
+            }
+            Iterator<Map.Entry<String, Decision>> oldestFirst = decisions.entrySet().iterator();
+            while (decisions.size() > maxSize && oldestFirst.hasNext()) {
+                Map.Entry<String, Decision> eldest = oldestFirst.next();
+                oldestFirst.remove();
+                unindex(eldest.getKey(), eldest.getValue());
+            }
+        }
+    }
+
+    /**
+     * Invalidate the decisions which depend on an object.
+     *
+     * @param id the id of the object
+     */
+    public void invalidate(UUID id) {
+        if (id == null) {
+            return;
+        }
+        synchronized (decisions) {
+            generation.incrementAndGet();
+            Set<String> keys = keysByObject.remove(id);
+            if (keys == null) {
+                return;
+            }
+            for (String key : keys) {
+                Decision decision = decisions.remove(key);
+                if (decision != null) {
+                    unindex(key, decision);
+                }
+            }
+        }
+    }
+
+    /**
+     * Invalidate all the cached decisions, e.g. when the members of a group change.
+     */
+    public void invalidateAll() {
+        synchronized (decisions) {
+            generation.incrementAndGet();
+            decisions.clear();
+            keysByObject.clear();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int getSize() {
+        synchronized (decisions) {
+            return decisions.size();
+        }
+    }
+
+    /**
+     * @return the object and the objects whose changes alter the decisions on it: the items of a bundle or of a
+     *         bitstream, whose installation enables their custom policies
+     */
+    private Set<UUID> getDependencies(DSpaceObject dso) {
+        Set<UUID> objects = new HashSet<>();
+        objects.add(dso.getID());
+        List<Bundle> bundles = new ArrayList<>();
+        if (dso instanceof Bitstream) {
+            bundles.addAll(((Bitstream) dso).getBundles());
+        } else if (dso instanceof Bundle) {
+            bundles.add((Bundle) dso);
+        }
+        for (Bundle bundle : bundles) {
+            objects.add(bundle.getID());
+            for (Item item : bundle.getItems()) {
+                objects.add(item.getID());
+            }
+        }
+        return objects;
+    }
+
+    private long getEarliestFutureDate(long expiration, long now, Date date) {
+        if (date != null && date.getTime() > now && date.getTime() < expiration) {
+            return date.getTime();
+        }
+        return expiration;
+    }
+
+    private void unindex(String key, Decision decision) {
+        for (UUID object : decision.objects) {
+            Set<String> keys = keysByObject.get(object);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysByObject.remove(object);
+                }
+            }
+        }
+    }
+
+    private void countLookup(AtomicLong counter) {
+        counter.incrementAndGet();
+        long lookups = hits.get() + misses.get();
+        if (lookups % STATISTICS_LOG_INTERVAL == 0) {
+            log.info("Authorization decision cache: {} hits, {} misses, {} decisions", hits.get(), misses.get(),
+                     getSize());
+        }
+    }
+
+    /**
+     * The key of a decision, with the generation of the cache when it was built.
+     */
+    public static class Key {
+        private final String value;
+        private final long generation;
+
+        Key(String value, long generation) {
+            this.value = value;
+            this.generation = generation;
+        }
+    }
+
+    private static class Decision {
+        private final boolean result;
+        private final long expiration;
+        private final Set<UUID> objects;
+
+        Decision(boolean result, long expiration, Set<UUID> objects) {
+            this.result = result;
+            this.expiration = expiration;
+            this.objects = objects;
+        }
+    }
+
+}
@@ -0,0 +1,104 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.event.Consumer;
+import org.dspace.event.Event;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * Consumer invalidating the {@link AuthorizationDecisionCache} when the objects, their policies and the groups
+ * change. The changes of the policies are notified by the MODIFY events fired when they update the last modified
+ * date of their object, and are also invalidated by {@link ResourcePolicyServiceImpl} for the objects, like the
+ * bundles, which fire no event.
+ * <p>
+ * The events are dispatched before the transaction is committed: the decisions are invalidated once it is
+ * committed, so that the decisions computed in the meantime by the other contexts from the previous state of the
+ * database are not kept.
+ */
+public class AuthorizationDecisionCacheConsumer implements Consumer {
+
+    private AuthorizationDecisionCache authorizationDecisionCache = DSpaceServicesFactory.getInstance()
+        .getServiceManager().getServicesByType(AuthorizationDecisionCache.class).get(0);
+
+    /**
+     * The objects whose decisions are invalidated when the transaction is committed
+     */
+    private Set<UUID> objectsToInvalidate = new HashSet<>();
+
+    /**
+     * Whether all the decisions are invalidated when the transaction is committed
+     */
+    private boolean invalidateAll = false;
+
+    @Override
+    public void initialize() throws Exception {
+
+    }
+
+    @Override
+    public void consume(Context ctx, Event event) throws Exception {
+        if (!authorizationDecisionCache.isEnabled()) {
+            return;
+        }
+        switch (event.getSubjectType()) {
+            case Constants.ITEM:
+            case Constants.BUNDLE:
+            case Constants.BITSTREAM:
+                addObjectsToInvalidate(event);
+                break;
+            case Constants.COLLECTION:
+            case Constants.COMMUNITY:
+                if (event.getEventType() == Event.ADD || event.getEventType() == Event.REMOVE) {
+                    // the items and sub-collections moved in or out inherit other ADMIN policies
+                    addObjectsToInvalidate(event);
+                } else {
+                    // the ADMIN policies of the collections and communities are inherited by their content
+                    invalidateAll = true;
+                }
+                break;
+            default:
+                // the members of a group or the groups of an eperson changed
+                invalidateAll = true;
+                break;
+        }
+    }
+
+    @Override
+    public void end(Context ctx) throws Exception {
+        if (invalidateAll) {
+            ctx.afterCommit(authorizationDecisionCache::invalidateAll);
+        } else if (!objectsToInvalidate.isEmpty()) {
+            Set<UUID> objects = objectsToInvalidate;
+            ctx.afterCommit(() -> objects.forEach(authorizationDecisionCache::invalidate));
+        }
+        objectsToInvalidate = new HashSet<>();
+        invalidateAll = false;
+    }
+
+    @Override
+    public void finish(Context ctx) throws Exception {
+
+    }
+
+    private void addObjectsToInvalidate(Event event) {
+        if (event.getSubjectID() != null) {
+            objectsToInvalidate.add(event.getSubjectID());
+        }
+        if (event.getObjectID() != null) {
+            objectsToInvalidate.add(event.getObjectID());
+        }
+    }
+
+}
@@ -14,7 +14,11 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -89,6 +93,8 @@ public class AuthorizeServiceImpl implements AuthorizeService {
     private SearchService searchService;
     @Autowired(required = true)
     private List<RelationshipAuthorizer> relationshipAuthorizers;
+    @Autowired(required = true)
+    private AuthorizationDecisionCache authorizationDecisionCache;
 
 
     protected AuthorizeServiceImpl() {
@@ -241,6 +247,27 @@ public class AuthorizeServiceImpl implements AuthorizeService {
      */
     protected boolean authorize(Context c, DSpaceObject o, int action, EPerson e, boolean useInheritance)
         throws SQLException {
+        return authorize(c, o, action, e, useInheritance, null);
+    }
+
+    /**
+     * Check to see if the given user can perform the given action on the given
+     * object, using the given policies of the object if they were already read.
+     *
+     * @param c              current context
+     * @param o              object action is being attempted on
+     * @param action         ID of action being attempted, from
+     *                       <code>org.dspace.core.Constants</code>
+     * @param e              user attempting action
+     * @param useInheritance flag to say if ADMIN action on the current object or parent
+     *                       object can be used
+     * @param actionPolicies the policies of the object matching the action, null to read them
+     * @return <code>true</code> if user is authorized to perform the given
+     * action, <code>false</code> otherwise
+     * @throws SQLException if database error
+     */
+    protected boolean authorize(Context c, DSpaceObject o, int action, EPerson e, boolean useInheritance,
+                                List<ResourcePolicy> actionPolicies) throws SQLException {
         // return FALSE if there is no DSpaceObject
         if (o == null) {
             return false;
@@ -257,6 +284,14 @@ public class AuthorizeServiceImpl implements AuthorizeService {
             return cachedResult;
         }
 
+        // If the decision was taken by another context and is still valid
+        AuthorizationDecisionCache.Key sharedKey = authorizationDecisionCache.getKey(c, o, action, e, useInheritance);
+        Boolean sharedResult = sharedKey != null ? authorizationDecisionCache.get(sharedKey) : null;
+        if (sharedResult != null) {
+            c.cacheAuthorizedAction(o, action, e, useInheritance, sharedResult, null);
+            return sharedResult;
+        }
+
         // is eperson set? if not, userToCheck = null (anonymous)
         EPerson userToCheck = null;
         if (e != null) {
@@ -274,39 +309,16 @@ public class AuthorizeServiceImpl implements AuthorizeService {
 
             if (isAdmin(c, e, adminObject)) {
                 c.cacheAuthorizedAction(o, action, e, useInheritance, true, null);
+                cacheSharedDecision(sharedKey, o, null, true);
                 return true;
             }
         }
 
-        // In case the dso is an bundle or bitstream we must ignore custom
-        // policies if it does not belong to at least one installed item (see
-        // DS-2614).
-        // In case the dso is an item and a corresponding workspace or workflow
-        // item exist, we have to ignore custom policies (see DS-2614).
-        boolean ignoreCustomPolicies = false;
-        if (o instanceof Bitstream) {
-            Bitstream b = (Bitstream) o;
-
-            // Ensure that this is not a collection or community logo
-            DSpaceObject parent = bitstreamService.getParentObject(c, b);
-            if (!(parent instanceof Collection) && !(parent instanceof Community)) {
-                ignoreCustomPolicies = !isAnyItemInstalled(c, b.getBundles());
-            }
-        }
-        if (o instanceof Bundle) {
-            ignoreCustomPolicies = !isAnyItemInstalled(c, Arrays.asList(((Bundle) o)));
-        }
-        if (o instanceof Item) {
-            // the isArchived check is fast and would exclude the possibility that the item
-            // is a workspace or workflow without further queries
-            if (!((Item) o).isArchived() &&
-                    (workspaceItemService.findByItem(c, (Item) o) != null ||
-                    workflowItemService.findByItem(c, (Item) o) != null)) {
-                ignoreCustomPolicies = true;
-            }
-        }
+        boolean ignoreCustomPolicies = isIgnoringCustomPolicies(c, o);
 
-        for (ResourcePolicy rp : getPoliciesActionFilter(c, o, action)) {
+        List<ResourcePolicy> policies = actionPolicies != null ? actionPolicies
+            : getPoliciesActionFilter(c, o, action);
+        for (ResourcePolicy rp : policies) {
 
             if (ignoreCustomPolicies
                 && ResourcePolicy.TYPE_CUSTOM.equals(rp.getRpType())) {
@@ -322,6 +334,7 @@ public class AuthorizeServiceImpl implements AuthorizeService {
             if (resourcePolicyService.isDateValid(rp)) {
                 if (rp.getEPerson() != null && rp.getEPerson().equals(userToCheck)) {
                     c.cacheAuthorizedAction(o, action, e, useInheritance, true, rp);
+                    cacheSharedDecision(sharedKey, o, policies, true);
                     return true; // match
                 }
 
@@ -330,6 +343,7 @@ public class AuthorizeServiceImpl implements AuthorizeService {
                     // group was set, and eperson is a member
                     // of that group
                     c.cacheAuthorizedAction(o, action, e, useInheritance, true, rp);
+                    cacheSharedDecision(sharedKey, o, policies, true);
                     return true;
                 }
             }
@@ -348,11 +362,125 @@ public class AuthorizeServiceImpl implements AuthorizeService {
 
             if (isAdmin(c, e, adminObject)) {
                 c.cacheAuthorizedAction(o, action, e, true, null);
+                cacheSharedDecision(sharedKey, o, policies, true);
                 return true;
             }
         }
         // default authorization is denial
         c.cacheAuthorizedAction(o, action, e, useInheritance, false, null);
+        cacheSharedDecision(sharedKey, o, policies, false);
+        return false;
+    }
+
+    /**
+     * Share a decision with the other contexts, if the shared authorization cache can be used by the current one.
+     */
+    private void cacheSharedDecision(AuthorizationDecisionCache.Key sharedKey, DSpaceObject o,
+                                     List<ResourcePolicy> policies, boolean result) {
+        if (sharedKey != null) {
+            authorizationDecisionCache.put(sharedKey, o, policies, result);
+        }
+    }
+
+    @Override
+    public Map<UUID, Boolean> batchAuthorizeActionBoolean(Context c, List<? extends DSpaceObject> dsos, int action)
+        throws SQLException {
+        EPerson e = c.getCurrentUser();
+        Map<UUID, Boolean> results = new HashMap<>();
+        boolean authorizeAll = c.ignoreAuthorization() || (e != null && isAdmin(c, e));
+        Map<UUID, DSpaceObject> toCheck = new LinkedHashMap<>();
+        for (DSpaceObject dso : dsos) {
+            if (dso == null || results.containsKey(dso.getID())) {
+                continue;
+            }
+            Boolean cachedResult = authorizeAll ? Boolean.TRUE : c.getCachedAuthorizationResult(dso, action, e, true);
+            if (cachedResult != null) {
+                results.put(dso.getID(), cachedResult);
+            } else {
+                toCheck.put(dso.getID(), dso);
+            }
+        }
+        if (toCheck.isEmpty()) {
+            return results;
+        }
+
+        // the objects of a page usually share the parents whose ADMIN policies are inherited, check them once
+        if (e != null) {
+            Set<UUID> adminObjectIds = new HashSet<>();
+            for (DSpaceObject dso : toCheck.values()) {
+                DSpaceObject adminObject = serviceFactory.getDSpaceObjectService(dso).getAdminObject(c, dso, action);
+                if (adminObject != null && adminObjectIds.add(adminObject.getID())) {
+                    c.cacheBatchAuthorizedAction(adminObject, Constants.ADMIN, e, null, isAdmin(c, e, adminObject));
+                }
+            }
+        }
+
+        // read the policies of all the objects with a single query
+        Map<UUID, List<ResourcePolicy>> policiesByObject = new HashMap<>();
+        for (UUID id : toCheck.keySet()) {
+            policiesByObject.put(id, new ArrayList<>());
+        }
+        for (ResourcePolicy rp : resourcePolicyService.find(c, new ArrayList<>(toCheck.keySet()), action)) {
+            List<ResourcePolicy> policies = policiesByObject.get(rp.getdSpaceObject().getID());
+            if (policies != null) {
+                policies.add(rp);
+            }
+        }
+
+        for (DSpaceObject dso : toCheck.values()) {
+            boolean result = authorize(c, dso, action, e, true, policiesByObject.get(dso.getID()));
+            c.cacheBatchAuthorizedAction(dso, action, e, true, result);
+            results.put(dso.getID(), result);
+        }
+        return results;
+    }
+
+    @Override
+    public boolean authorizeAnonymousActionBoolean(Context c, DSpaceObject o, int action) throws SQLException {
+        if (o == null) {
+            return false;
+        }
+        Group anonymousGroup = groupService.findByName(c, Group.ANONYMOUS);
+        boolean ignoreCustomPolicies = isIgnoringCustomPolicies(c, o);
+        for (ResourcePolicy rp : getPoliciesActionFilter(c, o, action)) {
+            if (ignoreCustomPolicies && ResourcePolicy.TYPE_CUSTOM.equals(rp.getRpType())) {
+                continue;
+            }
+            if (rp.getGroup() != null && resourcePolicyService.isDateValid(rp) && (rp.getGroup().equals(anonymousGroup)
+                || groupService.isParentOf(c, rp.getGroup(), anonymousGroup))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * In case the dso is an bundle or bitstream we must ignore custom
+     * policies if it does not belong to at least one installed item (see
+     * DS-2614).
+     * In case the dso is an item and a corresponding workspace or workflow
+     * item exist, we have to ignore custom policies (see DS-2614).
+     */
+    protected boolean isIgnoringCustomPolicies(Context c, DSpaceObject o) throws SQLException {
+        if (o instanceof Bitstream) {
+            Bitstream b = (Bitstream) o;
+
+            // Ensure that this is not a collection or community logo
+            DSpaceObject parent = bitstreamService.getParentObject(c, b);
+            if (!(parent instanceof Collection) && !(parent instanceof Community)) {
+                return !isAnyItemInstalled(c, b.getBundles());
+            }
+        }
+        if (o instanceof Bundle) {
+            return !isAnyItemInstalled(c, Arrays.asList(((Bundle) o)));
+        }
+        if (o instanceof Item) {
+            // the isArchived check is fast and would exclude the possibility that the item
+            // is a workspace or workflow without further queries
+            return !((Item) o).isArchived() &&
+                    (workspaceItemService.findByItem(c, (Item) o) != null ||
+                    workflowItemService.findByItem(c, (Item) o) != null);
+        }
         return false;
     }
 
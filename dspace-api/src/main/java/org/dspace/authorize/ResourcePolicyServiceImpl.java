@@ -51,6 +51,9 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
     @Autowired
     private GroupService groupService;
 
+    @Autowired
+    private AuthorizationDecisionCache authorizationDecisionCache;
+
     protected ResourcePolicyServiceImpl() {
     }
 
@@ -79,6 +82,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
         // FIXME: Check authorisation
         // Create a table row
         ResourcePolicy resourcePolicy = resourcePolicyDAO.create(context, new ResourcePolicy());
+        context.clearBatchAuthorizationResults();
         return resourcePolicy;
     }
 
@@ -145,9 +149,11 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
         // FIXME: authorizations
         // Remove ourself
         resourcePolicyDAO.delete(context, resourcePolicy);
+        context.clearBatchAuthorizationResults();
 
         context.turnOffAuthorisationSystem();
         if (resourcePolicy.getdSpaceObject() != null) {
+            invalidateAuthorizationDecisions(context, resourcePolicy.getdSpaceObject());
             //A policy for a DSpace Object has been modified, fire a modify event on the DSpace object
             contentServiceFactory.getDSpaceObjectService(resourcePolicy.getdSpaceObject())
                                  .updateLastModified(context, resourcePolicy.getdSpaceObject());
@@ -224,6 +230,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
     @Override
     public void removeAllPolicies(Context c, DSpaceObject o) throws SQLException, AuthorizeException {
         resourcePolicyDAO.deleteByDso(c, o);
+        invalidateAuthorizationDecisions(c, o);
         c.turnOffAuthorisationSystem();
         contentServiceFactory.getDSpaceObjectService(o).updateLastModified(c, o);
         c.restoreAuthSystemState();
@@ -232,6 +239,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
     @Override
     public void removePolicies(Context c, DSpaceObject o, String type) throws SQLException, AuthorizeException {
         resourcePolicyDAO.deleteByDsoAndType(c, o, type);
+        invalidateAuthorizationDecisions(c, o);
         c.turnOffAuthorisationSystem();
         contentServiceFactory.getDSpaceObjectService(o).updateLastModified(c, o);
         c.restoreAuthSystemState();
@@ -241,6 +249,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
     public void removePolicies(Context c, DSpaceObject o, String type, int action)
         throws SQLException, AuthorizeException {
         resourcePolicyDAO.deleteByDsoAndTypeAndAction(c, o, type, action);
+        invalidateAuthorizationDecisions(c, o);
         c.turnOffAuthorisationSystem();
         contentServiceFactory.getDSpaceObjectService(o).updateLastModified(c, o);
         c.restoreAuthSystemState();
@@ -250,6 +259,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
     public void removeDsoGroupPolicies(Context context, DSpaceObject dso, Group group)
         throws SQLException, AuthorizeException {
         resourcePolicyDAO.deleteByDsoGroupPolicies(context, dso, group);
+        invalidateAuthorizationDecisions(context, dso);
         context.turnOffAuthorisationSystem();
         contentServiceFactory.getDSpaceObjectService(dso).updateLastModified(context, dso);
         context.restoreAuthSystemState();
@@ -259,6 +269,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
     public void removeDsoEPersonPolicies(Context context, DSpaceObject dso, EPerson ePerson)
         throws SQLException, AuthorizeException {
         resourcePolicyDAO.deleteByDsoEPersonPolicies(context, dso, ePerson);
+        invalidateAuthorizationDecisions(context, dso);
         context.turnOffAuthorisationSystem();
         contentServiceFactory.getDSpaceObjectService(dso).updateLastModified(context, dso);
         context.restoreAuthSystemState();
@@ -268,11 +279,13 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
     @Override
     public void removeAllEPersonPolicies(Context context, EPerson ePerson) throws SQLException, AuthorizeException {
         resourcePolicyDAO.deleteByEPerson(context, ePerson);
+        invalidateAuthorizationDecisions(context, null);
     }
 
     @Override
     public void removeGroupPolicies(Context c, Group group) throws SQLException {
         resourcePolicyDAO.deleteByGroup(c, group);
+        invalidateAuthorizationDecisions(c, null);
     }
 
     @Override
@@ -281,6 +294,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
             removeAllPolicies(c, o);
         } else {
             resourcePolicyDAO.deleteByDsoAndAction(c, o, actionId);
+            invalidateAuthorizationDecisions(c, o);
             c.turnOffAuthorisationSystem();
             contentServiceFactory.getDSpaceObjectService(o).updateLastModified(c, o);
             c.restoreAuthSystemState();
@@ -291,6 +305,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
     public void removeDsoAndTypeNotEqualsToPolicies(Context c, DSpaceObject o, String type)
         throws SQLException, AuthorizeException {
         resourcePolicyDAO.deleteByDsoAndTypeNotEqualsTo(c, o, type);
+        invalidateAuthorizationDecisions(c, o);
         c.turnOffAuthorisationSystem();
         contentServiceFactory.getDSpaceObjectService(o).updateLastModified(c, o);
         c.restoreAuthSystemState();
@@ -316,6 +331,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
     @Override
     public void update(Context context, List<ResourcePolicy> resourcePolicies) throws SQLException, AuthorizeException {
         if (CollectionUtils.isNotEmpty(resourcePolicies)) {
+            context.clearBatchAuthorizationResults();
             Set<DSpaceObject> relatedDSpaceObjects = new HashSet<>();
 
             for (ResourcePolicy resourcePolicy : resourcePolicies) {
@@ -330,6 +346,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
             //Update the last modified timestamp of all related DSpace Objects
             context.turnOffAuthorisationSystem();
             for (DSpaceObject dSpaceObject : relatedDSpaceObjects) {
+                invalidateAuthorizationDecisions(context, dSpaceObject);
                 //A policy for a DSpace Object has been modified, fire a modify event on the DSpace object
                 contentServiceFactory.getDSpaceObjectService(dSpaceObject).updateLastModified(context, dSpaceObject);
             }
@@ -337,6 +354,29 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
         }
     }
 
+    /**
+     * Discard the authorization results kept by the context, keep it from using the shared authorization decisions
+     * until its transaction ends, and invalidate the cached decisions on an object once the change of its policies
+     * is committed. The consumer of the events doesn't notice the changes of the policies of the bundles, whose last
+     * modified date is not tracked.
+     *
+     * @param context the current context
+     * @param dso     the object whose policies changed, null if the policies of several objects changed
+     */
+    private void invalidateAuthorizationDecisions(Context context, DSpaceObject dso) {
+        context.clearBatchAuthorizationResults();
+        context.setAuthorizationChanged();
+        if (!authorizationDecisionCache.isEnabled()) {
+            return;
+        }
+        if (dso == null) {
+            context.afterCommit(authorizationDecisionCache::invalidateAll);
+        } else {
+            UUID id = dso.getID();
+            context.afterCommit(() -> authorizationDecisionCache.invalidate(id));
+        }
+    }
+
     @Override
     public List<ResourcePolicy> findExceptRpType(Context c, DSpaceObject o, int actionID, String rpType)
         throws SQLException {
@@ -429,4 +469,12 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
         throws SQLException {
         return resourcePolicyDAO.findValidPolicyOwners(c, dsoIds, actionID);
     }
+
+    @Override
+    public List<ResourcePolicy> find(Context c, List<UUID> dsoIds, int actionID) throws SQLException {
+        if (dsoIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return resourcePolicyDAO.findByDSoIdsAndAction(c, dsoIds, actionID);
+    }
 }
@@ -0,0 +1,73 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize.dao;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.dspace.authorize.AnonymousReadState;
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+
+/**
+ * Database Access Object interface class for the AnonymousReadState object. The
+ * implementation of this class is responsible for all database calls for the
+ * AnonymousReadState object and is autowired by spring. This class should only
+ * be accessed from a single service and should never be exposed outside of the
+ * API
+ */
+public interface AnonymousReadStateDAO extends GenericDAO<AnonymousReadState> {
+
+    /**
+     * Find the states of the given objects with a single query.
+     *
+     * @param  context         DSpace context object
+     * @param  dspaceObjectIds the ids of the objects
+     * @return                 the states found, the objects without a state are
+     *                         not represented
+     * @throws SQLException    if an SQL error occurs
+     */
+    List<AnonymousReadState> findByDSpaceObjectIds(Context context, Collection<UUID> dspaceObjectIds)
+        throws SQLException;
+
+    /**
+     * Find the states that must be computed again: those whose next transition
+     * is not after the given date, those updated before the given update date
+     * and those that were invalidated.
+     *
+     * @param  context       DSpace context object
+     * @param  date          the date
+     * @param  updatedBefore the date before which the states are too old
+     * @param  limit         the maximum number of states to return
+     * @return               the states
+     * @throws SQLException  if an SQL error occurs
+     */
+    List<AnonymousReadState> findExpired(Context context, Date date, Date updatedBefore, int limit)
+        throws SQLException;
+
+    /**
+     * Invalidate the states of the given objects by clearing their last update
+     * date.
+     *
+     * @param  context         DSpace context object
+     * @param  dspaceObjectIds the ids of the objects
+     * @throws SQLException    if an SQL error occurs
+     */
+    void invalidate(Context context, Collection<UUID> dspaceObjectIds) throws SQLException;
+
+    /**
+     * Invalidate all the states by clearing their last update date.
+     *
+     * @param  context      DSpace context object
+     * @throws SQLException if an SQL error occurs
+     */
+    void invalidateAll(Context context) throws SQLException;
+}
@@ -0,0 +1,69 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize.dao.impl;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import javax.persistence.Query;
+
+import org.apache.commons.collections4.ListUtils;
+import org.dspace.authorize.AnonymousReadState;
+import org.dspace.authorize.dao.AnonymousReadStateDAO;
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Context;
+
+/**
+ * Implementation of {@link AnonymousReadStateDAO}.
+ */
+@SuppressWarnings("unchecked")
+public class AnonymousReadStateDAOImpl extends AbstractHibernateDAO<AnonymousReadState>
+    implements AnonymousReadStateDAO {
+
+    /**
+     * Maximum number of ids bound to a single query
+     */
+    private static final int MAX_IDS_PER_QUERY = 500;
+
+    @Override
+    public List<AnonymousReadState> findByDSpaceObjectIds(Context context, Collection<UUID> dspaceObjectIds)
+        throws SQLException {
+        Query query = createQuery(context, "FROM AnonymousReadState WHERE dspaceObjectId IN (:ids)");
+        query.setParameter("ids", dspaceObjectIds);
+        return query.getResultList();
+    }
+
+    @Override
+    public List<AnonymousReadState> findExpired(Context context, Date date, Date updatedBefore, int limit)
+        throws SQLException {
+        Query query = createQuery(context, "FROM AnonymousReadState WHERE nextTransition <= :date "
+            + "OR lastUpdated IS NULL OR lastUpdated < :updatedBefore");
+        query.setParameter("date", date);
+        query.setParameter("updatedBefore", updatedBefore);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
+    @Override
+    public void invalidate(Context context, Collection<UUID> dspaceObjectIds) throws SQLException {
+        for (List<UUID> ids : ListUtils.partition(new ArrayList<>(dspaceObjectIds), MAX_IDS_PER_QUERY)) {
+            Query query = createQuery(context,
+                "UPDATE AnonymousReadState SET lastUpdated = NULL WHERE dspaceObjectId IN (:ids)");
+            query.setParameter("ids", ids);
+            query.executeUpdate();
+        }
+    }
+
+    @Override
+    public void invalidateAll(Context context) throws SQLException {
+        createQuery(context, "UPDATE AnonymousReadState SET lastUpdated = NULL").executeUpdate();
+    }
+}
@@ -10,6 +10,7 @@ package org.dspace.authorize.dao.impl;
 import static java.util.Collections.emptyList;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
@@ -22,6 +23,7 @@ import javax.persistence.criteria.Order;
 import javax.persistence.criteria.Root;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.dspace.authorize.ResourcePolicy;
 import org.dspace.authorize.ResourcePolicyOwnerVO;
 import org.dspace.authorize.ResourcePolicy_;
@@ -42,6 +44,11 @@ import org.dspace.eperson.Group;
  */
 public class ResourcePolicyDAOImpl extends AbstractHibernateDAO<ResourcePolicy> implements ResourcePolicyDAO {
 
+    /**
+     * Maximum number of object ids bound to a single query
+     */
+    private static final int BATCH_SIZE = 500;
+
     protected ResourcePolicyDAOImpl() {
         super();
     }
@@ -450,4 +457,21 @@ public class ResourcePolicyDAOImpl extends AbstractHibernateDAO<ResourcePolicy>
         return query.getResultList();
 
     }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ResourcePolicy> findByDSoIdsAndAction(Context context, List<UUID> dsoIds, int actionID)
+        throws SQLException {
+        List<ResourcePolicy> policies = new ArrayList<>();
+        for (List<UUID> batch : ListUtils.partition(dsoIds, BATCH_SIZE)) {
+            Query query = createQuery(context, ""
+                + " SELECT policy FROM ResourcePolicy policy LEFT JOIN FETCH policy.epersonGroup "
+                + "  WHERE policy.dSpaceObject.id in (:dsoIds) "
+                + "    AND policy.actionId = :actionId");
+            query.setParameter("dsoIds", batch);
+            query.setParameter("actionId", actionID);
+            policies.addAll(query.getResultList());
+        }
+        return policies;
+    }
 }
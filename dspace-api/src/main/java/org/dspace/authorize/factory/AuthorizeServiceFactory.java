@@ -7,6 +7,7 @@
  */
 package org.dspace.authorize.factory;
 
+import org.dspace.authorize.service.AnonymousReadStateService;
 import org.dspace.authorize.service.AuthorizeService;
 import org.dspace.authorize.service.ResourcePolicyService;
 import org.dspace.services.factory.DSpaceServicesFactory;
@@ -24,6 +25,8 @@ public abstract class AuthorizeServiceFactory {
 
     public abstract ResourcePolicyService getResourcePolicyService();
 
+    public abstract AnonymousReadStateService getAnonymousReadStateService();
+
     public abstract UploadConfigurationService getUploadConfigurationService();
 
     public static AuthorizeServiceFactory getInstance() {
@@ -0,0 +1,158 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize.script;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.commons.cli.ParseException;
+import org.dspace.authorize.AnonymousReadState;
+import org.dspace.authorize.factory.AuthorizeServiceFactory;
+import org.dspace.authorize.service.AnonymousReadStateService;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Bundle;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Context;
+import org.dspace.discovery.IndexingService;
+import org.dspace.discovery.SearchServiceException;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.scripts.DSpaceRunnable;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.utils.DSpace;
+
+/**
+ * Script to update the anonymous READ states whose policies started or ended
+ * since they were computed, to be run nightly, or to compute the states of all
+ * the items and of their bitstreams. The items whose readability changed are
+ * indexed again in discovery, as the READ policies are indexed only when they
+ * are valid.
+ */
+public class AnonymousReadStateUpdate
+    extends DSpaceRunnable<AnonymousReadStateUpdateScriptConfiguration<AnonymousReadStateUpdate>> {
+
+    private static final int BATCH_SIZE = 100;
+
+    private AnonymousReadStateService anonymousReadStateService;
+
+    private ItemService itemService;
+
+    private IndexingService indexingService;
+
+    private boolean all = false;
+
+    private boolean help = false;
+
+    @Override
+    public void setup() throws ParseException {
+        this.anonymousReadStateService = AuthorizeServiceFactory.getInstance().getAnonymousReadStateService();
+        this.itemService = ContentServiceFactory.getInstance().getItemService();
+        this.indexingService = DSpaceServicesFactory.getInstance().getServiceManager()
+            .getServiceByName(IndexingService.class.getName(), IndexingService.class);
+        this.all = commandLine.hasOption('a');
+        this.help = commandLine.hasOption('h');
+    }
+
+    @Override
+    public void internalRun() throws Exception {
+
+        if (help) {
+            printHelp();
+            return;
+        }
+
+        if (!anonymousReadStateService.isEnabled()) {
+            handler.logWarning("The anonymous READ states are disabled, "
+                + "see authorization.anonymous-read-state.enabled");
+            return;
+        }
+
+        Context context = new Context();
+
+        try {
+            int updated = all ? updateAll(context) : updateExpired(context);
+            handler.logInfo(updated + " anonymous READ states updated");
+            indexingService.commit();
+        } finally {
+            context.complete();
+        }
+
+    }
+
+    private int updateExpired(Context context) throws SQLException, SearchServiceException {
+        int updated = 0;
+        List<AnonymousReadState> states;
+        do {
+            states = anonymousReadStateService.findExpired(context, BATCH_SIZE);
+            for (AnonymousReadState state : states) {
+                DSpaceObject dso = ContentServiceFactory.getInstance()
+                    .getDSpaceObjectService(state.getResourceTypeId()).find(context, state.getID());
+                if (dso == null) {
+                    anonymousReadStateService.delete(context, state);
+                    continue;
+                }
+                if (anonymousReadStateService.update(context, dso) && dso instanceof Item) {
+                    indexingService.indexContent(context, new IndexableItem((Item) dso), true, false);
+                }
+                updated++;
+                context.uncacheEntity(dso);
+            }
+            context.commit();
+        } while (states.size() == BATCH_SIZE);
+        return updated;
+    }
+
+    private int updateAll(Context context) throws SQLException, SearchServiceException {
+        // read the ids first, as the iterator would not survive the commits
+        List<UUID> itemIds = new ArrayList<>();
+        Iterator<Item> items = itemService.findAllRegularItems(context);
+        while (items.hasNext()) {
+            Item item = items.next();
+            itemIds.add(item.getID());
+            context.uncacheEntity(item);
+        }
+
+        int updated = 0;
+        int processed = 0;
+        for (UUID itemId : itemIds) {
+            if (++processed % BATCH_SIZE == 0) {
+                context.commit();
+            }
+            Item item = itemService.find(context, itemId);
+            if (item == null) {
+                continue;
+            }
+            if (anonymousReadStateService.update(context, item)) {
+                indexingService.indexContent(context, new IndexableItem(item), true, false);
+            }
+            updated++;
+            for (Bundle bundle : item.getBundles()) {
+                for (Bitstream bitstream : bundle.getBitstreams()) {
+                    anonymousReadStateService.update(context, bitstream);
+                    updated++;
+                }
+            }
+            context.uncacheEntity(item);
+        }
+        context.commit();
+        return updated;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public AnonymousReadStateUpdateScriptConfiguration<AnonymousReadStateUpdate> getScriptConfiguration() {
+        return new DSpace().getServiceManager()
+            .getServiceByName("anonymous-read-state", AnonymousReadStateUpdateScriptConfiguration.class);
+    }
+
+}
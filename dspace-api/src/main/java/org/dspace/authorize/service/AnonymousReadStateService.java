@@ -0,0 +1,121 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize.service;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.dspace.authorize.AnonymousReadState;
+import org.dspace.content.DSpaceObject;
+import org.dspace.core.Context;
+
+/**
+ * Service that answers whether the anonymous users can read the objects, using
+ * the anonymous READ states materialized in the database when enabled
+ * (<code>authorization.anonymous-read-state.enabled</code>). The states are
+ * updated when the objects change and when one of their READ policies starts
+ * or ends, invalidated when the groups change, and are not trusted after
+ * <code>authorization.anonymous-read-state.max-age</code> seconds; the objects
+ * without a valid state are checked against their policies.
+ */
+public interface AnonymousReadStateService {
+
+    /**
+     * @return whether the anonymous READ states are materialized
+     */
+    boolean isEnabled();
+
+    /**
+     * Check whether the anonymous users can read an object, regardless of the
+     * current user of the context.
+     *
+     * @param  context      DSpace context object
+     * @param  dso          the object
+     * @return              whether the anonymous users can read the object
+     * @throws SQLException if an SQL error occurs
+     */
+    boolean isAnonymousReadable(Context context, DSpaceObject dso) throws SQLException;
+
+    /**
+     * Check whether the anonymous users can read each object of a list, reading
+     * their states with a single query.
+     *
+     * @param  context      DSpace context object
+     * @param  dsos         the objects
+     * @return              whether the anonymous users can read the object, by
+     *                      object id
+     * @throws SQLException if an SQL error occurs
+     */
+    Map<UUID, Boolean> isAnonymousReadable(Context context, List<? extends DSpaceObject> dsos)
+        throws SQLException;
+
+    /**
+     * Find the stored anonymous READ state of an object, valid or not.
+     *
+     * @param  context      DSpace context object
+     * @param  dso          the object
+     * @return              the state, or null if the object has no state
+     * @throws SQLException if an SQL error occurs
+     */
+    AnonymousReadState find(Context context, DSpaceObject dso) throws SQLException;
+
+    /**
+     * Compute the anonymous READ state of an object and store it in the
+     * transaction of the given context.
+     *
+     * @param  context      DSpace context object
+     * @param  dso          the object
+     * @return              whether the stored readability of the object
+     *                      changed; false if the object had no state yet
+     * @throws SQLException if an SQL error occurs
+     */
+    boolean update(Context context, DSpaceObject dso) throws SQLException;
+
+    /**
+     * Invalidate the states of the given objects, e.g. when they changed while
+     * the states were not maintained. The objects are checked against their
+     * policies until their states are computed again.
+     *
+     * @param  context         DSpace context object
+     * @param  dspaceObjectIds the ids of the objects
+     * @throws SQLException    if an SQL error occurs
+     */
+    void invalidate(Context context, Collection<UUID> dspaceObjectIds) throws SQLException;
+
+    /**
+     * Invalidate all the states, e.g. when a subgroup is added to or removed
+     * from a group, which can change the readability of any object.
+     *
+     * @param  context      DSpace context object
+     * @throws SQLException if an SQL error occurs
+     */
+    void invalidateAll(Context context) throws SQLException;
+
+    /**
+     * Find the states which must be updated: those whose next transition has
+     * passed, those older than the maximum age and those invalidated.
+     *
+     * @param  context      DSpace context object
+     * @param  limit        the maximum number of states to return
+     * @return              the expired states
+     * @throws SQLException if an SQL error occurs
+     */
+    List<AnonymousReadState> findExpired(Context context, int limit) throws SQLException;
+
+    /**
+     * Delete a state, e.g. when its object no longer exists.
+     *
+     * @param  context      DSpace context object
+     * @param  state        the state to delete
+     * @throws SQLException if an SQL error occurs
+     */
+    void delete(Context context, AnonymousReadState state) throws SQLException;
+}
@@ -10,6 +10,7 @@ package org.dspace.authorize.service;
 import java.sql.SQLException;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.dspace.authorize.AuthorizeException;
@@ -156,6 +157,36 @@ public interface AuthorizeService {
     public boolean authorizeActionBoolean(Context c, EPerson e, DSpaceObject o, int a, boolean useInheritance)
         throws SQLException;
 
+    /**
+     * Check whether the current user can perform an action on each object of a list, e.g. a page of results,
+     * reading the policies of all the objects with a single query. The ADMIN policies of the parent objects are
+     * considered, as by {@link #authorizeActionBoolean(Context, DSpaceObject, int)}. The results are kept by the
+     * context, so that the following checks of the same objects, as done by the REST converters, don't query the
+     * policies again until the context is modified.
+     *
+     * @param c    current context
+     * @param dsos the objects the action is attempted on
+     * @param a    action being attempted, from <code>org.dspace.core.Constants</code>
+     * @return whether the action is authorized, by object id
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    public Map<UUID, Boolean> batchAuthorizeActionBoolean(Context c, List<? extends DSpaceObject> dsos, int a)
+        throws SQLException;
+
+    /**
+     * Check whether the anonymous users can perform an action on an object, regardless of the current user, of
+     * the special groups and of the authorization system state of the context, e.g. to decide whether an object
+     * can be disseminated publicly while processing the changes made by another user.
+     *
+     * @param c current context
+     * @param o object the action is attempted on
+     * @param a action being attempted, from <code>org.dspace.core.Constants</code>
+     * @return {@code true} if a currently valid policy for the action is granted to the anonymous group, or to a
+     * group containing it
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    public boolean authorizeAnonymousActionBoolean(Context c, DSpaceObject o, int a) throws SQLException;
+
     ///////////////////////////////////////////////
     // admin check methods
     ///////////////////////////////////////////////
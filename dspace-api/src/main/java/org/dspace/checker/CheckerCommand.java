@@ -12,6 +12,7 @@ import java.sql.SQLException;
 import java.util.Date;
 import java.util.Map;
 
+import com.google.common.util.concurrent.RateLimiter;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.checker.factory.CheckerServiceFactory;
@@ -78,6 +79,12 @@ public final class CheckerCommand {
      */
     private boolean reportVerbose = false;
 
+    /**
+     * Budget of bytes per second of the checksums, shared by the commands
+     * running in parallel, if any
+     */
+    private RateLimiter rateLimiter = null;
+
     /**
      * Default constructor uses DSpace plugin manager to construct dependencies.
      *
@@ -245,6 +252,7 @@ public final class CheckerCommand {
         info.setProcessStartDate(new Date());
 
         try {
+            throttle(info.getBitstream());
             Map<String, Object> checksumMap = bitstreamStorageService.computeChecksum(context, info.getBitstream());
             if (MapUtils.isNotEmpty(checksumMap)) {
                 info.setBitstreamFound(true);
@@ -287,6 +295,26 @@ public final class CheckerCommand {
         }
     }
 
+    /**
+     * Wait until the bytes of the bitstream fit in the budget of bytes per
+     * second, if any. The bytes are reserved before the checksum is computed by
+     * the store, so the budget is respected on average rather than at each
+     * instant.
+     *
+     * @param bitstream the bitstream about to be read
+     */
+    protected void throttle(Bitstream bitstream) {
+        if (rateLimiter == null) {
+            return;
+        }
+        long remaining = bitstream.getSizeBytes();
+        do {
+            int permits = (int) Math.min(Math.max(remaining, 1), Integer.MAX_VALUE);
+            rateLimiter.acquire(permits);
+            remaining -= permits;
+        } while (remaining > 0);
+    }
+
     protected ChecksumResult getChecksumResultByCode(ChecksumResultCode checksumResultCode) throws SQLException {
         return checksumResultService.findByCode(context, checksumResultCode);
     }
@@ -362,4 +390,23 @@ public final class CheckerCommand {
     public void setReportVerbose(boolean reportVerbose) {
         this.reportVerbose = reportVerbose;
     }
+
+    /**
+     * Get the budget of bytes per second of the checksums.
+     *
+     * @return the rate limiter, or null if the checksums aren't throttled
+     */
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Set the budget of bytes per second of the checksums.
+     *
+     * @param rateLimiter a rate limiter whose permits are bytes, or null to not
+     *                    throttle the checksums
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
 }
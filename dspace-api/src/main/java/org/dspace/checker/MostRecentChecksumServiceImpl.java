@@ -179,6 +179,22 @@ public class MostRecentChecksumServiceImpl implements MostRecentChecksumService
         return mostRecentChecksumDAO.getOldestRecord(context, lessThanDate);
     }
 
+    /**
+     * Returns the oldest bitstreams to be processed, in the order they would be
+     * returned by {@link #findOldestRecord(Context, Date)}.
+     *
+     * @param context      Context
+     * @param lessThanDate if not null, only the bitstreams processed before this date
+     * @param limit        the maximum number of bitstreams
+     * @return the oldest bitstreams
+     * @throws SQLException if database error
+     */
+    @Override
+    public List<MostRecentChecksum> findOldestRecords(Context context, Date lessThanDate, int limit)
+        throws SQLException {
+        return mostRecentChecksumDAO.getOldestRecords(context, lessThanDate, limit);
+    }
+
     @Override
     public List<MostRecentChecksum> findNotInHistory(Context context) throws SQLException {
         return mostRecentChecksumDAO.findNotInHistory(context);
@@ -0,0 +1,449 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.checker;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.util.concurrent.RateLimiter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.checker.factory.CheckerServiceFactory;
+import org.dspace.checker.service.MostRecentChecksumService;
+import org.dspace.content.Bitstream;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamService;
+import org.dspace.core.Context;
+
+/**
+ * Checksum checker running the checks of a {@link CheckerCommand} on a bounded pool of worker threads. The
+ * bitstreams are dispatched by the calling thread to a queue for each store, each store having its own workers that
+ * check them with their own Context.
+ * <p>
+ * The checks can be limited:
+ * <ul>
+ * <li>by a global budget of bytes per second, shared by all the workers</li>
+ * <li>by a number of workers reading from each store at a time, e.g. to check more bitstreams in parallel from an
+ * S3 store than from a local disk</li>
+ * </ul>
+ * At most <code>threads</code> bitstreams are checked at a time. As each store has its own queue, a slow store only
+ * holds up the dispatching once its queue is full, while the workers of the other stores go on with their queues.
+ * <p>
+ * Each worker commits the result of a check as soon as it is done, so an interrupted run loses at most the checks
+ * in progress: as the bitstreams are dispatched in the order they were last checked, the next run resumes with the
+ * bitstreams not checked yet. A check failing, e.g. on a database error, is rolled back and logged, and the run goes
+ * on with the other bitstreams unless too many checks fail in a row. When the bitstreams are dispatched by a
+ * {@link ParallelDispatcher}, it is notified of the checks done, so that it skips the bitstreams being checked, and
+ * of the checks failed, so that it doesn't dispatch them again.
+ */
+public class ParallelCheckerCommand {
+
+    private static final Logger LOG = LogManager.getLogger(ParallelCheckerCommand.class);
+
+    /**
+     * Tells a worker that there are no more bitstreams to check
+     */
+    private static final UUID END = new UUID(0, 0);
+
+    /**
+     * Number of bitstreams waiting in the queue of a store for each of its workers
+     */
+    private static final int QUEUE_SIZE_PER_WORKER = 16;
+
+    /**
+     * Number of checks failing in a row that stops the run, e.g. when the database is unavailable
+     */
+    private static final int MAX_CONSECUTIVE_FAILURES = 100;
+
+    private final Context context;
+
+    private final int threads;
+
+    private final MostRecentChecksumService checksumService;
+
+    private final BitstreamService bitstreamService;
+
+    private BitstreamDispatcher dispatcher = null;
+
+    /**
+     * The dispatcher notified of the checks done, if any
+     */
+    private ParallelDispatcher parallelDispatcher = null;
+
+    private ChecksumResultsCollector collector = null;
+
+    private Date processStartDate = null;
+
+    private boolean reportVerbose = false;
+
+    private RateLimiter rateLimiter = null;
+
+    /**
+     * Maximum number of workers reading from a store at a time, by store number
+     */
+    private Map<Integer, Integer> storeThreads = new HashMap<>();
+
+    /**
+     * The queues of the stores, by store number, only used by the dispatching thread
+     */
+    private final Map<Integer, StoreQueue> storeQueues = new HashMap<>();
+
+    /**
+     * Bounds the number of checks in progress over all the stores
+     */
+    private Semaphore checks;
+
+    private final Map<Integer, StoreSummary> summaries = new ConcurrentHashMap<>();
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private final LongAdder failures = new LongAdder();
+
+    private long elapsedNanos;
+
+    private volatile Exception failure;
+
+    /**
+     * @param context the Context used to dispatch the bitstreams
+     * @param threads the number of bitstreams checked at a time
+     */
+    public ParallelCheckerCommand(Context context, int threads) {
+        this.context = context;
+        this.threads = Math.max(threads, 1);
+        this.checksumService = CheckerServiceFactory.getInstance().getMostRecentChecksumService();
+        this.bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
+    }
+
+    /**
+     * Dispatch the bitstreams to the workers until the dispatcher has no more bitstreams or the workers fail, then
+     * wait for the workers to complete their checks.
+     *
+     * @throws SQLException if database error, in this thread or in the workers
+     */
+    public void process() throws SQLException {
+        if (dispatcher == null) {
+            throw new IllegalStateException("No BitstreamDispatcher provided");
+        }
+
+        if (collector == null) {
+            collector = new ResultsLogger(processStartDate);
+        }
+
+        // the workers must see the records of the new bitstreams
+        checksumService.updateMissingBitstreams(context);
+        context.commit();
+
+        long start = System.nanoTime();
+        checks = new Semaphore(threads);
+        try {
+            Bitstream bitstream = dispatcher.next();
+            while (bitstream != null && failure == null) {
+                UUID id = bitstream.getID();
+                BlockingQueue<UUID> queue = getStoreQueue(bitstream.getStoreNumber()).queue;
+                context.uncacheEntity(bitstream);
+                while (!queue.offer(id, 1, TimeUnit.SECONDS)) {
+                    if (failure != null) {
+                        break;
+                    }
+                }
+                bitstream = dispatcher.next();
+            }
+        } catch (InterruptedException e) {
+            LOG.warn("Interrupted while dispatching the bitstreams, waiting for the checks in progress");
+            Thread.currentThread().interrupt();
+            storeQueues.values().forEach(storeQueue -> storeQueue.queue.clear());
+        } finally {
+            for (StoreQueue storeQueue : storeQueues.values()) {
+                if (failure != null) {
+                    storeQueue.queue.clear();
+                }
+                for (int i = 0; i < storeQueue.workers.size(); i++) {
+                    putUninterruptibly(storeQueue.queue, END);
+                }
+            }
+            for (StoreQueue storeQueue : storeQueues.values()) {
+                storeQueue.workers.forEach(this::joinUninterruptibly);
+            }
+            elapsedNanos = System.nanoTime() - start;
+        }
+
+        if (failure instanceof SQLException) {
+            throw (SQLException) failure;
+        } else if (failure != null) {
+            throw new IllegalStateException("The workers of the checksum checker failed", failure);
+        }
+    }
+
+    /**
+     * Get the queue of a store, starting its workers on the first bitstream of the store.
+     */
+    private StoreQueue getStoreQueue(int storeNumber) {
+        return storeQueues.computeIfAbsent(storeNumber, key -> {
+            int workers = Math.max(Math.min(storeThreads.getOrDefault(storeNumber, threads), threads), 1);
+            StoreQueue storeQueue = new StoreQueue(workers * QUEUE_SIZE_PER_WORKER);
+            for (int i = 1; i <= workers; i++) {
+                Thread worker = new Thread(() -> work(storeQueue.queue), "checker-" + storeNumber + "-" + i);
+                storeQueue.workers.add(worker);
+                worker.start();
+            }
+            return storeQueue;
+        });
+    }
+
+    private void work(BlockingQueue<UUID> queue) {
+        Context workerContext = new Context();
+        try {
+            CheckerCommand checker = new CheckerCommand(workerContext);
+            checker.setProcessStartDate(processStartDate);
+            checker.setRateLimiter(rateLimiter);
+            UUID id = queue.take();
+            while (!END.equals(id)) {
+                checks.acquire();
+                boolean checked = false;
+                try {
+                    checked = check(workerContext, checker, id);
+                } finally {
+                    checks.release();
+                    if (parallelDispatcher != null && checked) {
+                        parallelDispatcher.done(id);
+                    } else if (parallelDispatcher != null) {
+                        parallelDispatcher.failed(id);
+                    }
+                }
+                id = queue.take();
+            }
+            workerContext.complete();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            LOG.error("Checksum checker worker failed", e);
+            failure = e;
+        } finally {
+            if (workerContext.isValid()) {
+                workerContext.abort();
+            }
+        }
+    }
+
+    /**
+     * Check a bitstream and commit its result. A failed check is rolled back and logged, so that the bitstream is
+     * checked again by the next run, unless too many checks failed in a row.
+     *
+     * @return whether the check succeeded
+     */
+    private boolean check(Context workerContext, CheckerCommand checker, UUID id) throws SQLException {
+        try {
+            checkBitstream(workerContext, checker, id);
+            consecutiveFailures.set(0);
+            return true;
+        } catch (SQLException | RuntimeException e) {
+            LOG.error("Error checking the bitstream ID " + id, e);
+            failures.increment();
+            workerContext.rollback();
+            if (consecutiveFailures.incrementAndGet() >= MAX_CONSECUTIVE_FAILURES) {
+                throw e;
+            }
+            return false;
+        }
+    }
+
+    private void checkBitstream(Context workerContext, CheckerCommand checker, UUID id) throws SQLException {
+        Bitstream bitstream = bitstreamService.find(workerContext, id);
+        if (bitstream == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        LOG.debug("Processing bitstream id = " + id);
+        MostRecentChecksum info = checker.checkBitstream(bitstream);
+        summaries.computeIfAbsent(bitstream.getStoreNumber(), key -> new StoreSummary())
+                 .record(bitstream.getSizeBytes(), System.nanoTime() - start);
+
+        if (reportVerbose
+            || !ChecksumResultCode.CHECKSUM_MATCH.equals(info.getChecksumResult().getResultCode())) {
+            synchronized (collector) {
+                collector.collect(workerContext, info);
+            }
+        }
+
+        // keep the progress if the run is interrupted
+        workerContext.commit();
+        workerContext.uncacheEntity(bitstream);
+    }
+
+    private void putUninterruptibly(BlockingQueue<UUID> queue, UUID id) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(id);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void joinUninterruptibly(Thread worker) {
+        boolean interrupted = false;
+        while (worker.isAlive()) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return the number of checks that failed and were rolled back, once processed
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * Get the summary of the checks of each store, once processed: the number of bitstreams and of bytes checked,
+     * the time spent checking them and the throughput over the duration of the run, followed by the number of
+     * failed checks if any.
+     *
+     * @return the lines of the summary, one for each store
+     */
+    public List<String> getSummary() {
+        List<String> lines = new ArrayList<>();
+        double seconds = elapsedNanos / 1e9;
+        for (Map.Entry<Integer, StoreSummary> entry : new TreeMap<>(summaries).entrySet()) {
+            StoreSummary summary = entry.getValue();
+            long bytes = summary.bytes.sum();
+            lines.add(String.format("Store %d: %d bitstreams, %d bytes, %d s busy, %.2f MB/s", entry.getKey(),
+                summary.bitstreams.sum(), bytes, TimeUnit.NANOSECONDS.toSeconds(summary.nanos.sum()),
+                seconds > 0 ? bytes / seconds / (1024 * 1024) : 0));
+        }
+        if (getFailures() > 0) {
+            lines.add(String.format("%d checks failed, see the log", getFailures()));
+        }
+        return lines;
+    }
+
+    public BitstreamDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * @param dispatcher the dispatcher of the bitstreams to check; to dispatch the bitstreams in the order they were
+     *                   last checked, use a {@link ParallelDispatcher}, or a decorator of one given to
+     *                   {@link #setParallelDispatcher(ParallelDispatcher)}
+     */
+    public void setDispatcher(BitstreamDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+        if (dispatcher instanceof ParallelDispatcher) {
+            this.parallelDispatcher = (ParallelDispatcher) dispatcher;
+        }
+    }
+
+    public ParallelDispatcher getParallelDispatcher() {
+        return parallelDispatcher;
+    }
+
+    /**
+     * @param parallelDispatcher the dispatcher decorated by the dispatcher of the bitstreams, notified of the checks
+     *                           done
+     */
+    public void setParallelDispatcher(ParallelDispatcher parallelDispatcher) {
+        this.parallelDispatcher = parallelDispatcher;
+    }
+
+    public ChecksumResultsCollector getCollector() {
+        return collector;
+    }
+
+    /**
+     * @param collector the collector of the results, called by one worker at a time
+     */
+    public void setCollector(ChecksumResultsCollector collector) {
+        this.collector = collector;
+    }
+
+    public Date getProcessStartDate() {
+        return processStartDate == null ? null : new Date(processStartDate.getTime());
+    }
+
+    public void setProcessStartDate(Date startDate) {
+        processStartDate = startDate == null ? null : new Date(startDate.getTime());
+    }
+
+    public boolean isReportVerbose() {
+        return reportVerbose;
+    }
+
+    public void setReportVerbose(boolean reportVerbose) {
+        this.reportVerbose = reportVerbose;
+    }
+
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * @param rateLimiter the budget of bytes per second shared by all the workers, or null for no limit
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    public Map<Integer, Integer> getStoreThreads() {
+        return storeThreads;
+    }
+
+    /**
+     * @param storeThreads the maximum number of workers reading from a store at a time, by store number; the
+     *                     stores not in the map have as many workers as the bitstreams checked at a time
+     */
+    public void setStoreThreads(Map<Integer, Integer> storeThreads) {
+        this.storeThreads = new LinkedHashMap<>(storeThreads);
+    }
+
+    private static class StoreQueue {
+        private final BlockingQueue<UUID> queue;
+        private final List<Thread> workers = new ArrayList<>();
+
+        StoreQueue(int capacity) {
+            queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
+    private static class StoreSummary {
+        private final LongAdder bitstreams = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        void record(long size, long duration) {
+            bitstreams.increment();
+            bytes.add(size);
+            nanos.add(duration);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.checker;
+
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.checker.factory.CheckerServiceFactory;
+import org.dspace.checker.service.MostRecentChecksumService;
+import org.dspace.content.Bitstream;
+import org.dspace.core.Context;
+
+/**
+ * Selection strategy of the {@link SimpleDispatcher} for the {@link ParallelCheckerCommand}: the bitstreams are
+ * selected in the order that they were last checked, but as the records of the bitstreams are only updated once
+ * they are checked, the bitstreams being checked by the workers are skipped until the workers report them as
+ * {@link #done(UUID)}. The bitstreams whose check {@link #failed(UUID)} are not dispatched again by the same
+ * dispatcher. The oldest records are read by batches to avoid a query per bitstream.
+ */
+public class ParallelDispatcher implements BitstreamDispatcher {
+
+    /**
+     * Should this dispatcher keep on dispatching around the collection?
+     */
+    protected boolean loopContinuously = false;
+
+    /**
+     * Date this dispatcher started dispatching.
+     */
+    protected Date processStartTime = null;
+
+    /**
+     * Access for bitstream information
+     */
+    protected MostRecentChecksumService checksumService;
+
+    protected Context context;
+
+    /**
+     * Number of records read at a time
+     */
+    protected int batchSize;
+
+    /**
+     * The bitstreams read but not dispatched yet
+     */
+    private final Queue<Bitstream> batch = new LinkedList<>();
+
+    /**
+     * The ids of the bitstreams dispatched and not done yet
+     */
+    private final Set<UUID> inFlight = new HashSet<>();
+
+    /**
+     * The ids of the bitstreams whose check failed, whose records are still the oldest ones
+     */
+    private final Set<UUID> failed = new HashSet<>();
+
+    /**
+     * Creates a new ParallelDispatcher.
+     *
+     * @param context   Context
+     * @param startTime timestamp for beginning of checker process
+     * @param looping   indicates whether checker should loop infinitely through
+     *                  most_recent_checksum table
+     * @param batchSize the number of records read at a time
+     */
+    public ParallelDispatcher(Context context, Date startTime, boolean looping, int batchSize) {
+        checksumService = CheckerServiceFactory.getInstance().getMostRecentChecksumService();
+        this.context = context;
+        this.processStartTime = (startTime == null ? null : new Date(startTime.getTime()));
+        this.loopContinuously = looping;
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    /**
+     * Selects the next candidate bitstream, which is not being checked.
+     *
+     * @throws SQLException if database error
+     * @see org.dspace.checker.BitstreamDispatcher#next()
+     */
+    @Override
+    public synchronized Bitstream next() throws SQLException {
+        if (batch.isEmpty()) {
+            readBatch();
+        }
+        // when looping, the bitstreams being checked will be dispatched again once done
+        while (batch.isEmpty() && loopContinuously && !inFlight.isEmpty()) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            readBatch();
+        }
+        Bitstream bitstream = batch.poll();
+        if (bitstream != null) {
+            inFlight.add(bitstream.getID());
+        }
+        return bitstream;
+    }
+
+    /**
+     * Report the check of a bitstream as done. It must be called once the updated record of the bitstream is
+     * committed.
+     *
+     * @param bitstreamId the id of the bitstream
+     */
+    public synchronized void done(UUID bitstreamId) {
+        inFlight.remove(bitstreamId);
+        notifyAll();
+    }
+
+    /**
+     * Report the check of a bitstream as failed, e.g. rolled back on a database error. The bitstream is not
+     * dispatched again, its record being left to the next run.
+     *
+     * @param bitstreamId the id of the bitstream
+     */
+    public synchronized void failed(UUID bitstreamId) {
+        failed.add(bitstreamId);
+        inFlight.remove(bitstreamId);
+        notifyAll();
+    }
+
+    private void readBatch() throws SQLException {
+        Date lessThanDate = !loopContinuously ? processStartTime : null;
+        // the bitstreams being checked or failed are still the oldest ones, read past them
+        for (MostRecentChecksum record : checksumService.findOldestRecords(context, lessThanDate,
+                                                                           inFlight.size() + failed.size()
+                                                                               + batchSize)) {
+            UUID id = record.getBitstream().getID();
+            if (!inFlight.contains(id) && !failed.contains(id)) {
+                batch.add(record.getBitstream());
+            }
+            context.uncacheEntity(record);
+        }
+    }
+}
@@ -1166,8 +1166,8 @@ public class CollectionServiceImpl extends DSpaceObjectServiceImpl<Collection> i
 
         if (!authorizeService.isAdmin(context)) {
 
-            String filterQuery = groupService.allMemberGroupsSet(context, context.getCurrentUser()).stream()
-                .map(group -> "g" + group.getID())
+            String filterQuery = groupService.allMemberGroupIds(context, context.getCurrentUser()).stream()
+                .map(groupId -> "g" + groupId)
                 .collect(Collectors.joining(" OR ", "admin:(", ")"));
 
             discoverQuery.addFilterQueries(filterQuery);
@@ -1189,8 +1189,8 @@ public class CollectionServiceImpl extends DSpaceObjectServiceImpl<Collection> i
             throws SQLException, SearchServiceException {
         String filterQuery = "";
         if (!authorizeService.isAdmin(context)) {
-            filterQuery = groupService.allMemberGroupsSet(context, context.getCurrentUser()).stream()
-                    .map(group -> "g" + group.getID())
+            filterQuery = groupService.allMemberGroupIds(context, context.getCurrentUser()).stream()
+                    .map(groupId -> "g" + groupId)
                     .collect(Collectors.joining(" OR ", "admin:(", ")"));
             discoverQuery.addFilterQueries(filterQuery);
         }
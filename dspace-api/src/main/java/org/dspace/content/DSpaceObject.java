@@ -9,7 +9,9 @@ package org.dspace.content;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
@@ -76,6 +78,14 @@ public abstract class DSpaceObject implements Serializable, ReloadableEntity<jav
     @Transient
     private boolean modifiedMetadata = false;
 
+    /**
+     * Metadata fields whose values were added or removed since last update(),
+     * or null if some metadata changes could not be attributed to a field
+     * (to drive the partial reindexing of the object)
+     */
+    @Transient
+    private Set<String> modifiedMetadataFields = new HashSet<>();
+
     /**
      * Flag set when data is modified, for events
      */
@@ -179,18 +189,20 @@ public abstract class DSpaceObject implements Serializable, ReloadableEntity<jav
     }
 
     protected void removeMetadata(MetadataValue metadataValue) {
-        setMetadataModified();
+        setMetadataModified(metadataValue.getMetadataField());
         getMetadata().remove(metadataValue);
     }
 
     protected void removeMetadata(List<MetadataValue> metadataValues) {
-        setMetadataModified();
+        for (MetadataValue metadataValue : metadataValues) {
+            setMetadataModified(metadataValue.getMetadataField());
+        }
         getMetadata().removeAll(metadataValues);
     }
 
 
     protected void addMetadata(MetadataValue metadataValue) {
-        setMetadataModified();
+        setMetadataModified(metadataValue.getMetadataField());
         getMetadata().add(metadataValue);
         addDetails(metadataValue.getMetadataField().toString());
     }
@@ -205,6 +217,38 @@ public abstract class DSpaceObject implements Serializable, ReloadableEntity<jav
 
     protected void setMetadataModified() {
         this.modifiedMetadata = true;
+        this.modifiedMetadataFields = null;
+    }
+
+    /**
+     * Flag the metadata as modified, keeping track of the field whose values
+     * were added or removed.
+     *
+     * @param metadataField the modified field
+     */
+    protected void setMetadataModified(MetadataField metadataField) {
+        setTrackedMetadataModified();
+        if (modifiedMetadataFields != null) {
+            modifiedMetadataFields.add(metadataField.toString());
+        }
+    }
+
+    /**
+     * Flag the metadata as modified, keeping the fields already tracked: for the
+     * changes whose fields are recorded with {@link #setMetadataModified(MetadataField)}.
+     */
+    protected void setTrackedMetadataModified() {
+        Set<String> fields = modifiedMetadataFields;
+        setMetadataModified();
+        modifiedMetadataFields = fields;
+    }
+
+    /**
+     * @return the metadata fields modified since last update(), in the
+     * schema_element_qualifier form, or null if they are not all known.
+     */
+    public Set<String> getModifiedMetadataFields() {
+        return modifiedMetadataFields;
     }
 
     public boolean isModified() {
@@ -213,6 +257,7 @@ public abstract class DSpaceObject implements Serializable, ReloadableEntity<jav
 
     public void clearModified() {
         this.modified = false;
+        this.modifiedMetadataFields = new HashSet<>();
     }
 
     protected void setModified() {
@@ -337,7 +337,7 @@ public abstract class DSpaceObjectServiceImpl<T extends DSpaceObject> implements
                 dso.addDetails(metadataField.toString());
             }
         }
-        setMetadataModified(dso);
+        dso.setMetadataModified(metadataField);
         return newMetadata;
     }
 
@@ -490,9 +490,10 @@ public abstract class DSpaceObjectServiceImpl<T extends DSpaceObject> implements
             if (match(schema, element, qualifier, lang, metadataValue)) {
                 metadata.remove();
                 metadataValueService.delete(context, metadataValue);
+                dso.setMetadataModified(metadataValue.getMetadataField());
             }
         }
-        dso.setMetadataModified();
+        dso.setTrackedMetadataModified();
     }
 
     @Override
@@ -503,9 +504,10 @@ public abstract class DSpaceObjectServiceImpl<T extends DSpaceObject> implements
             if (values.contains(metadataValue)) {
                 metadata.remove();
                 metadataValueService.delete(context, metadataValue);
+                dso.setMetadataModified(metadataValue.getMetadataField());
             }
         }
-        dso.setMetadataModified();
+        dso.setTrackedMetadataModified();
     }
 
     /**
@@ -557,7 +559,7 @@ public abstract class DSpaceObjectServiceImpl<T extends DSpaceObject> implements
         if (value != null) {
             clearMetadata(context, dso, schema, element, qualifier, language);
             addMetadata(context, dso, schema, element, qualifier, language, value);
-            dso.setMetadataModified();
+            dso.setTrackedMetadataModified();
         }
     }
 
@@ -572,7 +574,7 @@ public abstract class DSpaceObjectServiceImpl<T extends DSpaceObject> implements
             String newValueLanguage = Item.ANY.equals(language) ? null : language;
             addMetadata(context, dso, field.schema, field.element, field.qualifier,
                     newValueLanguage, value);
-            dso.setMetadataModified();
+            dso.setTrackedMetadataModified();
         }
     }
 
@@ -8,6 +8,7 @@
 package org.dspace.content;
 
 import java.util.Objects;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
@@ -19,6 +20,7 @@ import javax.persistence.Table;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.dspace.core.ReloadableEntity;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Class representing an EntityType
@@ -27,6 +29,8 @@ import org.dspace.core.ReloadableEntity;
  */
 @Entity
 @Table(name = "entity_type")
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, include = "non-lazy")
 public class EntityType implements ReloadableEntity<Integer> {
 
     /**
@@ -27,6 +27,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.function.Supplier;
 import java.util.regex.Pattern;
@@ -35,6 +37,7 @@ import java.util.stream.Stream;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.Logger;
 import org.dspace.app.metrics.service.CrisMetricsService;
 import org.dspace.app.requestitem.RequestItem;
@@ -416,6 +419,19 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
         return itemDAO.findAllRegularItems(context);
     }
 
+    @Override
+    public Stream<Pair<UUID, Date>> findAllRegularItemsLastModified(Context context) throws SQLException {
+        return itemDAO.findAllRegularItemsLastModified(context);
+    }
+
+    @Override
+    public List<UUID> findExistingIds(Context context, List<UUID> ids) throws SQLException {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return itemDAO.findExistingIds(context, ids);
+    }
+
     @Override
     public Iterator<Item> findBySubmitter(Context context, EPerson eperson) throws SQLException {
         return itemDAO.findBySubmitter(context, eperson);
@@ -545,8 +561,8 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
             itemDAO.save(context, item);
 
             if (item.isMetadataModified()) {
-                context.addEvent(new Event(Event.MODIFY_METADATA, item.getType(), item.getID(), item.getDetails(),
-                        getIdentifiers(context, item)));
+                context.addEvent(new Event(Event.MODIFY_METADATA, item.getType(), item.getID(),
+                        getModifiedMetadataDetails(item), getIdentifiers(context, item)));
             }
 
             context.addEvent(new Event(Event.MODIFY, Constants.ITEM, item.getID(),
@@ -558,6 +574,22 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
         context.addEvent(new Event(Event.MODIFY, Constants.ITEM, item.getID(), null, getIdentifiers(context, item)));
     }
 
+    /**
+     * Build the detail of the MODIFY_METADATA event of an item: the metadata fields whose values were changed,
+     * separated by commas. The detail is null if these fields are not all known or if other properties of the item
+     * were changed as well, so that the consumers can tell apart the metadata-only changes.
+     *
+     * @param item the updated item
+     * @return the modified metadata fields, or null
+     */
+    private String getModifiedMetadataDetails(Item item) {
+        Set<String> fields = item.getModifiedMetadataFields();
+        if (item.isModified() || fields == null || fields.isEmpty()) {
+            return null;
+        }
+        return String.join(", ", new TreeSet<>(fields));
+    }
+
     @Override
     public boolean isIn(Item item, Collection collection) throws SQLException {
         List<Collection> collections = item.getCollections();
@@ -795,8 +827,8 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
             itemDAO.save(context, item);
 
             if (item.isMetadataModified()) {
-                context.addEvent(new Event(Event.MODIFY_METADATA, item.getType(), item.getID(), item.getDetails(),
-                        getIdentifiers(context, item)));
+                context.addEvent(new Event(Event.MODIFY_METADATA, item.getType(), item.getID(),
+                        getModifiedMetadataDetails(item), getIdentifiers(context, item)));
             }
 
             context.addEvent(new Event(Event.MODIFY, Constants.ITEM, item.getID(),
@@ -1486,8 +1518,8 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
         EPerson currentUser = context.getCurrentUser();
         if (!authorizeService.isAdmin(context)) {
             String userId = currentUser != null ? "e" + currentUser.getID().toString() : "e";
-            Stream<String> groupIds = groupService.allMemberGroupsSet(context, currentUser).stream()
-                .map(group -> "g" + group.getID());
+            Stream<String> groupIds = groupService.allMemberGroupIds(context, currentUser).stream()
+                .map(groupId -> "g" + groupId);
             String query = Stream.concat(Stream.of(userId), groupIds)
                 .collect(Collectors.joining(" OR ", "edit:(", ")"));
             discoverQuery.addFilterQueries(query);
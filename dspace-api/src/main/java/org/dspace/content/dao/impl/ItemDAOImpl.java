@@ -14,12 +14,14 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Stream;
 import javax.persistence.Query;
 import javax.persistence.TemporalType;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.Collection;
 import org.dspace.content.Item;
@@ -94,6 +96,29 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         return iterate(context, query, Item.class);
     }
 
+    @Override
+    public Stream<Pair<UUID, Date>> findAllRegularItemsLastModified(Context context) throws SQLException {
+        Query query = createQuery(
+            context,
+            "SELECT new org.apache.commons.lang3.tuple.ImmutablePair(i.id, i.lastModified) FROM Item as i " +
+            "LEFT JOIN Version as v ON i = v.item " +
+            "WHERE i.inArchive=true or i.withdrawn=true or (i.inArchive=false and v.id IS NOT NULL) " +
+            "ORDER BY i.id"
+        );
+        @SuppressWarnings("unchecked")
+        Stream<Pair<UUID, Date>> stream = query.unwrap(org.hibernate.query.Query.class).stream();
+        return stream;
+    }
+
+    @Override
+    public List<UUID> findExistingIds(Context context, List<UUID> ids) throws SQLException {
+        Query query = createQuery(context, "SELECT i.id FROM Item i WHERE i.id IN (:ids)");
+        query.setParameter("ids", ids);
+        @SuppressWarnings("unchecked")
+        List<UUID> results = query.getResultList();
+        return results;
+    }
+
     @Override
     public Iterator<Item> findAll(Context context, boolean archived,
                                   boolean withdrawn, boolean discoverable, Date lastModified)
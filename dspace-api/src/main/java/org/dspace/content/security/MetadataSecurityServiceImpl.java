@@ -10,17 +10,16 @@ package org.dspace.content.security;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 import javax.annotation.Resource;
 
-import org.apache.commons.collections4.CollectionUtils;
 import org.dspace.app.util.DCInputSet;
 import org.dspace.app.util.DCInputsReader;
 import org.dspace.app.util.DCInputsReaderException;
@@ -36,9 +35,6 @@ import org.dspace.core.Context;
 import org.dspace.core.exception.SQLRuntimeException;
 import org.dspace.eperson.EPerson;
 import org.dspace.layout.CrisLayoutBox;
-import org.dspace.layout.CrisLayoutField;
-import org.dspace.layout.CrisLayoutFieldMetadata;
-import org.dspace.layout.CrisMetadataGroup;
 import org.dspace.layout.service.CrisLayoutBoxAccessService;
 import org.dspace.layout.service.CrisLayoutBoxService;
 import org.dspace.services.ConfigurationService;
@@ -77,8 +73,13 @@ public class MetadataSecurityServiceImpl implements MetadataSecurityService {
     @Autowired
     private ConfigurationService configurationService;
 
+    @Autowired
+    private MetadataVisibilityPlanCache metadataVisibilityPlanCache;
+
     private DCInputsReader dcInputsReader;
 
+    private final Map<String, Boolean> submissionFields = new ConcurrentHashMap<>();
+
     @PostConstruct
     private void setup() throws DCInputsReaderException {
         this.dcInputsReader = new DCInputsReader();
@@ -119,8 +120,8 @@ public class MetadataSecurityServiceImpl implements MetadataSecurityService {
 
     @Override
     public boolean checkMetadataFieldVisibility(Context context, Item item, MetadataField metadataField) {
-        List<CrisLayoutBox> boxes = findBoxes(context, item, false);
-        return isMetadataFieldVisible(context, boxes, item, metadataField, false);
+        return new VisibilityCheck(context, item, findPlan(context, item, false), false)
+            .isMetadataFieldVisible(metadataField);
     }
 
 
@@ -131,20 +132,35 @@ public class MetadataSecurityServiceImpl implements MetadataSecurityService {
             return new ArrayList<MetadataValue>();
         }
 
-        List<CrisLayoutBox> boxes = findBoxes(context, item, preventBoxSecurityCheck);
+        MetadataVisibilityPlan plan = findPlan(context, item, preventBoxSecurityCheck);
+        VisibilityCheck check = new VisibilityCheck(context, item, plan, preventBoxSecurityCheck);
 
-        Optional<List<DCInputSet>> inputs = submissionDefinitionInputs();
-        if (inputs.isPresent()) {
-            return getFromSubmission(context, boxes, item, inputs.get(), metadataValues, preventBoxSecurityCheck);
+        Optional<String> submissionName = submissionDefinitionName();
+        if (submissionName.isPresent()) {
+            return getFromSubmission(check, submissionName.get(), metadataValues);
         }
 
         return metadataValues.stream()
-            .filter(value -> isMetadataValueVisible(context, boxes, item, value, preventBoxSecurityCheck))
-            .filter(value -> isMetadataValueReturnAllowed(context, item, value))
+            .filter(value -> check.isMetadataFieldVisible(value.getMetadataField()))
+            .filter(value -> check.isMetadataValueReturnAllowed(value))
             .collect(Collectors.toList());
 
     }
 
+    private MetadataVisibilityPlan findPlan(Context context, Item item, boolean preventBoxSecurityCheck) {
+        if (context == null || preventBoxSecurityCheck) {
+            // the context could be null if the converter is used to prepare test data or in a batch script
+            return MetadataVisibilityPlan.EMPTY;
+        }
+
+        String entityType = itemService.getEntityTypeLabel(item);
+        try {
+            return metadataVisibilityPlanCache.getPlan(context, entityType);
+        } catch (SQLException e) {
+            throw new SQLRuntimeException(e);
+        }
+    }
+
     private boolean canEditItem(Context context, Item item) {
         if (context == null) {
             return false;
@@ -156,179 +172,186 @@ public class MetadataSecurityServiceImpl implements MetadataSecurityService {
         }
     }
 
-    private List<CrisLayoutBox> findBoxes(Context context, Item item, boolean preventBoxSecurityCheck) {
-        if (context == null || preventBoxSecurityCheck) {
-            // the context could be null if the converter is used to prepare test data or in a batch script
-            return new ArrayList<CrisLayoutBox>();
+    private Set<String> getPublicMetadataFromConfig() {
+        return Set.of(configurationService.getArrayProperty("metadata.publicField"));
+    }
+
+    private Optional<String> submissionDefinitionName() {
+        return Optional.ofNullable(requestService.getCurrentRequest())
+            .map(rq -> (String) rq.getAttribute("submission-name"));
+    }
+
+    private List<DCInputSet> dcInputsSet(final String sd) {
+        try {
+            return dcInputsReader.getInputsBySubmissionName(sd);
+        } catch (DCInputsReaderException e) {
+            throw new RuntimeException(e.getMessage(), e);
         }
+    }
 
-        String entityType = itemService.getEntityTypeLabel(item);
+    private boolean isNotAdmin(Context context) {
         try {
-            return crisLayoutBoxService.findByEntityType(context, entityType, 1000, 0);
+            return context == null || !authorizeService.isAdmin(context);
         } catch (SQLException e) {
             throw new SQLRuntimeException(e);
         }
     }
 
-    private boolean isMetadataValueVisible(Context context, List<CrisLayoutBox> boxes, Item item, MetadataValue value,
-        boolean preventBoxSecurityCheck) {
-        return isMetadataFieldVisible(context, boxes, item, value.getMetadataField(), preventBoxSecurityCheck);
-    }
+    private List<MetadataValue> getFromSubmission(VisibilityCheck check, String submissionName,
+        final List<MetadataValue> metadataValues) {
+
+        List<MetadataValue> filteredMetadataValues = new ArrayList<MetadataValue>();
 
-    private boolean isMetadataFieldVisible(Context context, List<CrisLayoutBox> boxes, Item item,
-        MetadataField metadataField, boolean preventBoxSecurityCheck) {
-        if (CollectionUtils.isNotEmpty(boxes)) {
-            return isMetadataFieldVisibleByBoxes(context, boxes, item, metadataField, preventBoxSecurityCheck);
+        for (MetadataValue metadataValue : metadataValues) {
+            MetadataField field = metadataValue.getMetadataField();
+            if (dcInputsContainsField(submissionName, field) || check.isMetadataFieldVisibleByBoxes(field)) {
+                filteredMetadataValues.add(metadataValue);
+            }
         }
-        return isNotAdmin(context) ? isMetadataFieldVisibleFor(context, item, metadataField) : true;
-    }
 
-    private boolean isMetadataFieldVisibleFor(Context context, Item item, MetadataField metadataField) {
-        return canEditItem(context, item) || isNotHidden(context, metadataField);
+        return filteredMetadataValues;
     }
 
-    private boolean isMetadataValueReturnAllowed(Context context, Item item, MetadataValue metadataValue) {
-        Integer securityLevel = metadataValue.getSecurityLevel();
-        if (securityLevel == null) {
-            return true;
-        }
+    private boolean dcInputsContainsField(String submissionName, MetadataField metadataField) {
+        // the submission definitions are read once, so whether they contain a field never changes
+        String fieldName = metadataField.toString('.');
+        return submissionFields.computeIfAbsent(submissionName + "|" + fieldName,
+            key -> dcInputsSet(submissionName).stream().anyMatch((input) -> input.isFieldPresent(fieldName)));
+    }
 
-        MetadataSecurityEvaluation metadataSecurityEvaluation = getMetadataSecurityEvaluator(securityLevel);
+    private boolean isNotHidden(Context context, MetadataField metadataField) {
         try {
-            return metadataSecurityEvaluation.allowMetadataFieldReturn(context, item, metadataValue.getMetadataField());
+            return !metadataExposureService.isHidden(context, metadataField.getMetadataSchema().getName(),
+                metadataField.getElement(), metadataField.getQualifier());
         } catch (SQLException e) {
             throw new SQLRuntimeException(e);
         }
     }
 
-    private boolean isMetadataFieldVisibleByBoxes(Context context, List<CrisLayoutBox> boxes, Item item,
-        MetadataField metadataField, boolean preventBoxSecurityCheck) {
-
-        if (isPublicMetadataField(metadataField, boxes, preventBoxSecurityCheck)) {
-            return true;
+    /**
+     * The visibility checks of the metadata of an item, which remember the decisions taken for each metadata field,
+     * each box and each security level so that the values of the same field are not checked again.
+     */
+    private class VisibilityCheck {
+
+        private final Context context;
+        private final Item item;
+        private final MetadataVisibilityPlan plan;
+        private final boolean preventBoxSecurityCheck;
+
+        private final Map<Integer, Boolean> visibleFields = new HashMap<>();
+        private final Map<Integer, Boolean> visibleFieldsByBoxes = new HashMap<>();
+        private final Map<Integer, Boolean> accessibleBoxes = new HashMap<>();
+        private final Map<String, Boolean> returnAllowed = new HashMap<>();
+        private Boolean notAdmin;
+        private Boolean canEditItem;
+        private Set<String> publicFieldsFromConfig;
+
+        VisibilityCheck(Context context, Item item, MetadataVisibilityPlan plan, boolean preventBoxSecurityCheck) {
+            this.context = context;
+            this.item = item;
+            this.plan = plan;
+            this.preventBoxSecurityCheck = preventBoxSecurityCheck;
         }
 
-        if (preventBoxSecurityCheck) {
-            return false;
+        boolean isMetadataFieldVisible(MetadataField metadataField) {
+            return visibleFields.computeIfAbsent(metadataField.getID(), id -> {
+                if (plan.hasBoxes()) {
+                    return isMetadataFieldVisibleByBoxes(metadataField);
+                }
+                return isNotAdmin() ? isMetadataFieldVisibleFor(metadataField) : true;
+            });
         }
 
-        EPerson currentUser = context.getCurrentUser();
-        List<CrisLayoutBox> notPublicBoxes = getNotPublicBoxes(metadataField, boxes);
-
-        if (Objects.nonNull(currentUser)) {
+        boolean isMetadataFieldVisibleByBoxes(MetadataField metadataField) {
+            return visibleFieldsByBoxes.computeIfAbsent(metadataField.getID(),
+                id -> computeMetadataFieldVisibilityByBoxes(metadataField));
+        }
 
-            for (CrisLayoutBox box : notPublicBoxes) {
-                if (crisLayoutBoxAccessService.hasAccess(context, currentUser, box, item)) {
-                    return true;
-                }
+        boolean isMetadataValueReturnAllowed(MetadataValue metadataValue) {
+            Integer securityLevel = metadataValue.getSecurityLevel();
+            if (securityLevel == null) {
+                return true;
             }
-        }
 
-        // the metadata is not included in any box so use the default dspace security
-        if (notPublicBoxes.isEmpty() && isMetadataFieldVisibleFor(context, item, metadataField)) {
-            return true;
+            MetadataField metadataField = metadataValue.getMetadataField();
+            return returnAllowed.computeIfAbsent(securityLevel + "|" + metadataField.getID(), key -> {
+                MetadataSecurityEvaluation metadataSecurityEvaluation = getMetadataSecurityEvaluator(securityLevel);
+                try {
+                    return metadataSecurityEvaluation.allowMetadataFieldReturn(context, item, metadataField);
+                } catch (SQLException e) {
+                    throw new SQLRuntimeException(e);
+                }
+            });
         }
 
-        return false;
-    }
+        private boolean computeMetadataFieldVisibilityByBoxes(MetadataField metadataField) {
 
-    private boolean isPublicMetadataField(MetadataField metadataField, List<CrisLayoutBox> boxes,
-        boolean preventBoxSecurityCheck) {
+            if (isPublicMetadataField(metadataField)) {
+                return true;
+            }
 
-        List<String> publicFields = preventBoxSecurityCheck ? getPublicMetadataFromConfig() : getPublicMetadata(boxes);
+            if (preventBoxSecurityCheck) {
+                return false;
+            }
 
-        return publicFields.stream()
-            .anyMatch(publicField -> publicField.equals(metadataField.toString('.')));
-    }
+            EPerson currentUser = context.getCurrentUser();
+            List<Integer> notPublicBoxIds = plan.getNotPublicBoxIds(metadataField);
 
-    private List<String> getPublicMetadataFromConfig() {
-        return List.of(configurationService.getArrayProperty("metadata.publicField"));
-    }
+            if (Objects.nonNull(currentUser)) {
 
-    private List<String> getPublicMetadata(List<CrisLayoutBox> boxes) {
-        return boxes.stream()
-            .filter(box -> box.isPublic())
-            .flatMap(box -> getAllMetadataFields(box).stream())
-            .map(metadataField -> metadataField.toString('.'))
-            .collect(Collectors.toList());
-    }
+                for (Integer boxId : notPublicBoxIds) {
+                    if (hasAccess(currentUser, boxId)) {
+                        return true;
+                    }
+                }
+            }
 
-    private List<CrisLayoutBox> getNotPublicBoxes(MetadataField metadataField, List<CrisLayoutBox> boxes) {
-        return boxes.stream()
-            .filter(box -> box.isNotPublic())
-            .filter(box -> boxContainsMetadataField(box, metadataField))
-            .collect(Collectors.toList());
-    }
+            // the metadata is not included in any box so use the default dspace security
+            if (notPublicBoxIds.isEmpty() && isMetadataFieldVisibleFor(metadataField)) {
+                return true;
+            }
 
-    private boolean boxContainsMetadataField(CrisLayoutBox box, MetadataField metadataField) {
-        return getAllMetadataFields(box).contains(metadataField);
-    }
+            return false;
+        }
 
-    private Set<MetadataField> getAllMetadataFields(CrisLayoutBox box) {
-        Set<MetadataField> metadataFields = new HashSet<>();
-        for (CrisLayoutField field : box.getLayoutFields()) {
-            if (field instanceof CrisLayoutFieldMetadata) {
-                metadataFields.add(field.getMetadataField());
-                for (CrisMetadataGroup metadataGroup : field.getCrisMetadataGroupList()) {
-                    metadataFields.add(metadataGroup.getMetadataField());
+        private boolean isPublicMetadataField(MetadataField metadataField) {
+            if (preventBoxSecurityCheck) {
+                if (publicFieldsFromConfig == null) {
+                    publicFieldsFromConfig = getPublicMetadataFromConfig();
                 }
+                return publicFieldsFromConfig.contains(metadataField.toString('.'));
             }
+            return plan.isPublic(metadataField);
         }
-        return metadataFields;
-    }
 
-    private Optional<List<DCInputSet>> submissionDefinitionInputs() {
-        return Optional.ofNullable(requestService.getCurrentRequest())
-            .map(rq -> (String) rq.getAttribute("submission-name"))
-            .map(this::dcInputsSet);
-    }
-
-    private List<DCInputSet> dcInputsSet(final String sd) {
-        try {
-            return dcInputsReader.getInputsBySubmissionName(sd);
-        } catch (DCInputsReaderException e) {
-            throw new RuntimeException(e.getMessage(), e);
+        private boolean hasAccess(EPerson currentUser, Integer boxId) {
+            return accessibleBoxes.computeIfAbsent(boxId, id -> {
+                try {
+                    CrisLayoutBox box = crisLayoutBoxService.find(context, id);
+                    return box != null && crisLayoutBoxAccessService.hasAccess(context, currentUser, box, item);
+                } catch (SQLException e) {
+                    throw new SQLRuntimeException(e);
+                }
+            });
         }
-    }
 
-    private boolean isAdmin(Context context) {
-        return !isNotAdmin(context);
-    }
-
-    private boolean isNotAdmin(Context context) {
-        try {
-            return context == null || !authorizeService.isAdmin(context);
-        } catch (SQLException e) {
-            throw new SQLRuntimeException(e);
+        private boolean isMetadataFieldVisibleFor(MetadataField metadataField) {
+            return canEditItem() || isNotHidden(context, metadataField);
         }
-    }
-
-    private List<MetadataValue> getFromSubmission(Context context, List<CrisLayoutBox> boxes, Item item,
-        final List<DCInputSet> dcInputSets, final List<MetadataValue> metadataValues, boolean preventBoxSecurityCheck) {
-
-        List<MetadataValue> filteredMetadataValues = new ArrayList<MetadataValue>();
 
-        for (MetadataValue metadataValue : metadataValues) {
-            MetadataField field = metadataValue.getMetadataField();
-            if (dcInputsContainsField(dcInputSets, field)
-                || isMetadataFieldVisibleByBoxes(context, boxes, item, field, preventBoxSecurityCheck)) {
-                filteredMetadataValues.add(metadataValue);
+        private boolean isNotAdmin() {
+            if (notAdmin == null) {
+                notAdmin = MetadataSecurityServiceImpl.this.isNotAdmin(context);
             }
+            return notAdmin;
         }
 
-        return filteredMetadataValues;
-    }
-
-    private boolean dcInputsContainsField(List<DCInputSet> dcInputSets, MetadataField metadataField) {
-        return dcInputSets.stream().anyMatch((input) -> input.isFieldPresent(metadataField.toString('.')));
-    }
-
-    private boolean isNotHidden(Context context, MetadataField metadataField) {
-        try {
-            return !metadataExposureService.isHidden(context, metadataField.getMetadataSchema().getName(),
-                metadataField.getElement(), metadataField.getQualifier());
-        } catch (SQLException e) {
-            throw new SQLRuntimeException(e);
+        private boolean canEditItem() {
+            if (canEditItem == null) {
+                canEditItem = MetadataSecurityServiceImpl.this.canEditItem(context, item);
+            }
+            return canEditItem;
         }
     }
 
@@ -0,0 +1,114 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.security;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.dspace.content.MetadataField;
+import org.dspace.layout.CrisLayoutBox;
+import org.dspace.layout.CrisLayoutField;
+import org.dspace.layout.CrisLayoutFieldMetadata;
+import org.dspace.layout.CrisMetadataGroup;
+
+/**
+ * Immutable digest of the CRIS layout boxes of an entity type used by the {@link MetadataSecurityServiceImpl} to
+ * decide the visibility of the metadata fields: the fields shown in a public box, and the not public boxes showing
+ * each other field. It reduces the checks done for each metadata value to hash lookups; only the access to the not
+ * public boxes, which depends on the user and on the item, remains to be evaluated.
+ *
+ * @see MetadataVisibilityPlanCache
+ */
+public final class MetadataVisibilityPlan {
+
+    /**
+     * The plan of the entity types without boxes.
+     */
+    public static final MetadataVisibilityPlan EMPTY = new MetadataVisibilityPlan(false, Set.of(), Map.of());
+
+    private final boolean hasBoxes;
+
+    private final Set<Integer> publicFieldIds;
+
+    private final Map<Integer, List<Integer>> notPublicBoxIdsByFieldId;
+
+    private MetadataVisibilityPlan(boolean hasBoxes, Set<Integer> publicFieldIds,
+                                   Map<Integer, List<Integer>> notPublicBoxIdsByFieldId) {
+        this.hasBoxes = hasBoxes;
+        this.publicFieldIds = publicFieldIds;
+        this.notPublicBoxIdsByFieldId = notPublicBoxIdsByFieldId;
+    }
+
+    /**
+     * Compile the plan of the boxes of an entity type.
+     *
+     * @param boxes the boxes of the entity type
+     * @return the plan
+     */
+    public static MetadataVisibilityPlan compile(List<CrisLayoutBox> boxes) {
+        if (boxes.isEmpty()) {
+            return EMPTY;
+        }
+        Set<Integer> publicFieldIds = new HashSet<>();
+        Map<Integer, List<Integer>> notPublicBoxIdsByFieldId = new HashMap<>();
+        for (CrisLayoutBox box : boxes) {
+            for (MetadataField metadataField : getAllMetadataFields(box)) {
+                if (box.isPublic()) {
+                    publicFieldIds.add(metadataField.getID());
+                } else {
+                    notPublicBoxIdsByFieldId.computeIfAbsent(metadataField.getID(), id -> new ArrayList<>())
+                                            .add(box.getID());
+                }
+            }
+        }
+        notPublicBoxIdsByFieldId.replaceAll((fieldId, boxIds) -> List.copyOf(boxIds));
+        return new MetadataVisibilityPlan(true, Set.copyOf(publicFieldIds), Map.copyOf(notPublicBoxIdsByFieldId));
+    }
+
+    /**
+     * @return whether the entity type has boxes, otherwise the default DSpace security applies
+     */
+    public boolean hasBoxes() {
+        return hasBoxes;
+    }
+
+    /**
+     * @param metadataField the metadata field
+     * @return whether the field is shown in a public box
+     */
+    public boolean isPublic(MetadataField metadataField) {
+        return publicFieldIds.contains(metadataField.getID());
+    }
+
+    /**
+     * @param metadataField the metadata field
+     * @return the ids of the not public boxes showing the field
+     */
+    public List<Integer> getNotPublicBoxIds(MetadataField metadataField) {
+        return notPublicBoxIdsByFieldId.getOrDefault(metadataField.getID(), Collections.emptyList());
+    }
+
+    private static Set<MetadataField> getAllMetadataFields(CrisLayoutBox box) {
+        Set<MetadataField> metadataFields = new HashSet<>();
+        for (CrisLayoutField field : box.getLayoutFields()) {
+            if (field instanceof CrisLayoutFieldMetadata) {
+                metadataFields.add(field.getMetadataField());
+                for (CrisMetadataGroup metadataGroup : field.getCrisMetadataGroupList()) {
+                    metadataFields.add(metadataGroup.getMetadataField());
+                }
+            }
+        }
+        return metadataFields;
+    }
+
+}
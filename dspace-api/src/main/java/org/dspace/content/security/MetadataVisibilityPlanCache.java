@@ -0,0 +1,112 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.security;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.dspace.core.Context;
+import org.dspace.layout.service.CrisLayoutBoxService;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JVM-wide cache of the {@link MetadataVisibilityPlan}s of the entity types, so that the boxes of an entity type are
+ * not read again for each item converted to REST.
+ * <p>
+ * The plans are invalidated by the CRIS layout services once the creation, update or deletion of a box, a field or a
+ * metadata group is committed. As the layout can also be changed by another JVM (e.g. the cris-layout-tool script),
+ * they expire after <code>metadata.security.visibility-plan.cache.ttl</code> seconds.
+ */
+public class MetadataVisibilityPlanCache {
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Autowired
+    private CrisLayoutBoxService crisLayoutBoxService;
+
+    private final Map<String, CachedPlan> plans = new HashMap<>();
+
+    /**
+     * Incremented by each invalidation, so that the plans compiled before it are not cached
+     */
+    private long generation;
+
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("metadata.security.visibility-plan.cache.enabled", false);
+    }
+
+    /**
+     * Get the plan of an entity type, compiling it if it is not cached.
+     *
+     * @param context    the DSpace context
+     * @param entityType the entity type
+     * @return the plan
+     * @throws SQLException if a database error occurs
+     */
+    public MetadataVisibilityPlan getPlan(Context context, String entityType) throws SQLException {
+        if (!isEnabled()) {
+            return compile(context, entityType);
+        }
+        String key = Objects.toString(entityType, "");
+        long compilationGeneration;
+        synchronized (plans) {
+            CachedPlan cached = plans.get(key);
+            if (cached != null && cached.expiration > System.currentTimeMillis()) {
+                return cached.plan;
+            }
+            compilationGeneration = generation;
+        }
+        MetadataVisibilityPlan plan = compile(context, entityType);
+        long ttl = configurationService.getLongProperty("metadata.security.visibility-plan.cache.ttl", 300);
+        synchronized (plans) {
+            if (compilationGeneration == generation) {
+                plans.put(key, new CachedPlan(plan, System.currentTimeMillis() + ttl * 1000));
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Discard all the plans, e.g. when the layout is changed.
+     */
+    public void invalidateAll() {
+        synchronized (plans) {
+            generation++;
+            plans.clear();
+        }
+    }
+
+    /**
+     * Discard all the plans once the transaction of the context, which changes the layout, is committed: the plans
+     * compiled by the other contexts from the previous layout until then are discarded too.
+     *
+     * @param context the DSpace context changing the layout
+     */
+    public void invalidateAllAfterCommit(Context context) {
+        context.afterCommit(this::invalidateAll);
+    }
+
+    private MetadataVisibilityPlan compile(Context context, String entityType) throws SQLException {
+        return MetadataVisibilityPlan.compile(crisLayoutBoxService.findByEntityType(context, entityType, 1000, 0));
+    }
+
+    private static class CachedPlan {
+        private final MetadataVisibilityPlan plan;
+        private final long expiration;
+
+        CachedPlan(MetadataVisibilityPlan plan, long expiration) {
+            this.plan = plan;
+            this.expiration = expiration;
+        }
+    }
+
+}
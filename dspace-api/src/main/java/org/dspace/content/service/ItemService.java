@@ -14,7 +14,9 @@ import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.authorize.ResourcePolicy;
 import org.dspace.content.Bitstream;
@@ -130,6 +132,25 @@ public interface ItemService
      */
     public Iterator<Item> findAllRegularItems(Context context) throws SQLException;
 
+    /**
+     * Find the identifier and the last modified date of all the items returned by
+     * {@link #findAllRegularItems(Context)}, ordered by identifier, without loading the items themselves.
+     * The stream is backed by an open database cursor, so it must be closed once read.
+     * @param context the DSpace context.
+     * @return stream of the identifier / last modified date pairs of all regular items.
+     * @throws SQLException if database error.
+     */
+    public Stream<Pair<UUID, Date>> findAllRegularItemsLastModified(Context context) throws SQLException;
+
+    /**
+     * Find which of the given item identifiers still exist, in a single query.
+     * @param context the DSpace context.
+     * @param ids the identifiers to look for.
+     * @return the identifiers of the existing items, in no particular order.
+     * @throws SQLException if database error.
+     */
+    public List<UUID> findExistingIds(Context context, List<UUID> ids) throws SQLException;
+
     /**
      * Find all the items in the archive by a given submitter. The order is
      * indeterminate. Only items with the "in archive" flag set are included.
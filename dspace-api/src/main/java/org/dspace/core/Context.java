@@ -10,10 +10,12 @@ package org.dspace.core;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.UUID;
@@ -109,6 +111,16 @@ public class Context implements AutoCloseable {
      */
     private LinkedList<Event> events = null;
 
+    /**
+     * Tasks to run once the current transaction is committed
+     */
+    private List<Runnable> afterCommitTasks = new ArrayList<>();
+
+    /**
+     * Number of the current transaction, incremented each time one is committed or rolled back
+     */
+    private long transactionNumber = 0;
+
     /**
      * Event dispatcher name
      */
@@ -119,11 +131,28 @@ public class Context implements AutoCloseable {
      */
     private Mode mode;
 
+    /**
+     * Whether the discovery index must be updated before the commit even when the asynchronous
+     * indexing is enabled, so that the changes are immediately visible to the searches
+     */
+    private boolean synchronousIndexing = false;
+
     /**
      * Cache that is only used the context is in READ_ONLY mode
      */
     private final ContextReadOnlyCache readOnlyCache = new ContextReadOnlyCache();
 
+    /**
+     * Authorization results computed for a list of objects by AuthorizeService.batchAuthorizeActionBoolean, used
+     * when the context is not in READ_ONLY mode until it is modified, a policy is written or the transaction ends
+     */
+    private final Map<AuthorizedActionKey, Boolean> batchAuthorizationResults = new HashMap<>();
+
+    /**
+     * Whether the current transaction changed some resource policies, which doesn't always add an event
+     */
+    private boolean authorizationChanged = false;
+
     protected EventService eventService;
 
     private DBConnection dbConnection;
@@ -445,9 +474,48 @@ public class Context implements AutoCloseable {
 
             if (dbConnection != null) {
                 // Commit our changes (this closes the transaction but leaves database connection open)
-                dbConnection.commit();
+                try {
+                    dbConnection.commit();
+                } catch (SQLException | RuntimeException e) {
+                    afterCommitTasks.clear();
+                    throw e;
+                }
                 reloadContextBoundEntities();
             }
+            // the next transaction may see the policies and groups changed by the other ones
+            batchAuthorizationResults.clear();
+            authorizationChanged = false;
+            transactionNumber++;
+            runAfterCommitTasks();
+        }
+    }
+
+    /**
+     * Register a task to run once the current transaction is committed, e.g. to update a cache or an index from
+     * the committed state, which other transactions and threads can read. The tasks are run by the thread that
+     * commits, in the order they were registered; they are discarded if the transaction is rolled back.
+     * <p>
+     * A failure of a task is logged and doesn't prevent the other tasks from running.
+     *
+     * @param task the task to run after the commit
+     */
+    public void afterCommit(Runnable task) {
+        afterCommitTasks.add(task);
+    }
+
+    private void runAfterCommitTasks() {
+        if (afterCommitTasks.isEmpty()) {
+            return;
+        }
+        // the tasks registered while running these ones wait for the next commit
+        List<Runnable> tasks = afterCommitTasks;
+        afterCommitTasks = new ArrayList<>();
+        for (Runnable task : tasks) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.error("Error running a task after the commit of the transaction", e);
+            }
         }
     }
 
@@ -510,6 +578,7 @@ public class Context implements AutoCloseable {
         }
 
         events.add(event);
+        batchAuthorizationResults.clear();
     }
 
     /**
@@ -570,9 +639,23 @@ public class Context implements AutoCloseable {
             }
         } finally {
             events = null;
+            afterCommitTasks.clear();
+            batchAuthorizationResults.clear();
+            authorizationChanged = false;
+            transactionNumber++;
         }
     }
 
+    /**
+     * Get the number of the current transaction of this context, which changes each time a transaction is committed
+     * or rolled back, e.g. to tell whether the data memoized by a caller were read in the current transaction.
+     *
+     * @return the number of the current transaction
+     */
+    public long getTransactionNumber() {
+        return transactionNumber;
+    }
+
     /**
      * Close the context, without committing any of the changes performed using
      * this context. The database connection is freed. No exception is thrown if
@@ -608,6 +691,7 @@ public class Context implements AutoCloseable {
                 log.error("Error closing the database connection", ex);
             }
             events = null;
+            afterCommitTasks.clear();
         }
     }
 
@@ -665,6 +749,7 @@ public class Context implements AutoCloseable {
      */
     public void setSpecialGroup(UUID groupID) {
         specialGroups.add(groupID);
+        batchAuthorizationResults.clear();
     }
 
     /**
@@ -813,6 +898,7 @@ public class Context implements AutoCloseable {
         if (mode != Mode.READ_ONLY || newMode != Mode.READ_ONLY) {
             //clear our read-only cache to prevent any inconsistencies
             readOnlyCache.clear();
+            batchAuthorizationResults.clear();
         }
 
         // When going to READ_ONLY, flush database changes to ensure that the current data is retrieved
@@ -868,6 +954,26 @@ public class Context implements AutoCloseable {
         return mode != null && mode == Mode.BATCH_EDIT;
     }
 
+    /**
+     * Require the discovery index to be updated before the changes of this context are committed,
+     * even when the asynchronous indexing is enabled (discovery.index.async.enabled). Use it only when
+     * the changes must be visible to the searches as soon as the commit returns.
+     *
+     * @param synchronousIndexing true to update the discovery index synchronously
+     */
+    public void setSynchronousIndexing(boolean synchronousIndexing) {
+        this.synchronousIndexing = synchronousIndexing;
+    }
+
+    /**
+     * Check if the discovery index must be updated synchronously when this context is committed.
+     *
+     * @return true if the changes must be visible to the searches as soon as the commit returns
+     */
+    public boolean isSynchronousIndexing() {
+        return synchronousIndexing;
+    }
+
     /**
      * Reload an entity from the database into the cache. This method will return a reference to the "attached"
      * entity. This means changes to the entity will be tracked and persisted to the database.
@@ -911,11 +1017,51 @@ public class Context implements AutoCloseable {
         EPerson eperson, Boolean inheritance) {
         if (isReadOnly()) {
             return readOnlyCache.getCachedAuthorizationResult(dspaceObject, action, eperson, inheritance);
+        } else if (!hasEvents()) {
+            return batchAuthorizationResults.get(AuthorizedActionKey.of(dspaceObject, action, eperson, inheritance));
         } else {
             return null;
         }
     }
 
+    /**
+     * Keep an authorization result computed for a list of objects, to be returned by
+     * {@link #getCachedAuthorizationResult(DSpaceObject, int, EPerson, Boolean)} even when the context is not in
+     * READ_ONLY mode, until the context is modified (the changes of the groups add events), a policy is written or
+     * the transaction is committed or rolled back.
+     */
+    public void cacheBatchAuthorizedAction(DSpaceObject dspaceObject, int action, EPerson eperson,
+                                           Boolean inheritance, Boolean result) {
+        if (isReadOnly()) {
+            readOnlyCache.cacheAuthorizedAction(dspaceObject, action, eperson, inheritance, result);
+        } else if (!hasEvents()) {
+            batchAuthorizationResults.put(AuthorizedActionKey.of(dspaceObject, action, eperson, inheritance), result);
+        }
+    }
+
+    /**
+     * Discard the authorization results computed for lists of objects when the context is not in READ_ONLY mode,
+     * e.g. when a resource policy is written, which doesn't add an event for all the objects.
+     */
+    public void clearBatchAuthorizationResults() {
+        batchAuthorizationResults.clear();
+    }
+
+    /**
+     * Record that the current transaction changed some resource policies, so that the authorization decisions shared
+     * by the contexts are not used by this one until the transaction is committed or rolled back.
+     */
+    public void setAuthorizationChanged() {
+        authorizationChanged = true;
+    }
+
+    /**
+     * @return whether the current transaction changed some resource policies
+     */
+    public boolean isAuthorizationChanged() {
+        return authorizationChanged;
+    }
+
     public void cacheAuthorizedAction(DSpaceObject dspaceObject, int action, EPerson eperson, Boolean result,
                                       ResourcePolicy rp) {
         cacheAuthorizedAction(dspaceObject, action, eperson, null, result, rp);
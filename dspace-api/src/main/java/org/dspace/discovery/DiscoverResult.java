@@ -38,6 +38,7 @@ public class DiscoverResult {
     private Map<String, Long> facetResultMore;
     private Map<String, Long> facetResultTotalElements;
     private Map<String, List<FacetPivotResult>> facetPivotResults;
+    private Map<String, Integer> facetQueryCounts;
 
     /**
      * A map that contains all the documents sougth after, the key is a string representation of the Indexable Object
@@ -56,6 +57,7 @@ public class DiscoverResult {
         facetResultsMissing = new LinkedHashMap<String, Long>();
         facetResultMore = new LinkedHashMap<String, Long>();
         facetResultTotalElements = new LinkedHashMap<String, Long>();
+        facetQueryCounts = new LinkedHashMap<String, Integer>();
         highlightedResults = new HashMap<String, IndexableObjectHighlightResult>();
     }
 
@@ -141,6 +143,20 @@ public class DiscoverResult {
         return facetResultTotalElements.get(facetField);
     }
 
+    public void setFacetQueryCount(String facetQueryKey, Integer count) {
+        facetQueryCounts.put(facetQueryKey, count);
+    }
+
+    /**
+     * @param facetQueryKey the facet query, or its key when it was given one
+     *                      with the <code>{!key=...}</code> local parameter
+     * @return the number of results matching the facet query, null if it was
+     *         not requested
+     */
+    public Integer getFacetQueryCount(String facetQueryKey) {
+        return facetQueryCounts.get(facetQueryKey);
+    }
+
     public Map<String, List<FacetResult>> getFacetResults() {
         return facetResults;
     }
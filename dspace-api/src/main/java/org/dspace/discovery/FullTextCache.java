@@ -0,0 +1,225 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.tika.metadata.Metadata;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Local on-disk cache of the full text extracted from the TEXT bundle of the items, so that reindexing an item whose
+ * full text bitstreams didn't change doesn't read them again from the assetstore.
+ * <p>
+ * The entries are addressed by a hash of the checksums of the bitstreams and of the character limit used for the
+ * extraction, so an entry never needs to be invalidated: a change of the bitstreams or of the limit leads to a new
+ * key. The cache is bounded to <code>discovery.index.fulltext.cache.max-size</code> megabytes; when the limit is
+ * exceeded the least recently used entries are removed.
+ */
+public class FullTextCache {
+
+    private static final Logger log = LogManager.getLogger(FullTextCache.class);
+
+    /**
+     * Version of the format of the entries, written at the beginning of each file
+     */
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Part of the maximum size kept when the cache is pruned, to avoid pruning on each write
+     */
+    private static final double PRUNE_RATIO = 0.9;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    /**
+     * Estimated size of the cache in bytes, -1 until the cache directory is measured
+     */
+    private final AtomicLong size = new AtomicLong(-1);
+
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("discovery.index.fulltext.cache.enabled", false);
+    }
+
+    /**
+     * Build the key of the full text extracted from the given bitstreams.
+     *
+     * @param checksums the checksums of the full text bitstreams, in the order they are parsed
+     * @param charLimit the maximum number of characters extracted
+     * @return the key of the entry, or null if the cache is disabled or a checksum is unknown
+     */
+    public String getKey(List<String> checksums, int charLimit) {
+        if (!isEnabled() || checksums == null || checksums.isEmpty()) {
+            return null;
+        }
+        return DigestUtils.sha256Hex(charLimit + "\n" + StringUtils.join(checksums, "\n"));
+    }
+
+    /**
+     * Read an entry of the cache.
+     *
+     * @param key      the key of the entry
+     * @param metadata the metadata to fill with the Tika metadata of the entry
+     * @return the full text of the entry, or null if the cache doesn't contain it
+     */
+    public String get(String key, Metadata metadata) {
+        Path file = getFile(key);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+            Metadata cachedMetadata = new Metadata();
+            int names = in.readInt();
+            for (int i = 0; i < names; i++) {
+                String name = in.readUTF();
+                int values = in.readInt();
+                for (int j = 0; j < values; j++) {
+                    cachedMetadata.add(name, in.readUTF());
+                }
+            }
+            byte[] text = new byte[in.readInt()];
+            in.readFully(text);
+
+            for (String name : cachedMetadata.names()) {
+                for (String value : cachedMetadata.getValues(name)) {
+                    metadata.add(name, value);
+                }
+            }
+            // keep track of the last use for the pruning
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return new String(text, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.warn("Unable to read the cached full text " + file + ", it will be extracted again", e);
+            return null;
+        }
+    }
+
+    /**
+     * Add an entry to the cache. Errors are logged and otherwise ignored, the cache being only an optimization.
+     *
+     * @param key      the key of the entry
+     * @param text     the extracted full text
+     * @param metadata the Tika metadata of the extraction
+     */
+    public void put(String key, String text, Metadata metadata) {
+        Path file = getFile(key);
+        Path tmp = null;
+        try {
+            Files.createDirectories(file.getParent());
+            tmp = Files.createTempFile(file.getParent(), key, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(FORMAT_VERSION);
+                String[] names = metadata.names();
+                out.writeInt(names.length);
+                for (String name : names) {
+                    String[] values = metadata.getValues(name);
+                    out.writeUTF(name);
+                    out.writeInt(values.length);
+                    for (String value : values) {
+                        out.writeUTF(value);
+                    }
+                }
+                byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            long entrySize = Files.size(tmp);
+            // another indexer may be writing the same entry, the content is the same anyway
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (size.get() < 0 || size.addAndGet(entrySize) > getMaxSize()) {
+                prune();
+            }
+        } catch (IOException e) {
+            log.warn("Unable to cache the full text in " + file, e);
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ex) {
+                    log.debug("Unable to delete " + tmp, ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Measure the cache directory and, if it is larger than the maximum size, remove the least recently used
+     * entries.
+     */
+    protected synchronized void prune() throws IOException {
+        Path root = getDirectory();
+        List<File> files;
+        try (Stream<Path> paths = Files.walk(root)) {
+            files = paths.filter(Files::isRegularFile).map(Path::toFile).collect(Collectors.toList());
+        }
+        long total = files.stream().mapToLong(File::length).sum();
+        long maxSize = getMaxSize();
+        if (total > maxSize) {
+            long target = (long) (maxSize * PRUNE_RATIO);
+            List<File> oldestFirst = new ArrayList<>(files);
+            oldestFirst.sort(Comparator.comparingLong(File::lastModified));
+            int removed = 0;
+            for (File file : oldestFirst) {
+                if (total <= target) {
+                    break;
+                }
+                long length = file.length();
+                if (file.delete()) {
+                    total -= length;
+                    removed++;
+                }
+            }
+            log.info("Removed {} entries from the full text cache, {} bytes left", removed, total);
+        }
+        size.set(total);
+    }
+
+    private Path getFile(String key) {
+        // spread the entries over 256 sub directories
+        return getDirectory().resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private Path getDirectory() {
+        String dir = configurationService.getProperty("discovery.index.fulltext.cache.dir");
+        if (StringUtils.isBlank(dir)) {
+            dir = configurationService.getProperty("dspace.dir") + File.separator + "var" + File.separator
+                + "fulltext-cache";
+        }
+        return Paths.get(dir);
+    }
+
+    private long getMaxSize() {
+        return configurationService.getLongProperty("discovery.index.fulltext.cache.max-size", 1024) * 1024 * 1024;
+    }
+
+}
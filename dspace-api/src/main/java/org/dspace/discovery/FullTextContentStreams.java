@@ -48,6 +48,7 @@ public class FullTextContentStreams extends ContentStreamBase {
     protected final Context context;
     protected List<FullTextBitstream> fullTextStreams;
     protected BitstreamService bitstreamService;
+    protected boolean readErrors = false;
 
     public FullTextContentStreams(Context context, Item parentItem) throws SQLException {
         this.context = context;
@@ -137,6 +138,7 @@ public class FullTextContentStreams extends ContentStreamBase {
         try {
             return new SequenceInputStream(new FullTextEnumeration(fullTextStreams.iterator()));
         } catch (Exception e) {
+            readErrors = true;
             log.error("Unable to add full text bitstreams to SOLR for item " + sourceInfo + ": " + e.getMessage(), e);
             return new ByteArrayInputStream((e.getClass() + ": " + e.getMessage()).getBytes(StandardCharsets.UTF_8));
         }
@@ -146,6 +148,33 @@ public class FullTextContentStreams extends ContentStreamBase {
         return CollectionUtils.isEmpty(fullTextStreams);
     }
 
+    /**
+     * Check whether some of the full text bitstreams could not be read by the stream returned by
+     * {@link #getStream()}, in which case the stream contains the error instead of their content.
+     *
+     * @return true if a bitstream could not be read
+     */
+    public boolean hasReadErrors() {
+        return readErrors;
+    }
+
+    /**
+     * Get the checksums of the full text bitstreams, in the order their content is streamed.
+     *
+     * @return the checksums prefixed by their algorithm, or null if the checksum of a bitstream is unknown
+     */
+    public List<String> getChecksums() {
+        List<String> checksums = new ArrayList<>();
+        for (FullTextBitstream fullTextStream : emptyIfNull(fullTextStreams)) {
+            String checksum = fullTextStream.getChecksum();
+            if (checksum == null) {
+                return null;
+            }
+            checksums.add(checksum);
+        }
+        return checksums;
+    }
+
     private BitstreamService getBitstreamService() {
         if (bitstreamService == null) {
             bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
@@ -175,6 +204,13 @@ public class FullTextContentStreams extends ContentStreamBase {
             return bitstream != null ? bitstream.getSizeBytes() : -1;
         }
 
+        public String getChecksum() {
+            if (bitstream == null || StringUtils.isBlank(bitstream.getChecksum())) {
+                return null;
+            }
+            return bitstream.getChecksumAlgorithm() + ":" + bitstream.getChecksum();
+        }
+
         public InputStream getInputStream() throws SQLException, IOException, AuthorizeException {
             return getBitstreamService().retrieve(context, bitstream);
         }
@@ -189,7 +225,7 @@ public class FullTextContentStreams extends ContentStreamBase {
      * passed to a JDK class that requires this obsolete type.
      */
     @SuppressWarnings("JdkObsolete")
-    private static class FullTextEnumeration implements Enumeration<InputStream> {
+    private class FullTextEnumeration implements Enumeration<InputStream> {
 
         private final Iterator<FullTextBitstream> fulltextIterator;
 
@@ -211,6 +247,7 @@ public class FullTextContentStreams extends ContentStreamBase {
                 bitstream = fulltextIterator.next();
                 inputStream = bitstream.getInputStream();
             } catch (Exception e) {
+                readErrors = true;
                 log.warn("Unable to add full text bitstream " + (bitstream == null ? "NULL" :
                     bitstream.getFileName() + " for item " + bitstream.getItemHandle())
                              + " to SOLR:" + e.getMessage(), e);
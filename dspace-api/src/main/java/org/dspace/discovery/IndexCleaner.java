@@ -0,0 +1,215 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.common.SolrDocument;
+import org.dspace.core.Context;
+import org.dspace.discovery.indexobject.factory.IndexFactory;
+import org.dspace.scripts.handler.DSpaceRunnableHandler;
+
+/**
+ * Removes from the discovery index the documents of the objects that no longer exist in the database.
+ * <p>
+ * The calling thread streams the unique identifier, type and identifier of all the documents of the index with a
+ * cursor and groups them by type in batches of <code>batchSize</code>. Each batch is checked by a worker thread,
+ * with its own {@link Context}, using {@link IndexFactory#findExistingIds(Context, List)}, and the documents of the
+ * missing objects are removed from the index with a single delete request.
+ */
+public class IndexCleaner {
+
+    private static final Logger log = LogManager.getLogger(IndexCleaner.class);
+
+    /**
+     * Minimum interval between two progress reports, in milliseconds
+     */
+    private static final long REPORT_INTERVAL = 30000;
+
+    private final SolrServiceImpl solrService;
+
+    private final int threads;
+
+    private final int batchSize;
+
+    private final DSpaceRunnableHandler handler;
+
+    private final AtomicLong checked = new AtomicLong();
+
+    private final AtomicLong deleted = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private final Set<String> unknownTypes = new HashSet<>();
+
+    private long startTime;
+
+    private long lastReport;
+
+    /**
+     * @param solrService the service used to reach the search core and the index factories
+     * @param threads     the number of worker threads
+     * @param batchSize   the number of documents checked with a single database query
+     * @param handler     the handler used to report the progress, can be null
+     */
+    public IndexCleaner(SolrServiceImpl solrService, int threads, int batchSize, DSpaceRunnableHandler handler) {
+        this.solrService = solrService;
+        this.threads = Math.max(1, threads);
+        this.batchSize = Math.max(1, batchSize);
+        this.handler = handler;
+    }
+
+    /**
+     * Remove from the index the documents of the objects that no longer exist.
+     *
+     * @param solr       the search core client
+     * @param pageSize   the number of documents read from the index per request
+     * @return the number of documents removed from the index
+     * @throws InterruptedException if the calling thread is interrupted while waiting for the workers
+     */
+    public long clean(SolrClient solr, int pageSize) throws InterruptedException {
+        startTime = System.currentTimeMillis();
+        lastReport = startTime;
+        info("Cleaning the index with " + threads + " threads and batches of " + batchSize + " documents");
+
+        SolrQuery query = new SolrQuery("*:*");
+        query.setFields(SearchUtils.RESOURCE_UNIQUE_ID, SearchUtils.RESOURCE_ID_FIELD,
+                        SearchUtils.RESOURCE_TYPE_FIELD);
+        Iterator<SolrDocument> docs = new SolrCursorIterator(solr, solrService.solrSearchCore.REQUEST_METHOD, query,
+                                                             pageSize);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Semaphore inFlight = new Semaphore(threads * 2);
+        Map<String, Map<String, String>> batches = new HashMap<>();
+        try {
+            while (docs.hasNext()) {
+                SolrDocument doc = docs.next();
+                String type = (String) doc.getFirstValue(SearchUtils.RESOURCE_TYPE_FIELD);
+                String id = (String) doc.getFirstValue(SearchUtils.RESOURCE_ID_FIELD);
+                if (type == null || id == null) {
+                    continue;
+                }
+                Map<String, String> batch = batches.computeIfAbsent(type, t -> new HashMap<>());
+                batch.put(id, (String) doc.getFirstValue(SearchUtils.RESOURCE_UNIQUE_ID));
+                if (batch.size() == batchSize) {
+                    submit(executor, inFlight, type, batches.remove(type));
+                }
+            }
+            for (Map.Entry<String, Map<String, String>> batch : batches.entrySet()) {
+                submit(executor, inFlight, batch.getKey(), batch.getValue());
+            }
+        } finally {
+            executor.shutdown();
+            while (!executor.awaitTermination(REPORT_INTERVAL, TimeUnit.MILLISECONDS)) {
+                report(false);
+            }
+        }
+        report(true);
+        return deleted.get();
+    }
+
+    /**
+     * @return the number of documents that could not be checked
+     */
+    public long getFailed() {
+        return failed.get();
+    }
+
+    private void submit(ExecutorService executor, Semaphore inFlight, String type,
+                        Map<String, String> uniqueIdsById) throws InterruptedException {
+        inFlight.acquire();
+        executor.execute(() -> {
+            try {
+                cleanBatch(type, uniqueIdsById);
+            } finally {
+                inFlight.release();
+            }
+        });
+        report(false);
+    }
+
+    /**
+     * Check which objects of the batch still exist using a dedicated Context and remove the documents of the
+     * others. Hibernate sessions are bound to the current thread, so the Context must be created by the worker.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private void cleanBatch(String type, Map<String, String> uniqueIdsById) {
+        IndexFactory indexFactory = solrService.indexObjectServiceFactory.getIndexFactoryByType(type);
+        if (indexFactory == null) {
+            warnUnknownType(type);
+            checked.addAndGet(uniqueIdsById.size());
+            return;
+        }
+        Context workerContext = null;
+        try {
+            workerContext = new Context(Context.Mode.READ_ONLY);
+            workerContext.turnOffAuthorisationSystem();
+            Set<String> existingIds = indexFactory.findExistingIds(workerContext,
+                                                                   new ArrayList<>(uniqueIdsById.keySet()));
+            List<String> orphans = new ArrayList<>();
+            for (Map.Entry<String, String> entry : uniqueIdsById.entrySet()) {
+                if (!existingIds.contains(entry.getKey())) {
+                    log.info("Deleting: " + entry.getValue());
+                    orphans.add(entry.getValue());
+                }
+            }
+            if (!orphans.isEmpty()) {
+                indexFactory.delete(orphans);
+                deleted.addAndGet(orphans.size());
+            }
+            checked.addAndGet(uniqueIdsById.size());
+        } catch (Exception e) {
+            failed.addAndGet(uniqueIdsById.size());
+            log.error("Error cleaning a batch of {} {} documents", uniqueIdsById.size(), type, e);
+        } finally {
+            if (workerContext != null && workerContext.isValid()) {
+                workerContext.abort();
+            }
+        }
+    }
+
+    private synchronized void warnUnknownType(String type) {
+        if (unknownTypes.add(type)) {
+            log.warn("No index factory for the documents of type " + type + ", they are kept in the index");
+        }
+    }
+
+    private synchronized void report(boolean last) {
+        long now = System.currentTimeMillis();
+        if (!last && now - lastReport < REPORT_INTERVAL) {
+            return;
+        }
+        lastReport = now;
+        long seconds = Math.max(1, (now - startTime) / 1000);
+        info((last ? "Checked " : "Cleaning in progress: ") + checked.get() + " documents, deleted " + deleted.get()
+                 + ", failed " + failed.get() + " in " + seconds + " seconds");
+    }
+
+    private void info(String message) {
+        log.info(message);
+        if (handler != null) {
+            handler.logInfo(message);
+        }
+    }
+
+}
@@ -30,6 +30,7 @@ import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
 import org.dspace.handle.factory.HandleServiceFactory;
 import org.dspace.metrics.UpdateCrisMetricsInSolrDocService;
 import org.dspace.scripts.DSpaceRunnable;
+import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.utils.DSpace;
 
@@ -43,10 +44,17 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
                                                .getServiceByName(IndexingService.class.getName(),
                                                                  IndexingService.class);
 
+    private IndexingStatistics indexingStatistics = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                        .getServicesByType(IndexingStatistics.class).get(0);
+
     private IndexClientOptions indexClientOptions;
 
     private UpdateCrisMetricsInSolrDocService updateCrisMetricsInSolrDocService;
 
+    private int threads;
+
+    private int batchSize;
+
     @Override
     public void internalRun() throws Exception {
         if (indexClientOptions == IndexClientOptions.HELP) {
@@ -109,7 +117,7 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
             indexer.unIndexContent(context, indexableObject.get().getUniqueIndexID());
         } else if (indexClientOptions == IndexClientOptions.CLEAN) {
             handler.logInfo("Cleaning Index");
-            indexer.cleanIndex();
+            indexer.cleanIndex(threads, batchSize, handler);
         } else if (indexClientOptions == IndexClientOptions.DELETE) {
             handler.logInfo("Deleting Index");
             indexer.deleteIndex();
@@ -117,7 +125,7 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
             indexClientOptions == IndexClientOptions.BUILDANDSPELLCHECK) {
             handler.logInfo("(Re)building index from scratch.");
             indexer.deleteIndex();
-            indexer.createIndex(context);
+            indexer.updateIndex(context, true, null, threads, batchSize, handler);
             if (indexClientOptions == IndexClientOptions.BUILDANDSPELLCHECK) {
                 checkRebuildSpellCheck(commandLine, indexer);
             }
@@ -136,20 +144,21 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
         } else if (indexClientOptions == IndexClientOptions.UPDATE ||
             indexClientOptions == IndexClientOptions.UPDATEANDSPELLCHECK) {
             handler.logInfo("Updating Index");
-            indexer.updateIndex(context, false);
+            indexer.updateIndex(context, false, null, threads, batchSize, handler);
             if (indexClientOptions == IndexClientOptions.UPDATEANDSPELLCHECK) {
                 checkRebuildSpellCheck(commandLine, indexer);
             }
         } else if (indexClientOptions == IndexClientOptions.FORCEUPDATE ||
             indexClientOptions == IndexClientOptions.FORCEUPDATEANDSPELLCHECK) {
             handler.logInfo("Updating Index");
-            indexer.updateIndex(context, true);
+            indexer.updateIndex(context, true, null, threads, batchSize, handler);
             if (indexClientOptions == IndexClientOptions.FORCEUPDATEANDSPELLCHECK) {
                 checkRebuildSpellCheck(commandLine, indexer);
             }
         }
 
         handler.logInfo("Done with indexing");
+        logIndexingStatistics();
         updateCrisMetricsInSolrDocService.performUpdate(context, handler, true);
     }
 
@@ -167,9 +176,32 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
             throw new ParseException("Unable to create a new DSpace Context: " + e.getMessage());
         }
         indexClientOptions = IndexClientOptions.getIndexClientOption(commandLine);
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        try {
+            threads = commandLine.hasOption('t') ? Integer.parseInt(commandLine.getOptionValue('t'))
+                : configurationService.getIntProperty("discovery.index.threads", 1);
+            batchSize = commandLine.hasOption('z') ? Integer.parseInt(commandLine.getOptionValue('z'))
+                : configurationService.getIntProperty("discovery.index.batch-size", 500);
+        } catch (NumberFormatException e) {
+            throw new ParseException("The number of threads and the batch size must be integers");
+        }
         updateCrisMetricsInSolrDocService = new DSpace().getServiceManager().getServiceByName(
                 UpdateCrisMetricsInSolrDocService.class.getName(), UpdateCrisMetricsInSolrDocService.class);
     }
+
+    /**
+     * Log the time spent by each index plugin and index factory during this run, the slowest first.
+     */
+    private void logIndexingStatistics() {
+        if (!indexingStatistics.isEnabled()) {
+            return;
+        }
+        handler.logInfo("Discovery document building statistics:");
+        for (String line : indexingStatistics.getSummary()) {
+            handler.logInfo("  " + line);
+        }
+    }
+
     /**
      * Indexes the given object and all children, if applicable.
      *
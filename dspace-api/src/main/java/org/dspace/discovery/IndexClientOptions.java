@@ -84,6 +84,12 @@ public enum IndexClientOptions {
         options.addOption("s", "spellchecker", false, "Rebuild the spellchecker, can be combined with -b and -f.");
         options.addOption("f", "force", false,
                           "if updating existing index, force each handle to be reindexed even if uptodate");
+        options.addOption("t", "threads", true,
+                          "number of threads used to (re)build, update or clean the index,"
+                              + " overrides discovery.index.threads");
+        options.addOption("z", "batch-size", true,
+                          "number of documents sent to the index in a single update when using more than one thread,"
+                              + " overrides discovery.index.batch-size");
         options.addOption("h", "help", false, "print this help message");
         return options;
     }
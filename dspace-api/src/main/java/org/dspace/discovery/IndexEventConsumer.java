@@ -8,19 +8,29 @@
 package org.dspace.discovery;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.Bundle;
 import org.dspace.content.DSpaceObject;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
+import org.dspace.discovery.indexobject.IndexableItem;
 import org.dspace.discovery.indexobject.factory.IndexFactory;
 import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
+import org.dspace.discovery.queue.service.IndexQueueService;
 import org.dspace.event.Consumer;
 import org.dspace.event.Event;
+import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 
 /**
@@ -44,12 +54,19 @@ public class IndexEventConsumer implements Consumer {
     // unique search IDs to delete
     private Set<String> uniqueIdsToDelete = new HashSet<>();
 
+    // metadata fields changed on the Items, by unique search ID
+    private Map<String, Set<String>> modifiedMetadataFields = new HashMap<>();
+    // unique search IDs of the Items with other changes, that must be indexed entirely
+    private Set<String> itemsToRebuild = new HashSet<>();
+
     IndexingService indexer = DSpaceServicesFactory.getInstance().getServiceManager()
                                                    .getServiceByName(IndexingService.class.getName(),
                                                                      IndexingService.class);
 
     IndexObjectFactoryFactory indexObjectServiceFactory = IndexObjectFactoryFactory.getInstance();
 
+    ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+
     @Override
     public void initialize() throws Exception {
 
@@ -69,6 +86,8 @@ public class IndexEventConsumer implements Consumer {
             objectsToUpdate = new HashSet<>();
             uniqueIdsToDelete = new HashSet<>();
             createdItemsToUpdate = new HashSet<>();
+            modifiedMetadataFields = new HashMap<>();
+            itemsToRebuild = new HashSet<>();
         }
 
         int st = event.getSubjectType();
@@ -105,6 +124,10 @@ public class IndexEventConsumer implements Consumer {
             }
         }
 
+        if (st == Constants.ITEM && subject != null) {
+            trackItemChange(event, et, subject);
+        }
+
         switch (et) {
             case Event.CREATE:
             case Event.MODIFY:
@@ -119,6 +142,7 @@ public class IndexEventConsumer implements Consumer {
                             indexableObject = indexableObjectService.findIndexableObject(ctx, id);
                             if (indexableObject.isPresent()) {
                                 log.debug("consume() adding event to update queue: " + event.toString());
+                                itemsToRebuild.add(indexableObject.get().getUniqueIndexID());
                                 objectsToUpdate
                                     .addAll(indexObjectServiceFactory
                                         .getIndexableObjects(ctx, indexableObject.get().getIndexedObject()));
@@ -205,28 +229,43 @@ public class IndexEventConsumer implements Consumer {
     @Override
     public void end(Context ctx) throws Exception {
 
+        if (isAsynchronous(ctx)) {
+            enqueue(ctx);
+            return;
+        }
+
         // Change the mode to readonly to improve performance
         Context.Mode originalMode = ctx.getCurrentMode();
         ctx.setMode(Context.Mode.READ_ONLY);
 
+        Map<String, Set<String>> partialUpdates = getPartialUpdates();
         try {
-            for (String uid : uniqueIdsToDelete) {
-                try {
-                    indexer.unIndexContent(ctx, uid, false);
-                    if (log.isDebugEnabled()) {
-                        log.debug("UN-Indexed Item, handle=" + uid);
-                    }
-                } catch (Exception e) {
-                    log.error("Failed while UN-indexing object: " + uid, e);
-                }
-            }
+            // the Item documents of the partial updates are kept and only their metadata fields are updated
+            Set<String> uidsToUnIndex = new HashSet<>(uniqueIdsToDelete);
+            uidsToUnIndex.removeAll(partialUpdates.keySet());
             // update the changed Items not deleted because they were on create list
+            List<IndexableObject> objectsToIndex = new ArrayList<>();
             for (IndexableObject iu : objectsToUpdate) {
-                indexObject(ctx, iu, false);
+                Set<String> metadataFields = partialUpdates.get(iu.getUniqueIndexID());
+                if (metadataFields == null || !indexMetadataChanges(ctx, iu, metadataFields)) {
+                    objectsToIndex.add(iu);
+                }
             }
-            // update the created Items with a pre-db status
-            for (IndexableObject iu : createdItemsToUpdate) {
-                indexObject(ctx, iu, true);
+            int parallelThreshold = configurationService.getIntProperty("discovery.index.parallel.threshold", 0);
+            if (parallelThreshold > 0 && objectsToIndex.size() >= parallelThreshold) {
+                // the workers read the objects with their own Context, so they can only see the changes once
+                // committed: the whole update of the index waits for the commit
+                List<IndexableObject> createdItems = new ArrayList<>(createdItemsToUpdate);
+                ctx.afterCommit(() -> indexAfterCommit(ctx, uidsToUnIndex, objectsToIndex, createdItems));
+            } else {
+                unIndexObjects(ctx, uidsToUnIndex);
+                for (IndexableObject iu : objectsToIndex) {
+                    indexObject(ctx, iu, false);
+                }
+                // update the created Items with a pre-db status
+                for (IndexableObject iu : createdItemsToUpdate) {
+                    indexObject(ctx, iu, true);
+                }
             }
         } finally {
             if (!objectsToUpdate.isEmpty() || !uniqueIdsToDelete.isEmpty()) {
@@ -238,11 +277,134 @@ public class IndexEventConsumer implements Consumer {
                 uniqueIdsToDelete.clear();
                 createdItemsToUpdate.clear();
             }
+            modifiedMetadataFields.clear();
+            itemsToRebuild.clear();
 
             ctx.setMode(originalMode);
         }
     }
 
+    /**
+     * Check if the index must be updated by the background workers draining the
+     * indexing queue, rather than in the thread committing the context.
+     */
+    private boolean isAsynchronous(Context ctx) {
+        return configurationService.getBooleanProperty("discovery.index.async.enabled", false)
+            && !ctx.isSynchronousIndexing();
+    }
+
+    /**
+     * Add the unique index ids of all the collected objects to the indexing queue,
+     * in the transaction that is being committed. The workers resolve each id
+     * against the database, so deleted and updated objects are queued in the same
+     * way, except that the ids collected for deletion are flagged to remove all
+     * their documents (e.g. the in progress submissions of a deposited Item)
+     * before the objects that still exist are indexed again.
+     */
+    private void enqueue(Context ctx) throws SQLException {
+        Set<String> uniqueIndexIds = new LinkedHashSet<>();
+        for (IndexableObject iu : objectsToUpdate) {
+            if (iu.getUniqueIndexID() != null) {
+                uniqueIndexIds.add(iu.getUniqueIndexID());
+            }
+        }
+        for (IndexableObject iu : createdItemsToUpdate) {
+            if (iu.getUniqueIndexID() != null) {
+                uniqueIndexIds.add(iu.getUniqueIndexID());
+            }
+        }
+        uniqueIndexIds.removeAll(uniqueIdsToDelete);
+        try {
+            getIndexQueueService().enqueue(ctx, uniqueIdsToDelete, true);
+            getIndexQueueService().enqueue(ctx, uniqueIndexIds, false);
+            log.debug("Queued {} objects for asynchronous indexing",
+                      uniqueIdsToDelete.size() + uniqueIndexIds.size());
+        } finally {
+            objectsToUpdate.clear();
+            uniqueIdsToDelete.clear();
+            createdItemsToUpdate.clear();
+            modifiedMetadataFields.clear();
+            itemsToRebuild.clear();
+        }
+    }
+
+    /**
+     * Resolve the indexing queue only when the asynchronous indexing is used, as
+     * its beans are not registered by every configuration.
+     */
+    private IndexQueueService getIndexQueueService() {
+        IndexQueueService indexQueueService = DSpaceServicesFactory.getInstance().getServiceManager()
+            .getServiceByName(IndexQueueService.class.getName(), IndexQueueService.class);
+        if (indexQueueService == null) {
+            throw new IllegalStateException("discovery.index.async.enabled is true but no IndexQueueService "
+                + "is configured, see solr-services.xml");
+        }
+        return indexQueueService;
+    }
+
+    /**
+     * Keep track of the changes of an Item: the metadata fields listed by its
+     * MODIFY_METADATA events, or the need to index it entirely for any other
+     * event but the plain MODIFY one fired by every update of the Item.
+     */
+    private void trackItemChange(Event event, int eventType, DSpaceObject item) {
+        String uniqueIndexId = IndexableItem.TYPE + "-" + item.getID();
+        if (eventType == Event.MODIFY_METADATA && event.getDetail() != null) {
+            modifiedMetadataFields.computeIfAbsent(uniqueIndexId, id -> new HashSet<>())
+                                  .addAll(Arrays.asList(event.getDetail().split(",\\s*")));
+        } else if (eventType != Event.MODIFY || event.getSubjectType() != Constants.ITEM
+            || event.getDetail() != null) {
+            itemsToRebuild.add(uniqueIndexId);
+        }
+    }
+
+    /**
+     * Find the Items to update in the index whose only changes are the values
+     * of metadata fields listed in discovery.index.partial-update.fields, so
+     * that only the solr fields derived from them are updated.
+     *
+     * @return the changed metadata fields, in the schema.element.qualifier
+     * form, by unique search ID of the Items
+     */
+    private Map<String, Set<String>> getPartialUpdates() {
+        Map<String, Set<String>> partialUpdates = new HashMap<>();
+        String[] partialUpdateFields = configurationService.getArrayProperty("discovery.index.partial-update.fields");
+        if (ArrayUtils.isEmpty(partialUpdateFields) || modifiedMetadataFields.isEmpty()) {
+            return partialUpdates;
+        }
+        // the event details use the schema_element_qualifier form
+        Map<String, String> allowedFields = new HashMap<>();
+        for (String field : partialUpdateFields) {
+            allowedFields.put(field.trim().replace('.', '_'), field.trim());
+        }
+        for (IndexableObject iu : createdItemsToUpdate) {
+            itemsToRebuild.add(iu.getUniqueIndexID());
+        }
+        for (IndexableObject iu : objectsToUpdate) {
+            Set<String> fields = modifiedMetadataFields.get(iu.getUniqueIndexID());
+            if (iu instanceof IndexableItem && fields != null && !itemsToRebuild.contains(iu.getUniqueIndexID())
+                && allowedFields.keySet().containsAll(fields)) {
+                Set<String> metadataFields = new HashSet<>();
+                for (String field : fields) {
+                    metadataFields.add(allowedFields.get(field));
+                }
+                partialUpdates.put(iu.getUniqueIndexID(), metadataFields);
+            }
+        }
+        return partialUpdates;
+    }
+
+    private boolean indexMetadataChanges(Context ctx, IndexableObject iu, Set<String> metadataFields)
+        throws SQLException {
+        iu.setIndexedObject(ctx.reloadEntity(iu.getIndexedObject()));
+        try {
+            return indexer.indexMetadataChanges(ctx, iu, metadataFields);
+        } catch (Exception e) {
+            log.warn("Failed to update the metadata of " + iu.getUniqueIndexID() + ", indexing it entirely", e);
+            return false;
+        }
+    }
+
     private void indexObject(Context ctx, IndexableObject iu, boolean preDb) throws SQLException {
         /* we let all types through here and
          * allow the search indexer to make
@@ -263,6 +425,78 @@ public class IndexEventConsumer implements Consumer {
         }
     }
 
+    private void unIndexObjects(Context ctx, Set<String> uids) {
+        for (String uid : uids) {
+            try {
+                indexer.unIndexContent(ctx, uid, false);
+                if (log.isDebugEnabled()) {
+                    log.debug("UN-Indexed Item, handle=" + uid);
+                }
+            } catch (Exception e) {
+                log.error("Failed while UN-indexing object: " + uid, e);
+            }
+        }
+    }
+
+    /**
+     * Update the index for a large transaction once it is committed, so that
+     * the worker threads building the documents in parallel read the changes.
+     * The documents of the objects are replaced in the same order as in
+     * {@link #end(Context)}.
+     */
+    private void indexAfterCommit(Context ctx, Set<String> uidsToUnIndex, List<IndexableObject> objectsToIndex,
+                                  List<IndexableObject> createdItems) {
+        try {
+            unIndexObjects(ctx, uidsToUnIndex);
+            indexObjectsInParallel(ctx, objectsToIndex);
+            // update the created Items with a pre-db status
+            for (IndexableObject iu : createdItems) {
+                indexObject(ctx, iu, true);
+            }
+        } catch (SQLException e) {
+            log.error("Failed while indexing the objects of a committed transaction", e);
+        } finally {
+            try {
+                indexer.commit();
+            } catch (SearchServiceException e) {
+                log.error("Failed to commit the index after indexing a committed transaction", e);
+            }
+        }
+    }
+
+    /**
+     * Index the objects changed by a large transaction with a pool of worker
+     * threads, each one building the documents of a batch of objects with its
+     * own read-only Context and sending them to the search core with a single
+     * update. It must be called once the changes are committed to the
+     * database, see {@link #indexAfterCommit}. If the workers can't be run,
+     * the objects are indexed one by one.
+     */
+    private void indexObjectsInParallel(Context ctx, List<IndexableObject> objectsToIndex) throws SQLException {
+        List<IndexableObject> indexableObjects = new ArrayList<>();
+        for (IndexableObject iu : objectsToIndex) {
+            if (iu.getUniqueIndexID() != null) {
+                indexableObjects.add(iu);
+            }
+        }
+        int threads = configurationService.getIntProperty("discovery.index.parallel.threads", 4);
+        int batchSize = configurationService.getIntProperty("discovery.index.parallel.batch-size", 100);
+        try {
+            long failed = indexer.indexContentInParallel(indexableObjects, threads, batchSize);
+            if (failed > 0) {
+                log.warn("Indexed {} objects in parallel, {} failed", indexableObjects.size(), failed);
+            } else {
+                log.debug("Indexed {} objects in parallel", indexableObjects.size());
+            }
+        } catch (SearchServiceException | RuntimeException e) {
+            log.warn("Failed to index {} objects in parallel, indexing them sequentially",
+                     indexableObjects.size(), e);
+            for (IndexableObject iu : indexableObjects) {
+                indexObject(ctx, iu, false);
+            }
+        }
+    }
+
     @Override
     public void finish(Context ctx) throws Exception {
         // No-op
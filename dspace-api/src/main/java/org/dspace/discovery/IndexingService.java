@@ -9,13 +9,16 @@ package org.dspace.discovery;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.dspace.app.metrics.CrisMetrics;
 import org.dspace.core.Context;
+import org.dspace.scripts.handler.DSpaceRunnableHandler;
 
 /**
  * Interface used for indexing IndexableObject into discovery
@@ -46,6 +49,31 @@ public interface IndexingService {
     void indexContent(Context context, IndexableObject dso,
                       boolean force, boolean commit, boolean preDb) throws SQLException, SearchServiceException;
 
+    /**
+     * Update the index of an object whose only changes are the values of some metadata fields, by atomically
+     * setting the solr fields derived from these metadata instead of building the whole document again.
+     * @param context        The DSpace Context
+     * @param dso            The object to update the index for
+     * @param metadataFields The changed metadata fields, in the schema.element.qualifier form
+     * @return true if the index was updated, false if the object must be indexed entirely instead (e.g. it is
+     *         not an item or it is not in the index yet)
+     */
+    boolean indexMetadataChanges(Context context, IndexableObject dso, Set<String> metadataFields)
+        throws SQLException, SearchServiceException;
+
+    /**
+     * Index the given objects, whether or not they are stale, using a pool of worker threads. Each worker reloads a
+     * batch of objects with its own read-only Context, builds their documents and sends them to the search core in a
+     * single update. The changes of the objects must already be committed to the database. The search core is not
+     * committed.
+     * @param indexableObjects The objects to index
+     * @param threads          The number of worker threads
+     * @param batchSize        The number of documents sent to the search core in a single update
+     * @return the number of objects that could not be indexed
+     */
+    long indexContentInParallel(Collection<IndexableObject> indexableObjects, int threads, int batchSize)
+        throws SearchServiceException;
+
     void unIndexContent(Context context, IndexableObject dso)
         throws SQLException, IOException;
 
@@ -69,8 +97,35 @@ public interface IndexingService {
 
     void updateIndex(Context context, boolean force, String type);
 
+    /**
+     * Iterates over all the objects of the given type (or of all types) and updates them in the index using a pool
+     * of worker threads, each one with its own Context, that send the documents to the search core in batches.
+     *
+     * @param context   the DSpace context used to iterate over the objects to index
+     * @param force     whether or not to force the reindexing of the objects that are not stale
+     * @param type      the type of the objects to index, null to index all the types
+     * @param threads   the number of worker threads, 1 or less to use the sequential indexing
+     * @param batchSize the number of documents sent to the search core in a single update
+     * @param handler   the handler used to report the progress of the indexing, can be null
+     * @throws RuntimeException if some objects could not be indexed by the worker threads
+     */
+    void updateIndex(Context context, boolean force, String type, int threads, int batchSize,
+                     DSpaceRunnableHandler handler);
+
     void cleanIndex() throws IOException, SQLException, SearchServiceException;
 
+    /**
+     * Removes from the index the documents of the objects that no longer exist. The documents are read from the
+     * index with a cursor and checked against the database in batches by a pool of worker threads.
+     *
+     * @param threads   the number of worker threads
+     * @param batchSize the number of documents checked with a single database query
+     * @param handler   the handler used to report the progress of the cleaning, can be null
+     * @throws SearchServiceException if the index can't be read, the cleaning is interrupted or some documents could
+     *                                not be checked by the worker threads
+     */
+    void cleanIndex(int threads, int batchSize, DSpaceRunnableHandler handler) throws SearchServiceException;
+
     void deleteIndex();
 
     void commit() throws SearchServiceException;
@@ -0,0 +1,271 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.SolrInputField;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Latency histograms of the building of the discovery documents, recorded for each {@link SolrServiceIndexPlugin}
+ * and for each index factory, together with the number of fields, values and bytes they produce. They show which
+ * part of the document building dominates the time of <code>index-discovery</code> and of the indexing of the
+ * submissions.
+ * <p>
+ * The statistics are only recorded when <code>discovery.index.statistics.enabled</code> is true. They are exposed
+ * through JMX (<code>org.dspace:type=DiscoveryIndexing</code>), through the <code>discoveryIndexing</code> health
+ * indicator of the REST webapp and summarized at the end of <code>index-discovery</code>.
+ */
+public class IndexingStatistics implements IndexingStatisticsMXBean {
+
+    private static final Logger log = LogManager.getLogger(IndexingStatistics.class);
+
+    public static final String OBJECT_NAME = "org.dspace:type=DiscoveryIndexing";
+
+    /**
+     * Upper bounds in milliseconds of the buckets of the histograms, the last bucket being unbounded
+     */
+    private static final long[] BUCKET_BOUNDS = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000 };
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private ObjectName objectName;
+
+    @PostConstruct
+    public void registerMBean() {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!mBeanServer.isRegistered(name)) {
+                mBeanServer.registerMBean(this, name);
+                objectName = name;
+            }
+        } catch (JMException e) {
+            log.warn("Unable to register the discovery indexing statistics in JMX", e);
+        }
+    }
+
+    @PreDestroy
+    public void unregisterMBean() {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            log.warn("Unable to unregister the discovery indexing statistics from JMX", e);
+        }
+        objectName = null;
+    }
+
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("discovery.index.statistics.enabled", false);
+    }
+
+    /**
+     * @return the start time to pass to the record methods, or 0 if the statistics are disabled
+     */
+    public long start() {
+        return isEnabled() ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Record the execution of an index plugin.
+     *
+     * @param plugin       the plugin
+     * @param start        the value returned by {@link #start()} before the execution
+     * @param valuesBefore the number of values of the document before the execution
+     * @param document     the document the plugin added its fields to
+     */
+    public void recordPlugin(SolrServiceIndexPlugin plugin, long start, int valuesBefore,
+                             SolrInputDocument document) {
+        if (start == 0) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        getTimer("plugin " + plugin.getClass().getSimpleName())
+            .record(elapsed, 0, countValues(document) - valuesBefore, 0);
+    }
+
+    /**
+     * Record a phase of the indexing of an object by an index factory.
+     *
+     * @param factoryType the type of the index factory
+     * @param phase       the phase, e.g. build or write
+     * @param start       the value returned by {@link #start()} before the phase
+     * @param document    the resulting document, whose size is recorded
+     */
+    public void recordDocument(String factoryType, String phase, long start, SolrInputDocument document) {
+        if (start == 0) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        int fields = 0;
+        int values = 0;
+        long bytes = 0;
+        if (document != null) {
+            for (SolrInputField field : document) {
+                fields++;
+                Collection<Object> fieldValues = field.getValues();
+                if (fieldValues == null) {
+                    continue;
+                }
+                for (Object value : fieldValues) {
+                    values++;
+                    bytes += estimateSize(value);
+                }
+            }
+        }
+        getTimer("factory " + factoryType + " " + phase).record(elapsed, fields, values, bytes);
+    }
+
+    /**
+     * @return the number of values of a document, to be passed to
+     *         {@link #recordPlugin(SolrServiceIndexPlugin, long, int, SolrInputDocument)}
+     */
+    public int countValues(SolrInputDocument document) {
+        if (!isEnabled()) {
+            return 0;
+        }
+        int values = 0;
+        for (SolrInputField field : document) {
+            values += field.getValueCount();
+        }
+        return values;
+    }
+
+    /**
+     * @return the recorded statistics of each plugin and index factory, the slowest first
+     */
+    public Map<String, Map<String, Object>> getStatistics() {
+        List<Map.Entry<String, Timer>> sorted = new ArrayList<>(timers.entrySet());
+        sorted.sort(Comparator.comparingLong((Map.Entry<String, Timer> entry) -> entry.getValue().total.sum())
+                              .reversed());
+        Map<String, Map<String, Object>> statistics = new LinkedHashMap<>();
+        for (Map.Entry<String, Timer> entry : sorted) {
+            statistics.put(entry.getKey(), entry.getValue().toMap());
+        }
+        return statistics;
+    }
+
+    @Override
+    public List<String> getSummary() {
+        List<String> summary = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Object>> entry : getStatistics().entrySet()) {
+            summary.add(entry.getKey() + ": " + entry.getValue());
+        }
+        return summary;
+    }
+
+    @Override
+    public void reset() {
+        timers.clear();
+    }
+
+    private Timer getTimer(String name) {
+        return timers.computeIfAbsent(name, key -> new Timer());
+    }
+
+    private long estimateSize(Object value) {
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length();
+        }
+        return 8;
+    }
+
+    private static class Timer {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS.length + 1);
+        private final LongAdder fields = new LongAdder();
+        private final LongAdder values = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+
+        void record(long nanos, int fieldCount, int valueCount, long byteCount) {
+            count.increment();
+            total.add(nanos);
+            max.accumulate(nanos);
+            long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS.length && millis >= BUCKET_BOUNDS[bucket]) {
+                bucket++;
+            }
+            buckets.incrementAndGet(bucket);
+            fields.add(fieldCount);
+            values.add(valueCount);
+            bytes.add(byteCount);
+        }
+
+        Map<String, Object> toMap() {
+            long executions = count.sum();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", executions);
+            map.put("totalMs", TimeUnit.NANOSECONDS.toMillis(total.sum()));
+            map.put("meanMs", executions > 0 ? total.sum() / executions / 1_000_000d : 0);
+            map.put("maxMs", TimeUnit.NANOSECONDS.toMillis(max.get()));
+            map.put("p50Ms", getPercentile(executions, 0.5));
+            map.put("p95Ms", getPercentile(executions, 0.95));
+            map.put("p99Ms", getPercentile(executions, 0.99));
+            if (fields.sum() > 0) {
+                map.put("fields", fields.sum());
+            }
+            map.put("values", values.sum());
+            if (bytes.sum() > 0) {
+                map.put("bytes", bytes.sum());
+            }
+            return map;
+        }
+
+        /**
+         * @return the upper bound of the bucket containing the given percentile, -1 if it is in the unbounded bucket
+         */
+        private long getPercentile(long executions, double percentile) {
+            if (executions == 0) {
+                return 0;
+            }
+            long threshold = (long) Math.ceil(executions * percentile);
+            long cumulated = 0;
+            for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+                cumulated += buckets.get(i);
+                if (cumulated >= threshold) {
+                    return BUCKET_BOUNDS[i];
+                }
+            }
+            return -1;
+        }
+    }
+
+}
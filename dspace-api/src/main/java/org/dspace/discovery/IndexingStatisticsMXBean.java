@@ -0,0 +1,27 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.util.List;
+
+/**
+ * JMX view of the {@link IndexingStatistics} of the discovery document building.
+ */
+public interface IndexingStatisticsMXBean {
+
+    /**
+     * @return one line for each timed plugin or index factory, the slowest first
+     */
+    List<String> getSummary();
+
+    /**
+     * Discard all the recorded timings.
+     */
+    void reset();
+
+}
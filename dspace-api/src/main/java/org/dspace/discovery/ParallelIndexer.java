@@ -0,0 +1,310 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.core.Context;
+import org.dspace.core.exception.SQLRuntimeException;
+import org.dspace.discovery.indexobject.factory.IndexFactory;
+import org.dspace.scripts.handler.DSpaceRunnableHandler;
+
+/**
+ * Rebuilds the discovery index using a pool of worker threads.
+ * <p>
+ * The calling thread walks all the objects of each {@link IndexFactory} collecting only their identifiers, and
+ * dispatches them in chunks of <code>batchSize</code> to the workers. Each worker uses its own {@link Context} to
+ * reload the objects of its chunk, builds their documents and sends them to Solr with a single update. At most two
+ * chunks per worker are in flight at any time, so the memory footprint stays bounded whatever the repository size.
+ * <p>
+ * Unless the reindexing is forced, the types that keep track of the modification date of their objects only
+ * dispatch the objects detected as stale by {@link SolrServiceImpl#findStaleIds(Context, IndexFactory)}.
+ */
+public class ParallelIndexer {
+
+    private static final Logger log = LogManager.getLogger(ParallelIndexer.class);
+
+    /**
+     * Minimum interval between two progress reports, in milliseconds
+     */
+    private static final long REPORT_INTERVAL = 30000;
+
+    private final SolrServiceImpl solrService;
+
+    private final int threads;
+
+    private final int batchSize;
+
+    private final DSpaceRunnableHandler handler;
+
+    private final AtomicLong indexed = new AtomicLong();
+
+    private final AtomicLong skipped = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private long startTime;
+
+    private long lastReport;
+
+    /**
+     * @param solrService the service used to check the staleness of the objects and to reach the search core
+     * @param threads     the number of worker threads
+     * @param batchSize   the number of objects processed by a worker and sent to Solr in a single update
+     * @param handler     the handler used to report the progress, can be null
+     */
+    public ParallelIndexer(SolrServiceImpl solrService, int threads, int batchSize, DSpaceRunnableHandler handler) {
+        this.solrService = solrService;
+        this.threads = Math.max(1, threads);
+        this.batchSize = Math.max(1, batchSize);
+        this.handler = handler;
+    }
+
+    /**
+     * Index all the objects of the given type, or of all the types if null.
+     *
+     * @param context the DSpace context used to iterate over the objects to index
+     * @param force   whether or not to force the reindexing of objects that are not stale
+     * @param type    the type of the objects to index, null for all types
+     * @return the number of documents sent to the search core
+     * @throws SQLException if a database error occurs iterating over the objects
+     * @throws InterruptedException if the calling thread is interrupted while waiting for the workers
+     */
+    @SuppressWarnings("rawtypes")
+    public long index(Context context, boolean force, String type) throws SQLException, InterruptedException {
+        startTime = System.currentTimeMillis();
+        lastReport = startTime;
+        info("Indexing with " + threads + " threads and batches of " + batchSize + " objects");
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Semaphore inFlight = new Semaphore(threads * 2);
+        try {
+            for (IndexFactory indexFactory : solrService.indexObjectServiceFactory.getIndexFactories()) {
+                if (type == null || StringUtils.equals(indexFactory.getType(), type)) {
+                    dispatch(context, executor, inFlight, indexFactory, force);
+                }
+            }
+        } finally {
+            awaitTermination(executor);
+        }
+        report(true);
+        return indexed.get();
+    }
+
+    /**
+     * Index the given objects, whether or not they are stale, e.g. the objects collected by the
+     * {@link IndexEventConsumer} in a large transaction. The workers reload the objects with their own Context, so
+     * their changes must already be committed to the database.
+     *
+     * @param indexableObjects the objects to index
+     * @return the number of documents sent to the search core
+     * @throws InterruptedException if the calling thread is interrupted while waiting for the workers
+     */
+    @SuppressWarnings("rawtypes")
+    public long index(Collection<IndexableObject> indexableObjects) throws InterruptedException {
+        startTime = System.currentTimeMillis();
+        lastReport = startTime;
+
+        Map<IndexFactory, List<String>> idsByFactory = new LinkedHashMap<>();
+        for (IndexableObject indexableObject : indexableObjects) {
+            IndexFactory indexFactory = solrService.indexObjectServiceFactory
+                                                   .getIndexableObjectFactory(indexableObject);
+            idsByFactory.computeIfAbsent(indexFactory, factory -> new ArrayList<>())
+                        .add(indexableObject.getID().toString());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Semaphore inFlight = new Semaphore(threads * 2);
+        try {
+            for (Map.Entry<IndexFactory, List<String>> entry : idsByFactory.entrySet()) {
+                List<String> ids = entry.getValue();
+                for (int from = 0; from < ids.size(); from += batchSize) {
+                    List<String> chunk = new ArrayList<>(ids.subList(from, Math.min(from + batchSize, ids.size())));
+                    submit(executor, inFlight, entry.getKey(), chunk, true);
+                }
+            }
+        } finally {
+            awaitTermination(executor);
+        }
+        log.debug("Indexed {} objects, failed {} in {} ms", indexed.get(), failed.get(),
+                  System.currentTimeMillis() - startTime);
+        return indexed.get();
+    }
+
+    private void awaitTermination(ExecutorService executor) throws InterruptedException {
+        executor.shutdown();
+        while (!executor.awaitTermination(REPORT_INTERVAL, TimeUnit.MILLISECONDS)) {
+            report(false);
+        }
+    }
+
+    /**
+     * @return the number of objects that could not be indexed
+     */
+    public long getFailed() {
+        return failed.get();
+    }
+
+    @SuppressWarnings("rawtypes")
+    private void dispatch(Context context, ExecutorService executor, Semaphore inFlight,
+                          IndexFactory indexFactory, boolean force) throws SQLException, InterruptedException {
+        StaleObjectIterator staleIds = force ? null : solrService.findStaleIds(context, indexFactory);
+        try {
+            dispatch(context, executor, inFlight, indexFactory, force, staleIds);
+        } finally {
+            if (staleIds != null) {
+                staleIds.close();
+            }
+        }
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private void dispatch(Context context, ExecutorService executor, Semaphore inFlight, IndexFactory indexFactory,
+                          boolean force, Iterator<String> staleIds) throws SQLException, InterruptedException {
+        Iterator<String> ids = staleIds;
+        // when the staleness was already checked in bulk the workers just have to index the objects
+        boolean forceChunks = force || ids != null;
+        if (ids == null) {
+            Iterator<IndexableObject> indexableObjects = indexFactory.findAll(context);
+            ids = new Iterator<String>() {
+                @Override
+                public boolean hasNext() {
+                    return indexableObjects.hasNext();
+                }
+
+                @Override
+                public String next() {
+                    IndexableObject indexableObject = indexableObjects.next();
+                    try {
+                        context.uncacheEntity(indexableObject.getIndexedObject());
+                    } catch (SQLException e) {
+                        throw new SQLRuntimeException(e);
+                    }
+                    return indexableObject.getID().toString();
+                }
+            };
+        }
+
+        List<String> chunk = new ArrayList<>(batchSize);
+        while (ids.hasNext()) {
+            chunk.add(ids.next());
+            if (chunk.size() == batchSize) {
+                submit(executor, inFlight, indexFactory, chunk, forceChunks);
+                chunk = new ArrayList<>(batchSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            submit(executor, inFlight, indexFactory, chunk, forceChunks);
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private void submit(ExecutorService executor, Semaphore inFlight, IndexFactory indexFactory,
+                        List<String> ids, boolean force) throws InterruptedException {
+        inFlight.acquire();
+        executor.execute(() -> {
+            try {
+                indexChunk(indexFactory, ids, force);
+            } finally {
+                inFlight.release();
+            }
+        });
+        report(false);
+    }
+
+    /**
+     * Build the documents of the given objects using a dedicated Context and send them to Solr in a single update.
+     * Hibernate sessions are bound to the current thread, so the Context must be created and closed by the worker.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private void indexChunk(IndexFactory indexFactory, List<String> ids, boolean force) {
+        Context workerContext = null;
+        List<SolrInputDocument> documents = new ArrayList<>(ids.size());
+        try {
+            workerContext = new Context(Context.Mode.READ_ONLY);
+            workerContext.turnOffAuthorisationSystem();
+            for (String id : ids) {
+                try {
+                    Optional<IndexableObject> indexableObject = indexFactory.findIndexableObject(workerContext, id);
+                    if (indexableObject.isEmpty()) {
+                        skipped.incrementAndGet();
+                        continue;
+                    }
+                    IndexableObject object = indexableObject.get();
+                    if (force || solrService.requiresIndexing(object.getUniqueIndexID(), object.getLastModified())) {
+                        IndexingStatistics statistics = solrService.indexingStatistics;
+                        long start = statistics.start();
+                        SolrInputDocument document = indexFactory.buildDocument(workerContext, object);
+                        statistics.recordDocument(indexFactory.getType(), "build", start, document);
+                        start = statistics.start();
+                        indexFactory.completeDocument(workerContext, object, document);
+                        statistics.recordDocument(indexFactory.getType(), "complete", start, null);
+                        documents.add(document);
+                    } else {
+                        skipped.incrementAndGet();
+                    }
+                    workerContext.uncacheEntity(object.getIndexedObject());
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                    log.error("Error building the document of the {} object {}", indexFactory.getType(), id, e);
+                }
+            }
+
+            SolrClient solr = solrService.solrSearchCore.getSolr();
+            if (solr != null && !documents.isEmpty()) {
+                solr.add(documents);
+                indexed.addAndGet(documents.size());
+            }
+        } catch (Exception e) {
+            failed.addAndGet(documents.size());
+            log.error("Error sending a batch of {} {} documents to the search core", documents.size(),
+                      indexFactory.getType(), e);
+        } finally {
+            if (workerContext != null && workerContext.isValid()) {
+                workerContext.abort();
+            }
+        }
+    }
+
+    private synchronized void report(boolean last) {
+        long now = System.currentTimeMillis();
+        if (!last && now - lastReport < REPORT_INTERVAL) {
+            return;
+        }
+        lastReport = now;
+        long seconds = Math.max(1, (now - startTime) / 1000);
+        info((last ? "Indexed " : "Indexing in progress: ") + indexed.get() + " objects, skipped " + skipped.get()
+                 + ", failed " + failed.get() + " in " + seconds + " seconds ("
+                 + (indexed.get() / seconds) + " objects/second)");
+    }
+
+    private void info(String message) {
+        log.info(message);
+        if (handler != null) {
+            handler.logInfo(message);
+        }
+    }
+
+}
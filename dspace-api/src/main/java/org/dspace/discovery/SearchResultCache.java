@@ -0,0 +1,331 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.request.LukeRequest;
+import org.apache.solr.client.solrj.response.LukeResponse;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.params.CommonParams;
+import org.apache.solr.common.util.NamedList;
+import org.apache.solr.common.util.SimpleOrderedMap;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Bounded in-memory cache of the responses of the discovery search core, so that identical queries (e.g. the facets
+ * of the home page or the counters of the CRIS layout) are not executed again by Solr.
+ * <p>
+ * The entries are keyed by the normalized Solr query, which includes the authorization filter added by the
+ * {@link SolrServiceSearchPlugin}s, and tagged with the generation of the index they were read from. The generation
+ * changes when the index is committed by this application (see {@link #invalidate()}) and when the version of the
+ * Solr index changes, which is checked at most every
+ * <code>discovery.search.cache.version-check-interval</code> seconds to also notice the commits made by other
+ * applications. Only the Solr responses are cached: they are translated into a {@link DiscoverResult} for each
+ * search, as the DSpace objects of the results belong to the context of the request.
+ * <p>
+ * The responses and their documents are mutable and the cache is shared by all the requests, so a copy of the
+ * response is cached and each hit returns a new {@link QueryResponse} built from a new copy of it.
+ */
+public class SearchResultCache {
+
+    private static final Logger log = LogManager.getLogger(SearchResultCache.class);
+
+    /**
+     * Number of lookups between two logs of the hit ratio
+     */
+    private static final int STATISTICS_LOG_INTERVAL = 1000;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Autowired
+    private SolrSearchCore solrSearchCore;
+
+    /**
+     * The cached responses, the least recently used first
+     */
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Estimated size of the cached responses in bytes
+     */
+    private long size = 0;
+
+    private final AtomicLong localGeneration = new AtomicLong();
+
+    private volatile long indexVersion = -1;
+
+    private volatile long indexVersionCheckTime = 0;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("discovery.search.cache.enabled", false);
+    }
+
+    /**
+     * Execute a query on the discovery search core, unless its response is cached for the current generation of
+     * the index.
+     *
+     * @param solrQuery the query to execute
+     * @return the response of the search core
+     * @throws SolrServerException if the query fails
+     * @throws IOException         if the search core can't be reached
+     */
+    public QueryResponse query(SolrQuery solrQuery) throws SolrServerException, IOException {
+        SolrClient solr = solrSearchCore.getSolr();
+        if (!isEnabled()) {
+            return solr.query(solrQuery, solrSearchCore.REQUEST_METHOD);
+        }
+
+        String generation = getGeneration(solr);
+        String key = getKey(solrQuery);
+        CachedResponse cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        if (cached != null && cached.generation.equals(generation) && !isExpired(cached)) {
+            countLookup(hits);
+            return new QueryResponse(copy(cached.response), solr);
+        }
+        countLookup(misses);
+
+        QueryResponse response = solr.query(solrQuery, solrSearchCore.REQUEST_METHOD);
+        long entrySize = estimateSize(response.getResponse()) + 2L * key.length();
+        long maxSize = getMaxSize();
+        // a single response is not allowed to take most of the cache
+        if (entrySize <= maxSize / 10) {
+            // the caller is free to alter the response it gets
+            CachedResponse entry = new CachedResponse(generation, copy(response.getResponse()), entrySize);
+            synchronized (entries) {
+                CachedResponse previous = entries.put(key, entry);
+                size += entrySize - (previous != null ? previous.size : 0);
+                Iterator<CachedResponse> oldestFirst = entries.values().iterator();
+                while (size > maxSize && oldestFirst.hasNext()) {
+                    size -= oldestFirst.next().size;
+                    oldestFirst.remove();
+                }
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Invalidate all the cached responses, to be called when the search core is committed.
+     */
+    public void invalidate() {
+        localGeneration.incrementAndGet();
+        synchronized (entries) {
+            entries.clear();
+            size = 0;
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return the estimated size of the cached responses in bytes
+     */
+    public long getSize() {
+        synchronized (entries) {
+            return size;
+        }
+    }
+
+    /**
+     * Build the key of a query, independent of the order of its parameters and of its filter queries.
+     */
+    protected String getKey(SolrQuery solrQuery) {
+        StringBuilder key = new StringBuilder();
+        for (String name : new TreeSet<>(solrQuery.getParameterNames())) {
+            String[] values = solrQuery.getParams(name);
+            if (CommonParams.FQ.equals(name)) {
+                values = values.clone();
+                Arrays.sort(values);
+            }
+            for (String value : values) {
+                key.append(name).append('=').append(value).append('&');
+            }
+        }
+        return key.toString();
+    }
+
+    private String getGeneration(SolrClient solr) {
+        long now = System.currentTimeMillis();
+        long interval = configurationService.getLongProperty("discovery.search.cache.version-check-interval", 5)
+            * 1000;
+        if (now - indexVersionCheckTime > interval) {
+            indexVersionCheckTime = now;
+            try {
+                LukeRequest lukeRequest = new LukeRequest();
+                lukeRequest.setNumTerms(0);
+                lukeRequest.setShowSchema(false);
+                LukeResponse lukeResponse = lukeRequest.process(solr);
+                Object version = lukeResponse.getIndexInfo().get("version");
+                if (version instanceof Number) {
+                    indexVersion = ((Number) version).longValue();
+                }
+            } catch (SolrServerException | IOException | RuntimeException e) {
+                log.warn("Unable to read the version of the discovery index, the search cache is invalidated", e);
+                localGeneration.incrementAndGet();
+            }
+        }
+        return localGeneration.get() + "-" + indexVersion;
+    }
+
+    private boolean isExpired(CachedResponse cached) {
+        long ttl = configurationService.getLongProperty("discovery.search.cache.ttl", 300) * 1000;
+        return System.currentTimeMillis() - cached.creationTime > ttl;
+    }
+
+    private long getMaxSize() {
+        return configurationService.getLongProperty("discovery.search.cache.max-size", 64) * 1024 * 1024;
+    }
+
+    private void countLookup(AtomicLong counter) {
+        counter.incrementAndGet();
+        long lookups = hits.get() + misses.get();
+        if (lookups % STATISTICS_LOG_INTERVAL == 0) {
+            log.info("Discovery search cache: {} hits, {} misses, {} bytes", hits.get(), misses.get(), getSize());
+        }
+    }
+
+    /**
+     * Deep copy a Solr response, down to the values of its documents. The immutable values (strings, numbers, ...)
+     * are shared.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T copy(T value) {
+        Object copy;
+        if (value instanceof SimpleOrderedMap) {
+            copy = copyEntries((NamedList<?>) value, new SimpleOrderedMap<>());
+        } else if (value instanceof NamedList) {
+            copy = copyEntries((NamedList<?>) value, new NamedList<>());
+        } else if (value instanceof SolrDocumentList) {
+            SolrDocumentList documents = (SolrDocumentList) value;
+            SolrDocumentList documentsCopy = new SolrDocumentList();
+            documentsCopy.setNumFound(documents.getNumFound());
+            documentsCopy.setNumFoundExact(documents.getNumFoundExact());
+            documentsCopy.setStart(documents.getStart());
+            documentsCopy.setMaxScore(documents.getMaxScore());
+            for (SolrDocument document : documents) {
+                documentsCopy.add(copy(document));
+            }
+            copy = documentsCopy;
+        } else if (value instanceof SolrDocument) {
+            SolrDocument document = (SolrDocument) value;
+            SolrDocument documentCopy = new SolrDocument();
+            for (Map.Entry<String, Object> field : document.entrySet()) {
+                documentCopy.setField(field.getKey(), copy(field.getValue()));
+            }
+            if (document.hasChildDocuments()) {
+                for (SolrDocument child : document.getChildDocuments()) {
+                    documentCopy.addChildDocument(copy(child));
+                }
+            }
+            copy = documentCopy;
+        } else if (value instanceof Map) {
+            Map<Object, Object> mapCopy = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                mapCopy.put(entry.getKey(), copy(entry.getValue()));
+            }
+            copy = mapCopy;
+        } else if (value instanceof Collection) {
+            List<Object> listCopy = new ArrayList<>(((Collection<?>) value).size());
+            for (Object element : (Collection<?>) value) {
+                listCopy.add(copy(element));
+            }
+            copy = listCopy;
+        } else if (value instanceof Date) {
+            copy = new Date(((Date) value).getTime());
+        } else {
+            copy = value;
+        }
+        return (T) copy;
+    }
+
+    private NamedList<Object> copyEntries(NamedList<?> namedList, NamedList<Object> namedListCopy) {
+        for (int i = 0; i < namedList.size(); i++) {
+            namedListCopy.add(namedList.getName(i), copy(namedList.getVal(i)));
+        }
+        return namedListCopy;
+    }
+
+    /**
+     * Roughly estimate the memory used by a Solr response.
+     */
+    private long estimateSize(Object value) {
+        if (value == null) {
+            return 8;
+        } else if (value instanceof CharSequence) {
+            return 40 + 2L * ((CharSequence) value).length();
+        } else if (value instanceof NamedList) {
+            NamedList<?> namedList = (NamedList<?>) value;
+            long namedListSize = 32;
+            for (int i = 0; i < namedList.size(); i++) {
+                namedListSize += estimateSize(namedList.getName(i)) + estimateSize(namedList.getVal(i));
+            }
+            return namedListSize;
+        } else if (value instanceof Map) {
+            long mapSize = 48;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                mapSize += 32 + estimateSize(entry.getKey()) + estimateSize(entry.getValue());
+            }
+            return mapSize;
+        } else if (value instanceof Collection) {
+            long collectionSize = 40;
+            for (Object element : (Collection<?>) value) {
+                collectionSize += 8 + estimateSize(element);
+            }
+            return collectionSize;
+        } else {
+            return 24;
+        }
+    }
+
+    private static class CachedResponse {
+        private final String generation;
+        private final NamedList<Object> response;
+        private final long size;
+        private final long creationTime = System.currentTimeMillis();
+
+        CachedResponse(String generation, NamedList<Object> response, long size) {
+            this.generation = generation;
+            this.response = response;
+            this.size = size;
+        }
+    }
+
+}
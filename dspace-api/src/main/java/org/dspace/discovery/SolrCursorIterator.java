@@ -0,0 +1,85 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.params.CursorMarkParams;
+
+/**
+ * Streams all the documents matching a query of the search core, ordered by unique identifier. The documents are
+ * fetched in pages using a cursor, so that reading the whole core costs the same for every page, unlike paging with
+ * a start offset.
+ */
+public class SolrCursorIterator implements Iterator<SolrDocument> {
+
+    private final SolrClient solr;
+
+    private final SolrRequest.METHOD method;
+
+    private final SolrQuery query;
+
+    private String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+
+    private Iterator<SolrDocument> page = Collections.emptyIterator();
+
+    private boolean lastPage = false;
+
+    /**
+     * @param solr     the search core client
+     * @param method   the request method used to query the search core
+     * @param query    the query of the documents to iterate over, its sort is replaced by the unique identifier
+     * @param pageSize the number of documents fetched per request
+     */
+    public SolrCursorIterator(SolrClient solr, SolrRequest.METHOD method, SolrQuery query, int pageSize) {
+        this.solr = solr;
+        this.method = method;
+        this.query = query;
+        query.setSort(SearchUtils.RESOURCE_UNIQUE_ID, SolrQuery.ORDER.asc);
+        query.setStart(0);
+        query.setRows(pageSize);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!page.hasNext() && !lastPage) {
+            fetchPage();
+        }
+        return page.hasNext();
+    }
+
+    @Override
+    public SolrDocument next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return page.next();
+    }
+
+    private void fetchPage() {
+        query.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+        try {
+            QueryResponse rsp = solr.query(query, method);
+            page = rsp.getResults().iterator();
+            lastPage = cursorMark.equals(rsp.getNextCursorMark());
+            cursorMark = rsp.getNextCursorMark();
+        } catch (SolrServerException | IOException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+    }
+
+}
@@ -69,20 +69,38 @@ public class SolrServiceHiddenRelationsRestrictionPlugin implements SolrServiceS
                                                .map(dso -> dso.getID().toString())
                                                .orElseGet(() -> fromProperties(discoveryQuery));
 
-        if (StringUtils.isBlank(scope) || currentUserIsScopeOrAdmin(scope, context)
+        if (StringUtils.isBlank(scope)
                 || !discoveryQuery.getDiscoveryConfigurationName().startsWith("RELATION.")) {
             return;
         }
 
         final String[] relationSplit = discoveryQuery.getDiscoveryConfigurationName().split("\\.");
-        final List<String> relations = relations(context, relationSplit[relationSplit.length - 1]);
+        getFilterQueries(context, scope, relationSplit[relationSplit.length - 1])
+            .forEach(solrQuery::addFilterQuery);
+
+    }
+
+    /**
+     * Build the filter queries excluding the items that the scope item hid from
+     * the given relation, unless the current user is the scope or an administrator.
+     *
+     * @param context  the DSpace context
+     * @param scope    the id of the scope item
+     * @param relation the name of the relation, i.e. the last part of the name
+     *                 of its discovery configuration
+     * @return the filter queries to apply to the search of the related items
+     */
+    public List<String> getFilterQueries(final Context context, final String scope, final String relation) {
+        if (currentUserIsScopeOrAdmin(scope, context)) {
+            return List.of();
+        }
+        final List<String> relations = relations(context, relation);
         if (relations == null || relations.isEmpty()) {
-            return;
+            return List.of();
         }
-        relations.stream()
-                 .map(r -> "-relation." + r + ":" + scope)
-                 .forEach(solrQuery::addFilterQuery);
-
+        return relations.stream()
+                        .map(r -> "-relation." + r + ":" + scope)
+                        .collect(Collectors.toList());
     }
 
     private String fromProperties(final DiscoverQuery discoveryQuery) {
@@ -22,6 +22,7 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -31,15 +32,19 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.TimeZone;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.mail.MessagingException;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.IteratorUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.collections4.Transformer;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrQuery;
@@ -62,7 +67,6 @@ import org.apache.solr.common.util.NamedList;
 import org.dspace.app.metrics.CrisMetrics;
 import org.dspace.authorize.ResourcePolicy;
 import org.dspace.authorize.factory.AuthorizeServiceFactory;
-import org.dspace.content.Collection;
 import org.dspace.content.Community;
 import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
@@ -85,9 +89,11 @@ import org.dspace.discovery.indexobject.IndexableCommunity;
 import org.dspace.discovery.indexobject.IndexableItem;
 import org.dspace.discovery.indexobject.factory.IndexFactory;
 import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
+import org.dspace.discovery.indexobject.factory.ItemIndexFactory;
 import org.dspace.eperson.Group;
 import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.eperson.service.GroupService;
+import org.dspace.scripts.handler.DSpaceRunnableHandler;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.util.UUIDUtils;
@@ -123,6 +129,12 @@ public class SolrServiceImpl implements SearchService, IndexingService {
     // facet by indexing "each word to end of value' partial value
     public static final String SOLR_FIELD_SUFFIX_FACET_PREFIXES = "_prefix";
 
+    // Number of documents read per request when streaming the whole index
+    private static final int CURSOR_PAGE_SIZE = 10000;
+
+    // Number of documents checked per database query when cleaning the index
+    private static final int DEFAULT_CLEAN_BATCH_SIZE = 500;
+
     @Autowired
     protected ContentServiceFactory contentServiceFactory;
     @Autowired
@@ -135,6 +147,10 @@ public class SolrServiceImpl implements SearchService, IndexingService {
     protected ConfigurationService configurationService;
     @Autowired
     protected IndexObjectFactoryFactory indexObjectFactoryFactory;
+    @Autowired
+    protected SearchResultCache searchResultCache;
+    @Autowired
+    protected IndexingStatistics indexingStatistics;
 
     protected SolrServiceImpl() {
 
@@ -182,8 +198,12 @@ public class SolrServiceImpl implements SearchService, IndexingService {
 
     protected void update(Context context, IndexFactory indexableObjectService,
                           IndexableObject indexableObject) throws IOException, SQLException, SolrServerException {
+        long start = indexingStatistics.start();
         final SolrInputDocument solrInputDocument = indexableObjectService.buildDocument(context, indexableObject);
+        indexingStatistics.recordDocument(indexableObjectService.getType(), "build", start, solrInputDocument);
+        start = indexingStatistics.start();
         indexableObjectService.writeDocument(context, indexableObject, solrInputDocument);
+        indexingStatistics.recordDocument(indexableObjectService.getType(), "write", start, null);
     }
 
     /**
@@ -196,14 +216,54 @@ public class SolrServiceImpl implements SearchService, IndexingService {
     protected void update(Context context, IndexFactory indexableObjectService, IndexableObject indexableObject,
                           boolean preDB) throws IOException, SQLException, SolrServerException {
         if (preDB) {
+            long start = indexingStatistics.start();
             final SolrInputDocument solrInputDocument =
                     indexableObjectService.buildNewDocument(context, indexableObject);
+            indexingStatistics.recordDocument(indexableObjectService.getType(), "build", start, solrInputDocument);
+            start = indexingStatistics.start();
             indexableObjectService.writeDocument(context, indexableObject, solrInputDocument);
+            indexingStatistics.recordDocument(indexableObjectService.getType(), "write", start, null);
         } else {
             update(context, indexableObjectService, indexableObject);
         }
     }
 
+    @Override
+    public long indexContentInParallel(Collection<IndexableObject> indexableObjects, int threads, int batchSize)
+        throws SearchServiceException {
+        ParallelIndexer parallelIndexer = new ParallelIndexer(this, threads, batchSize, null);
+        try {
+            parallelIndexer.index(indexableObjects);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SearchServiceException(e.getMessage(), e);
+        }
+        return parallelIndexer.getFailed();
+    }
+
+    @Override
+    public boolean indexMetadataChanges(Context context, IndexableObject indexableObject,
+                                        Set<String> metadataFields) throws SQLException, SearchServiceException {
+        final IndexFactory indexableObjectFactory = indexObjectServiceFactory.
+                getIndexableObjectFactory(indexableObject);
+        if (!(indexableObject instanceof IndexableItem) || !(indexableObjectFactory instanceof ItemIndexFactory)) {
+            return false;
+        }
+        try {
+            SolrInputDocument solrInputDocument = ((ItemIndexFactory) indexableObjectFactory)
+                .buildPartialDocument(context, (IndexableItem) indexableObject, metadataFields);
+            if (solrInputDocument == null) {
+                return false;
+            }
+            solrSearchCore.getSolr().add(solrInputDocument);
+            log.info(LogHelper.getHeader(context, "partially_indexed_object",
+                indexableObject.getUniqueIndexID() + ", fields=" + metadataFields));
+            return true;
+        } catch (IOException | SolrServerException e) {
+            throw new SearchServiceException(e.getMessage(), e);
+        }
+    }
+
     /**
      * unIndex removes an Item, Collection, or Community
      *
@@ -239,6 +299,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             indexObjectServiceFactory.getIndexableObjectFactory(indexableObject).delete(indexableObject);
             if (commit) {
                 solrSearchCore.getSolr().commit();
+                searchResultCache.invalidate();
             }
         } catch (IOException | SolrServerException exception) {
             log.error(exception.getMessage(), exception);
@@ -280,6 +341,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                 }
                 if (commit) {
                     solrSearchCore.getSolr().commit();
+                    searchResultCache.invalidate();
                 }
             }
         } catch (SolrServerException e) {
@@ -359,6 +421,15 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                 getIndexFactories();
             for (IndexFactory indexableObjectService : indexableObjectServices) {
                 if (type == null || StringUtils.equals(indexableObjectService.getType(), type)) {
+                    final StaleObjectIterator staleIds = force ? null : findStaleIds(context, indexableObjectService);
+                    if (staleIds != null) {
+                        try {
+                            updateStaleObjects(context, indexableObjectService, staleIds);
+                        } finally {
+                            staleIds.close();
+                        }
+                        continue;
+                    }
                     final Iterator<IndexableObject> indexableObjects = indexableObjectService.findAll(context);
                     while (indexableObjects.hasNext()) {
                         final IndexableObject indexableObject = indexableObjects.next();
@@ -369,6 +440,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             }
             if (solrSearchCore.getSolr() != null) {
                 solrSearchCore.getSolr().commit();
+                searchResultCache.invalidate();
             }
 
         } catch (IOException | SQLException | SolrServerException e) {
@@ -376,6 +448,78 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         }
     }
 
+    /**
+     * Find the identifiers of the objects of the given type that are missing from the index or that were modified
+     * since they were indexed, comparing in a single pass the last modified dates of the database with the last
+     * indexed dates of the index instead of querying the index for each object.
+     *
+     * @param context      the DSpace context
+     * @param indexFactory the factory of the objects to check
+     * @return the identifiers of the stale objects, to be closed once read, or null if the staleness of the objects
+     *         of this type can't be detected in bulk
+     * @throws SQLException if database error
+     */
+    protected StaleObjectIterator findStaleIds(Context context, IndexFactory indexFactory) throws SQLException {
+        if (solrSearchCore.getSolr() == null) {
+            return null;
+        }
+        Stream<Pair<String, Date>> lastModifiedDates = indexFactory.findAllLastModified(context);
+        if (lastModifiedDates == null) {
+            return null;
+        }
+        SolrQuery query = new SolrQuery("*:*");
+        query.addFilterQuery(SearchUtils.RESOURCE_TYPE_FIELD + ":" + indexFactory.getType());
+        query.setFields(SearchUtils.RESOURCE_UNIQUE_ID, SearchUtils.LAST_INDEXED_FIELD);
+        Iterator<SolrDocument> docs = new SolrCursorIterator(solrSearchCore.getSolr(), solrSearchCore.REQUEST_METHOD,
+                                                             query, CURSOR_PAGE_SIZE);
+        try {
+            return new StaleObjectIterator(indexFactory.getType(), lastModifiedDates,
+                IteratorUtils.transformedIterator(docs, doc -> {
+                    Object lastIndexed = doc.getFieldValue(SearchUtils.LAST_INDEXED_FIELD);
+                    return Pair.of((String) doc.getFieldValue(SearchUtils.RESOURCE_UNIQUE_ID),
+                                   lastIndexed instanceof Date ? (Date) lastIndexed : null);
+                }));
+        } catch (RuntimeException e) {
+            // the first page of the index is read by the constructor
+            lastModifiedDates.close();
+            throw e;
+        }
+    }
+
+    private void updateStaleObjects(Context context, IndexFactory indexFactory, Iterator<String> staleIds)
+        throws SQLException {
+        while (staleIds.hasNext()) {
+            Optional<IndexableObject> indexableObject = indexFactory.findIndexableObject(context, staleIds.next());
+            if (indexableObject.isPresent()) {
+                indexContent(context, indexableObject.get(), true);
+                context.uncacheEntity(indexableObject.get().getIndexedObject());
+            }
+        }
+    }
+
+    @Override
+    public void updateIndex(Context context, boolean force, String type, int threads, int batchSize,
+                            DSpaceRunnableHandler handler) {
+        if (threads <= 1) {
+            updateIndex(context, force, type);
+            return;
+        }
+        ParallelIndexer parallelIndexer = new ParallelIndexer(this, threads, batchSize, handler);
+        try {
+            parallelIndexer.index(context, force, type);
+            commit();
+        } catch (SQLException | SearchServiceException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e.getMessage(), e);
+        }
+        // the documents built are kept, but the run must not look successful
+        if (parallelIndexer.getFailed() > 0) {
+            throw new RuntimeException(parallelIndexer.getFailed() + " objects could not be indexed, see the log");
+        }
+    }
+
     /**
      * Removes all documents from the Lucene index
      */
@@ -402,61 +546,29 @@ public class SolrServiceImpl implements SearchService, IndexingService {
      */
     @Override
     public void cleanIndex() throws IOException, SQLException, SearchServiceException {
-        Context context = new Context();
-        context.turnOffAuthorisationSystem();
+        cleanIndex(1, DEFAULT_CLEAN_BATCH_SIZE, null);
+    }
 
+    @Override
+    public void cleanIndex(int threads, int batchSize, DSpaceRunnableHandler handler)
+        throws SearchServiceException {
+        if (solrSearchCore.getSolr() == null) {
+            return;
+        }
+        IndexCleaner indexCleaner = new IndexCleaner(this, threads, batchSize, handler);
         try {
-            if (solrSearchCore.getSolr() == null) {
-                return;
-            }
-
-            // First, we'll just get a count of the total results
-            SolrQuery countQuery = new SolrQuery("*:*");
-            countQuery.setRows(0); // don't actually request any data
-            // Get the total amount of results
-            QueryResponse totalResponse = solrSearchCore.getSolr().query(countQuery,
-                solrSearchCore.REQUEST_METHOD);
-            long total = totalResponse.getResults().getNumFound();
-
-            int start = 0;
-            int batch = 100;
-
-            // Now get actual Solr Documents in batches
-            SolrQuery query = new SolrQuery();
-            query.setFields(SearchUtils.RESOURCE_UNIQUE_ID, SearchUtils.RESOURCE_ID_FIELD,
-                SearchUtils.RESOURCE_TYPE_FIELD);
-            query.addSort(SearchUtils.RESOURCE_UNIQUE_ID, SolrQuery.ORDER.asc);
-            query.setQuery("*:*");
-            query.setRows(batch);
-            // Keep looping until we hit the total number of Solr docs
-            while (start < total) {
-                query.setStart(start);
-                QueryResponse rsp = solrSearchCore.getSolr().query(query, solrSearchCore.REQUEST_METHOD);
-                SolrDocumentList docs = rsp.getResults();
-
-                for (SolrDocument doc : docs) {
-                    String uniqueID = (String) doc.getFieldValue(SearchUtils.RESOURCE_UNIQUE_ID);
-
-                    IndexableObject o = findIndexableObject(context, doc);
-                    if (o == null) {
-                        log.info("Deleting: " + uniqueID);
-                        /*
-                         * Use IndexWriter to delete, its easier to manage write.lock
-                         */
-                        unIndexContent(context, uniqueID);
-                    } else {
-                        context.uncacheEntity(o.getIndexedObject());
-                        log.debug("Keeping: " + o.getUniqueIndexID());
-                    }
-                }
+            long deleted = indexCleaner.clean(solrSearchCore.getSolr(), CURSOR_PAGE_SIZE);
+            if (deleted > 0) {
+                commit();
             }
-
-            start += batch;
-
-        } catch (IOException | SQLException | SolrServerException e) {
-            log.error("Error cleaning discovery index: " + e.getMessage(), e);
-        } finally {
-            context.abort();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SearchServiceException(e.getMessage(), e);
+        } catch (RuntimeException e) {
+            throw new SearchServiceException("Error cleaning discovery index: " + e.getMessage(), e);
+        }
+        if (indexCleaner.getFailed() > 0) {
+            throw new SearchServiceException(indexCleaner.getFailed() + " documents could not be checked, see the log");
         }
     }
 
@@ -624,10 +736,10 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                                                                                     groupList, Constants.ADMIN,
                                                                                     Constants.COLLECTION);
 
-            List<Collection> allCollections = new ArrayList<>();
+            List<org.dspace.content.Collection> allCollections = new ArrayList<>();
 
             for (ResourcePolicy rp : collectionsPolicies) {
-                Collection collection = ContentServiceFactory.getInstance().getCollectionService()
+                org.dspace.content.Collection collection = ContentServiceFactory.getInstance().getCollectionService()
                         .find(context, rp.getdSpaceObject().getID());
                 allCollections.add(collection);
             }
@@ -649,7 +761,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                                                                .getAllCollections(context, community));
                 }
 
-                Iterator<Collection> collIter = allCollections.iterator();
+                Iterator<org.dspace.content.Collection> collIter = allCollections.iterator();
 
                 if (communitiesPolicies.size() > 0 && allCollections.size() > 0) {
                     locationQuery.append(" OR ");
@@ -1023,8 +1135,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             boolean zombieFound = false;
             // use zombieDocs to collect stale found objects
             List<String> zombieDocs = new ArrayList<>();
-            QueryResponse solrQueryResponse = solrSearchCore.getSolr().query(solrQuery,
-                          solrSearchCore.REQUEST_METHOD);
+            QueryResponse solrQueryResponse = searchResultCache.query(solrQuery);
             if (solrQueryResponse != null) {
                 result.setSearchTime(solrQueryResponse.getQTime());
                 result.setStart(query.getStart());
@@ -1095,7 +1206,9 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                     for (int i = 0; i < facetFields.size(); i++) {
                         FacetField facetField = facetFields.get(i);
                         DiscoverFacetField facetFieldConfig = query.getFacetFields().get(i);
-                        List<FacetField.Count> facetValues = facetField.getValues();
+                        // copy the values, the response can be shared by the search result cache
+                        List<FacetField.Count> facetValues = facetField.getValues() != null
+                            ? new ArrayList<>(facetField.getValues()) : null;
                         if (facetValues != null) {
                             if (facetFieldConfig.getType()
                                                 .equals(DiscoveryConfigurationParameters.TYPE_DATE) && facetFieldConfig
@@ -1217,6 +1330,11 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                     LinkedHashMap<String, Integer> sortedFacetQueries = new LinkedHashMap<>(
                         solrQueryResponse.getFacetQuery());
                     for (String facetQuery : sortedFacetQueries.keySet()) {
+                        result.setFacetQueryCount(facetQuery, sortedFacetQueries.get(facetQuery));
+                        // the facet queries given a key are counts asked by the caller, not date ranges
+                        if (facetQuery.indexOf(":") < 0) {
+                            continue;
+                        }
                         //TODO: do not assume this, people may want to use it for other ends, use a regex to make sure
                         // We have a facet query, the values looks something like: dateissued.year:[1990
                         // TO 2000] AND -2000
@@ -1265,6 +1383,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                 log.info("Cleaning " + zombieDocs.size() + " stale objects from Discovery Index");
                 solrSearchCore.getSolr().deleteById(zombieDocs);
                 solrSearchCore.getSolr().commit();
+                searchResultCache.invalidate();
             } else {
                 valid = true;
             }
@@ -1426,7 +1545,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             solrQuery.setParam(MoreLikeThisParams.MLT, true);
             //Add a comma separated list of the similar fields
             @SuppressWarnings("unchecked")
-            java.util.Collection<String> similarityMetadataFields = CollectionUtils
+            Collection<String> similarityMetadataFields = CollectionUtils
                 .collect(mltConfig.getSimilarityMetadataFields(), (Transformer) input -> input + "_mlt");
 
             solrQuery.setParam(MoreLikeThisParams.SIMILARITY_FIELDS, StringUtils.join(similarityMetadataFields, ','));
@@ -1669,6 +1788,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         try {
             if (solrSearchCore.getSolr() != null) {
                 solrSearchCore.getSolr().commit();
+                searchResultCache.invalidate();
             }
         } catch (IOException | SolrServerException e) {
             throw new SearchServiceException(e.getMessage(), e);
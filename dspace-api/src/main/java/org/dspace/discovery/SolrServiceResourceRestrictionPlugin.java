@@ -130,9 +130,9 @@ public class SolrServiceResourceRestrictionPlugin implements SolrServiceIndexPlu
                 }
 
                 //Retrieve all the groups the current user is a member of !
-                Set<Group> groups = groupService.allMemberGroupsSet(context, currentUser);
-                for (Group group : groups) {
-                    resourceQuery.append(" OR g").append(group.getID());
+                Set<UUID> groupIds = groupService.allMemberGroupIds(context, currentUser);
+                for (UUID groupId : groupIds) {
+                    resourceQuery.append(" OR g").append(groupId);
                 }
 
                 resourceQuery.append(")");
@@ -0,0 +1,124 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Iterates over the identifiers of the objects of a type that have to be (re)indexed.
+ * <p>
+ * The identifiers and last modified dates of the objects, as read from the database, are merge-joined with the
+ * unique identifiers and last indexed dates of the documents of the search core. Both sides must be ordered by
+ * identifier, so that each side is read only once whatever the number of objects. An object is returned if it has
+ * no document in the search core, if its last modified date is unknown or if it was modified after it was indexed,
+ * which is the same rule as {@link SolrServiceImpl#requiresIndexing(String, Date)}.
+ * <p>
+ * If the database returns an identifier out of order the join can't tell whether the object is indexed, so the
+ * object is returned anyway.
+ * <p>
+ * The stream of the last modified dates is closed once read, or by {@link #close()} if the iteration stops early.
+ */
+public class StaleObjectIterator implements Iterator<String>, AutoCloseable {
+
+    private static final Logger log = LogManager.getLogger(StaleObjectIterator.class);
+
+    private final String type;
+
+    private final Stream<Pair<String, Date>> lastModifiedStream;
+
+    private final Iterator<Pair<String, Date>> lastModifiedDates;
+
+    private final Iterator<Pair<String, Date>> lastIndexedDates;
+
+    private Pair<String, Date> indexed;
+
+    private String previousUniqueId;
+
+    private String next;
+
+    private boolean outOfOrder = false;
+
+    /**
+     * @param type              the type of the objects, used to build their unique index identifier
+     * @param lastModifiedDates the identifier / last modified date pairs of the objects, ordered by identifier
+     * @param lastIndexedDates  the unique index identifier / last indexed date pairs of the documents of the type,
+     *                          ordered by unique index identifier
+     */
+    public StaleObjectIterator(String type, Stream<Pair<String, Date>> lastModifiedDates,
+                               Iterator<Pair<String, Date>> lastIndexedDates) {
+        this.type = type;
+        this.lastModifiedStream = lastModifiedDates;
+        this.lastModifiedDates = lastModifiedDates.iterator();
+        this.lastIndexedDates = lastIndexedDates;
+        this.indexed = lastIndexedDates.hasNext() ? lastIndexedDates.next() : null;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = findNext();
+        }
+        return next != null;
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String id = next;
+        next = null;
+        return id;
+    }
+
+    private String findNext() {
+        while (lastModifiedDates.hasNext()) {
+            Pair<String, Date> object = lastModifiedDates.next();
+            String uniqueId = type + "-" + object.getKey();
+            if (previousUniqueId != null && uniqueId.compareTo(previousUniqueId) < 0) {
+                if (!outOfOrder) {
+                    outOfOrder = true;
+                    log.warn("The {} objects are not returned in the order of the search core, the objects out of "
+                                 + "order will be reindexed", type);
+                }
+                return object.getKey();
+            }
+            previousUniqueId = uniqueId;
+
+            while (indexed != null && indexed.getKey().compareTo(uniqueId) < 0) {
+                indexed = lastIndexedDates.hasNext() ? lastIndexedDates.next() : null;
+            }
+            if (indexed == null || !indexed.getKey().equals(uniqueId)
+                    || isStale(object.getValue(), indexed.getValue())) {
+                return object.getKey();
+            }
+        }
+        close();
+        return null;
+    }
+
+    /**
+     * Close the stream of the last modified dates, releasing the database cursor behind it.
+     */
+    @Override
+    public void close() {
+        lastModifiedStream.close();
+    }
+
+    private boolean isStale(Date lastModified, Date lastIndexed) {
+        return lastModified == null || (lastIndexed != null && lastIndexed.before(lastModified));
+    }
+
+}
@@ -9,9 +9,15 @@ package org.dspace.discovery.configuration;
 import static org.apache.commons.collections4.iterators.EmptyIterator.emptyIterator;
 
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -19,7 +25,11 @@ import org.dspace.content.Item;
 import org.dspace.content.service.ItemService;
 import org.dspace.core.Context;
 import org.dspace.discovery.DiscoverQuery;
+import org.dspace.discovery.DiscoverResult;
 import org.dspace.discovery.DiscoverResultIterator;
+import org.dspace.discovery.SearchService;
+import org.dspace.discovery.SearchServiceException;
+import org.dspace.discovery.SolrServiceHiddenRelationsRestrictionPlugin;
 import org.dspace.discovery.indexobject.IndexableItem;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -34,6 +44,10 @@ public class DiscoveryConfigurationUtilsService {
     private ItemService itemService;
     @Autowired
     private DiscoveryConfigurationService searchConfigurationService;
+    @Autowired
+    private SearchService searchService;
+    @Autowired(required = false)
+    private SolrServiceHiddenRelationsRestrictionPlugin hiddenRelationsRestrictionPlugin;
 
     public Iterator<Item> findByRelation(Context context, Item item, String relationName) {
         String entityType = itemService.getMetadataFirstValue(item, "dspace", "entity", "type", Item.ANY);
@@ -49,16 +63,141 @@ public class DiscoveryConfigurationUtilsService {
             return emptyIterator();
         }
 
+        DiscoverQuery discoverQuery = buildRelationQuery(item, discoveryConfiguration);
+        return new DiscoverResultIterator<Item, UUID>(context, discoverQuery);
+    }
+
+    /**
+     * Check which relations of an item have related items, counting them
+     * instead of loading them. The relations whose filters can be nested in a
+     * boolean query are checked with a single search, which counts the items
+     * of each relation with a facet query and applies the filters shared by
+     * all the relations to the whole search. The other relations, e.g. the ones
+     * filtered with a join, are checked with their own search, built as by
+     * {@link #findByRelation(Context, Item, String)}.
+     *
+     * @param context       the DSpace context
+     * @param item          the item
+     * @param relationNames the names of the relations
+     * @return whether each relation has related items, by relation name
+     */
+    public Map<String, Boolean> hasRelatedItems(Context context, Item item, Collection<String> relationNames) {
+        Map<String, Boolean> results = new HashMap<>();
+        String entityType = itemService.getMetadataFirstValue(item, "dspace", "entity", "type", Item.ANY);
+
+        Map<String, DiscoveryConfiguration> combinedRelations = new LinkedHashMap<>();
+        for (String relationName : relationNames) {
+            DiscoveryConfiguration discoveryConfiguration = entityType != null
+                ? findDiscoveryConfiguration(entityType, relationName) : null;
+            if (discoveryConfiguration == null) {
+                results.put(relationName, false);
+            } else if (isNestable(getFilterQueries(item, discoveryConfiguration))) {
+                combinedRelations.put(relationName, discoveryConfiguration);
+            } else {
+                results.put(relationName, hasRelatedItems(context, item, discoveryConfiguration));
+            }
+        }
+        if (combinedRelations.size() == 1) {
+            Map.Entry<String, DiscoveryConfiguration> relation = combinedRelations.entrySet().iterator().next();
+            results.put(relation.getKey(), hasRelatedItems(context, item, relation.getValue()));
+        } else if (!combinedRelations.isEmpty()) {
+            results.putAll(hasRelatedItems(context, item, combinedRelations));
+        }
+        return results;
+    }
+
+    /**
+     * Check whether a relation of an item has related items with a search
+     * that counts them.
+     */
+    private boolean hasRelatedItems(Context context, Item item, DiscoveryConfiguration discoveryConfiguration) {
+        DiscoverQuery discoverQuery = buildRelationQuery(item, discoveryConfiguration);
+        discoverQuery.setMaxResults(0);
+        return search(context, discoverQuery).getTotalSearchResults() > 0;
+    }
+
+    /**
+     * Check whether the given relations of an item have related items with a
+     * single search. The search is not bound to the discovery configuration
+     * and the scope of a relation, so the filters that the hidden relations
+     * restriction plugin adds to the search of each relation are part of its
+     * facet query.
+     */
+    private Map<String, Boolean> hasRelatedItems(Context context, Item item,
+                                                 Map<String, DiscoveryConfiguration> relations) {
+        Map<String, List<String>> relationFilterQueries = new LinkedHashMap<>();
+        for (Map.Entry<String, DiscoveryConfiguration> relation : relations.entrySet()) {
+            List<String> filterQueries = new ArrayList<>(getFilterQueries(item, relation.getValue()));
+            if (hiddenRelationsRestrictionPlugin != null) {
+                filterQueries.addAll(hiddenRelationsRestrictionPlugin
+                    .getFilterQueries(context, item.getID().toString(), relation.getKey()));
+            }
+            relationFilterQueries.put(relation.getKey(), filterQueries);
+        }
+
+        List<String> sharedFilterQueries = new ArrayList<>(relationFilterQueries.values().iterator().next());
+        relationFilterQueries.values().forEach(sharedFilterQueries::retainAll);
+
+        DiscoverQuery discoverQuery = new DiscoverQuery();
+        discoverQuery.setDSpaceObjectFilter(IndexableItem.TYPE);
+        discoverQuery.setMaxResults(0);
+        sharedFilterQueries.forEach(discoverQuery::addFilterQueries);
+        List<String> keys = new ArrayList<>(relationFilterQueries.keySet());
+        for (int i = 0; i < keys.size(); i++) {
+            String facetQuery = relationFilterQueries.get(keys.get(i)).stream()
+                .filter(filterQuery -> !sharedFilterQueries.contains(filterQuery))
+                .map(this::toClause)
+                .collect(Collectors.joining(" AND "));
+            discoverQuery.addFacetQuery("{!key=relation" + i + "}" + (facetQuery.isEmpty() ? "*:*" : facetQuery));
+        }
+
+        DiscoverResult discoverResult = search(context, discoverQuery);
+        Map<String, Boolean> results = new HashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            Integer count = discoverResult.getFacetQueryCount("relation" + i);
+            results.put(keys.get(i), count != null && count > 0);
+        }
+        return results;
+    }
+
+    private DiscoverQuery buildRelationQuery(Item item, DiscoveryConfiguration discoveryConfiguration) {
         DiscoverQuery discoverQuery = new DiscoverQuery();
         discoverQuery.setDSpaceObjectFilter(IndexableItem.TYPE);
         discoverQuery.setDiscoveryConfigurationName(discoveryConfiguration.getId());
         discoverQuery.setScopeObject(new IndexableItem(item));
-        List<String> defaultFilterQueries = discoveryConfiguration.getDefaultFilterQueries();
-        for (String defaultFilterQuery : defaultFilterQueries) {
-            discoverQuery.addFilterQueries(MessageFormat.format(defaultFilterQuery, item.getID()));
+        getFilterQueries(item, discoveryConfiguration).forEach(discoverQuery::addFilterQueries);
+        return discoverQuery;
+    }
+
+    private List<String> getFilterQueries(Item item, DiscoveryConfiguration discoveryConfiguration) {
+        return discoveryConfiguration.getDefaultFilterQueries().stream()
+            .map(defaultFilterQuery -> MessageFormat.format(defaultFilterQuery, item.getID()))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Filter queries with local params, e.g. a join, change the parser of the
+     * rest of the query and can't be nested in a boolean query.
+     */
+    private boolean isNestable(List<String> filterQueries) {
+        return filterQueries.stream().noneMatch(filterQuery -> filterQuery.contains("{!"));
+    }
+
+    private DiscoverResult search(Context context, DiscoverQuery discoverQuery) {
+        try {
+            return searchService.search(context, discoverQuery);
+        } catch (SearchServiceException e) {
+            throw new RuntimeException(e.getMessage(), e);
         }
+    }
 
-        return new DiscoverResultIterator<Item, UUID>(context, discoverQuery);
+    /**
+     * Turn a filter query into a clause of a boolean query; a pure negative
+     * query would match nothing once nested, so it is applied to all the
+     * documents.
+     */
+    private String toClause(String filterQuery) {
+        return filterQuery.trim().startsWith("-") ? "(*:* " + filterQuery + ")" : "(" + filterQuery + ")";
     }
 
     private DiscoveryConfiguration findDiscoveryConfiguration(String entityType, String relationName) {
@@ -11,10 +11,15 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrServerException;
@@ -25,8 +30,10 @@ import org.apache.tika.parser.ParseContext;
 import org.apache.tika.parser.csv.TextAndCSVParser;
 import org.apache.tika.sax.BodyContentHandler;
 import org.dspace.core.Context;
+import org.dspace.discovery.FullTextCache;
 import org.dspace.discovery.FullTextContentStreams;
 import org.dspace.discovery.IndexableObject;
+import org.dspace.discovery.IndexingStatistics;
 import org.dspace.discovery.SearchUtils;
 import org.dspace.discovery.SolrSearchCore;
 import org.dspace.discovery.SolrServiceIndexPlugin;
@@ -51,6 +58,10 @@ public abstract class IndexFactoryImpl<T extends IndexableObject, S> implements
     protected SolrSearchCore solrSearchCore;
     @Autowired
     protected ConfigurationService ConfigurationService;
+    @Autowired
+    protected FullTextCache fullTextCache;
+    @Autowired
+    protected IndexingStatistics indexingStatistics;
 
     @Override
     public SolrInputDocument buildDocument(Context context, T indexableObject) throws SQLException, IOException {
@@ -67,7 +78,10 @@ public abstract class IndexFactoryImpl<T extends IndexableObject, S> implements
 
         //Do any additional indexing, depends on the plugins
         for (SolrServiceIndexPlugin solrServiceIndexPlugin : ListUtils.emptyIfNull(solrServiceIndexPlugins)) {
+            long start = indexingStatistics.start();
+            int valuesBefore = indexingStatistics.countValues(doc);
             solrServiceIndexPlugin.additionalIndex(context, indexableObject, doc);
+            indexingStatistics.recordPlugin(solrServiceIndexPlugin, start, valuesBefore, doc);
         }
 
         return doc;
@@ -89,6 +103,32 @@ public abstract class IndexFactoryImpl<T extends IndexableObject, S> implements
         }
     }
 
+    @Override
+    public Stream<Pair<String, Date>> findAllLastModified(Context context) throws SQLException {
+        // by default the modification date of the objects is unknown
+        return null;
+    }
+
+    @Override
+    public Set<String> findExistingIds(Context context, List<String> ids) throws SQLException {
+        // by default the objects are looked up one by one
+        Set<String> existingIds = new HashSet<>();
+        for (String id : ids) {
+            Optional<T> indexableObject = findIndexableObject(context, id);
+            if (indexableObject.isPresent()) {
+                existingIds.add(id);
+                context.uncacheEntity(indexableObject.get().getIndexedObject());
+            }
+        }
+        return existingIds;
+    }
+
+    @Override
+    public void completeDocument(Context context, T indexableObject, SolrInputDocument solrInputDocument)
+            throws SQLException, IOException {
+        // by default all the content is already added by buildDocument
+    }
+
     /**
      * Write the document to the index under the appropriate unique identifier.
      *
@@ -100,58 +140,92 @@ public abstract class IndexFactoryImpl<T extends IndexableObject, S> implements
             throws IOException, SolrServerException {
         final SolrClient solr = solrSearchCore.getSolr();
         if (solr != null) {
-            // If full text stream(s) were passed in, we'll index them as part of the SolrInputDocument
-            if (!ConfigurationService.getBooleanProperty("discovery.ignore-fulltext", false) && streams != null
-                    && !streams.isEmpty()) {
-                // limit full text indexing to first 100,000 characters unless configured otherwise
-                final int charLimit = DSpaceServicesFactory.getInstance().getConfigurationService()
-                                                           .getIntProperty("discovery.solr.fulltext.charLimit",
-                                                                           100000);
-
-                // Use Tika's Text parser as the streams are always from the TEXT bundle (i.e. already extracted text)
-                TextAndCSVParser tikaParser = new TextAndCSVParser();
-                BodyContentHandler tikaHandler = new BodyContentHandler(charLimit);
-                Metadata tikaMetadata = new Metadata();
-                ParseContext tikaContext = new ParseContext();
-
-                // Use Apache Tika to parse the full text stream(s)
-                try (InputStream fullTextStreams = streams.getStream()) {
-                    tikaParser.parse(fullTextStreams, tikaHandler, tikaMetadata, tikaContext);
-                } catch (SAXException saxe) {
-                    // Check if this SAXException is just a notice that this file was longer than the character limit.
-                    // Unfortunately there is not a unique, public exception type to catch here. This error is thrown
-                    // by Tika's WriteOutContentHandler when it encounters a document longer than the char limit
-                    // https://github.com/apache/tika/blob/main/tika-core/src/main/java/org/apache/tika/sax/WriteOutContentHandler.java
-                    if (saxe.getMessage().contains("limit has been reached")) {
-                        // log that we only indexed up to that configured limit
-                        log.info("Full text is larger than the configured limit (discovery.solr.fulltext.charLimit)."
-                                     + " Only the first {} characters were indexed.", charLimit);
-                    } else {
-                        log.error("Tika parsing error. Could not index full text.", saxe);
-                        throw new IOException("Tika parsing error. Could not index full text.", saxe);
-                    }
-                } catch (TikaException ex) {
-                    log.error("Tika parsing error. Could not index full text.", ex);
-                    throw new IOException("Tika parsing error. Could not index full text.", ex);
-                }
+            addFullText(doc, streams);
+
+            // Add document to index
+            solr.add(doc);
+        }
+    }
 
-                // Write Tika metadata to "tika_meta_*" fields.
-                // This metadata is not very useful right now, but we'll keep it just in case it becomes more useful.
-                for (String name : tikaMetadata.names()) {
-                    for (String value : tikaMetadata.getValues(name)) {
-                        doc.addField("tika_meta_" + name, value);
-                    }
+    /**
+     * Parse the full text stream(s), if any, and add their content to the provided document.
+     *
+     * @param doc     the solr document to be completed
+     * @param streams list of bitstream content streams
+     * @throws IOException if the full text cannot be read or parsed
+     */
+    protected void addFullText(SolrInputDocument doc, FullTextContentStreams streams) throws IOException {
+        // If full text stream(s) were passed in, we'll index them as part of the SolrInputDocument
+        if (!ConfigurationService.getBooleanProperty("discovery.ignore-fulltext", false) && streams != null
+                && !streams.isEmpty()) {
+            // limit full text indexing to first 100,000 characters unless configured otherwise
+            final int charLimit = DSpaceServicesFactory.getInstance().getConfigurationService()
+                                                       .getIntProperty("discovery.solr.fulltext.charLimit",
+                                                                       100000);
+
+            // Unchanged bitstreams don't need to be read and parsed again
+            Metadata tikaMetadata = new Metadata();
+            String cacheKey = fullTextCache.getKey(streams.getChecksums(), charLimit);
+            String fullText = cacheKey != null ? fullTextCache.get(cacheKey, tikaMetadata) : null;
+            if (fullText == null) {
+                fullText = parseFullText(streams, charLimit, tikaMetadata);
+                if (cacheKey != null && !streams.hasReadErrors()) {
+                    fullTextCache.put(cacheKey, fullText, tikaMetadata);
                 }
+            }
 
-                // Save (parsed) full text to "fulltext" field
-                doc.addField("fulltext", tikaHandler.toString());
+            // Write Tika metadata to "tika_meta_*" fields.
+            // This metadata is not very useful right now, but we'll keep it just in case it becomes more useful.
+            for (String name : tikaMetadata.names()) {
+                for (String value : tikaMetadata.getValues(name)) {
+                    doc.addField("tika_meta_" + name, value);
+                }
             }
 
-            // Add document to index
-            solr.add(doc);
+            // Save (parsed) full text to "fulltext" field
+            doc.addField("fulltext", fullText);
         }
     }
 
+    /**
+     * Parse the full text stream(s) with Tika, up to the given number of characters.
+     *
+     * @param streams      list of bitstream content streams
+     * @param charLimit    the maximum number of characters to extract
+     * @param tikaMetadata the metadata filled by the parser
+     * @return the parsed full text
+     * @throws IOException if the full text cannot be read or parsed
+     */
+    protected String parseFullText(FullTextContentStreams streams, int charLimit, Metadata tikaMetadata)
+            throws IOException {
+        // Use Tika's Text parser as the streams are always from the TEXT bundle (i.e. already extracted text)
+        TextAndCSVParser tikaParser = new TextAndCSVParser();
+        BodyContentHandler tikaHandler = new BodyContentHandler(charLimit);
+        ParseContext tikaContext = new ParseContext();
+
+        // Use Apache Tika to parse the full text stream(s)
+        try (InputStream fullTextStreams = streams.getStream()) {
+            tikaParser.parse(fullTextStreams, tikaHandler, tikaMetadata, tikaContext);
+        } catch (SAXException saxe) {
+            // Check if this SAXException is just a notice that this file was longer than the character limit.
+            // Unfortunately there is not a unique, public exception type to catch here. This error is thrown
+            // by Tika's WriteOutContentHandler when it encounters a document longer than the char limit
+            // https://github.com/apache/tika/blob/main/tika-core/src/main/java/org/apache/tika/sax/WriteOutContentHandler.java
+            if (saxe.getMessage().contains("limit has been reached")) {
+                // log that we only indexed up to that configured limit
+                log.info("Full text is larger than the configured limit (discovery.solr.fulltext.charLimit)."
+                             + " Only the first {} characters were indexed.", charLimit);
+            } else {
+                log.error("Tika parsing error. Could not index full text.", saxe);
+                throw new IOException("Tika parsing error. Could not index full text.", saxe);
+            }
+        } catch (TikaException ex) {
+            log.error("Tika parsing error. Could not index full text.", ex);
+            throw new IOException("Tika parsing error. Could not index full text.", ex);
+        }
+        return tikaHandler.toString();
+    }
+
 
     /**
      * Index the provided value as use for a sidebar facet
@@ -233,6 +307,11 @@ public abstract class IndexFactoryImpl<T extends IndexableObject, S> implements
         solrSearchCore.getSolr().deleteById(indexableObjectIdentifier);
     }
 
+    @Override
+    public void delete(List<String> indexableObjectIdentifiers) throws IOException, SolrServerException {
+        solrSearchCore.getSolr().deleteById(indexableObjectIdentifiers);
+    }
+
     @Override
     public void deleteAll() throws IOException, SolrServerException {
         solrSearchCore.getSolr().deleteByQuery(SearchUtils.RESOURCE_TYPE_FIELD + ":" + getType());
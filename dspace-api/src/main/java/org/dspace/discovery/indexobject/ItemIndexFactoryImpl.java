@@ -12,6 +12,7 @@ import static org.dspace.discovery.SolrServiceImpl.SOLR_FIELD_SUFFIX_FACET_PREFI
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -24,13 +25,21 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.DateFormatUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.SolrInputField;
 import org.dspace.authority.service.AuthorityValueService;
 import org.dspace.content.Collection;
 import org.dspace.content.Community;
@@ -86,6 +95,10 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
     public static final String STORE_SEPARATOR = "\n|||\n";
     public static final String STATUS_FIELD = "database_status";
     public static final String STATUS_FIELD_PREDB = "predb";
+    /**
+     * Number of items deleted by a single query, below the default maxBooleanClauses of Solr (1024)
+     */
+    static final int MAX_DELETE_CLAUSES = 500;
 
 
     @Autowired
@@ -124,6 +137,25 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         };
     }
 
+    @Override
+    public Stream<Pair<String, Date>> findAllLastModified(Context context) throws SQLException {
+        return itemService.findAllRegularItemsLastModified(context)
+                          .map(item -> Pair.of(item.getKey().toString(), item.getValue()));
+    }
+
+    @Override
+    public Set<String> findExistingIds(Context context, List<String> ids) throws SQLException {
+        List<UUID> uuids = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            uuids.add(UUID.fromString(id));
+        }
+        Set<String> existingIds = new HashSet<>();
+        for (UUID uuid : itemService.findExistingIds(context, uuids)) {
+            existingIds.add(uuid.toString());
+        }
+        return existingIds;
+    }
+
     @Override
     public String getType() {
         return IndexableItem.TYPE;
@@ -188,6 +220,80 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         return doc;
     }
 
+    @Override
+    public SolrInputDocument buildPartialDocument(Context context, IndexableItem indexableItem,
+                                                  Set<String> metadataFields)
+            throws SQLException, IOException, SolrServerException {
+        final Item item = indexableItem.getIndexedObject();
+        List<DiscoveryConfiguration> discoveryConfigurations = SearchUtils.getAllDiscoveryConfigurations(context, item);
+        Set<String> prefixes = getDiscoveryFieldPrefixes(metadataFields, discoveryConfigurations);
+
+        // retrieve the fields currently indexed for the changed metadata, to remove the ones without values left
+        SolrQuery query = new SolrQuery(SearchUtils.RESOURCE_UNIQUE_ID + ":" + indexableItem.getUniqueIndexID());
+        query.setFields(prefixes.stream().map(prefix -> prefix + "*").toArray(String[]::new));
+        QueryResponse response = solrSearchCore.getSolr().query(query, solrSearchCore.REQUEST_METHOD);
+        if (response.getResults().isEmpty()) {
+            return null;
+        }
+        SolrDocument indexedDocument = response.getResults().get(0);
+
+        // the values of a field can depend on several metadata, so they are all computed again
+        SolrInputDocument metadataDocument = new SolrInputDocument();
+        addDiscoveryFields(metadataDocument, context, item, discoveryConfigurations);
+        Set<String> fieldNames = new HashSet<>(indexedDocument.getFieldNames());
+        fieldNames.addAll(metadataDocument.getFieldNames());
+
+        SolrInputDocument doc = new SolrInputDocument();
+        doc.addField(SearchUtils.RESOURCE_UNIQUE_ID, indexableItem.getUniqueIndexID());
+        doc.addField(SearchUtils.LAST_INDEXED_FIELD,
+                Collections.singletonMap("set", SolrUtils.getDateFormatter().format(new Date())));
+        doc.addField("lastModified",
+                Collections.singletonMap("set", SolrUtils.getDateFormatter().format(item.getLastModified())));
+        for (String fieldName : fieldNames) {
+            if (isDerivedField(fieldName, prefixes)) {
+                SolrInputField field = metadataDocument.getField(fieldName);
+                doc.addField(fieldName, Collections.singletonMap("set", field != null ? field.getValues() : null));
+            }
+        }
+        return doc;
+    }
+
+    /**
+     * Get the prefixes of the names of the solr fields derived from the given metadata fields: the metadata fields
+     * themselves and the index fields of the search filters configured on them.
+     */
+    private Set<String> getDiscoveryFieldPrefixes(Set<String> metadataFields,
+                                                  List<DiscoveryConfiguration> discoveryConfigurations) {
+        Set<String> prefixes = new HashSet<>(metadataFields);
+        for (DiscoveryConfiguration discoveryConfiguration : discoveryConfigurations) {
+            for (DiscoverySearchFilter searchFilter : discoveryConfiguration.getSearchFilters()) {
+                for (String filterField : searchFilter.getMetadataFields()) {
+                    String unqualifiedField = StringUtils.removeEnd(filterField, "." + Item.ANY);
+                    for (String metadataField : metadataFields) {
+                        if (filterField.equals(metadataField) || (filterField.endsWith("." + Item.ANY)
+                                && (metadataField.equals(unqualifiedField)
+                                || metadataField.startsWith(unqualifiedField + ".")))) {
+                            prefixes.add(searchFilter.getIndexFieldName());
+                        }
+                    }
+                }
+            }
+        }
+        if (metadataFields.contains("dc.relation.ispartof")) {
+            prefixes.add("publication_grp");
+        }
+        return prefixes;
+    }
+
+    private boolean isDerivedField(String fieldName, Set<String> prefixes) {
+        for (String prefix : prefixes) {
+            if (fieldName.equals(prefix) || fieldName.startsWith(prefix + "_") || fieldName.startsWith(prefix + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public void addDiscoveryFields(SolrInputDocument doc, Context context, Item item,
                                    List<DiscoveryConfiguration> discoveryConfigurations)
@@ -752,6 +858,12 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         writeDocument(solrInputDocument, new FullTextContentStreams(context, indexableObject.getIndexedObject()));
     }
 
+    @Override
+    public void completeDocument(Context context, IndexableItem indexableObject,
+                                 SolrInputDocument solrInputDocument) throws SQLException, IOException {
+        addFullText(solrInputDocument, new FullTextContentStreams(context, indexableObject.getIndexedObject()));
+    }
+
     @Override
     public List<String> getLocations(Context context, IndexableItem indexableDSpaceObject)
             throws SQLException {
@@ -797,6 +909,19 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         deleteInProgressData(indexableObjectIdentifier);
     }
 
+    @Override
+    public void delete(List<String> indexableObjectIdentifiers) throws IOException, SolrServerException {
+        super.delete(indexableObjectIdentifiers);
+        // Also delete any possible workflowItem / workspaceItem / tasks related to these items, in chunks that
+        // don't exceed the maximum number of clauses of a boolean query
+        for (List<String> chunk : ListUtils.partition(indexableObjectIdentifiers, MAX_DELETE_CLAUSES)) {
+            String query = chunk.stream()
+                                .map(id -> "\"" + id + "\"")
+                                .collect(Collectors.joining(" OR ", "inprogress.item:(", ")"));
+            solrSearchCore.getSolr().deleteByQuery(query);
+        }
+    }
+
     @Override
     public boolean supports(Object object) {
         return object instanceof Item;
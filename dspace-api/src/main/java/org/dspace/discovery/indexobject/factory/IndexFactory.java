@@ -9,10 +9,14 @@ package org.dspace.discovery.indexobject.factory;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.common.SolrInputDocument;
 import org.dspace.core.Context;
@@ -33,6 +37,18 @@ public interface IndexFactory<T extends IndexableObject, S> {
      */
     Iterator<T> findAll(Context context) throws SQLException;
 
+    /**
+     * Retrieve the identifier and the last modified date of all the instances returned by
+     * {@link #findAll(Context)}, ordered by identifier, without loading the objects themselves.
+     * Used to detect in bulk which objects are stale in the search core. The stream may be backed by an open
+     * database cursor, so it must be closed once read.
+     * @param context       DSpace context object
+     * @return              A stream of the identifier / last modified date pairs, or null if the indexable
+     *                      object type doesn't keep track of the modification date of its objects
+     * @throws SQLException If database error
+     */
+    Stream<Pair<String, Date>> findAllLastModified(Context context) throws SQLException;
+
     /**
      * Return the type of the indexable object
      * @return a string containing the type
@@ -66,6 +82,19 @@ public interface IndexFactory<T extends IndexableObject, S> {
     void writeDocument(Context context, T indexableObject, SolrInputDocument solrInputDocument)
             throws SQLException, IOException, SolrServerException;
 
+    /**
+     * Add to the provided document the content that is otherwise only computed by
+     * {@link #writeDocument(Context, IndexableObject, SolrInputDocument)} (e.g. the full text of an item), so that
+     * the caller can send the document to the search core itself, for instance together with other documents
+     * @param context               DSpace context object
+     * @param indexableObject       The indexable object that the document was built for
+     * @param solrInputDocument     Solr input document to complete
+     * @throws SQLException         If database error
+     * @throws IOException          If IO error
+     */
+    void completeDocument(Context context, T indexableObject, SolrInputDocument solrInputDocument)
+            throws SQLException, IOException;
+
     /**
      * Remove the provided indexable object from the solr core
      * @param indexableObject       The indexable object that we want to remove from the search core
@@ -82,6 +111,14 @@ public interface IndexFactory<T extends IndexableObject, S> {
      */
     void delete(String indexableObjectIdentifier) throws IOException, SolrServerException;
 
+    /**
+     * Remove the provided indexable objects from the solr core with a single request
+     * @param indexableObjectIdentifiers The identifiers that we want to remove from the search core
+     * @throws IOException              If IO error
+     * @throws SolrServerException      If the solr documents could not be removed from the search core
+     */
+    void delete(List<String> indexableObjectIdentifiers) throws IOException, SolrServerException;
+
     /**
      * Remove all indexable objects of the implementing type from the search core
      * @throws IOException          If IO error
@@ -98,6 +135,15 @@ public interface IndexFactory<T extends IndexableObject, S> {
      */
     Optional<T> findIndexableObject(Context context, String id) throws SQLException;
 
+    /**
+     * Find which of the provided identifiers still match an indexable object
+     * @param context       DSpace context object
+     * @param ids           The identifiers to look for
+     * @return              The identifiers of the existing indexable objects
+     * @throws SQLException If database error
+     */
+    Set<String> findExistingIds(Context context, List<String> ids) throws SQLException;
+
     /**
      * Determine whether the class can handle the factory implementation
      * @param object        The object which we want to check
@@ -10,7 +10,9 @@ package org.dspace.discovery.indexobject.factory;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Set;
 
+import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.common.SolrInputDocument;
 import org.dspace.content.Item;
 import org.dspace.core.Context;
@@ -38,4 +40,19 @@ public interface ItemIndexFactory extends DSpaceObjectIndexFactory<IndexableItem
                             List<DiscoveryConfiguration> discoveryConfigurations)
             throws SQLException, IOException;
 
+    /**
+     * Build an atomic update of the solr document of an item whose only changes are the values of the given
+     * metadata fields. Only the solr fields derived from these metadata are set, the output of the
+     * SolrServiceIndexPlugins and the full text are left untouched.
+     * @param context                   DSpace context object
+     * @param indexableItem             The item to update the document of
+     * @param metadataFields            The changed metadata fields, in the schema.element.qualifier form
+     * @return                          The atomic update, or null if the item is not in the search core yet
+     * @throws SQLException             If database error
+     * @throws IOException              If IO error
+     * @throws SolrServerException      If the current document could not be retrieved from the search core
+     */
+    SolrInputDocument buildPartialDocument(Context context, IndexableItem indexableItem, Set<String> metadataFields)
+            throws SQLException, IOException, SolrServerException;
+
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.queue;
+
+import java.util.Date;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+import org.dspace.core.Context;
+import org.dspace.core.ReloadableEntity;
+import org.dspace.discovery.queue.service.IndexQueueService;
+
+/**
+ * Entity that models a record of the asynchronous discovery indexing queue.
+ * Each record only holds the unique index identifier of an object whose index
+ * document must be refreshed: the object is resolved when the record is
+ * processed, so that it is indexed if it still exists and removed from the
+ * index otherwise. The records flagged as unindex remove the documents of the
+ * object, including the ones of the in progress submissions of an Item, before
+ * it is indexed again.
+ */
+@Entity
+@Table(name = "index_queue")
+public class IndexQueueEntry implements ReloadableEntity<Integer> {
+
+    @Id
+    @Column(name = "id")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "index_queue_id_seq")
+    @SequenceGenerator(name = "index_queue_id_seq", sequenceName = "index_queue_id_seq", allocationSize = 1)
+    private Integer id;
+
+    /**
+     * The unique index identifier of the object to index, e.g. Item-&lt;uuid&gt;
+     */
+    @Column(name = "unique_index_id", nullable = false)
+    private String uniqueIndexId;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "queued_date")
+    private Date queuedDate;
+
+    /**
+     * Indexing attempts already made for this record.
+     */
+    @Column(name = "attempts")
+    private Integer attempts = 0;
+
+    /**
+     * Whether the documents of the object must be removed before indexing it again
+     */
+    @Column(name = "unindex")
+    private Boolean unIndex = false;
+
+    /**
+     * Date before which a record that failed must not be processed again, null
+     * for the records that never failed.
+     */
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "next_attempt_date")
+    private Date nextAttemptDate;
+
+    /**
+     * Protected constructor, create object using:
+     * {@link IndexQueueService#enqueue(Context, java.util.Collection, boolean)}
+     */
+    protected IndexQueueEntry() {
+
+    }
+
+    @Override
+    public Integer getID() {
+        return id;
+    }
+
+    public String getUniqueIndexId() {
+        return uniqueIndexId;
+    }
+
+    public void setUniqueIndexId(String uniqueIndexId) {
+        this.uniqueIndexId = uniqueIndexId;
+    }
+
+    public Date getQueuedDate() {
+        return queuedDate;
+    }
+
+    public void setQueuedDate(Date queuedDate) {
+        this.queuedDate = queuedDate;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public boolean isUnIndex() {
+        return Boolean.TRUE.equals(unIndex);
+    }
+
+    public void setUnIndex(boolean unIndex) {
+        this.unIndex = unIndex;
+    }
+
+    public Date getNextAttemptDate() {
+        return nextAttemptDate;
+    }
+
+    public void setNextAttemptDate(Date nextAttemptDate) {
+        this.nextAttemptDate = nextAttemptDate;
+    }
+}
@@ -0,0 +1,210 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.queue;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.dspace.core.Context;
+import org.dspace.discovery.IndexableObject;
+import org.dspace.discovery.IndexingService;
+import org.dspace.discovery.SearchResultCache;
+import org.dspace.discovery.SolrSearchCore;
+import org.dspace.discovery.indexobject.factory.IndexFactory;
+import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
+import org.dspace.discovery.queue.service.IndexQueueService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Drains the asynchronous discovery indexing queue filled by the
+ * {@link org.dspace.discovery.IndexEventConsumer} when
+ * <code>discovery.index.async.enabled</code> is true.
+ * <p>
+ * A pool of <code>discovery.index.async.threads</code> workers claims batches of
+ * <code>discovery.index.async.batch-size</code> records, each in its own
+ * transaction, so that the same record is never processed twice. Records of the
+ * same object are processed once per batch; the object is reindexed if it still
+ * exists and removed from the index otherwise. The documents of the objects
+ * queued for deletion, e.g. an Item deposited from a workspace, are removed
+ * before the objects are indexed again, like the synchronous indexing does. When the queue is empty a soft
+ * commit makes the changes visible to the searches. Records that fail are retried
+ * up to <code>discovery.index.async.max-attempts</code> times.
+ */
+public class IndexQueueProcessor {
+
+    private static final Logger log = LogManager.getLogger(IndexQueueProcessor.class);
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @Autowired
+    private IndexQueueService indexQueueService;
+
+    @Autowired
+    private IndexingService indexingService;
+
+    @Autowired
+    private IndexObjectFactoryFactory indexObjectFactoryFactory;
+
+    @Autowired
+    private SolrSearchCore solrSearchCore;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    /**
+     * Process the queue using the processor configured in the service manager.
+     */
+    public static void runScheduled() {
+        List<IndexQueueProcessor> processors = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                                    .getServicesByType(IndexQueueProcessor.class);
+        if (processors.isEmpty()) {
+            log.warn("discovery.index.async.cron is set but no IndexQueueProcessor is configured, "
+                + "see solr-services.xml");
+            return;
+        }
+        processors.get(0).process();
+    }
+
+    /**
+     * Process all the records of the queue. Does nothing if the queue is already
+     * being processed by this instance.
+     *
+     * @return the number of objects indexed or removed from the index
+     */
+    public int process() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        int threads = Math.max(1, configurationService.getIntProperty("discovery.index.async.threads", 2));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        int processed = 0;
+        try {
+            List<Future<Integer>> workers = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(this::drain));
+            }
+            for (Future<Integer> worker : workers) {
+                processed += worker.get();
+            }
+            if (processed > 0) {
+                softCommit();
+                log.debug("Processed {} records of the discovery indexing queue", processed);
+            }
+        } catch (ExecutionException e) {
+            log.error("Error processing the discovery indexing queue", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdown();
+            running.set(false);
+        }
+        return processed;
+    }
+
+    /**
+     * Claim and process batches of records until the queue is empty.
+     * Hibernate sessions are bound to the current thread, so every worker uses its own Context.
+     */
+    private int drain() {
+        int batchSize = configurationService.getIntProperty("discovery.index.async.batch-size", 100);
+        int processed = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            Context context = new Context();
+            try {
+                context.turnOffAuthorisationSystem();
+                List<IndexQueueEntry> entries = indexQueueService.claim(context, batchSize);
+                if (entries.isEmpty()) {
+                    context.complete();
+                    return processed;
+                }
+                processed += processBatch(context, entries);
+                // release the claimed records
+                context.complete();
+            } catch (SQLException e) {
+                log.error("Error claiming records from the discovery indexing queue", e);
+                return processed;
+            } finally {
+                if (context.isValid()) {
+                    context.abort();
+                }
+            }
+        }
+        return processed;
+    }
+
+    private int processBatch(Context context, List<IndexQueueEntry> entries) throws SQLException {
+        int maxAttempts = configurationService.getIntProperty("discovery.index.async.max-attempts", 3);
+        Map<String, List<IndexQueueEntry>> entriesById = new LinkedHashMap<>();
+        for (IndexQueueEntry entry : entries) {
+            entriesById.computeIfAbsent(entry.getUniqueIndexId(), id -> new ArrayList<>()).add(entry);
+        }
+
+        for (Map.Entry<String, List<IndexQueueEntry>> entriesOfId : entriesById.entrySet()) {
+            boolean unIndex = entriesOfId.getValue().stream().anyMatch(IndexQueueEntry::isUnIndex);
+            boolean done = process(context, entriesOfId.getKey(), unIndex);
+            for (IndexQueueEntry entry : entriesOfId.getValue()) {
+                if (done || entry.getAttempts() + 1 >= maxAttempts) {
+                    indexQueueService.delete(context, entry);
+                } else {
+                    indexQueueService.markFailed(context, entry);
+                }
+            }
+        }
+        return entriesById.size();
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private boolean process(Context context, String uniqueIndexId, boolean unIndex) {
+        try {
+            IndexFactory indexFactory = indexObjectFactoryFactory.getIndexableObjectFactory(uniqueIndexId);
+            String id = StringUtils.substringAfter(uniqueIndexId, "-");
+            Optional<IndexableObject> indexableObject = indexFactory.findIndexableObject(context, id);
+            if (unIndex || indexableObject.isEmpty()) {
+                indexingService.unIndexContent(context, uniqueIndexId);
+            }
+            if (indexableObject.isPresent()) {
+                indexingService.indexContent(context, indexableObject.get(), true);
+                context.uncacheEntity(indexableObject.get().getIndexedObject());
+            }
+            return true;
+        } catch (Exception e) {
+            log.error("Error processing the discovery indexing queue record of " + uniqueIndexId, e);
+            return false;
+        }
+    }
+
+    private void softCommit() {
+        try {
+            SolrClient solr = solrSearchCore.getSolr();
+            if (solr != null) {
+                solr.commit(false, false, true);
+                searchResultCache.invalidate();
+            }
+        } catch (Exception e) {
+            log.error("Error committing the discovery index", e);
+        }
+    }
+}
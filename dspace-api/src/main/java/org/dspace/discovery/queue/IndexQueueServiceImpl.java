@@ -0,0 +1,97 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.queue;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.dspace.core.Context;
+import org.dspace.discovery.queue.dao.IndexQueueEntryDAO;
+import org.dspace.discovery.queue.service.IndexQueueService;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Implementation of {@link IndexQueueService}.
+ */
+public class IndexQueueServiceImpl implements IndexQueueService {
+
+    /**
+     * Longest delay between two attempts, in seconds
+     */
+    private static final long MAX_RETRY_DELAY = 24 * 60 * 60;
+
+    @Autowired
+    private IndexQueueEntryDAO indexQueueEntryDAO;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Override
+    public void enqueue(Context context, Collection<String> uniqueIndexIds) throws SQLException {
+        enqueue(context, uniqueIndexIds, false);
+    }
+
+    @Override
+    public void enqueue(Context context, Collection<String> uniqueIndexIds, boolean unIndex) throws SQLException {
+        Date now = new Date();
+        for (String uniqueIndexId : uniqueIndexIds) {
+            IndexQueueEntry entry = new IndexQueueEntry();
+            entry.setUniqueIndexId(uniqueIndexId);
+            entry.setQueuedDate(now);
+            entry.setUnIndex(unIndex);
+            indexQueueEntryDAO.create(context, entry);
+        }
+    }
+
+    @Override
+    public List<IndexQueueEntry> claim(Context context, int limit) throws SQLException {
+        List<IndexQueueEntry> oldest = indexQueueEntryDAO.findOldestForUpdate(context, new Date(), limit);
+        if (oldest.isEmpty()) {
+            return oldest;
+        }
+        Set<String> uniqueIndexIds = oldest.stream()
+                                           .map(IndexQueueEntry::getUniqueIndexId)
+                                           .collect(Collectors.toSet());
+        Map<Integer, IndexQueueEntry> entries = new LinkedHashMap<>();
+        for (IndexQueueEntry entry : oldest) {
+            entries.put(entry.getID(), entry);
+        }
+        for (IndexQueueEntry entry : indexQueueEntryDAO.findByUniqueIndexIdsForUpdate(context, uniqueIndexIds)) {
+            entries.putIfAbsent(entry.getID(), entry);
+        }
+        return List.copyOf(entries.values());
+    }
+
+    @Override
+    public void delete(Context context, IndexQueueEntry entry) throws SQLException {
+        indexQueueEntryDAO.delete(context, entry);
+    }
+
+    @Override
+    public void markFailed(Context context, IndexQueueEntry entry) throws SQLException {
+        int attempts = entry.getAttempts() == null ? 1 : entry.getAttempts() + 1;
+        long delay = configurationService.getLongProperty("discovery.index.async.retry-delay", 60);
+        // 2^(attempts - 1) times the delay, without overflowing
+        delay = Math.min(MAX_RETRY_DELAY, delay << Math.min(attempts - 1, 20));
+        entry.setAttempts(attempts);
+        entry.setNextAttemptDate(new Date(System.currentTimeMillis() + delay * 1000));
+        indexQueueEntryDAO.save(context, entry);
+    }
+
+    @Override
+    public long count(Context context) throws SQLException {
+        return indexQueueEntryDAO.countAll(context);
+    }
+}
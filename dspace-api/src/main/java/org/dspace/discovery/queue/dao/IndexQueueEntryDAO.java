@@ -0,0 +1,62 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.queue.dao;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+import org.dspace.discovery.queue.IndexQueueEntry;
+
+/**
+ * Database Access Object interface class for the IndexQueueEntry object. The
+ * implementation of this class is responsible for all database calls for the
+ * IndexQueueEntry object and is autowired by spring. This class should only be
+ * accessed from a single service and should never be exposed outside of the API
+ */
+public interface IndexQueueEntryDAO extends GenericDAO<IndexQueueEntry> {
+
+    /**
+     * Find and lock the oldest records of the queue that can be processed at the
+     * given date. The records already locked by another transaction are skipped,
+     * so that many workers can drain the queue concurrently. The locks are
+     * released when the transaction of the given context ends.
+     *
+     * @param  context      DSpace context object
+     * @param  now          the records waiting for a later attempt are skipped
+     * @param  limit        the maximum number of records to return
+     * @return              the locked records, oldest first
+     * @throws SQLException if an SQL error occurs
+     */
+    List<IndexQueueEntry> findOldestForUpdate(Context context, Date now, int limit) throws SQLException;
+
+    /**
+     * Find and lock all the records of the given objects, including the ones
+     * waiting for a later attempt, skipping the records already locked by
+     * another transaction.
+     *
+     * @param  context        DSpace context object
+     * @param  uniqueIndexIds the unique index identifiers of the objects
+     * @return                the locked records, oldest first
+     * @throws SQLException   if an SQL error occurs
+     */
+    List<IndexQueueEntry> findByUniqueIndexIdsForUpdate(Context context, Collection<String> uniqueIndexIds)
+        throws SQLException;
+
+    /**
+     * Count all the records of the queue.
+     *
+     * @param  context      DSpace context object
+     * @return              the number of records in the queue
+     * @throws SQLException if an SQL error occurs
+     */
+    long countAll(Context context) throws SQLException;
+}
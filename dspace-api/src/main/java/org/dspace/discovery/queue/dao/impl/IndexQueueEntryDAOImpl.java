@@ -0,0 +1,60 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.queue.dao.impl;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import javax.persistence.Query;
+
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Context;
+import org.dspace.discovery.queue.IndexQueueEntry;
+import org.dspace.discovery.queue.dao.IndexQueueEntryDAO;
+
+/**
+ * Implementation of {@link IndexQueueEntryDAO}.
+ * <p>
+ * The records are locked with native <code>FOR UPDATE SKIP LOCKED</code> queries
+ * rather than with a JPA lock mode, which Hibernate only turns into
+ * <code>SKIP LOCKED</code> with the PostgreSQL95Dialect and later, while the
+ * configured db.dialect is usually older. Both the PostgreSQL versions supported
+ * by DSpace and H2 2.x accept this syntax, whatever the dialect.
+ */
+@SuppressWarnings("unchecked")
+public class IndexQueueEntryDAOImpl extends AbstractHibernateDAO<IndexQueueEntry> implements IndexQueueEntryDAO {
+
+    @Override
+    public List<IndexQueueEntry> findOldestForUpdate(Context context, Date now, int limit) throws SQLException {
+        // the limit is written in the statement, as Hibernate would append it after the locking clause
+        return getHibernateSession(context)
+            .createNativeQuery("SELECT * FROM index_queue "
+                + "WHERE next_attempt_date IS NULL OR next_attempt_date <= :now ORDER BY id "
+                + "LIMIT :limit FOR UPDATE SKIP LOCKED", IndexQueueEntry.class)
+            .setParameter("now", now)
+            .setParameter("limit", limit)
+            .getResultList();
+    }
+
+    @Override
+    public List<IndexQueueEntry> findByUniqueIndexIdsForUpdate(Context context, Collection<String> uniqueIndexIds)
+        throws SQLException {
+        return getHibernateSession(context)
+            .createNativeQuery("SELECT * FROM index_queue WHERE unique_index_id IN (:ids) ORDER BY id "
+                + "FOR UPDATE SKIP LOCKED", IndexQueueEntry.class)
+            .setParameterList("ids", uniqueIndexIds)
+            .getResultList();
+    }
+
+    @Override
+    public long countAll(Context context) throws SQLException {
+        Query query = createQuery(context, "SELECT COUNT(entry) FROM IndexQueueEntry entry");
+        return (long) query.getSingleResult();
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.queue.service;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+
+import org.dspace.core.Context;
+import org.dspace.discovery.queue.IndexQueueEntry;
+
+/**
+ * Service that handles the queue of the objects to be indexed asynchronously
+ * in discovery.
+ */
+public interface IndexQueueService {
+
+    /**
+     * Add the given unique index identifiers to the queue. The records are
+     * written in the transaction of the given context, so that they become
+     * visible to the workers only when the changes that caused them are
+     * committed.
+     *
+     * @param  context        DSpace context object
+     * @param  uniqueIndexIds the unique index identifiers of the objects to index
+     * @throws SQLException   if an SQL error occurs
+     */
+    void enqueue(Context context, Collection<String> uniqueIndexIds) throws SQLException;
+
+    /**
+     * Add the given unique index identifiers to the queue, like
+     * {@link #enqueue(Context, Collection)}. The records flagged as unindex
+     * remove all the documents of their objects, e.g. the in progress submissions
+     * of a deposited Item, before indexing the objects that still exist.
+     *
+     * @param  context        DSpace context object
+     * @param  uniqueIndexIds the unique index identifiers of the objects to index
+     * @param  unIndex        whether the documents of the objects must be removed first
+     * @throws SQLException   if an SQL error occurs
+     */
+    void enqueue(Context context, Collection<String> uniqueIndexIds, boolean unIndex) throws SQLException;
+
+    /**
+     * Find and lock the oldest records of the queue, skipping the ones already
+     * locked by other workers and the ones waiting for a later attempt. The other
+     * records of the same objects are claimed as well, even if they are newer or
+     * waiting for a later attempt, as they are satisfied by the same update of
+     * the index.
+     *
+     * @param  context      DSpace context object
+     * @param  limit        the maximum number of oldest records to claim
+     * @return              the claimed records, oldest first
+     * @throws SQLException if an SQL error occurs
+     */
+    List<IndexQueueEntry> claim(Context context, int limit) throws SQLException;
+
+    /**
+     * Delete the given record from the queue.
+     *
+     * @param  context      DSpace context object
+     * @param  entry        the record to delete
+     * @throws SQLException if an SQL error occurs
+     */
+    void delete(Context context, IndexQueueEntry entry) throws SQLException;
+
+    /**
+     * Record a failed indexing attempt for the given record, which is not
+     * claimed again before a delay doubling with each attempt, starting from
+     * discovery.index.async.retry-delay seconds.
+     *
+     * @param  context      DSpace context object
+     * @param  entry        the record that could not be processed
+     * @throws SQLException if an SQL error occurs
+     */
+    void markFailed(Context context, IndexQueueEntry entry) throws SQLException;
+
+    /**
+     * Count the records waiting in the queue.
+     *
+     * @param  context      DSpace context object
+     * @return              the number of records in the queue
+     * @throws SQLException if an SQL error occurs
+     */
+    long count(Context context) throws SQLException;
+}
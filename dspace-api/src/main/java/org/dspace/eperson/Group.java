@@ -9,7 +9,10 @@ package org.dspace.eperson;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -21,6 +24,7 @@ import javax.persistence.Table;
 import javax.persistence.Transient;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.dspace.content.DSpaceObject;
 import org.dspace.content.DSpaceObjectLegacySupport;
 import org.dspace.core.Constants;
@@ -85,6 +89,16 @@ public class Group extends DSpaceObject implements DSpaceObjectLegacySupport {
     @Transient
     private boolean groupsChanged;
 
+    /**
+     * Memberships between groups added and removed since the last update, as
+     * (parent id, child id) pairs, to update the group2groupcache table
+     */
+    @Transient
+    private final Set<Pair<UUID, UUID>> addedGroupMemberships = new HashSet<>();
+
+    @Transient
+    private final Set<Pair<UUID, UUID>> removedGroupMemberships = new HashSet<>();
+
     /**
      * Protected constructor, create object using:
      * {@link org.dspace.eperson.service.GroupService#create(Context)}
@@ -112,17 +126,17 @@ public class Group extends DSpaceObject implements DSpaceObjectLegacySupport {
 
     void addMember(Group g) {
         getMemberGroups().add(g);
-        groupsChanged = true;
+        setGroupMembershipChanged(Pair.of(getID(), g.getID()), true);
     }
 
     void addParentGroup(Group group) {
         getParentGroups().add(group);
-        groupsChanged = true;
+        setGroupMembershipChanged(Pair.of(group.getID(), getID()), true);
     }
 
     void removeParentGroup(Group group) {
         getParentGroups().remove(group);
-        groupsChanged = true;
+        setGroupMembershipChanged(Pair.of(group.getID(), getID()), false);
     }
 
     boolean remove(EPerson e) {
@@ -130,10 +144,21 @@ public class Group extends DSpaceObject implements DSpaceObjectLegacySupport {
     }
 
     boolean remove(Group g) {
-        groupsChanged = true;
+        setGroupMembershipChanged(Pair.of(getID(), g.getID()), false);
         return getMemberGroups().remove(g);
     }
 
+    private void setGroupMembershipChanged(Pair<UUID, UUID> membership, boolean added) {
+        groupsChanged = true;
+        if (added) {
+            removedGroupMemberships.remove(membership);
+            addedGroupMemberships.add(membership);
+        } else {
+            addedGroupMemberships.remove(membership);
+            removedGroupMemberships.add(membership);
+        }
+    }
+
     boolean contains(Group g) {
         return getMemberGroups().contains(g);
     }
@@ -214,8 +239,24 @@ public class Group extends DSpaceObject implements DSpaceObjectLegacySupport {
         return groupsChanged;
     }
 
+    /**
+     * @return the memberships between groups added since the last update, as (parent id, child id) pairs
+     */
+    public Set<Pair<UUID, UUID>> getAddedGroupMemberships() {
+        return addedGroupMemberships;
+    }
+
+    /**
+     * @return the memberships between groups removed since the last update, as (parent id, child id) pairs
+     */
+    public Set<Pair<UUID, UUID>> getRemovedGroupMemberships() {
+        return removedGroupMemberships;
+    }
+
     public void clearGroupsChanged() {
         this.groupsChanged = false;
+        addedGroupMemberships.clear();
+        removedGroupMemberships.clear();
     }
 
     @Override
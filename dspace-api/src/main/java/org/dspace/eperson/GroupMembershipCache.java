@@ -0,0 +1,240 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.eperson;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.dspace.core.Context;
+import org.dspace.eperson.dao.Group2GroupCacheDAO;
+import org.dspace.eperson.dao.GroupDAO;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JVM-wide cache of the effective groups of the epersons, i.e. the groups they are members of directly or through
+ * their subgroups, shared by all the contexts so that
+ * {@link org.dspace.eperson.service.GroupService#isMember(Context, EPerson, Group)} does not query the
+ * <code>group2groupcache</code> table for each checked policy.
+ * <p>
+ * Each group is given a dense index and the effective groups are stored as bitsets: those of each eperson, and those
+ * of each group (the group and its ancestors) used for the anonymous group and the special groups of the context.
+ * A membership check is then a lookup of one bit in a few bitsets. The bitsets are computed lazily and discarded by
+ * the {@link GroupMembershipCacheConsumer} once the changes of the members of the groups are committed: the changes
+ * of the members of a group discard the bitsets of these epersons, all the other changes of the groups discard the
+ * whole cache. The whole cache is also discarded after <code>authorization.group-membership-cache.ttl</code>
+ * seconds, so that the changes made by other applications are eventually noticed. The contexts having uncommitted
+ * changes don't use the cache.
+ */
+public class GroupMembershipCache {
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Autowired
+    private GroupDAO groupDAO;
+
+    @Autowired
+    private Group2GroupCacheDAO group2GroupCacheDAO;
+
+    private volatile Snapshot snapshot = new Snapshot();
+
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("authorization.group-membership-cache.enabled", false);
+    }
+
+    /**
+     * Get the effective groups of an eperson.
+     *
+     * @param context              the current context
+     * @param ePerson              the eperson, null for anonymous
+     * @param includeSpecialGroups whether the special groups of the context must be included
+     * @return the effective groups, or null if the cache is disabled or must not be used by this context
+     * @throws SQLException if database error
+     */
+    public Memberships getMemberships(Context context, EPerson ePerson, boolean includeSpecialGroups)
+        throws SQLException {
+        if (!isEnabled() || context.hasEvents()) {
+            return null;
+        }
+        Snapshot current = snapshot;
+        long ttl = configurationService.getLongProperty("authorization.group-membership-cache.ttl", 300) * 1000;
+        if (current.created + ttl < System.currentTimeMillis()) {
+            invalidateAll();
+            current = snapshot;
+        }
+        List<BitSet> bitsets = new ArrayList<>();
+        if (ePerson != null) {
+            bitsets.add(getEPersonGroups(context, current, ePerson));
+        }
+        // all the users are members of the anonymous group
+        if (current.anonymousId == null) {
+            Group anonymous = groupDAO.findByName(context, Group.ANONYMOUS);
+            current.anonymousId = anonymous != null ? anonymous.getID() : null;
+        }
+        if (current.anonymousId != null) {
+            bitsets.add(getGroupClosure(context, current, current.anonymousId));
+        }
+        if (includeSpecialGroups) {
+            for (UUID specialGroupId : context.getSpecialGroupUuids()) {
+                bitsets.add(getGroupClosure(context, current, specialGroupId));
+            }
+        }
+        return new Memberships(current, bitsets);
+    }
+
+    /**
+     * Discard the effective groups of an eperson, whose memberships changed.
+     *
+     * @param ePersonId the id of the eperson
+     */
+    public void invalidate(UUID ePersonId) {
+        Snapshot current = snapshot;
+        synchronized (current.epersons) {
+            current.epersonGeneration.incrementAndGet();
+            current.epersons.remove(ePersonId);
+        }
+    }
+
+    /**
+     * Discard all the effective groups, e.g. when a subgroup is added or a group is deleted.
+     */
+    public void invalidateAll() {
+        snapshot = new Snapshot();
+    }
+
+    private BitSet getEPersonGroups(Context context, Snapshot current, EPerson ePerson) throws SQLException {
+        synchronized (current.epersons) {
+            BitSet cached = current.epersons.get(ePerson.getID());
+            if (cached != null) {
+                return cached;
+            }
+        }
+        long generation = current.epersonGeneration.get();
+        List<Group> groups = groupDAO.findByEPerson(context, ePerson);
+        BitSet bitset = new BitSet();
+        for (Group group : groups) {
+            bitset.set(current.getIndex(group.getID()));
+        }
+        if (!groups.isEmpty()) {
+            for (Group2GroupCache row : group2GroupCacheDAO.findByChildren(context, groups)) {
+                bitset.set(current.getIndex(row.getParent().getID()));
+            }
+        }
+        int maxSize = configurationService.getIntProperty("authorization.group-membership-cache.max-size", 10000);
+        synchronized (current.epersons) {
+            if (generation == current.epersonGeneration.get()) {
+                current.epersons.put(ePerson.getID(), bitset);
+                if (current.epersons.size() > maxSize) {
+                    current.epersons.remove(current.epersons.keySet().iterator().next());
+                }
+            }
+        }
+        return bitset;
+    }
+
+    private BitSet getGroupClosure(Context context, Snapshot current, UUID groupId) throws SQLException {
+        BitSet cached = current.closures.get(groupId);
+        if (cached != null) {
+            return cached;
+        }
+        BitSet bitset = new BitSet();
+        bitset.set(current.getIndex(groupId));
+        Group group = groupDAO.findByID(context, Group.class, groupId);
+        if (group != null) {
+            for (Group2GroupCache row : group2GroupCacheDAO.findByChildren(context, List.of(group))) {
+                bitset.set(current.getIndex(row.getParent().getID()));
+            }
+        }
+        current.closures.put(groupId, bitset);
+        return bitset;
+    }
+
+    /**
+     * The effective groups of an eperson, including the anonymous group and optionally the special groups.
+     */
+    public static class Memberships {
+        private final Snapshot snapshot;
+        private final List<BitSet> bitsets;
+
+        private Memberships(Snapshot snapshot, List<BitSet> bitsets) {
+            this.snapshot = snapshot;
+            this.bitsets = bitsets;
+        }
+
+        /**
+         * @param group a group
+         * @return whether the eperson is a member of the group, directly or through its subgroups
+         */
+        public boolean contains(Group group) {
+            Integer index = snapshot.indexes.get(group.getID());
+            if (index == null) {
+                return false;
+            }
+            for (BitSet bitset : bitsets) {
+                if (bitset.get(index)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return the ids of all the groups of the eperson
+         */
+        public Set<UUID> getGroupIds() {
+            BitSet all = new BitSet();
+            for (BitSet bitset : bitsets) {
+                all.or(bitset);
+            }
+            Set<UUID> ids = new HashSet<>();
+            synchronized (snapshot.ids) {
+                for (int index = all.nextSetBit(0); index >= 0; index = all.nextSetBit(index + 1)) {
+                    ids.add(snapshot.ids.get(index));
+                }
+            }
+            return ids;
+        }
+    }
+
+    /**
+     * The indexes of the groups and the bitsets using them, replaced together when the cache is invalidated.
+     */
+    private static class Snapshot {
+        private final Map<UUID, Integer> indexes = new ConcurrentHashMap<>();
+        private final List<UUID> ids = new ArrayList<>();
+        private final Map<UUID, BitSet> closures = new ConcurrentHashMap<>();
+        private final LinkedHashMap<UUID, BitSet> epersons = new LinkedHashMap<>(16, 0.75f, true);
+        private final AtomicLong epersonGeneration = new AtomicLong();
+        private volatile UUID anonymousId;
+        private final long created = System.currentTimeMillis();
+
+        private int getIndex(UUID groupId) {
+            Integer index = indexes.get(groupId);
+            if (index != null) {
+                return index;
+            }
+            synchronized (ids) {
+                return indexes.computeIfAbsent(groupId, id -> {
+                    ids.add(id);
+                    return ids.size() - 1;
+                });
+            }
+        }
+    }
+
+}
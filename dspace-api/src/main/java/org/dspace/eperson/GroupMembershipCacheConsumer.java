@@ -0,0 +1,83 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.eperson;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.event.Consumer;
+import org.dspace.event.Event;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * Consumer discarding the effective groups cached by the {@link GroupMembershipCache} when the members of the groups
+ * change.
+ * <p>
+ * The events are dispatched before the transaction is committed: the effective groups are discarded once it is
+ * committed, so that the ones computed in the meantime by the other contexts from the previous memberships are not
+ * kept.
+ */
+public class GroupMembershipCacheConsumer implements Consumer {
+
+    private GroupMembershipCache groupMembershipCache = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServicesByType(GroupMembershipCache.class).get(0);
+
+    /**
+     * The epersons whose effective groups are discarded when the transaction is committed
+     */
+    private Set<UUID> ePersonsToInvalidate = new HashSet<>();
+
+    /**
+     * Whether all the effective groups are discarded when the transaction is committed
+     */
+    private boolean invalidateAll = false;
+
+    @Override
+    public void initialize() throws Exception {
+
+    }
+
+    @Override
+    public void consume(Context ctx, Event event) throws Exception {
+        if (!groupMembershipCache.isEnabled()) {
+            return;
+        }
+        boolean ePersonMembership = event.getSubjectType() == Constants.GROUP
+            && (event.getEventType() == Event.ADD || event.getEventType() == Event.REMOVE)
+            && event.getObjectType() == Constants.EPERSON;
+        if (ePersonMembership) {
+            ePersonsToInvalidate.add(event.getObjectID());
+        } else if (event.getSubjectType() == Constants.EPERSON) {
+            ePersonsToInvalidate.add(event.getSubjectID());
+        } else {
+            // a subgroup was added or removed, or a group deleted
+            invalidateAll = true;
+        }
+    }
+
+    @Override
+    public void end(Context ctx) throws Exception {
+        if (invalidateAll) {
+            ctx.afterCommit(groupMembershipCache::invalidateAll);
+        } else if (!ePersonsToInvalidate.isEmpty()) {
+            Set<UUID> ePersons = ePersonsToInvalidate;
+            ctx.afterCommit(() -> ePersons.forEach(groupMembershipCache::invalidate));
+        }
+        ePersonsToInvalidate = new HashSet<>();
+        invalidateAll = false;
+    }
+
+    @Override
+    public void finish(Context ctx) throws Exception {
+
+    }
+
+}
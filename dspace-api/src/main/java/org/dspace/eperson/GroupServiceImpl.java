@@ -8,7 +8,9 @@
 package org.dspace.eperson;
 
 import java.sql.SQLException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -72,6 +74,9 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
     @Autowired(required = true)
     protected Group2GroupCacheDAO group2GroupCacheDAO;
 
+    @Autowired(required = true)
+    protected GroupMembershipCache groupMembershipCache;
+
     @Autowired(required = true)
     protected CollectionService collectionService;
 
@@ -270,10 +275,18 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         throws SQLException {
         if (group == null) {
             return false;
+        }
 
-            // special, everyone is member of group 0 (anonymous)
-        } else if (StringUtils.equals(group.getName(), Group.ANONYMOUS) ||
-                   isParentOf(context, group, findByName(context, Group.ANONYMOUS))) {
+        // the effective groups of the eperson, the anonymous group and the special groups are cached as bitsets
+        GroupMembershipCache.Memberships memberships =
+            groupMembershipCache.getMemberships(context, ePerson, isAuthenticatedUser(context, ePerson));
+        if (memberships != null) {
+            return memberships.contains(group);
+        }
+
+        // special, everyone is member of group 0 (anonymous)
+        if (StringUtils.equals(group.getName(), Group.ANONYMOUS) ||
+            isParentOf(context, group, findByName(context, Group.ANONYMOUS))) {
             return true;
 
         } else {
@@ -375,6 +388,21 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         return groups;
     }
 
+    @Override
+    public Set<UUID> allMemberGroupIds(Context context, EPerson ePerson) throws SQLException {
+        boolean includeSpecialGroups = context.getCurrentUser() == null || context.getCurrentUser().equals(ePerson);
+        GroupMembershipCache.Memberships memberships =
+            groupMembershipCache.getMemberships(context, ePerson, includeSpecialGroups);
+        if (memberships != null) {
+            return memberships.getGroupIds();
+        }
+        Set<UUID> groupIds = new HashSet<>();
+        for (Group group : allMemberGroupsSet(context, ePerson)) {
+            groupIds.add(group.getID());
+        }
+        return groupIds;
+    }
+
     @Override
     public List<EPerson> allMembers(Context c, Group g) throws SQLException {
         // two queries - first to get all groups which are a member of this group
@@ -571,11 +599,21 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
             ePerson.getGroups().remove(group);
         }
 
-        // empty out group2groupcache table (if we do it after we delete our object we get an issue with references)
-        group2GroupCacheDAO.deleteAll(context);
+        // the ancestors of the group may reach its descendants only through it
+        Set<UUID> ancestors = new HashSet<>();
+        for (Pair<UUID, UUID> row : group2GroupCacheDAO.findRowsByChildren(context, List.of(group.getID()))) {
+            ancestors.add(row.getLeft());
+        }
+        Set<UUID> descendants = new HashSet<>();
+        for (Pair<UUID, UUID> row : group2GroupCacheDAO.findRowsByParents(context, List.of(group.getID()))) {
+            descendants.add(row.getRight());
+        }
+        // remove the group2groupcache rows of the group (if we do it after we delete our object we get an issue
+        // with references)
+        group2GroupCacheDAO.deleteByGroup(context, group);
         // Remove ourself
         groupDAO.delete(context, group);
-        rethinkGroupCache(context, false);
+        recomputeGroupCache(context, ancestors, descendants);
 
         log.info(LogHelper.getHeader(context, "delete_group", "group_id="
             + group.getID()));
@@ -666,7 +704,7 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         }
 
         if (group.isGroupsChanged()) {
-            rethinkGroupCache(context, true);
+            rethinkGroupCache(context, group);
             group.clearGroupsChanged();
         }
 
@@ -690,61 +728,216 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
      * @throws SQLException An exception that provides information on a database access error or other errors.
      */
     protected void rethinkGroupCache(Context context, boolean flushQueries) throws SQLException {
+        verifyGroupCache(context, true);
+    }
 
-        Map<UUID, Set<UUID>> parents = new HashMap<>();
-
-        List<Pair<UUID, UUID>> group2groupResults = groupDAO.getGroup2GroupResults(context, flushQueries);
-        for (Pair<UUID, UUID> group2groupResult : group2groupResults) {
-            UUID parent = group2groupResult.getLeft();
-            UUID child = group2groupResult.getRight();
+    /**
+     * Update the group cache after the direct subgroups or parents of the given
+     * group changed. The rows are derived from the memberships added and removed
+     * since the last update and from the current rows of the groups on each side
+     * of these memberships, without loading the whole group2group table.
+     *
+     * @param context The relevant DSpace Context.
+     * @param group   the group whose subgroups or parents changed
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    protected void rethinkGroupCache(Context context, Group group) throws SQLException {
+        Set<Pair<UUID, UUID>> removed = group.getRemovedGroupMemberships();
+        if (!removed.isEmpty()) {
+            // only the parents of the removed memberships and their ancestors can lose the children of these
+            // memberships and their descendants
+            Set<UUID> ancestors = new HashSet<>();
+            Set<UUID> descendants = new HashSet<>();
+            for (Pair<UUID, UUID> membership : removed) {
+                ancestors.add(membership.getLeft());
+                descendants.add(membership.getRight());
+            }
+            for (Pair<UUID, UUID> row : group2GroupCacheDAO.findRowsByChildren(context, Set.copyOf(ancestors))) {
+                ancestors.add(row.getLeft());
+            }
+            for (Pair<UUID, UUID> row : group2GroupCacheDAO.findRowsByParents(context, Set.copyOf(descendants))) {
+                descendants.add(row.getRight());
+            }
+            recomputeGroupCache(context, ancestors, descendants);
+        }
+        for (Pair<UUID, UUID> membership : group.getAddedGroupMemberships()) {
+            addToGroupCache(context, membership.getLeft(), membership.getRight());
+        }
+    }
 
-            // if parent doesn't have an entry, create one
-            if (!parents.containsKey(parent)) {
-                Set<UUID> children = new HashSet<>();
+    /**
+     * Add the rows of a new membership between two groups: the parent and its
+     * ancestors gain the child and its descendants.
+     */
+    private void addToGroupCache(Context context, UUID parent, UUID child) throws SQLException {
+        Set<UUID> ancestors = new HashSet<>();
+        ancestors.add(parent);
+        for (Pair<UUID, UUID> row : group2GroupCacheDAO.findRowsByChildren(context, List.of(parent))) {
+            ancestors.add(row.getLeft());
+        }
+        Set<UUID> descendants = new HashSet<>();
+        descendants.add(child);
+        for (Pair<UUID, UUID> row : group2GroupCacheDAO.findRowsByParents(context, List.of(child))) {
+            descendants.add(row.getRight());
+        }
 
-                // add child id to the list
-                children.add(child);
-                parents.put(parent, children);
-            } else {
-                // parent has an entry, now add the child to the parent's record
-                // of children
-                Set<UUID> children = parents.get(parent);
-                children.add(child);
+        Set<Pair<UUID, UUID>> cached = new HashSet<>(group2GroupCacheDAO.findRowsByParents(context, ancestors));
+        List<Pair<UUID, UUID>> missing = new ArrayList<>();
+        for (UUID ancestor : ancestors) {
+            for (UUID descendant : descendants) {
+                Pair<UUID, UUID> row = Pair.of(ancestor, descendant);
+                if (!ancestor.equals(descendant) && !cached.contains(row)) {
+                    missing.add(row);
+                }
             }
         }
+        group2GroupCacheDAO.insertRows(context, missing);
+        log.debug("group2groupcache of the membership {} in {}: {} rows missing", child, parent, missing.size());
+    }
 
-        // now parents is a hash of all of the IDs of groups that are parents
-        // and each hash entry is a hash of all of the IDs of children of those
-        // parent groups
-        // so now to establish all parent,child relationships we can iterate
-        // through the parents hash
-        for (Map.Entry<UUID, Set<UUID>> parent : parents.entrySet()) {
-            Set<UUID> myChildren = getChildren(parents, parent.getKey());
-            parent.getValue().addAll(myChildren);
+    /**
+     * Recompute the rows between the given ancestors and descendants, after
+     * memberships between them were removed. The ancestors must include all the
+     * groups that reached the removed memberships, so that the rows of the other
+     * groups are not affected and can be used to follow the paths between them.
+     *
+     * @param ancestors   the groups that may have lost some descendants
+     * @param descendants the groups that may have been lost
+     */
+    private void recomputeGroupCache(Context context, Set<UUID> ancestors, Set<UUID> descendants)
+        throws SQLException {
+        if (ancestors.isEmpty() || descendants.isEmpty()) {
+            return;
+        }
+        Map<UUID, Set<UUID>> subgroups = new HashMap<>();
+        Set<UUID> otherSubgroups = new HashSet<>();
+        for (Pair<UUID, UUID> membership : groupDAO.getGroup2GroupResults(context, ancestors)) {
+            subgroups.computeIfAbsent(membership.getLeft(), parent -> new HashSet<>()).add(membership.getRight());
+            if (!ancestors.contains(membership.getRight())) {
+                otherSubgroups.add(membership.getRight());
+            }
+        }
+        // the rows of the subgroups that are not ancestors are up to date
+        Map<UUID, Set<UUID>> otherReached = new HashMap<>();
+        for (Pair<UUID, UUID> row : group2GroupCacheDAO.findRowsByParents(context, otherSubgroups)) {
+            if (descendants.contains(row.getRight())) {
+                otherReached.computeIfAbsent(row.getLeft(), parent -> new HashSet<>()).add(row.getRight());
+            }
+        }
+        // the descendants reached by each ancestor, propagated until nothing changes so that the order of the
+        // ancestors does not matter
+        Map<UUID, Set<UUID>> reached = new HashMap<>();
+        for (UUID ancestor : ancestors) {
+            reached.put(ancestor, new HashSet<>());
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (UUID ancestor : ancestors) {
+                Set<UUID> ancestorReached = reached.get(ancestor);
+                for (UUID subgroup : subgroups.getOrDefault(ancestor, Set.of())) {
+                    if (descendants.contains(subgroup)) {
+                        changed |= ancestorReached.add(subgroup);
+                    }
+                    if (!subgroup.equals(ancestor)) {
+                        changed |= ancestorReached.addAll(ancestors.contains(subgroup) ? reached.get(subgroup)
+                            : otherReached.getOrDefault(subgroup, Set.of()));
+                    }
+                }
+            }
         }
 
-        // empty out group2groupcache table
-        group2GroupCacheDAO.deleteAll(context);
-
-        // write out new one
-        for (Map.Entry<UUID, Set<UUID>> parent : parents.entrySet()) {
-            UUID key = parent.getKey();
+        List<Pair<UUID, UUID>> missing = new ArrayList<>();
+        List<Pair<UUID, UUID>> obsolete = new ArrayList<>();
+        Map<UUID, Set<UUID>> cached = new HashMap<>();
+        for (Pair<UUID, UUID> row : group2GroupCacheDAO.findRowsByParents(context, ancestors)) {
+            cached.computeIfAbsent(row.getLeft(), parent -> new HashSet<>()).add(row.getRight());
+        }
+        for (UUID ancestor : ancestors) {
+            Set<UUID> ancestorReached = reached.get(ancestor);
+            ancestorReached.remove(ancestor);
+            Set<UUID> ancestorCached = cached.getOrDefault(ancestor, Set.of());
+            for (UUID descendant : ancestorCached) {
+                if (descendants.contains(descendant) && !ancestorReached.contains(descendant)) {
+                    obsolete.add(Pair.of(ancestor, descendant));
+                }
+            }
+            for (UUID descendant : ancestorReached) {
+                if (!ancestorCached.contains(descendant)) {
+                    missing.add(Pair.of(ancestor, descendant));
+                }
+            }
+        }
+        group2GroupCacheDAO.deleteRows(context, obsolete);
+        group2GroupCacheDAO.insertRows(context, missing);
+        log.debug("group2groupcache of {} groups: {} rows missing, {} obsolete", ancestors.size(), missing.size(),
+                  obsolete.size());
+    }
 
-            for (UUID child : parent.getValue()) {
+    @Override
+    public Pair<Integer, Integer> verifyGroupCache(Context context, boolean fix) throws SQLException {
+        Map<UUID, Set<UUID>> parents = getGroup2GroupMap(context, true);
+        Set<UUID> cachedParents = new HashSet<>(parents.keySet());
+        for (Pair<UUID, UUID> row : group2GroupCacheDAO.findRowsByParents(context, null)) {
+            cachedParents.add(row.getLeft());
+        }
+        return updateGroupCache(context, parents, cachedParents, fix);
+    }
 
-                Group parentGroup = find(context, key);
-                Group childGroup = find(context, child);
+    /**
+     * Load the direct group memberships of the group2group table.
+     *
+     * @return the ids of the direct subgroups, by id of parent group
+     */
+    private Map<UUID, Set<UUID>> getGroup2GroupMap(Context context, boolean flushQueries) throws SQLException {
+        Map<UUID, Set<UUID>> parents = new HashMap<>();
+        for (Pair<UUID, UUID> group2groupResult : groupDAO.getGroup2GroupResults(context, flushQueries)) {
+            parents.computeIfAbsent(group2groupResult.getLeft(), parent -> new HashSet<>())
+                   .add(group2groupResult.getRight());
+        }
+        return parents;
+    }
 
+    /**
+     * Compare the group2groupcache rows of the given parent groups with their
+     * descendants according to the group2group table.
+     *
+     * @param parents  the ids of the direct subgroups, by id of parent group
+     * @param toUpdate the parent groups whose rows must be compared
+     * @param apply    whether to insert the missing rows and delete the obsolete ones
+     * @return the number of missing rows and the number of obsolete rows
+     */
+    private Pair<Integer, Integer> updateGroupCache(Context context, Map<UUID, Set<UUID>> parents,
+                                                    Set<UUID> toUpdate, boolean apply) throws SQLException {
+        Map<UUID, Set<UUID>> cached = new HashMap<>();
+        for (Pair<UUID, UUID> row : group2GroupCacheDAO.findRowsByParents(context, toUpdate)) {
+            cached.computeIfAbsent(row.getLeft(), parent -> new HashSet<>()).add(row.getRight());
+        }
 
-                if (parentGroup != null && childGroup != null && group2GroupCacheDAO
-                    .find(context, parentGroup, childGroup) == null) {
-                    Group2GroupCache group2GroupCache = group2GroupCacheDAO.create(context, new Group2GroupCache());
-                    group2GroupCache.setParent(parentGroup);
-                    group2GroupCache.setChild(childGroup);
-                    group2GroupCacheDAO.save(context, group2GroupCache);
+        List<Pair<UUID, UUID>> missing = new ArrayList<>();
+        List<Pair<UUID, UUID>> obsolete = new ArrayList<>();
+        for (UUID parent : toUpdate) {
+            Set<UUID> descendants = getChildren(parents, parent);
+            Set<UUID> cachedDescendants = cached.getOrDefault(parent, Set.of());
+            for (UUID child : descendants) {
+                if (!cachedDescendants.contains(child)) {
+                    missing.add(Pair.of(parent, child));
+                }
+            }
+            for (UUID child : cachedDescendants) {
+                if (!descendants.contains(child)) {
+                    obsolete.add(Pair.of(parent, child));
                 }
             }
         }
+
+        if (apply) {
+            group2GroupCacheDAO.deleteRows(context, obsolete);
+            group2GroupCacheDAO.insertRows(context, missing);
+        }
+        log.debug("group2groupcache of {} groups: {} rows missing, {} obsolete", toUpdate.size(), missing.size(),
+                  obsolete.size());
+        return Pair.of(missing.size(), obsolete.size());
     }
 
     @Override
@@ -848,34 +1041,22 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
     }
 
     /**
-     * Used recursively to generate a map of ALL of the children of the given
-     * parent
+     * Generate the set of ALL of the children of the given parent, walking the
+     * given parent,child relationships breadth first
      *
      * @param parents Map of parent,child relationships
      * @param parent  the parent you're interested in
-     * @return Map whose keys are all of the children of a parent
+     * @return Set of all of the children of a parent
      */
     protected Set<UUID> getChildren(Map<UUID, Set<UUID>> parents, UUID parent) {
         Set<UUID> myChildren = new HashSet<>();
-
-        // degenerate case, this parent has no children
-        if (!parents.containsKey(parent)) {
-            return myChildren;
-        }
-
-        // got this far, so we must have children
-        Set<UUID> children = parents.get(parent);
-
-        // now iterate over all of the children
-
-        for (UUID child : children) {
-            // add this child's ID to our return set
-            myChildren.add(child);
-
-            // and now its children
-            myChildren.addAll(getChildren(parents, child));
+        Deque<UUID> toVisit = new ArrayDeque<>(parents.getOrDefault(parent, Set.of()));
+        while (!toVisit.isEmpty()) {
+            UUID child = toVisit.poll();
+            if (myChildren.add(child)) {
+                toVisit.addAll(parents.getOrDefault(child, Set.of()));
+            }
         }
-
         return myChildren;
     }
 
@@ -8,8 +8,11 @@
 package org.dspace.eperson.dao;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.dspace.core.Context;
 import org.dspace.core.GenericDAO;
 import org.dspace.eperson.Group;
@@ -34,4 +37,54 @@ public interface Group2GroupCacheDAO extends GenericDAO<Group2GroupCache> {
     public Group2GroupCache find(Context context, Group parent, Group child) throws SQLException;
 
     public void deleteAll(Context context) throws SQLException;
+
+    /**
+     * Find the ids of the parent and of the child of the rows whose parent is one of the given groups.
+     *
+     * @param context   the DSpace context
+     * @param parentIds the ids of the parent groups, null to find all the rows
+     * @return the (parent id, child id) pairs
+     * @throws SQLException if a database error occurs
+     */
+    public List<Pair<UUID, UUID>> findRowsByParents(Context context, Collection<UUID> parentIds)
+        throws SQLException;
+
+    /**
+     * Find the ids of the parent and of the child of the rows whose child is one of the given groups.
+     *
+     * @param context  the DSpace context
+     * @param childIds the ids of the child groups
+     * @return the (parent id, child id) pairs
+     * @throws SQLException if a database error occurs
+     */
+    public List<Pair<UUID, UUID>> findRowsByChildren(Context context, Collection<UUID> childIds)
+        throws SQLException;
+
+    /**
+     * Insert the given rows, with multi-row statements. The rows whose parent or
+     * child group does not exist (anymore) are skipped.
+     *
+     * @param context the DSpace context
+     * @param rows    the (parent id, child id) pairs to insert
+     * @throws SQLException if a database error occurs
+     */
+    public void insertRows(Context context, Collection<Pair<UUID, UUID>> rows) throws SQLException;
+
+    /**
+     * Delete the given rows, with one statement per parent and batch of children.
+     *
+     * @param context the DSpace context
+     * @param rows    the (parent id, child id) pairs to delete
+     * @throws SQLException if a database error occurs
+     */
+    public void deleteRows(Context context, Collection<Pair<UUID, UUID>> rows) throws SQLException;
+
+    /**
+     * Delete all the rows whose parent or child is the given group.
+     *
+     * @param context the DSpace context
+     * @param group   the group
+     * @throws SQLException if a database error occurs
+     */
+    public void deleteByGroup(Context context, Group group) throws SQLException;
 }
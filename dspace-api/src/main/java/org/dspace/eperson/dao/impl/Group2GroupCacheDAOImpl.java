@@ -8,20 +8,30 @@
 package org.dspace.eperson.dao.impl;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import javax.persistence.Query;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.dspace.core.AbstractHibernateDAO;
 import org.dspace.core.Context;
 import org.dspace.eperson.Group;
 import org.dspace.eperson.Group2GroupCache;
 import org.dspace.eperson.Group2GroupCache_;
 import org.dspace.eperson.dao.Group2GroupCacheDAO;
+import org.hibernate.query.NativeQuery;
 
 /**
  * Hibernate implementation of the Database Access Object interface class for the Group2GroupCache object.
@@ -31,6 +41,12 @@ import org.dspace.eperson.dao.Group2GroupCacheDAO;
  * @author kevinvandevelde at atmire.com
  */
 public class Group2GroupCacheDAOImpl extends AbstractHibernateDAO<Group2GroupCache> implements Group2GroupCacheDAO {
+
+    /**
+     * Maximum number of rows or ids bound to a single statement
+     */
+    private static final int BATCH_SIZE = 500;
+
     protected Group2GroupCacheDAOImpl() {
         super();
     }
@@ -90,4 +106,110 @@ public class Group2GroupCacheDAOImpl extends AbstractHibernateDAO<Group2GroupCac
     public void deleteAll(Context context) throws SQLException {
         createQuery(context, "delete from Group2GroupCache").executeUpdate();
     }
+
+    @Override
+    public List<Pair<UUID, UUID>> findRowsByParents(Context context, Collection<UUID> parentIds)
+        throws SQLException {
+        String select = "SELECT new org.apache.commons.lang3.tuple.ImmutablePair(g.parent.id, g.child.id) " +
+            "FROM Group2GroupCache g";
+        if (parentIds == null) {
+            @SuppressWarnings("unchecked")
+            List<Pair<UUID, UUID>> rows = createQuery(context, select).getResultList();
+            return rows;
+        }
+        List<Pair<UUID, UUID>> rows = new ArrayList<>();
+        for (List<UUID> batch : ListUtils.partition(new ArrayList<>(parentIds), BATCH_SIZE)) {
+            Query query = createQuery(context, select + " WHERE g.parent.id IN (:parentIds)");
+            query.setParameter("parentIds", batch);
+            @SuppressWarnings("unchecked")
+            List<Pair<UUID, UUID>> batchRows = query.getResultList();
+            rows.addAll(batchRows);
+        }
+        return rows;
+    }
+
+    @Override
+    public List<Pair<UUID, UUID>> findRowsByChildren(Context context, Collection<UUID> childIds)
+        throws SQLException {
+        List<Pair<UUID, UUID>> rows = new ArrayList<>();
+        for (List<UUID> batch : ListUtils.partition(new ArrayList<>(childIds), BATCH_SIZE)) {
+            Query query = createQuery(context, "SELECT new org.apache.commons.lang3.tuple.ImmutablePair(" +
+                "g.parent.id, g.child.id) FROM Group2GroupCache g WHERE g.child.id IN (:childIds)");
+            query.setParameter("childIds", batch);
+            @SuppressWarnings("unchecked")
+            List<Pair<UUID, UUID>> batchRows = query.getResultList();
+            rows.addAll(batchRows);
+        }
+        return rows;
+    }
+
+    @Override
+    public void insertRows(Context context, Collection<Pair<UUID, UUID>> rows) throws SQLException {
+        Set<UUID> groupIds = new HashSet<>();
+        for (Pair<UUID, UUID> row : rows) {
+            groupIds.add(row.getLeft());
+            groupIds.add(row.getRight());
+        }
+        Set<UUID> existingGroupIds = findExistingGroupIds(context, groupIds);
+        List<Pair<UUID, UUID>> rowsToInsert = new ArrayList<>();
+        for (Pair<UUID, UUID> row : rows) {
+            if (existingGroupIds.contains(row.getLeft()) && existingGroupIds.contains(row.getRight())) {
+                rowsToInsert.add(row);
+            }
+        }
+        for (List<Pair<UUID, UUID>> batch : ListUtils.partition(rowsToInsert, BATCH_SIZE)) {
+            StringBuilder sql = new StringBuilder("INSERT INTO group2groupcache (parent_id, child_id) VALUES ");
+            for (int i = 0; i < batch.size(); i++) {
+                sql.append(i > 0 ? ", " : "").append("(:parent").append(i).append(", :child").append(i).append(")");
+            }
+            NativeQuery<?> query = getHibernateSession(context).createNativeQuery(sql.toString());
+            // only the cached queries on this table are invalidated
+            query.addSynchronizedEntityClass(Group2GroupCache.class);
+            for (int i = 0; i < batch.size(); i++) {
+                query.setParameter("parent" + i, batch.get(i).getLeft());
+                query.setParameter("child" + i, batch.get(i).getRight());
+            }
+            query.executeUpdate();
+        }
+    }
+
+    @Override
+    public void deleteRows(Context context, Collection<Pair<UUID, UUID>> rows) throws SQLException {
+        Map<UUID, List<UUID>> childrenByParent = new LinkedHashMap<>();
+        for (Pair<UUID, UUID> row : rows) {
+            childrenByParent.computeIfAbsent(row.getLeft(), parent -> new ArrayList<>()).add(row.getRight());
+        }
+        for (Map.Entry<UUID, List<UUID>> entry : childrenByParent.entrySet()) {
+            for (List<UUID> batch : ListUtils.partition(entry.getValue(), BATCH_SIZE)) {
+                Query query = createQuery(context,
+                    "DELETE FROM Group2GroupCache g WHERE g.parent.id = :parentId AND g.child.id IN (:childIds)");
+                query.setParameter("parentId", entry.getKey());
+                query.setParameter("childIds", batch);
+                query.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * @return the given group ids that belong to an existing group
+     */
+    private Set<UUID> findExistingGroupIds(Context context, Collection<UUID> groupIds) throws SQLException {
+        Set<UUID> existingGroupIds = new HashSet<>();
+        for (List<UUID> batch : ListUtils.partition(new ArrayList<>(groupIds), BATCH_SIZE)) {
+            Query query = createQuery(context, "SELECT g.id FROM Group g WHERE g.id IN (:groupIds)");
+            query.setParameter("groupIds", batch);
+            @SuppressWarnings("unchecked")
+            List<UUID> batchIds = query.getResultList();
+            existingGroupIds.addAll(batchIds);
+        }
+        return existingGroupIds;
+    }
+
+    @Override
+    public void deleteByGroup(Context context, Group group) throws SQLException {
+        Query query = createQuery(context,
+                                  "DELETE FROM Group2GroupCache g WHERE g.parent = :group OR g.child = :group");
+        query.setParameter("group", group);
+        query.executeUpdate();
+    }
 }
@@ -8,11 +8,14 @@
 package org.dspace.eperson.dao.impl;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 import javax.persistence.Query;
 
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.dspace.content.MetadataField;
@@ -30,6 +33,12 @@ import org.dspace.eperson.dao.GroupDAO;
  * @author kevinvandevelde at atmire.com
  */
 public class GroupDAOImpl extends AbstractHibernateDSODAO<Group> implements GroupDAO {
+
+    /**
+     * Maximum number of ids bound to a single statement
+     */
+    private static final int BATCH_SIZE = 500;
+
     protected GroupDAOImpl() {
         super();
     }
@@ -228,6 +237,23 @@ public class GroupDAOImpl extends AbstractHibernateDSODAO<Group> implements Grou
         return results;
     }
 
+    @Override
+    public List<Pair<UUID, UUID>> getGroup2GroupResults(Context context, Collection<UUID> parentIds)
+        throws SQLException {
+        List<Pair<UUID, UUID>> results = new ArrayList<>();
+        for (List<UUID> batch : ListUtils.partition(new ArrayList<>(parentIds), BATCH_SIZE)) {
+            Query query = createQuery(context, "SELECT new org.apache.commons.lang3.tuple.ImmutablePair(g.id, c.id) " +
+                "FROM Group g " +
+                "JOIN g.groups c " +
+                "WHERE g.id IN (:parentIds)");
+            query.setParameter("parentIds", batch);
+            @SuppressWarnings("unchecked")
+            List<Pair<UUID, UUID>> batchResults = query.getResultList();
+            results.addAll(batchResults);
+        }
+        return results;
+    }
+
     @Override
     public List<Group> getEmptyGroups(Context context) throws SQLException {
         return list(createQuery(context, "SELECT g from Group g where g.epeople is EMPTY"));
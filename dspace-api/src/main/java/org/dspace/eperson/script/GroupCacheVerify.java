@@ -0,0 +1,72 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.eperson.script;
+
+import org.apache.commons.cli.ParseException;
+import org.apache.commons.lang3.tuple.Pair;
+import org.dspace.core.Context;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.eperson.service.GroupService;
+import org.dspace.scripts.DSpaceRunnable;
+import org.dspace.utils.DSpace;
+
+/**
+ * Script to verify that the group2groupcache table, which is updated
+ * incrementally when the group memberships change, matches the transitive
+ * closure of the group2group table, and to fix it if requested.
+ */
+public class GroupCacheVerify extends DSpaceRunnable<GroupCacheVerifyScriptConfiguration<GroupCacheVerify>> {
+
+    private GroupService groupService;
+
+    private boolean fix = false;
+
+    private boolean help = false;
+
+    @Override
+    public void setup() throws ParseException {
+        this.groupService = EPersonServiceFactory.getInstance().getGroupService();
+        this.fix = commandLine.hasOption('f');
+        this.help = commandLine.hasOption('h');
+    }
+
+    @Override
+    public void internalRun() throws Exception {
+
+        if (help) {
+            printHelp();
+            return;
+        }
+
+        Context context = new Context();
+
+        try {
+            context.turnOffAuthorisationSystem();
+            Pair<Integer, Integer> differences = groupService.verifyGroupCache(context, fix);
+            handler.logInfo("group2groupcache: " + differences.getLeft() + " missing rows, "
+                + differences.getRight() + " obsolete rows");
+            if (fix && (differences.getLeft() > 0 || differences.getRight() > 0)) {
+                handler.logInfo("group2groupcache fixed");
+            } else if (differences.getLeft() > 0 || differences.getRight() > 0) {
+                handler.logWarning("group2groupcache is not consistent, run again with -f to fix it");
+            }
+        } finally {
+            context.restoreAuthSystemState();
+            context.complete();
+        }
+
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public GroupCacheVerifyScriptConfiguration<GroupCacheVerify> getScriptConfiguration() {
+        return new DSpace().getServiceManager()
+            .getServiceByName("group-cache-verify", GroupCacheVerifyScriptConfiguration.class);
+    }
+
+}
@@ -10,7 +10,9 @@ package org.dspace.eperson.service;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.MetadataField;
 import org.dspace.content.service.DSpaceObjectLegacySupportService;
@@ -188,6 +190,17 @@ public interface GroupService extends DSpaceObjectService<Group>, DSpaceObjectLe
 
     Set<Group> allMemberGroupsSet(Context context, EPerson ePerson) throws SQLException;
 
+    /**
+     * Get the ids of all of the groups that an eperson is a member of, as returned by
+     * {@link #allMemberGroupsSet(Context, EPerson)} but without loading the groups when their ids are cached.
+     *
+     * @param context DSpace context
+     * @param ePerson ePerson object
+     * @return set of group ids
+     * @throws SQLException if database error
+     */
+    Set<UUID> allMemberGroupIds(Context context, EPerson ePerson) throws SQLException;
+
     /**
      * Get all of the EPerson objects who are a member of the specified group, or a member of a subgroup of the
      * specified group, etc.
@@ -407,4 +420,15 @@ public interface GroupService extends DSpaceObjectService<Group>, DSpaceObjectLe
      */
     int countByParent(Context context, Group parent)
         throws SQLException;
+
+    /**
+     * Compare the group2groupcache table with the transitive closure of the
+     * group memberships of the group2group table, and optionally fix it.
+     *
+     * @param context The relevant DSpace Context.
+     * @param fix     whether to insert the missing rows and delete the obsolete ones
+     * @return the number of missing rows and the number of obsolete rows
+     * @throws SQLException database exception if error
+     */
+    Pair<Integer, Integer> verifyGroupCache(Context context, boolean fix) throws SQLException;
 }
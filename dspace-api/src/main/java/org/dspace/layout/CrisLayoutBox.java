@@ -77,6 +77,7 @@ public class CrisLayoutBox implements ReloadableEntity<Integer> {
         joinColumns = {@JoinColumn(name = "box_id")},
         inverseJoinColumns = {@JoinColumn(name = "metadata_field_id")}
     )
+    @org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
     private Set<MetadataField> metadataSecurityFields = new HashSet<>();
 
     @ManyToMany(fetch = FetchType.LAZY)
@@ -85,13 +86,16 @@ public class CrisLayoutBox implements ReloadableEntity<Integer> {
         joinColumns = {@JoinColumn(name = "box_id")},
         inverseJoinColumns = {@JoinColumn(name = "group_id")}
     )
+    @org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
     private Set<Group> groupSecurityFields = new HashSet<>();
 
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "box", cascade = CascadeType.ALL)
     @OrderBy(value = "row, cell, priority")
+    @org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
     private List<CrisLayoutField> layoutFields = new ArrayList<>();
 
     @OneToMany(mappedBy = "box", cascade = CascadeType.ALL, orphanRemoval = true)
+    @org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
     private List<CrisLayoutMetric2Box> metric2box = new ArrayList<>();
 
     @Column(name = "max_columns")
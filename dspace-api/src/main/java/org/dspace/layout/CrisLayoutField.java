@@ -89,6 +89,7 @@ public class CrisLayoutField implements ReloadableEntity<Integer> {
 
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "crisLayoutField", cascade = CascadeType.ALL)
     @OrderBy(value = "priority")
+    @org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
     private List<CrisMetadataGroup> crisMetadataGroupList = new ArrayList<>();
 
     @Column(name = "label_as_heading")
@@ -9,6 +9,7 @@ package org.dspace.layout;
 
 import java.util.ArrayList;
 import java.util.List;
+import javax.persistence.Cacheable;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -24,9 +25,12 @@ import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 
 import org.dspace.core.ReloadableEntity;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "cris_layout_row")
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, include = "non-lazy")
 public class CrisLayoutRow implements ReloadableEntity<Integer> {
 
     @Id
@@ -44,6 +48,7 @@ public class CrisLayoutRow implements ReloadableEntity<Integer> {
 
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "row", cascade = CascadeType.ALL)
     @OrderColumn(name = "position")
+    @org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
     private List<CrisLayoutCell> cells = new ArrayList<>();
 
     @Override
@@ -85,6 +85,7 @@ public class CrisLayoutTab implements ReloadableEntity<Integer> {
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "cris_layout_tab2securitymetadata", joinColumns = {
         @JoinColumn(name = "tab_id") }, inverseJoinColumns = { @JoinColumn(name = "metadata_field_id") })
+    @org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
     private Set<MetadataField> metadataSecurityFields = new HashSet<>();
 
     @ManyToMany(fetch = FetchType.LAZY)
@@ -93,6 +94,7 @@ public class CrisLayoutTab implements ReloadableEntity<Integer> {
         joinColumns = {@JoinColumn(name = "tab_id")},
         inverseJoinColumns = {@JoinColumn(name = "group_id")}
     )
+    @org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
     private Set<Group> groupSecurityFields = new HashSet<>();
 
 
@@ -101,6 +103,7 @@ public class CrisLayoutTab implements ReloadableEntity<Integer> {
 
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "tab", cascade = CascadeType.ALL)
     @OrderColumn(name = "position")
+    @org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
     private List<CrisLayoutRow> rows = new ArrayList<>();
 
     public Integer getID() {
@@ -60,6 +60,7 @@ public class CrisLayoutBoxDAOImpl extends AbstractHibernateDAO<CrisLayoutBox> im
         if ( limit != null && offset != null ) {
             exQuery.setFirstResult(offset).setMaxResults(limit);
         }
+        exQuery.setHint("org.hibernate.cacheable", Boolean.TRUE);
 
         return exQuery.getResultList();
     }
@@ -73,6 +74,7 @@ public class CrisLayoutBoxDAOImpl extends AbstractHibernateDAO<CrisLayoutBox> im
         cq.where(cb.and(cb.equal(boxRoot.get(entitytype).get(label), entity)),
             cb.equal(boxRoot.get(CrisLayoutBox_.type), type));
         TypedQuery<CrisLayoutBox> query = getHibernateSession(context).createQuery(cq);
+        query.setHint("org.hibernate.cacheable", Boolean.TRUE);
         return query.getResultList();
     }
 }
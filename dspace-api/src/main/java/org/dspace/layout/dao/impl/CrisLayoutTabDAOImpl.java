@@ -110,6 +110,7 @@ public class CrisLayoutTabDAOImpl extends AbstractHibernateDAO<CrisLayoutTab> im
 
         EntityGraph<?> graph = getHibernateSession(context).createEntityGraph(ROWS_AND_CONTENT_GRAPH);
         typedQuery.setHint("javax.persistence.loadgraph", graph);
+        typedQuery.setHint("org.hibernate.cacheable", Boolean.TRUE);
 
         return typedQuery.getResultList();
     }
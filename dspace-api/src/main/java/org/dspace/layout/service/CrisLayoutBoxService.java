@@ -9,6 +9,7 @@ package org.dspace.layout.service;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.EntityType;
@@ -72,6 +73,18 @@ public interface CrisLayoutBoxService extends DSpaceCRUDService<CrisLayoutBox> {
      */
     public boolean hasContent(Context context, CrisLayoutBox box, Item item);
 
+    /**
+     * Check which boxes have content to show for an item. The relation boxes are
+     * evaluated with a single discovery search counting their related items, and
+     * the metrics of the item are read once for all the metrics boxes.
+     *
+     * @param context The relevant DSpace Context
+     * @param boxes   the boxes to check
+     * @param item    the boxes' item
+     * @return whether each box has content to show
+     */
+    public Map<CrisLayoutBox, Boolean> hasContent(Context context, List<CrisLayoutBox> boxes, Item item);
+
     /**
      * Establishes wether or not, current user is enabled to have access to layout data
      * contained in a layout box for a given Item.
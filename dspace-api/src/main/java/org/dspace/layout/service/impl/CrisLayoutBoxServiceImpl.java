@@ -9,16 +9,18 @@ package org.dspace.layout.service.impl;
 
 import java.sql.SQLException;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.dspace.app.metrics.CrisMetrics;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.authorize.service.AuthorizeService;
 import org.dspace.content.DSpaceObject;
@@ -26,6 +28,7 @@ import org.dspace.content.EntityType;
 import org.dspace.content.Item;
 import org.dspace.content.MetadataField;
 import org.dspace.content.MetadataFieldName;
+import org.dspace.content.security.MetadataVisibilityPlanCache;
 import org.dspace.content.service.BitstreamService;
 import org.dspace.content.service.ItemService;
 import org.dspace.core.Constants;
@@ -40,6 +43,7 @@ import org.dspace.layout.dao.CrisLayoutBoxDAO;
 import org.dspace.layout.service.CrisLayoutBoxAccessService;
 import org.dspace.layout.service.CrisLayoutBoxService;
 import org.dspace.metrics.CrisItemMetricsService;
+import org.dspace.metrics.embeddable.model.EmbeddableCrisMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
@@ -52,6 +56,9 @@ public class CrisLayoutBoxServiceImpl implements CrisLayoutBoxService {
     @Autowired
     private CrisLayoutBoxDAO dao;
 
+    @Autowired
+    private MetadataVisibilityPlanCache metadataVisibilityPlanCache;
+
     @Autowired
     private AuthorizeService authorizeService;
 
@@ -79,6 +86,7 @@ public class CrisLayoutBoxServiceImpl implements CrisLayoutBoxService {
             throw new AuthorizeException(
                 "You must be an admin to create a Box");
         }
+        metadataVisibilityPlanCache.invalidateAllAfterCommit(context);
         return dao.create(context, new CrisLayoutBox());
     }
 
@@ -98,6 +106,7 @@ public class CrisLayoutBoxServiceImpl implements CrisLayoutBoxService {
             throw new AuthorizeException(
                 "You must be an admin to update a Box");
         }
+        metadataVisibilityPlanCache.invalidateAllAfterCommit(context);
         if (CollectionUtils.isNotEmpty(boxList)) {
             for (CrisLayoutBox box : boxList) {
                 dao.save(context, box);
@@ -112,6 +121,7 @@ public class CrisLayoutBoxServiceImpl implements CrisLayoutBoxService {
                 "You must be an admin to delete a Box");
         }
         box.getMetric2box().clear();
+        metadataVisibilityPlanCache.invalidateAllAfterCommit(context);
         dao.delete(context, box);
     }
 
@@ -121,6 +131,7 @@ public class CrisLayoutBoxServiceImpl implements CrisLayoutBoxService {
             throw new AuthorizeException(
                 "You must be an admin to create a Box");
         }
+        metadataVisibilityPlanCache.invalidateAllAfterCommit(context);
         return dao.create(context, box);
     }
 
@@ -136,6 +147,7 @@ public class CrisLayoutBoxServiceImpl implements CrisLayoutBoxService {
         box.setCollapsed(collapsed);
         box.setMinor(minor);
         box.setType(boxType);
+        metadataVisibilityPlanCache.invalidateAllAfterCommit(context);
         return dao.create(context, box);
 
     }
@@ -170,6 +182,34 @@ public class CrisLayoutBoxServiceImpl implements CrisLayoutBoxService {
 
     }
 
+    @Override
+    public Map<CrisLayoutBox, Boolean> hasContent(Context context, List<CrisLayoutBox> boxes, Item item) {
+        Map<CrisLayoutBox, Boolean> results = new HashMap<>();
+
+        List<CrisLayoutBox> relationBoxes = boxes.stream()
+            .filter(box -> "RELATION".equalsIgnoreCase(box.getType()))
+            .collect(Collectors.toList());
+        if (!relationBoxes.isEmpty()) {
+            Set<String> relationNames = relationBoxes.stream()
+                .map(CrisLayoutBox::getShortname)
+                .collect(Collectors.toSet());
+            Map<String, Boolean> hasRelatedItems = searchConfigurationUtilsService.hasRelatedItems(context, item,
+                relationNames);
+            relationBoxes.forEach(box -> results.put(box, hasRelatedItems.get(box.getShortname())));
+        }
+
+        // the metrics of the item are read once for all the metrics boxes
+        ItemMetrics itemMetrics = new ItemMetrics(context, item);
+        for (CrisLayoutBox box : boxes) {
+            if ("METRICS".equalsIgnoreCase(box.getType())) {
+                results.put(box, hasMetricsBoxContent(context, box, item, itemMetrics));
+            } else if (!results.containsKey(box)) {
+                results.put(box, hasContent(context, box, item));
+            }
+        }
+        return results;
+    }
+
     @Override
     public boolean hasAccess(Context context, CrisLayoutBox box, Item item) {
         return crisLayoutBoxAccessService.hasAccess(context, context.getCurrentUser(), box, item);
@@ -217,13 +257,17 @@ public class CrisLayoutBoxServiceImpl implements CrisLayoutBoxService {
     }
 
     private boolean hasRelationBoxContent(Context context, CrisLayoutBox box, Item item) {
-        Iterator<Item> relatedItems = searchConfigurationUtilsService.findByRelation(context, item, box.getShortname());
-        return relatedItems.hasNext();
+        return searchConfigurationUtilsService.hasRelatedItems(context, item, List.of(box.getShortname()))
+            .get(box.getShortname());
     }
 
     protected boolean hasMetricsBoxContent(Context context, CrisLayoutBox box, Item item) {
+        return hasMetricsBoxContent(context, box, item, new ItemMetrics(context, item));
+    }
+
+    private boolean hasMetricsBoxContent(Context context, CrisLayoutBox box, Item item, ItemMetrics itemMetrics) {
 
-        if (box.getMetric2box().isEmpty() || currentUserIsNotAllowedToReadItem(context, item)) {
+        if (box.getMetric2box().isEmpty() || itemMetrics.isNotAllowedToRead()) {
             return false;
         }
 
@@ -232,12 +276,10 @@ public class CrisLayoutBoxServiceImpl implements CrisLayoutBoxService {
             boxTypes.add(b.getType());
             crisMetricService.embeddableFallback(b.getType()).ifPresent(boxTypes::add);
         });
-        if (this.crisMetricService.getEmbeddableMetrics(context, item.getID(), null).stream()
-            .filter(m -> boxTypes.contains(m.getMetricType())).count() > 0) {
+        if (itemMetrics.getEmbeddableMetricTypes().stream().anyMatch(boxTypes::contains)) {
             return true;
         }
-        if (this.crisMetricService.getStoredMetrics(context, item.getID()).stream()
-            .filter(m -> boxTypes.contains(m.getMetricType())).count() > 0) {
+        if (itemMetrics.getStoredMetricTypes().stream().anyMatch(boxTypes::contains)) {
             return true;
         }
         return false;
@@ -268,4 +310,47 @@ public class CrisLayoutBoxServiceImpl implements CrisLayoutBoxService {
             throw new RuntimeException(e.getMessage(), e);
         }
     }
+
+    /**
+     * The READ permission and the metric types of an item, read once when first
+     * needed by a metrics box.
+     */
+    private class ItemMetrics {
+
+        private final Context context;
+        private final Item item;
+        private Boolean notAllowedToRead;
+        private List<String> embeddableMetricTypes;
+        private List<String> storedMetricTypes;
+
+        ItemMetrics(Context context, Item item) {
+            this.context = context;
+            this.item = item;
+        }
+
+        boolean isNotAllowedToRead() {
+            if (notAllowedToRead == null) {
+                notAllowedToRead = currentUserIsNotAllowedToReadItem(context, item);
+            }
+            return notAllowedToRead;
+        }
+
+        List<String> getEmbeddableMetricTypes() {
+            if (embeddableMetricTypes == null) {
+                embeddableMetricTypes = crisMetricService.getEmbeddableMetrics(context, item.getID(), null).stream()
+                    .map(EmbeddableCrisMetrics::getMetricType)
+                    .collect(Collectors.toList());
+            }
+            return embeddableMetricTypes;
+        }
+
+        List<String> getStoredMetricTypes() {
+            if (storedMetricTypes == null) {
+                storedMetricTypes = crisMetricService.getStoredMetrics(context, item.getID()).stream()
+                    .map(CrisMetrics::getMetricType)
+                    .collect(Collectors.toList());
+            }
+            return storedMetricTypes;
+        }
+    }
 }
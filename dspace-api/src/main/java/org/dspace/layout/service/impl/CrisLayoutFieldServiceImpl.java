@@ -13,6 +13,7 @@ import java.util.List;
 import org.apache.commons.collections.CollectionUtils;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.MetadataField;
+import org.dspace.content.security.MetadataVisibilityPlanCache;
 import org.dspace.core.Context;
 import org.dspace.layout.CrisLayoutField;
 import org.dspace.layout.dao.CrisLayoutFieldDAO;
@@ -30,8 +31,12 @@ public class CrisLayoutFieldServiceImpl implements CrisLayoutFieldService {
     @Autowired
     private CrisLayoutFieldDAO dao;
 
+    @Autowired
+    private MetadataVisibilityPlanCache metadataVisibilityPlanCache;
+
     @Override
     public CrisLayoutField create(Context context) throws SQLException, AuthorizeException {
+        metadataVisibilityPlanCache.invalidateAllAfterCommit(context);
         return dao.create(context, new CrisLayoutField());
     }
 
@@ -42,6 +47,7 @@ public class CrisLayoutFieldServiceImpl implements CrisLayoutFieldService {
 
     @Override
     public void update(Context context, CrisLayoutField field) throws SQLException, AuthorizeException {
+        metadataVisibilityPlanCache.invalidateAllAfterCommit(context);
         dao.save(context, field);
     }
 
@@ -56,11 +62,13 @@ public class CrisLayoutFieldServiceImpl implements CrisLayoutFieldService {
 
     @Override
     public void delete(Context context, CrisLayoutField field) throws SQLException, AuthorizeException {
+        metadataVisibilityPlanCache.invalidateAllAfterCommit(context);
         dao.delete(context, field);
     }
 
     @Override
     public CrisLayoutField create(Context context, CrisLayoutField field) throws SQLException {
+        metadataVisibilityPlanCache.invalidateAllAfterCommit(context);
         return dao.create(context, field);
     }
 
@@ -86,6 +94,7 @@ public class CrisLayoutFieldServiceImpl implements CrisLayoutFieldService {
         field.setRow(row);
         field.setPriority(priority);
         field.setMetadataField(mf);
+        metadataVisibilityPlanCache.invalidateAllAfterCommit(context);
         return dao.create(context, field);
     }
 
@@ -12,6 +12,7 @@ import java.util.List;
 import org.apache.commons.collections.CollectionUtils;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.MetadataField;
+import org.dspace.content.security.MetadataVisibilityPlanCache;
 import org.dspace.core.Context;
 import org.dspace.layout.CrisLayoutField;
 import org.dspace.layout.CrisMetadataGroup;
@@ -28,8 +29,12 @@ public class CrisLayoutMetadataGroupServiceImpl implements CrisLayoutMetadataGro
 
     @Autowired
     private CrisLayoutMetadataGroupDAO dao;
+
+    @Autowired
+    private MetadataVisibilityPlanCache metadataVisibilityPlanCache;
     @Override
     public CrisMetadataGroup create(Context context) throws SQLException, AuthorizeException {
+        metadataVisibilityPlanCache.invalidateAllAfterCommit(context);
         return dao.create(context, new CrisMetadataGroup());
     }
     @Override
@@ -38,6 +43,7 @@ public class CrisLayoutMetadataGroupServiceImpl implements CrisLayoutMetadataGro
     }
     @Override
     public void update(Context context, CrisMetadataGroup nestedField) throws SQLException, AuthorizeException {
+        metadataVisibilityPlanCache.invalidateAllAfterCommit(context);
         dao.save(context, nestedField);
     }
     @Override
@@ -51,10 +57,12 @@ public class CrisLayoutMetadataGroupServiceImpl implements CrisLayoutMetadataGro
     }
     @Override
     public void delete(Context context, CrisMetadataGroup nestedField) throws SQLException, AuthorizeException {
+        metadataVisibilityPlanCache.invalidateAllAfterCommit(context);
         dao.delete(context, nestedField);
     }
     @Override
     public CrisMetadataGroup create(Context context, CrisMetadataGroup nestedField) throws SQLException {
+        metadataVisibilityPlanCache.invalidateAllAfterCommit(context);
         return dao.create(context, nestedField);
     }
     @Override
@@ -82,6 +90,7 @@ public class CrisLayoutMetadataGroupServiceImpl implements CrisLayoutMetadataGro
         nestedField.setPriority(priority);
         nestedField.setMetadataField(mf);
         nestedField.setCrisLayoutField(cf);
+        metadataVisibilityPlanCache.invalidateAllAfterCommit(context);
         return dao.create(context, nestedField);
     }
 }
\ No newline at end of file
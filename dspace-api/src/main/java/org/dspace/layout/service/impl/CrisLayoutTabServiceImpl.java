@@ -202,15 +202,17 @@ public class CrisLayoutTabServiceImpl implements CrisLayoutTabService {
                     .map(metadata ->
                             findValidEntityType(context, entityTypeValue, submissionName + "." +
                                 metadata.getAuthority())
-                                .orElse(
-                                    findValidEntityType(context, entityTypeValue, submissionName + "." +
-                                        metadata.getValue())
-                                        .orElse(findValidEntityType(context, entityTypeValue, metadata.getAuthority())
-                                            .orElse(findValidEntityType(context, entityTypeValue, metadata.getValue())
-                                                .orElse(null))))
+                                .or(() -> findValidEntityType(context, entityTypeValue, submissionName + "." +
+                                    metadata.getValue()))
+                                .or(() -> findValidEntityType(context, entityTypeValue, metadata.getAuthority()))
+                                .or(() -> findValidEntityType(context, entityTypeValue, metadata.getValue()))
+                                .orElse(null)
                     )
-                    .orElse(findValidEntityType(context, entityTypeValue, submissionName)
-                    .orElse(findByEntityType(context, entityTypeValue, null)));
+                    .or(() -> findValidEntityType(context, entityTypeValue, submissionName))
+                    .orElse(null);
+        if (layoutTabs == null) {
+            layoutTabs = findByEntityType(context, entityTypeValue, null);
+        }
         if (layoutTabs == null) {
             return Collections.emptyList();
         }
@@ -7,11 +7,14 @@
  */
 package org.dspace.storage.bitstore;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
 import org.dspace.content.Bitstream;
 
 /**
@@ -45,6 +48,43 @@ public interface BitStoreService {
      */
     public InputStream get(Bitstream bitstream) throws IOException;
 
+    /**
+     * Retrieve a range of the bits for bitstream. The stores able to read a
+     * range without reading the bits before it should override this method,
+     * which skips them.
+     *
+     * @param bitstream DSpace Bitstream object
+     * @param offset    the position of the first byte to read
+     * @param length    the maximum number of bytes to read
+     * @return The stream of the bits of the range
+     * @throws java.io.IOException If a problem occurs while retrieving the bits, or if no
+     *                             asset with ID exists in the store
+     */
+    public default InputStream get(Bitstream bitstream, long offset, long length) throws IOException {
+        InputStream in = get(bitstream);
+        try {
+            IOUtils.skipFully(in, offset);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        return new BoundedInputStream(in, length);
+    }
+
+    /**
+     * Get the file of the local file system holding the bits for bitstream,
+     * which can be sent without being read by the application, e.g. with
+     * sendfile.
+     *
+     * @param bitstream DSpace Bitstream object
+     * @return The file of the bits, or null if the store doesn't keep them in
+     *         a local file
+     * @throws java.io.IOException If a problem occurs while looking for the file
+     */
+    public default File getLocalFile(Bitstream bitstream) throws IOException {
+        return null;
+    }
+
     /**
      * Store a stream of bits.
      *
@@ -7,6 +7,7 @@
  */
 package org.dspace.storage.bitstore;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
@@ -70,6 +71,8 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
     protected BitstreamService bitstreamService;
     @Autowired(required = true)
     protected ChecksumHistoryService checksumHistoryService;
+    @Autowired(required = true)
+    protected BitstreamTransferStatistics bitstreamTransferStatistics;
 
     /**
      * asset stores
@@ -216,7 +219,22 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
     public InputStream retrieve(Context context, Bitstream bitstream)
         throws SQLException, IOException {
         Integer storeNumber = bitstream.getStoreNumber();
-        return this.getStore(storeNumber).get(bitstream);
+        return bitstreamTransferStatistics.recordRead(storeNumber, this.getStore(storeNumber).get(bitstream));
+    }
+
+    @Override
+    public InputStream retrieve(Context context, Bitstream bitstream, long offset, long length)
+        throws SQLException, IOException {
+        Integer storeNumber = bitstream.getStoreNumber();
+        return bitstreamTransferStatistics.recordRead(storeNumber,
+            this.getStore(storeNumber).get(bitstream, offset, length));
+    }
+
+    @Override
+    public File retrieveLocalFile(Context context, Bitstream bitstream)
+        throws SQLException, IOException {
+        Integer storeNumber = bitstream.getStoreNumber();
+        return this.getStore(storeNumber).getLocalFile(bitstream);
     }
 
     @Override
@@ -0,0 +1,214 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.io.input.CountingInputStream;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Throughput of the transfers of the bitstreams out of each asset store. The bitstreams read as streams are timed
+ * from the opening to the closing of their stream, so their throughput includes the time spent by the readers, e.g.
+ * by the clients of the downloads. The files sent by the servlet container with sendfile are only counted, as they
+ * are transferred after the request has left the application.
+ * <p>
+ * The statistics are only recorded when <code>assetstore.statistics.enabled</code> is true. They are exposed through
+ * the <code>bitstreamTransfers</code> health indicator of the REST webapp.
+ */
+public class BitstreamTransferStatistics {
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    private final Map<Integer, Transfers> transfers = new ConcurrentHashMap<>();
+
+    private final Map<String, CacheTransfers> caches = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("assetstore.statistics.enabled", false);
+    }
+
+    /**
+     * Record the read of a bitstream when its stream is closed.
+     *
+     * @param storeNumber the number of the store the bitstream is read from
+     * @param in          the stream of the bitstream
+     * @return the stream to read instead of the given one
+     */
+    public InputStream recordRead(int storeNumber, InputStream in) {
+        if (!isEnabled() || in == null) {
+            return in;
+        }
+        long start = System.nanoTime();
+        return new CountingInputStream(in) {
+
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (!closed) {
+                        closed = true;
+                        getTransfers(storeNumber).recordRead(getByteCount(), System.nanoTime() - start);
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Record a range of a file of a store sent with sendfile.
+     *
+     * @param storeNumber the number of the store holding the file
+     * @param bytes       the number of bytes sent
+     */
+    public void recordSendfile(int storeNumber, long bytes) {
+        if (isEnabled()) {
+            getTransfers(storeNumber).recordSendfile(bytes);
+        }
+    }
+
+    /**
+     * Record a read of a bitstream from a {@link CachingBitStoreService} that found it in the cache.
+     *
+     * @param cache the name of the cache
+     * @param bytes the size of the bitstream
+     */
+    public void recordCacheHit(String cache, long bytes) {
+        if (isEnabled()) {
+            getCacheTransfers(cache).hit(bytes);
+        }
+    }
+
+    /**
+     * Record a read of a bitstream from a {@link CachingBitStoreService} that downloaded it from the wrapped store.
+     *
+     * @param cache the name of the cache
+     * @param bytes the size of the bitstream
+     */
+    public void recordCacheMiss(String cache, long bytes) {
+        if (isEnabled()) {
+            getCacheTransfers(cache).miss(bytes);
+        }
+    }
+
+    /**
+     * Record the removal of the least recently used entries of a {@link CachingBitStoreService}.
+     *
+     * @param cache   the name of the cache
+     * @param entries the number of entries removed
+     */
+    public void recordCacheEvictions(String cache, int entries) {
+        if (isEnabled()) {
+            getCacheTransfers(cache).evictions.add(entries);
+        }
+    }
+
+    /**
+     * @return the recorded statistics of each store, by store number, and of each cache, by name
+     */
+    public Map<String, Map<String, Object>> getStatistics() {
+        Map<String, Map<String, Object>> statistics = new LinkedHashMap<>();
+        for (Map.Entry<Integer, Transfers> entry : new TreeMap<>(transfers).entrySet()) {
+            statistics.put("store " + entry.getKey(), entry.getValue().toMap());
+        }
+        for (Map.Entry<String, CacheTransfers> entry : new TreeMap<>(caches).entrySet()) {
+            statistics.put("cache " + entry.getKey(), entry.getValue().toMap());
+        }
+        return statistics;
+    }
+
+    /**
+     * Discard all the recorded transfers.
+     */
+    public void reset() {
+        transfers.clear();
+        caches.clear();
+    }
+
+    private Transfers getTransfers(int storeNumber) {
+        return transfers.computeIfAbsent(storeNumber, key -> new Transfers());
+    }
+
+    private CacheTransfers getCacheTransfers(String cache) {
+        return caches.computeIfAbsent(cache, key -> new CacheTransfers());
+    }
+
+    private static class Transfers {
+        private final LongAdder reads = new LongAdder();
+        private final LongAdder readBytes = new LongAdder();
+        private final LongAdder readNanos = new LongAdder();
+        private final LongAdder sendfiles = new LongAdder();
+        private final LongAdder sendfileBytes = new LongAdder();
+
+        void recordRead(long bytes, long nanos) {
+            reads.increment();
+            readBytes.add(bytes);
+            readNanos.add(nanos);
+        }
+
+        void recordSendfile(long bytes) {
+            sendfiles.increment();
+            sendfileBytes.add(bytes);
+        }
+
+        Map<String, Object> toMap() {
+            long nanos = readNanos.sum();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("reads", reads.sum());
+            map.put("readBytes", readBytes.sum());
+            map.put("readMs", TimeUnit.NANOSECONDS.toMillis(nanos));
+            map.put("readMBPerSecond", nanos > 0 ? readBytes.sum() * 1000d / nanos : 0);
+            map.put("sendfiles", sendfiles.sum());
+            map.put("sendfileBytes", sendfileBytes.sum());
+            return map;
+        }
+    }
+
+    private static class CacheTransfers {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder hitBytes = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder missBytes = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+
+        void hit(long bytes) {
+            hits.increment();
+            hitBytes.add(bytes);
+        }
+
+        void miss(long bytes) {
+            misses.increment();
+            missBytes.add(bytes);
+        }
+
+        Map<String, Object> toMap() {
+            long requests = hits.sum() + misses.sum();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("hits", hits.sum());
+            map.put("hitBytes", hitBytes.sum());
+            map.put("misses", misses.sum());
+            map.put("missBytes", missBytes.sum());
+            map.put("hitRatio", requests > 0 ? (double) hits.sum() / requests : 0);
+            map.put("evictions", evictions.sum());
+            return map;
+        }
+    }
+
+}
@@ -0,0 +1,416 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.content.Bitstream;
+import org.springframework.beans.factory.BeanNameAware;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Read-through cache on the local disk in front of another store, typically a remote one like the
+ * {@link S3BitStoreService}, for the bitstreams read repeatedly such as the thumbnails, the IIIF images and the
+ * popular PDFs. It can wrap any store of the <code>stores</code> map of the BitstreamStorageService, see
+ * <code>bitstore.xml</code>.
+ * <p>
+ * The entries are addressed by the internal id and the checksum of the bitstreams, so a bitstream stored again
+ * under the same internal id never reads a stale entry. The first read of a bitstream downloads it to the cache,
+ * the concurrent reads of the same bitstream wait for this download instead of starting their own. The cache is
+ * bounded to <code>maxSize</code> megabytes; when the limit is exceeded the least recently used entries are
+ * removed, except the ones used in the last <code>pruneMinAge</code> seconds. The bitstreams larger than
+ * <code>maxEntrySize</code> megabytes are never cached.
+ * <p>
+ * The writes go to the wrapped store only, the bitstreams being cached when they are first read.
+ */
+public class CachingBitStoreService implements BitStoreService, BeanNameAware {
+
+    private static final Logger log = LogManager.getLogger(CachingBitStoreService.class);
+
+    /**
+     * Part of the maximum size kept when the cache is pruned, to avoid pruning on each download
+     */
+    private static final double PRUNE_RATIO = 0.9;
+
+    private static final long MEGABYTE = 1024L * 1024L;
+
+    @Autowired
+    private BitstreamTransferStatistics bitstreamTransferStatistics;
+
+    private BitStoreService store;
+
+    private String cacheDir;
+
+    private long maxSize = 10240;
+
+    private long maxEntrySize = 256;
+
+    private long pruneMinAge = 60;
+
+    private String name;
+
+    /**
+     * Estimated size of the cache in bytes, -1 until the cache directory is measured
+     */
+    private final AtomicLong size = new AtomicLong(-1);
+
+    /**
+     * The downloads in progress, by key
+     */
+    private final Map<String, CompletableFuture<Path>> downloads = new ConcurrentHashMap<>();
+
+    @Override
+    public void init() throws IOException {
+        store.init();
+        Files.createDirectories(getDirectory());
+    }
+
+    @Override
+    public String generateId() {
+        return store.generateId();
+    }
+
+    @Override
+    public InputStream get(Bitstream bitstream) throws IOException {
+        Path file = getCachedFile(bitstream);
+        if (file == null) {
+            return store.get(bitstream);
+        }
+        try {
+            return Files.newInputStream(file);
+        } catch (NoSuchFileException e) {
+            // the entry has been pruned since it was downloaded
+            return store.get(bitstream);
+        }
+    }
+
+    @Override
+    public InputStream get(Bitstream bitstream, long offset, long length) throws IOException {
+        Path file = getCachedFile(bitstream);
+        if (file == null) {
+            return store.get(bitstream, offset, length);
+        }
+        InputStream in;
+        try {
+            in = Files.newInputStream(file);
+        } catch (NoSuchFileException e) {
+            // the entry has been pruned since it was downloaded
+            return store.get(bitstream, offset, length);
+        }
+        try {
+            IOUtils.skipFully(in, offset);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        return new BoundedInputStream(in, length);
+    }
+
+    /**
+     * Get the file of the cache holding the bitstream, if it is already cached. The bitstreams are not downloaded
+     * by this method, as it is called while a database connection is open: they are cached by their first read.
+     * The file is opened after the method returns, e.g. by the servlet container sending it with sendfile, so it
+     * is only protected from the pruning for <code>pruneMinAge</code> seconds.
+     *
+     * @param bitstream DSpace Bitstream object
+     * @return The file of the cache, or the local file of the wrapped store if it isn't cached
+     * @throws java.io.IOException If a problem occurs while looking for the file
+     */
+    @Override
+    public File getLocalFile(Bitstream bitstream) throws IOException {
+        String key = getKey(bitstream);
+        if (key != null) {
+            Path file = getFile(key);
+            if (touch(file)) {
+                bitstreamTransferStatistics.recordCacheHit(name, bitstream.getSizeBytes());
+                return file.toFile();
+            }
+        }
+        return store.getLocalFile(bitstream);
+    }
+
+    @Override
+    public void put(Bitstream bitstream, InputStream inputStream) throws IOException {
+        store.put(bitstream, inputStream);
+    }
+
+    @Override
+    public Map<String, Object> about(Bitstream bitstream, List<String> attrs) throws IOException {
+        return store.about(bitstream, attrs);
+    }
+
+    @Override
+    public void remove(Bitstream bitstream) throws IOException {
+        store.remove(bitstream);
+        String key = getKey(bitstream);
+        if (key != null) {
+            Path file = getFile(key);
+            long length = Files.exists(file) ? Files.size(file) : 0;
+            if (Files.deleteIfExists(file)) {
+                size.addAndGet(-length);
+            }
+        }
+    }
+
+    @Override
+    public boolean isInitialized() {
+        return store.isInitialized();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return store.isEnabled();
+    }
+
+    @Override
+    public String path(Bitstream bitstream) throws IOException {
+        return store.path(bitstream);
+    }
+
+    /**
+     * Get the file of the cache holding the bitstream, downloading it from the wrapped store if needed.
+     *
+     * @return the file of the cache, or null if the bitstream can't be cached
+     */
+    private Path getCachedFile(Bitstream bitstream) throws IOException {
+        String key = getKey(bitstream);
+        if (key == null || bitstream.getSizeBytes() > maxEntrySize * MEGABYTE) {
+            return null;
+        }
+        Path file = getFile(key);
+        if (touch(file)) {
+            bitstreamTransferStatistics.recordCacheHit(name, bitstream.getSizeBytes());
+            return file;
+        }
+
+        CompletableFuture<Path> download = new CompletableFuture<>();
+        CompletableFuture<Path> current = downloads.putIfAbsent(key, download);
+        if (current != null) {
+            // another thread is downloading the same bitstream
+            Path downloaded = waitFor(current);
+            bitstreamTransferStatistics.recordCacheHit(name, bitstream.getSizeBytes());
+            return downloaded;
+        }
+        try {
+            // the download of another thread may have completed since the first check
+            if (!touch(file)) {
+                download(bitstream, key, file);
+                bitstreamTransferStatistics.recordCacheMiss(name, bitstream.getSizeBytes());
+            }
+            download.complete(file);
+            return file;
+        } catch (IOException | RuntimeException e) {
+            download.completeExceptionally(e);
+            throw e;
+        } finally {
+            downloads.remove(key, download);
+        }
+    }
+
+    private Path waitFor(CompletableFuture<Path> download) throws IOException {
+        try {
+            return download.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the download of a bitstream");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+        }
+    }
+
+    private void download(Bitstream bitstream, String key, Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path tmp = Files.createTempFile(file.getParent(), key, ".tmp");
+        try {
+            long length;
+            try (InputStream in = store.get(bitstream)) {
+                length = Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (length != bitstream.getSizeBytes()) {
+                throw new IOException("Read " + length + " bytes of the bitstream " + bitstream.getInternalId()
+                    + " instead of " + bitstream.getSizeBytes());
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (size.get() < 0 || size.addAndGet(length) > maxSize * MEGABYTE) {
+                try {
+                    prune();
+                } catch (IOException | RuntimeException e) {
+                    // the entry is downloaded, the cache will be measured and pruned again by the next download
+                    size.set(-1);
+                    log.error("Error pruning the bitstream cache {}", name, e);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Keep track of the last use of an entry for the pruning.
+     *
+     * @return whether the entry exists
+     */
+    private boolean touch(Path file) throws IOException {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Measure the cache directory and, if it is larger than the maximum size, remove the least recently used
+     * entries. The entries opened when they are removed can still be read until they are closed, but the entries
+     * used in the last <code>pruneMinAge</code> seconds are kept: their files may have been handed out by
+     * {@link #getLocalFile(Bitstream)} and not opened yet. The cache can stay above its maximum size until they
+     * get older.
+     */
+    protected synchronized void prune() throws IOException {
+        List<File> files;
+        try (Stream<Path> paths = Files.walk(getDirectory())) {
+            files = paths.filter(Files::isRegularFile)
+                         .filter(path -> !path.getFileName().toString().endsWith(".tmp"))
+                         .map(Path::toFile)
+                         .collect(Collectors.toList());
+        }
+        long total = files.stream().mapToLong(File::length).sum();
+        long max = maxSize * MEGABYTE;
+        if (total > max) {
+            long target = (long) (max * PRUNE_RATIO);
+            long minLastModified = System.currentTimeMillis() - pruneMinAge * 1000;
+            // the dates can change while sorting, when the entries are used, so they are read once
+            List<Pair<File, Long>> oldestFirst = new ArrayList<>();
+            for (File file : files) {
+                oldestFirst.add(Pair.of(file, file.lastModified()));
+            }
+            oldestFirst.sort(Comparator.comparingLong(Pair::getRight));
+            int removed = 0;
+            for (Pair<File, Long> entry : oldestFirst) {
+                if (total <= target || entry.getRight() > minLastModified) {
+                    break;
+                }
+                File file = entry.getLeft();
+                long length = file.length();
+                if (file.delete()) {
+                    total -= length;
+                    removed++;
+                }
+            }
+            bitstreamTransferStatistics.recordCacheEvictions(name, removed);
+            log.info("Removed {} entries from the bitstream cache {}, {} bytes left", removed, name, total);
+        }
+        size.set(total);
+    }
+
+    /**
+     * @return the key of the entry of the bitstream, or null if its checksum isn't known yet
+     */
+    private String getKey(Bitstream bitstream) {
+        if (StringUtils.isBlank(bitstream.getInternalId()) || StringUtils.isBlank(bitstream.getChecksum())) {
+            return null;
+        }
+        return DigestUtils.sha256Hex(bitstream.getInternalId() + "\n" + bitstream.getChecksum());
+    }
+
+    private Path getFile(String key) {
+        // spread the entries over 256 sub directories
+        return getDirectory().resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    private Path getDirectory() {
+        return Paths.get(cacheDir, name);
+    }
+
+    public BitStoreService getStore() {
+        return store;
+    }
+
+    /**
+     * @param store the wrapped store
+     */
+    public void setStore(BitStoreService store) {
+        this.store = store;
+    }
+
+    public String getCacheDir() {
+        return cacheDir;
+    }
+
+    /**
+     * @param cacheDir the directory of the caches, each cache using the sub directory named as its bean
+     */
+    public void setCacheDir(String cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @param maxSize the maximum size of the cache in megabytes
+     */
+    public void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public long getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    /**
+     * @param maxEntrySize the size in megabytes of the largest bitstreams cached
+     */
+    public void setMaxEntrySize(long maxEntrySize) {
+        this.maxEntrySize = maxEntrySize;
+    }
+
+    public long getPruneMinAge() {
+        return pruneMinAge;
+    }
+
+    /**
+     * @param pruneMinAge the time in seconds since their last use during which the entries are not pruned
+     */
+    public void setPruneMinAge(long pruneMinAge) {
+        this.pruneMinAge = pruneMinAge;
+    }
+
+    @Override
+    public void setBeanName(String name) {
+        this.name = name;
+    }
+
+}
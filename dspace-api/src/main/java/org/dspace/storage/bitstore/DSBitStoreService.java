@@ -18,6 +18,8 @@ import java.security.NoSuchAlgorithmException;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.Bitstream;
 import org.dspace.core.Utils;
@@ -80,6 +82,36 @@ public class DSBitStoreService extends BaseBitStoreService {
         }
     }
 
+    /**
+     * Retrieve a range of the bits for the asset with ID, positioning the
+     * file at the start of the range.
+     *
+     * @param bitstream the asset to retrieve
+     * @param offset    the position of the first byte to read
+     * @param length    the maximum number of bytes to read
+     * @return The stream of bits of the range
+     * @throws java.io.IOException If a problem occurs while retrieving the bits
+     */
+    @Override
+    public InputStream get(Bitstream bitstream, long offset, long length) throws IOException {
+        FileInputStream in = null;
+        try {
+            in = new FileInputStream(getFile(bitstream));
+            in.getChannel().position(offset);
+            return new BoundedInputStream(in, length);
+        } catch (Exception e) {
+            log.error("get(" + bitstream.getInternalId() + ", " + offset + ", " + length + ")", e);
+            IOUtils.closeQuietly(in);
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public File getLocalFile(Bitstream bitstream) throws IOException {
+        File file = getFile(bitstream);
+        return file != null && file.isFile() ? file : null;
+    }
+
     /**
      * Store a stream of bits.
      *
@@ -24,6 +24,7 @@ import java.util.function.Supplier;
 import javax.validation.constraints.NotNull;
 
 import com.amazonaws.AmazonClientException;
+import com.amazonaws.ClientConfiguration;
 import com.amazonaws.auth.AWSCredentials;
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
@@ -44,7 +45,6 @@ import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.output.NullOutputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpStatus;
@@ -106,6 +106,40 @@ public class S3BitStoreService extends BaseBitStoreService {
     private String awsRegionName;
     private boolean useRelativePath;
 
+    /**
+     * Whether the bitstreams are uploaded while they are read, instead of
+     * being copied to a local scratch file first
+     */
+    private boolean streamingUpload = true;
+
+    /**
+     * Size in megabytes of the parts of the streaming uploads
+     */
+    private int uploadPartSize = 8;
+
+    /**
+     * Number of parts of a streaming upload sent in parallel
+     */
+    private int uploadParallelParts = 4;
+
+    /**
+     * Whether the bitstreams are read from the response of S3, instead of
+     * being downloaded to a local temporary file first
+     */
+    private boolean streamingDownload = true;
+
+    /**
+     * Maximum number of connections to S3, each streaming download holding
+     * one until the bitstream is closed
+     */
+    private int maxConnections = 200;
+
+    /**
+     * Timeout in milliseconds to open a connection to S3, also used to wait
+     * for a free connection of the pool
+     */
+    private int connectionTimeout = ClientConfiguration.DEFAULT_CONNECTION_TIMEOUT;
+
     /**
      * container for all the assets
      */
@@ -135,15 +169,18 @@ public class S3BitStoreService extends BaseBitStoreService {
      *
      * @param regions wanted regions in client
      * @param awsCredentials credentials of the client
+     * @param clientConfiguration configuration of the connections of the client
      * @return builder with the specified parameters
      */
     protected static Supplier<AmazonS3> amazonClientBuilderBy(
             @NotNull Regions regions,
-            @NotNull AWSCredentials awsCredentials
+            @NotNull AWSCredentials awsCredentials,
+            @NotNull ClientConfiguration clientConfiguration
     ) {
         return () -> AmazonS3ClientBuilder.standard()
                 .withCredentials(new AWSStaticCredentialsProvider(awsCredentials))
                 .withRegion(regions)
+                .withClientConfiguration(clientConfiguration)
                 .build();
     }
 
@@ -194,7 +231,8 @@ public class S3BitStoreService extends BaseBitStoreService {
                         this.s3Service,
                         amazonClientBuilderBy(
                                 regions,
-                                new BasicAWSCredentials(getAwsAccessKey(), getAwsSecretKey())
+                                new BasicAWSCredentials(getAwsAccessKey(), getAwsSecretKey()),
+                                getClientConfiguration()
                                 )
                         );
                 log.warn("S3 Region set to: " + regions.getName());
@@ -202,7 +240,9 @@ public class S3BitStoreService extends BaseBitStoreService {
                 log.info("Using a IAM role or aws environment credentials");
                 s3Service = FunctionalUtils.getDefaultOrBuild(
                         this.s3Service,
-                        AmazonS3ClientBuilder::defaultClient
+                        () -> AmazonS3ClientBuilder.standard()
+                                                   .withClientConfiguration(getClientConfiguration())
+                                                   .build()
                         );
             }
 
@@ -257,27 +297,73 @@ public class S3BitStoreService extends BaseBitStoreService {
      */
     @Override
     public InputStream get(Bitstream bitstream) throws IOException {
-        String key = getFullKey(bitstream.getInternalId());
-        // Strip -R from bitstream key if it's registered
-        if (isRegisteredBitstream(key)) {
-            key = key.substring(REGISTERED_FLAG.length());
+        String key = getObjectKey(bitstream);
+        if (streamingDownload) {
+            return getObjectContent(new GetObjectRequest(bucketName, key));
         }
         try {
-            File tempFile = File.createTempFile("s3-disk-copy-" + UUID.randomUUID(), "temp");
-            tempFile.deleteOnExit();
-
-            GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, key);
-
-            Download download = tm.download(getObjectRequest, tempFile);
-            download.waitForCompletion();
-
-            return new DeleteOnCloseFileInputStream(tempFile);
+            return new DeleteOnCloseFileInputStream(download(key));
         } catch (AmazonClientException | InterruptedException e) {
             log.error("get(" + key + ")", e);
             throw new IOException(e);
         }
     }
 
+    /**
+     * Retrieve a range of the bits for the asset with ID, with a ranged GET
+     * request reading only the range.
+     *
+     * @param bitstream the asset to retrieve
+     * @param offset    the position of the first byte to read
+     * @param length    the maximum number of bytes to read
+     * @return The stream of bits of the range
+     * @throws java.io.IOException If a problem occurs while retrieving the bits
+     */
+    @Override
+    public InputStream get(Bitstream bitstream, long offset, long length) throws IOException {
+        if (length <= 0) {
+            return InputStream.nullInputStream();
+        }
+        String key = getObjectKey(bitstream);
+        return getObjectContent(new GetObjectRequest(bucketName, key).withRange(offset, offset + length - 1));
+    }
+
+    private InputStream getObjectContent(GetObjectRequest getObjectRequest) throws IOException {
+        try {
+            return s3Service.getObject(getObjectRequest).getObjectContent();
+        } catch (AmazonClientException e) {
+            log.error("get(" + getObjectRequest.getKey() + ")", e);
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Download an object to a temporary file with the transfer manager.
+     */
+    private File download(String key) throws IOException, InterruptedException {
+        File tempFile = File.createTempFile("s3-disk-copy-" + UUID.randomUUID(), "temp");
+        tempFile.deleteOnExit();
+
+        GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, key);
+
+        Download download = tm.download(getObjectRequest, tempFile);
+        download.waitForCompletion();
+        return tempFile;
+    }
+
+    /**
+     * Get the key of the object of a bitstream, without the prefix of the
+     * registered bitstreams.
+     */
+    private String getObjectKey(Bitstream bitstream) {
+        String key = getFullKey(bitstream.getInternalId());
+        // Strip -R from bitstream key if it's registered
+        if (isRegisteredBitstream(key)) {
+            key = key.substring(REGISTERED_FLAG.length());
+        }
+        return key;
+    }
+
     /**
      * Store a stream of bits.
      *
@@ -291,6 +377,48 @@ public class S3BitStoreService extends BaseBitStoreService {
      */
     @Override
     public void put(Bitstream bitstream, InputStream in) throws IOException {
+        if (streamingUpload) {
+            putStreaming(bitstream, in);
+        } else {
+            putWithScratchFile(bitstream, in);
+        }
+    }
+
+    /**
+     * Store a stream of bits, uploading its parts while it is read and
+     * computing its checksum on the fly.
+     *
+     * @param bitstream the bitstream to store
+     * @param in        The stream of bits to store
+     * @throws java.io.IOException If a problem occurs while storing the bits
+     */
+    protected void putStreaming(Bitstream bitstream, InputStream in) throws IOException {
+        String key = getFullKey(bitstream.getInternalId());
+        try (DigestInputStream dis = new DigestInputStream(in, MessageDigest.getInstance(CSA))) {
+            long size = new S3StreamingUpload(s3Service, bucketName, key, uploadPartSize * 1024L * 1024L,
+                uploadParallelParts).upload(dis);
+
+            bitstream.setSizeBytes(size);
+            bitstream.setChecksum(Utils.toHex(dis.getMessageDigest().digest()));
+            bitstream.setChecksumAlgorithm(CSA);
+        } catch (AmazonClientException | IOException e) {
+            log.error("put(" + bitstream.getInternalId() + ", is)", e);
+            throw new IOException(e);
+        } catch (NoSuchAlgorithmException nsae) {
+            // Should never happen
+            log.warn("Caught NoSuchAlgorithmException", nsae);
+        }
+    }
+
+    /**
+     * Store a stream of bits, copying it to a local scratch file uploaded by the
+     * transfer manager.
+     *
+     * @param bitstream the bitstream to store
+     * @param in        The stream of bits to store
+     * @throws java.io.IOException If a problem occurs while storing the bits
+     */
+    protected void putWithScratchFile(Bitstream bitstream, InputStream in) throws IOException {
         String key = getFullKey(bitstream.getInternalId());
         //Copy istream to temp file, and send the file, with some metadata
         File scratchFile = File.createTempFile(bitstream.getInternalId(), "s3bs");
@@ -508,6 +636,62 @@ public class S3BitStoreService extends BaseBitStoreService {
         this.useRelativePath = useRelativePath;
     }
 
+    public boolean isStreamingUpload() {
+        return streamingUpload;
+    }
+
+    public void setStreamingUpload(boolean streamingUpload) {
+        this.streamingUpload = streamingUpload;
+    }
+
+    public int getUploadPartSize() {
+        return uploadPartSize;
+    }
+
+    public void setUploadPartSize(int uploadPartSize) {
+        this.uploadPartSize = uploadPartSize;
+    }
+
+    public int getUploadParallelParts() {
+        return uploadParallelParts;
+    }
+
+    public void setUploadParallelParts(int uploadParallelParts) {
+        this.uploadParallelParts = uploadParallelParts;
+    }
+
+    /**
+     * @return the configuration of the connections of the S3 client
+     */
+    protected ClientConfiguration getClientConfiguration() {
+        return new ClientConfiguration().withMaxConnections(maxConnections)
+                                        .withConnectionTimeout(connectionTimeout);
+    }
+
+    public boolean isStreamingDownload() {
+        return streamingDownload;
+    }
+
+    public void setStreamingDownload(boolean streamingDownload) {
+        this.streamingDownload = streamingDownload;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public int getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    public void setConnectionTimeout(int connectionTimeout) {
+        this.connectionTimeout = connectionTimeout;
+    }
+
     /**
      * Contains a command-line testing tool. Expects arguments:
      * -a accessKey -s secretKey -f assetFileName
@@ -628,12 +812,15 @@ public class S3BitStoreService extends BaseBitStoreService {
 
     @Override
     public String path(Bitstream bitstream) throws IOException {
-        final File tempFile = File.createTempFile(TEMP_PREFIX, TEMP_SUFFIX);
-        tempFile.deleteOnExit();
-        try (FileOutputStream out = new FileOutputStream(tempFile)) {
-            IOUtils.copy(get(bitstream), out);
+        String key = getObjectKey(bitstream);
+        try {
+            // download the object straight to the returned file
+            File tempFile = download(key);
+            return tempFile.getAbsolutePath();
+        } catch (AmazonClientException | InterruptedException e) {
+            log.error("path(" + key + ")", e);
+            throw new IOException(e);
         }
-        return tempFile.getAbsolutePath();
     }
 
 }
@@ -0,0 +1,199 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import org.apache.commons.io.IOUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Upload of a stream to S3 without copying it to a local file first. The
+ * stream is read in parts held in memory: a stream shorter than a part is
+ * stored with a single request, a longer one with a multipart upload whose
+ * parts are sent in parallel. At most <code>parallelParts</code> parts are
+ * being sent at a time, so the memory used by an upload is bounded by
+ * <code>(parallelParts + 1) * partSize</code>.
+ */
+class S3StreamingUpload {
+
+    private static final Logger log = LogManager.getLogger(S3StreamingUpload.class);
+
+    /**
+     * Minimum size of the parts of a multipart upload, except the last one
+     */
+    static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+    /**
+     * Maximum size of the parts, held in an array: the largest size in MB that an array can hold
+     */
+    static final int MAX_PART_SIZE = 2047 * 1024 * 1024;
+
+    /**
+     * Maximum number of parts of a multipart upload
+     */
+    static final int MAX_PARTS = 10000;
+
+    private final AmazonS3 s3Service;
+
+    private final String bucketName;
+
+    private final String key;
+
+    private final int partSize;
+
+    private final int parallelParts;
+
+    S3StreamingUpload(AmazonS3 s3Service, String bucketName, String key, long partSize, int parallelParts) {
+        this.s3Service = s3Service;
+        this.bucketName = bucketName;
+        this.key = key;
+        if (partSize > MAX_PART_SIZE) {
+            log.warn("The part size " + partSize + " is larger than the maximum of " + MAX_PART_SIZE
+                + " bytes, the maximum is used");
+        }
+        this.partSize = (int) Math.min(Math.max(partSize, MIN_PART_SIZE), MAX_PART_SIZE);
+        this.parallelParts = Math.max(parallelParts, 1);
+    }
+
+    /**
+     * Upload the content of a stream, which is read until its end but not
+     * closed.
+     *
+     * @param in the stream to upload
+     * @return the number of bytes uploaded
+     * @throws IOException if the stream can't be read or the upload fails
+     */
+    long upload(InputStream in) throws IOException {
+        byte[] firstPart = new byte[partSize];
+        int firstPartLength = IOUtils.read(in, firstPart);
+        if (firstPartLength < partSize) {
+            putObject(firstPart, firstPartLength);
+            return firstPartLength;
+        }
+        return uploadParts(in, firstPart);
+    }
+
+    private void putObject(byte[] content, int length) {
+        ObjectMetadata objectMetadata = new ObjectMetadata();
+        objectMetadata.setContentLength(length);
+        s3Service.putObject(bucketName, key, new ByteArrayInputStream(content, 0, length), objectMetadata);
+    }
+
+    private long uploadParts(InputStream in, byte[] firstPart) throws IOException {
+        String uploadId = s3Service.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key))
+                                   .getUploadId();
+        // the buffers not being sent, allocated when needed up to the limit
+        BlockingQueue<byte[]> buffers = new ArrayBlockingQueue<>(parallelParts + 1);
+        int allocatedBuffers = 1;
+        ExecutorService executor = Executors.newFixedThreadPool(parallelParts);
+        List<Future<PartETag>> parts = new ArrayList<>();
+        // the first failure of a part, which stops the reading of the stream
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        long size = 0;
+        try {
+            byte[] buffer = firstPart;
+            int length = partSize;
+            while (length > 0) {
+                if (parts.size() == MAX_PARTS) {
+                    throw new IOException("The stream is larger than " + MAX_PARTS + " parts of " + partSize
+                        + " bytes, increase assetstore.s3.upload.partSize");
+                }
+                parts.add(executor.submit(uploadPart(uploadId, parts.size() + 1, buffer, length, buffers,
+                    failure)));
+                size += length;
+
+                buffer = buffers.poll();
+                if (buffer == null && allocatedBuffers <= parallelParts) {
+                    buffer = new byte[partSize];
+                    allocatedBuffers++;
+                } else if (buffer == null) {
+                    buffer = buffers.take();
+                }
+                if (failure.get() != null) {
+                    throw failure.get();
+                }
+                length = IOUtils.read(in, buffer);
+            }
+
+            List<PartETag> partETags = new ArrayList<>();
+            for (Future<PartETag> part : parts) {
+                partETags.add(part.get());
+            }
+            s3Service.completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, key, uploadId,
+                partETags));
+            return size;
+        } catch (IOException | InterruptedException | ExecutionException | RuntimeException e) {
+            parts.forEach(part -> part.cancel(true));
+            abort(uploadId);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            if (e instanceof ExecutionException && e.getCause() instanceof AmazonClientException) {
+                throw (AmazonClientException) e.getCause();
+            }
+            if (e instanceof AmazonClientException) {
+                throw (AmazonClientException) e;
+            }
+            throw e instanceof IOException ? (IOException) e : new IOException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Callable<PartETag> uploadPart(String uploadId, int partNumber, byte[] buffer, int length,
+                                          BlockingQueue<byte[]> buffers,
+                                          AtomicReference<RuntimeException> failure) {
+        return () -> {
+            try {
+                UploadPartRequest uploadPartRequest = new UploadPartRequest()
+                    .withBucketName(bucketName)
+                    .withKey(key)
+                    .withUploadId(uploadId)
+                    .withPartNumber(partNumber)
+                    .withPartSize(length)
+                    .withInputStream(new ByteArrayInputStream(buffer, 0, length));
+                return s3Service.uploadPart(uploadPartRequest).getPartETag();
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+                throw e;
+            } finally {
+                buffers.offer(buffer);
+            }
+        };
+    }
+
+    private void abort(String uploadId) {
+        try {
+            s3Service.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+        } catch (AmazonClientException e) {
+            log.warn("Unable to abort the multipart upload " + uploadId + " of " + key, e);
+        }
+    }
+}
@@ -7,6 +7,7 @@
  */
 package org.dspace.storage.bitstore.service;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
@@ -129,6 +130,35 @@ public interface BitstreamStorageService {
     public InputStream retrieve(Context context, Bitstream bitstream)
         throws SQLException, IOException;
 
+    /**
+     * Retrieve a range of the bits for the bitstream with ID, reading only the
+     * range from the stores that support it.
+     *
+     * @param context   The current context
+     * @param bitstream The bitstream to retrieve
+     * @param offset    the position of the first byte to read
+     * @param length    the maximum number of bytes to read
+     * @return The stream of the bits of the range
+     * @throws IOException  If a problem occurs while retrieving the bits
+     * @throws SQLException If a problem occurs accessing the RDBMS
+     */
+    public InputStream retrieve(Context context, Bitstream bitstream, long offset, long length)
+        throws SQLException, IOException;
+
+    /**
+     * Get the local file holding the bits for the bitstream with ID, for the
+     * stores keeping their bits in the local file system.
+     *
+     * @param context   The current context
+     * @param bitstream The bitstream to retrieve
+     * @return The file of the bits, or null if the store doesn't keep them in a
+     *         local file
+     * @throws IOException  If a problem occurs while looking for the file
+     * @throws SQLException If a problem occurs accessing the RDBMS
+     */
+    public File retrieveLocalFile(Context context, Bitstream bitstream)
+        throws SQLException, IOException;
+
     /**
      * Clean up the bitstream storage area. This method deletes any bitstreams
      * which are more than 1 hour old and marked deleted. The deletions cannot
@@ -0,0 +1,25 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Create table for the materialized anonymous READ state of the objects
+-----------------------------------------------------------------------------------
+
+CREATE TABLE anonymous_read_state
+(
+    dspace_object_id  UUID NOT NULL,
+    resource_type_id  INTEGER NOT NULL,
+    readable          BOOLEAN NOT NULL,
+    next_transition   TIMESTAMP,
+    last_updated      TIMESTAMP,
+    CONSTRAINT anonymous_read_state_pkey PRIMARY KEY (dspace_object_id),
+    CONSTRAINT anonymous_read_state_dspace_object_id_fkey FOREIGN KEY (dspace_object_id)
+        REFERENCES dspaceobject (uuid) ON DELETE CASCADE
+);
+
+CREATE INDEX anonymous_read_state_next_transition_idx ON anonymous_read_state (next_transition);
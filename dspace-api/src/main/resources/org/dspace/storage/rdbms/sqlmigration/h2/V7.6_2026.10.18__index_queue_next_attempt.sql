@@ -0,0 +1,13 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Delay the next attempt of the records of the indexing queue that failed
+-----------------------------------------------------------------------------------
+
+ALTER TABLE index_queue ADD COLUMN next_attempt_date TIMESTAMP;
@@ -0,0 +1,24 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Create table for the asynchronous discovery indexing queue
+-----------------------------------------------------------------------------------
+
+CREATE SEQUENCE index_queue_id_seq;
+
+CREATE TABLE index_queue
+(
+    id               INTEGER NOT NULL,
+    unique_index_id  VARCHAR(256) NOT NULL,
+    queued_date      TIMESTAMP,
+    attempts         INTEGER,
+    CONSTRAINT index_queue_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX index_queue_unique_index_id_idx ON index_queue (unique_index_id);
@@ -0,0 +1,13 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Find the anonymous READ states that are too old or were invalidated
+-----------------------------------------------------------------------------------
+
+CREATE INDEX anonymous_read_state_last_updated_idx ON anonymous_read_state (last_updated);
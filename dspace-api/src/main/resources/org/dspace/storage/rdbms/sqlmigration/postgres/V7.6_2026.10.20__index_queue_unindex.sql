@@ -0,0 +1,13 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Flag the records of the indexing queue whose documents must be removed first
+-----------------------------------------------------------------------------------
+
+ALTER TABLE index_queue ADD COLUMN unindex BOOLEAN DEFAULT FALSE;
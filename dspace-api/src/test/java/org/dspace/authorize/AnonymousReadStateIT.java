@@ -0,0 +1,253 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.authorize.factory.AuthorizeServiceFactory;
+import org.dspace.authorize.service.AnonymousReadStateService;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.GroupBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
+import org.dspace.eperson.Group;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.eperson.service.GroupService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests of the anonymous READ states stored in the anonymous_read_state table by the
+ * {@link AnonymousReadStateConsumer} and the anonymous-read-state script, and of their use by the
+ * {@link AnonymousReadStateService}.
+ */
+public class AnonymousReadStateIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ConfigurationService configurationService = DSpaceServicesFactory.getInstance()
+                                                                                   .getConfigurationService();
+
+    private final AnonymousReadStateService anonymousReadStateService = AuthorizeServiceFactory.getInstance()
+        .getAnonymousReadStateService();
+
+    private final AuthorizeService authorizeService = AuthorizeServiceFactory.getInstance().getAuthorizeService();
+
+    private final GroupService groupService = EPersonServiceFactory.getInstance().getGroupService();
+
+    private Collection collection;
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        configurationService.setProperty("authorization.anonymous-read-state.enabled", true);
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context)
+                                              .withName("Parent Community")
+                                              .build();
+        collection = CollectionBuilder.createCollection(context, community)
+                                      .withName("Collection")
+                                      .build();
+        context.restoreAuthSystemState();
+        context.commit();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        configurationService.setProperty("authorization.anonymous-read-state.enabled", null);
+        configurationService.setProperty("authorization.anonymous-read-state.max-age", null);
+        super.destroy();
+    }
+
+    @Test
+    public void testStatesStoredByTheConsumer() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item publicItem = ItemBuilder.createItem(context, collection)
+                                     .withTitle("Public item")
+                                     .build();
+        Item embargoedItem = ItemBuilder.createItem(context, collection)
+                                        .withTitle("Embargoed item")
+                                        .withEmbargoPeriod("6 months")
+                                        .build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        AnonymousReadState publicState = anonymousReadStateService.find(context, publicItem);
+        assertNotNull(publicState);
+        assertEquals(Integer.valueOf(Constants.ITEM), publicState.getResourceTypeId());
+        assertTrue(publicState.isReadable());
+        assertNull(publicState.getNextTransition());
+        assertNotNull(publicState.getLastUpdated());
+
+        AnonymousReadState embargoedState = anonymousReadStateService.find(context, embargoedItem);
+        assertFalse(embargoedState.isReadable());
+        // the start of the embargo
+        assertTrue(embargoedState.getNextTransition().after(new Date()));
+
+        // the state is updated when the policies change
+        context.turnOffAuthorisationSystem();
+        authorizeService.removePoliciesActionFilter(context, context.reloadEntity(publicItem), Constants.READ);
+        context.restoreAuthSystemState();
+        context.commit();
+        assertFalse(anonymousReadStateService.find(context, publicItem).isReadable());
+        assertFalse(anonymousReadStateService.isAnonymousReadable(context, publicItem));
+    }
+
+    @Test
+    public void testStateTrustedUntilMaxAge() throws Exception {
+        Item item = createPublicItem();
+
+        // a state that doesn't match the policies anymore is trusted
+        anonymousReadStateService.find(context, item).setReadable(false);
+        context.commit();
+        assertFalse(anonymousReadStateService.isAnonymousReadable(context, item));
+
+        // until it is too old
+        configurationService.setProperty("authorization.anonymous-read-state.max-age", -1);
+        assertTrue(anonymousReadStateService.isAnonymousReadable(context, item));
+    }
+
+    @Test
+    public void testStateNotTrustedAfterItsNextTransition() throws Exception {
+        Item item = createPublicItem();
+
+        AnonymousReadState state = anonymousReadStateService.find(context, item);
+        state.setReadable(false);
+        state.setNextTransition(new Date(System.currentTimeMillis() - 1000));
+        context.commit();
+
+        assertTrue(anonymousReadStateService.isAnonymousReadable(context, item));
+    }
+
+    @Test
+    public void testGroupChangesInvalidateTheStates() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Group readers = GroupBuilder.createGroup(context)
+                                    .withName("Readers")
+                                    .build();
+        Item item = ItemBuilder.createItem(context, collection)
+                               .withTitle("Item")
+                               .withReaderGroup(readers)
+                               .build();
+        context.restoreAuthSystemState();
+        context.commit();
+        assertFalse(anonymousReadStateService.find(context, item).isReadable());
+
+        // the anonymous users become members of the readers
+        context.turnOffAuthorisationSystem();
+        readers = context.reloadEntity(readers);
+        groupService.addMember(context, readers, groupService.findByName(context, Group.ANONYMOUS));
+        groupService.update(context, readers);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertNull(anonymousReadStateService.find(context, item).getLastUpdated());
+        assertTrue(anonymousReadStateService.isAnonymousReadable(context, item));
+    }
+
+    @Test
+    public void testChangesWhileDisabledInvalidateTheStates() throws Exception {
+        Item item = createPublicItem();
+
+        configurationService.setProperty("authorization.anonymous-read-state.enabled", false);
+        context.turnOffAuthorisationSystem();
+        authorizeService.removePoliciesActionFilter(context, context.reloadEntity(item), Constants.READ);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        configurationService.setProperty("authorization.anonymous-read-state.enabled", true);
+        AnonymousReadState state = anonymousReadStateService.find(context, item);
+        assertTrue(state.isReadable());
+        assertNull(state.getLastUpdated());
+        assertFalse(anonymousReadStateService.isAnonymousReadable(context, item));
+    }
+
+    @Test
+    public void testScriptUpdatesTheExpiredStates() throws Exception {
+        Item transitioned = createPublicItem();
+        Item invalidated = createPublicItem();
+
+        AnonymousReadState transitionedState = anonymousReadStateService.find(context, transitioned);
+        transitionedState.setReadable(false);
+        transitionedState.setNextTransition(new Date(System.currentTimeMillis() - 1000));
+        anonymousReadStateService.invalidate(context, List.of(invalidated.getID()));
+        context.commit();
+        assertEquals(2, anonymousReadStateService.findExpired(context, 10).size());
+
+        assertEquals(0, runDSpaceScript("anonymous-read-state"));
+
+        assertTrue(anonymousReadStateService.findExpired(context, 10).isEmpty());
+        for (Item item : List.of(transitioned, invalidated)) {
+            AnonymousReadState state = anonymousReadStateService.find(context, item);
+            assertTrue(state.isReadable());
+            assertNull(state.getNextTransition());
+            assertNotNull(state.getLastUpdated());
+        }
+    }
+
+    @Test
+    public void testBulkCheckFallsBackToThePolicies() throws Exception {
+        Item withState = createPublicItem();
+        Item withoutState = createPublicItem();
+        anonymousReadStateService.delete(context, anonymousReadStateService.find(context, withoutState));
+        anonymousReadStateService.find(context, withState).setReadable(false);
+        context.commit();
+
+        Map<UUID, Boolean> results = anonymousReadStateService.isAnonymousReadable(context,
+            List.of(context.reloadEntity(withState), context.reloadEntity(withoutState)));
+        assertEquals(Map.of(withState.getID(), false, withoutState.getID(), true), results);
+    }
+
+    @Test
+    public void testAuthorizeAnonymousActionBooleanIgnoresTheCurrentUser() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item publicItem = ItemBuilder.createItem(context, collection)
+                                     .withTitle("Public item")
+                                     .build();
+        Item embargoedItem = ItemBuilder.createItem(context, collection)
+                                        .withTitle("Embargoed item")
+                                        .withEmbargoPeriod("6 months")
+                                        .build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        context.setCurrentUser(admin);
+        assertTrue(authorizeService.authorizeAnonymousActionBoolean(context, publicItem, Constants.READ));
+        assertFalse(authorizeService.authorizeAnonymousActionBoolean(context, embargoedItem, Constants.READ));
+        assertTrue(authorizeService.authorizeActionBoolean(context, embargoedItem, Constants.READ));
+    }
+
+    private Item createPublicItem() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection)
+                               .withTitle("Public item")
+                               .build();
+        context.restoreAuthSystemState();
+        context.commit();
+        item = context.reloadEntity(item);
+        assertTrue(anonymousReadStateService.find(context, item).isReadable());
+        return item;
+    }
+
+}
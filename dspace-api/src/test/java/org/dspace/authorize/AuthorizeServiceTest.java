@@ -9,20 +9,32 @@
 package org.dspace.authorize;
 
 import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import org.dspace.AbstractUnitTest;
 import org.dspace.authorize.factory.AuthorizeServiceFactory;
 import org.dspace.authorize.service.ResourcePolicyService;
+import org.dspace.content.Bundle;
+import org.dspace.content.Collection;
 import org.dspace.content.Community;
+import org.dspace.content.Item;
 import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BundleService;
 import org.dspace.content.service.CollectionService;
 import org.dspace.content.service.CommunityService;
+import org.dspace.content.service.InstallItemService;
+import org.dspace.content.service.WorkspaceItemService;
 import org.dspace.core.Constants;
+import org.dspace.core.Context;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
 import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.eperson.service.EPersonService;
 import org.dspace.eperson.service.GroupService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -38,6 +50,10 @@ public class AuthorizeServiceTest extends AbstractUnitTest {
                                                                                    .getResourcePolicyService();
     protected CommunityService communityService = ContentServiceFactory.getInstance().getCommunityService();
     protected CollectionService collectionService = ContentServiceFactory.getInstance().getCollectionService();
+    protected WorkspaceItemService workspaceItemService = ContentServiceFactory.getInstance()
+                                                                               .getWorkspaceItemService();
+    protected InstallItemService installItemService = ContentServiceFactory.getInstance().getInstallItemService();
+    protected BundleService bundleService = ContentServiceFactory.getInstance().getBundleService();
 
     public AuthorizeServiceTest() {
     }
@@ -127,6 +143,198 @@ public class AuthorizeServiceTest extends AbstractUnitTest {
             throw new AssertionError(ex);
         }
     }
+
+    @Test
+    public void testBatchAuthorizeActionBoolean() throws Exception {
+        context.turnOffAuthorisationSystem();
+        EPerson eperson = ePersonService.create(context);
+        Community readable = communityService.create(null, context);
+        Community restricted = communityService.create(null, context);
+        authorizeService.removeAllPolicies(context, restricted);
+        authorizeService.addPolicy(context, restricted, Constants.READ, eperson);
+        context.commit();
+        context.restoreAuthSystemState();
+
+        context.setCurrentUser(null);
+        Map<UUID, Boolean> results = authorizeService.batchAuthorizeActionBoolean(context,
+            List.of(readable, restricted), Constants.READ);
+        Assert.assertEquals(Map.of(readable.getID(), true, restricted.getID(), false), results);
+        Assert.assertFalse(authorizeService.authorizeActionBoolean(context, restricted, Constants.READ));
+
+        context.setCurrentUser(eperson);
+        results = authorizeService.batchAuthorizeActionBoolean(context, List.of(readable, restricted),
+            Constants.READ);
+        Assert.assertEquals(Map.of(readable.getID(), true, restricted.getID(), true), results);
+        Assert.assertTrue(authorizeService.authorizeActionBoolean(context, restricted, Constants.READ));
+    }
+
+    @Test
+    public void testBatchAuthorizationResultsDiscardedByPolicyChanges() throws Exception {
+        context.turnOffAuthorisationSystem();
+        EPerson eperson = ePersonService.create(context);
+        Community community = communityService.create(null, context);
+        Collection collection = collectionService.create(context, community);
+        Item item = installItemService.installItem(context, workspaceItemService.create(context, collection, false));
+        Bundle bundle = bundleService.create(context, item, "ORIGINAL");
+        context.commit();
+        context.restoreAuthSystemState();
+
+        context.setCurrentUser(eperson);
+        Assert.assertEquals(Map.of(bundle.getID(), false),
+            authorizeService.batchAuthorizeActionBoolean(context, List.of(bundle), Constants.WRITE));
+
+        // the policies of the bundles add no event to the context
+        context.turnOffAuthorisationSystem();
+        authorizeService.addPolicy(context, bundle, Constants.WRITE, eperson);
+        context.restoreAuthSystemState();
+        Assert.assertTrue(authorizeService.authorizeActionBoolean(context, bundle, Constants.WRITE));
+    }
+
+    @Test
+    public void testSharedAuthorizationCacheIsInvalidatedByPolicyAndGroupChanges() throws Exception {
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        configurationService.setProperty("authorization.cache.enabled", true);
+        try {
+            context.turnOffAuthorisationSystem();
+            EPerson eperson = ePersonService.create(context);
+            Group group = groupService.create(context);
+            groupService.setName(group, "My test group 3");
+            groupService.addMember(context, group, eperson);
+            groupService.update(context, group);
+            Community dso = communityService.create(null, context);
+            context.commit();
+            context.restoreAuthSystemState();
+
+            // the denial is cached
+            Assert.assertFalse(authorizeService.authorizeActionBoolean(context, eperson, dso, Constants.WRITE, true));
+            Assert.assertFalse(authorizeService.authorizeActionBoolean(context, eperson, dso, Constants.WRITE, true));
+
+            // and invalidated by the new policy when it is committed
+            context.turnOffAuthorisationSystem();
+            authorizeService.addPolicy(context, dso, Constants.WRITE, group);
+            context.commit();
+            context.restoreAuthSystemState();
+            Assert.assertTrue(authorizeService.authorizeActionBoolean(context, eperson, dso, Constants.WRITE, true));
+
+            // and by the removal of the eperson from the group
+            context.turnOffAuthorisationSystem();
+            groupService.removeMember(context, group, eperson);
+            groupService.update(context, group);
+            context.commit();
+            context.restoreAuthSystemState();
+            Assert.assertFalse(authorizeService.authorizeActionBoolean(context, eperson, dso, Constants.WRITE, true));
+        } finally {
+            configurationService.setProperty("authorization.cache.enabled", false);
+        }
+    }
+
+    @Test
+    public void testSharedAuthorizationCacheIsInvalidatedByBundlePolicyChanges() throws Exception {
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        configurationService.setProperty("authorization.cache.enabled", true);
+        try {
+            context.turnOffAuthorisationSystem();
+            EPerson eperson = ePersonService.create(context);
+            Community community = communityService.create(null, context);
+            Collection collection = collectionService.create(context, community);
+            Item item = installItemService.installItem(context,
+                                                       workspaceItemService.create(context, collection, false));
+            Bundle bundle = bundleService.create(context, item, "ORIGINAL");
+            context.commit();
+            context.restoreAuthSystemState();
+
+            Assert.assertFalse(authorizeService.authorizeActionBoolean(context, eperson, bundle, Constants.WRITE,
+                                                                       true));
+
+            // the policies of the bundles fire no event
+            context.turnOffAuthorisationSystem();
+            authorizeService.addPolicy(context, bundle, Constants.WRITE, eperson);
+            context.commit();
+            context.restoreAuthSystemState();
+            Assert.assertTrue(authorizeService.authorizeActionBoolean(context, eperson, bundle, Constants.WRITE,
+                                                                      true));
+
+            context.turnOffAuthorisationSystem();
+            resourcePolicyService.removeAllPolicies(context, bundle);
+            context.commit();
+            context.restoreAuthSystemState();
+            Assert.assertFalse(authorizeService.authorizeActionBoolean(context, eperson, bundle, Constants.WRITE,
+                                                                       true));
+        } finally {
+            configurationService.setProperty("authorization.cache.enabled", false);
+        }
+    }
+
+    @Test
+    public void testSharedAuthorizationCacheIsNotFilledByRolledBackPolicyChanges() throws Exception {
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        configurationService.setProperty("authorization.cache.enabled", true);
+        Context otherContext = new Context();
+        try {
+            context.turnOffAuthorisationSystem();
+            EPerson eperson = ePersonService.create(context);
+            Community community = communityService.create(null, context);
+            Collection collection = collectionService.create(context, community);
+            Item item = installItemService.installItem(context,
+                                                       workspaceItemService.create(context, collection, false));
+            Bundle bundle = bundleService.create(context, item, "ORIGINAL");
+            context.commit();
+            context.restoreAuthSystemState();
+
+            Assert.assertFalse(authorizeService.authorizeActionBoolean(context, eperson, bundle, Constants.WRITE,
+                                                                       true));
+
+            // the uncommitted policy of the bundle, which fires no event, is seen by its context only
+            context.turnOffAuthorisationSystem();
+            authorizeService.addPolicy(context, bundle, Constants.WRITE, eperson);
+            context.restoreAuthSystemState();
+            Assert.assertTrue(authorizeService.authorizeActionBoolean(context, eperson, bundle, Constants.WRITE,
+                                                                      true));
+
+            context.rollback();
+            eperson = context.reloadEntity(eperson);
+            bundle = context.reloadEntity(bundle);
+            Assert.assertFalse(authorizeService.authorizeActionBoolean(context, eperson, bundle, Constants.WRITE,
+                                                                       true));
+            Assert.assertFalse(authorizeService.authorizeActionBoolean(otherContext,
+                otherContext.reloadEntity(eperson), otherContext.reloadEntity(bundle), Constants.WRITE, true));
+        } finally {
+            otherContext.abort();
+            configurationService.setProperty("authorization.cache.enabled", false);
+        }
+    }
+
+    @Test
+    public void testSharedAuthorizationCacheIsInvalidatedOnceCommitted() throws Exception {
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        configurationService.setProperty("authorization.cache.enabled", true);
+        Context otherContext = new Context();
+        try {
+            context.turnOffAuthorisationSystem();
+            EPerson eperson = ePersonService.create(context);
+            Community dso = communityService.create(null, context);
+            context.commit();
+            context.restoreAuthSystemState();
+
+            // the events of the new policy are dispatched before the transaction is committed
+            context.turnOffAuthorisationSystem();
+            authorizeService.addPolicy(context, dso, Constants.WRITE, eperson);
+            context.dispatchEvents();
+            context.restoreAuthSystemState();
+
+            // meanwhile another context caches the decision from the committed state
+            Assert.assertFalse(authorizeService.authorizeActionBoolean(otherContext,
+                otherContext.reloadEntity(eperson), otherContext.reloadEntity(dso), Constants.WRITE, true));
+
+            // which is invalidated by the commit
+            context.commit();
+            Assert.assertTrue(authorizeService.authorizeActionBoolean(otherContext,
+                otherContext.reloadEntity(eperson), otherContext.reloadEntity(dso), Constants.WRITE, true));
+        } finally {
+            otherContext.abort();
+            configurationService.setProperty("authorization.cache.enabled", false);
+        }
+    }
 //
 //    @Test
 //    public void testIsCollectionAdmin() throws SQLException, AuthorizeException, IOException {
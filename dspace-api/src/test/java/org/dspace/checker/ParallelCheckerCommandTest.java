@@ -0,0 +1,146 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.checker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.util.concurrent.RateLimiter;
+import org.dspace.AbstractUnitTest;
+import org.dspace.checker.factory.CheckerServiceFactory;
+import org.dspace.checker.service.MostRecentChecksumService;
+import org.dspace.content.Bitstream;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamService;
+import org.dspace.core.Context;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ParallelCheckerCommand}.
+ */
+public class ParallelCheckerCommandTest extends AbstractUnitTest {
+
+    private final BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
+
+    private final MostRecentChecksumService checksumService = CheckerServiceFactory.getInstance()
+                                                                                   .getMostRecentChecksumService();
+
+    private final List<UUID> bitstreams = new ArrayList<>();
+
+    private Date processStart;
+
+    @Before
+    public void setUp() throws Exception {
+        context.turnOffAuthorisationSystem();
+        for (int i = 1; i <= 3; i++) {
+            Bitstream bitstream = bitstreamService.create(context, new ByteArrayInputStream(new byte[1000 + i]));
+            bitstreamService.update(context, bitstream);
+            bitstreams.add(bitstream.getID());
+        }
+        context.restoreAuthSystemState();
+        checksumService.updateMissingBitstreams(context);
+        context.commit();
+        Thread.sleep(10);
+        processStart = new Date();
+    }
+
+    @Test
+    public void testEachCheckIsCommittedBeforeDone() throws Exception {
+        List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        Set<UUID> done = ConcurrentHashMap.newKeySet();
+        ParallelDispatcher dispatcher = new ParallelDispatcher(context, processStart, false, 2) {
+            @Override
+            public synchronized void done(UUID bitstreamId) {
+                if (bitstreams.contains(bitstreamId)) {
+                    done.add(bitstreamId);
+                    // read with another Context, which only sees the committed records
+                    if (!isCheckedSinceStart(bitstreamId)) {
+                        errors.add("The check of " + bitstreamId + " was not committed when done");
+                    }
+                }
+                super.done(bitstreamId);
+            }
+        };
+
+        ParallelCheckerCommand checker = newChecker(dispatcher);
+        checker.process();
+
+        assertEquals(List.of(), errors);
+        assertEquals(Set.copyOf(bitstreams), done);
+        assertEquals(0, checker.getFailures());
+    }
+
+    @Test
+    public void testRateLimiterSharedByTheWorkers() throws Exception {
+        RateLimiter rateLimiter = mock(RateLimiter.class);
+        ParallelCheckerCommand checker = newChecker(new ParallelDispatcher(context, processStart, false, 2));
+        checker.setRateLimiter(rateLimiter);
+        checker.process();
+
+        // each bitstream reserves its size from the budget
+        verify(rateLimiter).acquire(1001);
+        verify(rateLimiter).acquire(1002);
+        verify(rateLimiter).acquire(1003);
+    }
+
+    @Test
+    public void testFailedCheckDoesNotStopTheRun() throws Exception {
+        UUID failing = bitstreams.get(0);
+        ParallelCheckerCommand checker = newChecker(new ParallelDispatcher(context, processStart, false, 2));
+        checker.setCollector((collectorContext, info) -> {
+            if (failing.equals(info.getBitstream().getID())) {
+                throw new SQLException("Failed to collect");
+            }
+        });
+        checker.process();
+
+        assertEquals(1, checker.getFailures());
+        // the failed check is rolled back, to be done again by the next run
+        assertFalse(isCheckedSinceStart(failing));
+        assertTrue(isCheckedSinceStart(bitstreams.get(1)));
+        assertTrue(isCheckedSinceStart(bitstreams.get(2)));
+    }
+
+    private ParallelCheckerCommand newChecker(ParallelDispatcher dispatcher) {
+        ParallelCheckerCommand checker = new ParallelCheckerCommand(context, 2);
+        checker.setProcessStartDate(processStart);
+        checker.setDispatcher(dispatcher);
+        checker.setReportVerbose(true);
+        checker.setCollector((collectorContext, info) -> { });
+        return checker;
+    }
+
+    /**
+     * @return whether the committed record of the bitstream has been checked since the start of the run
+     */
+    private boolean isCheckedSinceStart(UUID bitstreamId) {
+        Context otherContext = new Context();
+        try {
+            Bitstream bitstream = bitstreamService.find(otherContext, bitstreamId);
+            return !checksumService.findByBitstream(otherContext, bitstream).getProcessEndDate().before(processStart);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        } finally {
+            otherContext.abort();
+        }
+    }
+}
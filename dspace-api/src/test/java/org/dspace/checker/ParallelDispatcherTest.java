@@ -0,0 +1,95 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.checker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.AbstractUnitTest;
+import org.dspace.checker.factory.CheckerServiceFactory;
+import org.dspace.checker.service.MostRecentChecksumService;
+import org.dspace.content.Bitstream;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamService;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ParallelDispatcher}.
+ */
+public class ParallelDispatcherTest extends AbstractUnitTest {
+
+    private final BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
+
+    private final MostRecentChecksumService checksumService = CheckerServiceFactory.getInstance()
+                                                                                   .getMostRecentChecksumService();
+
+    private int records;
+
+    @Before
+    public void setUp() throws Exception {
+        context.turnOffAuthorisationSystem();
+        for (int i = 0; i < 3; i++) {
+            Bitstream bitstream = bitstreamService.create(context, new ByteArrayInputStream(new byte[] {(byte) i}));
+            bitstreamService.update(context, bitstream);
+        }
+        context.restoreAuthSystemState();
+        checksumService.updateMissingBitstreams(context);
+        context.commit();
+        records = checksumService.findOldestRecords(context, null, Integer.MAX_VALUE).size();
+    }
+
+    @Test
+    public void testNextSkipsBitstreamsInFlight() throws Exception {
+        ParallelDispatcher dispatcher = new ParallelDispatcher(context, null, true, 1);
+
+        Set<UUID> dispatched = new HashSet<>();
+        for (int i = 0; i < records; i++) {
+            Bitstream bitstream = dispatcher.next();
+            assertNotNull(bitstream);
+            assertTrue("A bitstream in flight was dispatched again", dispatched.add(bitstream.getID()));
+        }
+        assertTrue(records >= 3);
+    }
+
+    @Test
+    public void testNextDispatchesAgainOnceDone() throws Exception {
+        ParallelDispatcher dispatcher = new ParallelDispatcher(context, null, true, 2);
+
+        UUID first = dispatcher.next().getID();
+        for (int i = 1; i < records; i++) {
+            dispatcher.next();
+        }
+        dispatcher.done(first);
+
+        // the first bitstream is the only one not in flight
+        assertEquals(first, dispatcher.next().getID());
+    }
+
+    @Test
+    public void testFailedBitstreamNotDispatchedAgain() throws Exception {
+        ParallelDispatcher dispatcher = new ParallelDispatcher(context, null, true, 2);
+
+        UUID first = dispatcher.next().getID();
+        for (int i = 1; i < records; i++) {
+            dispatcher.done(dispatcher.next().getID());
+        }
+        dispatcher.failed(first);
+
+        Bitstream next = dispatcher.next();
+        assertNotNull(next);
+        assertNotEquals(first, next.getID());
+    }
+}
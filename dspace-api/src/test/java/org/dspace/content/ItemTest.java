@@ -33,6 +33,7 @@ import java.util.Arrays;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import org.apache.commons.lang3.time.DateUtils;
@@ -719,6 +720,28 @@ public class ItemTest extends AbstractDSpaceObjectTest {
         assertTrue("testClearMetadata 1", dc.size() == 0);
     }
 
+    /**
+     * Test of the metadata fields tracked by clearMetadata and setMetadataSingleValue, of class Item.
+     */
+    @Test
+    public void testClearMetadataTracksTheModifiedFields() throws Exception {
+        context.turnOffAuthorisationSystem();
+        itemService.update(context, it);
+        context.restoreAuthSystemState();
+        assertEquals(Set.of(), it.getModifiedMetadataFields());
+
+        // the metadata is flagged as modified even if there is nothing to clear, without losing the tracked fields
+        itemService.clearMetadata(context, it, "dc", "subject", null, Item.ANY);
+        assertTrue(it.isMetadataModified());
+        assertEquals(Set.of(), it.getModifiedMetadataFields());
+
+        itemService.setMetadataSingleValue(context, it, "dc", "title", null, null, "Title");
+        itemService.addMetadata(context, it, "dc", "subject", null, null, "Subject");
+        itemService.removeMetadataValues(context, it, itemService.getMetadata(it, "dc", "subject", null, Item.ANY));
+        assertTrue(it.isMetadataModified());
+        assertEquals(Set.of("dc_title", "dc_subject"), it.getModifiedMetadataFields());
+    }
+
     /**
      * Test of getSubmitter method, of class Item.
      */
@@ -0,0 +1,83 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.security;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dspace.core.Context;
+import org.dspace.layout.service.CrisLayoutBoxService;
+import org.dspace.services.ConfigurationService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Unit tests for {@link MetadataVisibilityPlanCache}
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class MetadataVisibilityPlanCacheTest {
+
+    @Mock
+    private ConfigurationService configurationService;
+
+    @Mock
+    private CrisLayoutBoxService crisLayoutBoxService;
+
+    @Mock
+    private Context context;
+
+    @InjectMocks
+    private MetadataVisibilityPlanCache metadataVisibilityPlanCache;
+
+    /**
+     * The tasks registered to run after the commit of the context
+     */
+    private final List<Runnable> afterCommitTasks = new ArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        when(configurationService.getBooleanProperty("metadata.security.visibility-plan.cache.enabled", false))
+            .thenReturn(true);
+        when(configurationService.getLongProperty(eq("metadata.security.visibility-plan.cache.ttl"), anyLong()))
+            .thenReturn(300L);
+        when(crisLayoutBoxService.findByEntityType(context, "Person", 1000, 0)).thenReturn(List.of());
+        doAnswer(invocation -> afterCommitTasks.add(invocation.getArgument(0)))
+            .when(context).afterCommit(any(Runnable.class));
+    }
+
+    @Test
+    public void testPlanIsCached() throws Exception {
+        MetadataVisibilityPlan plan = metadataVisibilityPlanCache.getPlan(context, "Person");
+        assertSame(plan, metadataVisibilityPlanCache.getPlan(context, "Person"));
+    }
+
+    @Test
+    public void testPlanIsInvalidatedOnceCommitted() throws Exception {
+        MetadataVisibilityPlan plan = metadataVisibilityPlanCache.getPlan(context, "Person");
+        metadataVisibilityPlanCache.invalidateAllAfterCommit(context);
+
+        // a plan compiled from the previous layout before the commit
+        assertSame(plan, metadataVisibilityPlanCache.getPlan(context, "Person"));
+
+        afterCommitTasks.forEach(Runnable::run);
+        assertNotSame(plan, metadataVisibilityPlanCache.getPlan(context, "Person"));
+    }
+
+}
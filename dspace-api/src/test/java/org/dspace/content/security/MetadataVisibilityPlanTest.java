@@ -0,0 +1,89 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content.security;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dspace.content.MetadataField;
+import org.dspace.layout.CrisLayoutBox;
+import org.dspace.layout.CrisLayoutField;
+import org.dspace.layout.CrisLayoutFieldMetadata;
+import org.dspace.layout.CrisMetadataGroup;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link MetadataVisibilityPlan}
+ */
+public class MetadataVisibilityPlanTest {
+
+    @Test
+    public void testCompileWithoutBoxes() {
+        MetadataVisibilityPlan plan = MetadataVisibilityPlan.compile(List.of());
+        assertFalse(plan.hasBoxes());
+    }
+
+    @Test
+    public void testCompile() {
+        MetadataField title = metadataField(1);
+        MetadataField email = metadataField(2);
+        MetadataField affiliation = metadataField(3);
+        MetadataField notInBoxes = metadataField(4);
+
+        CrisLayoutBox publicBox = box(10, true, field(title, List.of()));
+        CrisLayoutBox privateBox = box(20, false, field(email, List.of(affiliation)));
+        CrisLayoutBox otherPrivateBox = box(30, false, field(email, List.of()));
+
+        MetadataVisibilityPlan plan = MetadataVisibilityPlan.compile(List.of(publicBox, privateBox, otherPrivateBox));
+
+        assertTrue(plan.hasBoxes());
+        assertTrue(plan.isPublic(title));
+        assertFalse(plan.isPublic(email));
+        assertFalse(plan.isPublic(notInBoxes));
+        assertThat(plan.getNotPublicBoxIds(email), contains(20, 30));
+        assertThat(plan.getNotPublicBoxIds(affiliation), contains(20));
+        assertThat(plan.getNotPublicBoxIds(title), empty());
+        assertThat(plan.getNotPublicBoxIds(notInBoxes), empty());
+    }
+
+    private MetadataField metadataField(int id) {
+        MetadataField metadataField = mock(MetadataField.class);
+        when(metadataField.getID()).thenReturn(id);
+        return metadataField;
+    }
+
+    private CrisLayoutField field(MetadataField metadataField, List<MetadataField> nestedFields) {
+        CrisLayoutField field = mock(CrisLayoutFieldMetadata.class);
+        when(field.getMetadataField()).thenReturn(metadataField);
+        List<CrisMetadataGroup> metadataGroups = new ArrayList<>();
+        for (MetadataField nestedField : nestedFields) {
+            CrisMetadataGroup metadataGroup = mock(CrisMetadataGroup.class);
+            when(metadataGroup.getMetadataField()).thenReturn(nestedField);
+            metadataGroups.add(metadataGroup);
+        }
+        when(field.getCrisMetadataGroupList()).thenReturn(metadataGroups);
+        return field;
+    }
+
+    private CrisLayoutBox box(int id, boolean isPublic, CrisLayoutField field) {
+        CrisLayoutBox box = mock(CrisLayoutBox.class);
+        when(box.getID()).thenReturn(id);
+        when(box.isPublic()).thenReturn(isPublic);
+        when(box.getLayoutFields()).thenReturn(List.of(field));
+        return box;
+    }
+
+}
@@ -21,6 +21,7 @@ import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
@@ -558,4 +559,66 @@ public class ContextTest extends AbstractUnitTest {
         cleanupContext(instance);
     }
 
+    /**
+     * Test of afterCommit method, of class Context.
+     */
+    @Test
+    public void testAfterCommit() throws SQLException {
+        Context instance = new Context();
+        List<String> runs = new ArrayList<>();
+        instance.afterCommit(() -> runs.add("first"));
+        instance.afterCommit(() -> {
+            throw new IllegalStateException("failing task");
+        });
+        instance.afterCommit(() -> {
+            runs.add("second");
+            // registered for the next commit
+            instance.afterCommit(() -> runs.add("third"));
+        });
+        assertThat("testAfterCommit 0", runs.isEmpty(), equalTo(true));
+
+        instance.commit();
+        assertThat("testAfterCommit 1", runs, equalTo(List.of("first", "second")));
+
+        instance.commit();
+        assertThat("testAfterCommit 2", runs, equalTo(List.of("first", "second", "third")));
+
+        // Cleanup our context
+        cleanupContext(instance);
+    }
+
+    /**
+     * Test that the tasks of afterCommit are discarded by rollback and abort, of class Context.
+     */
+    @Test
+    public void testAfterCommitDiscardedOnRollback() throws SQLException {
+        Context instance = new Context();
+        List<String> runs = new ArrayList<>();
+        instance.afterCommit(() -> runs.add("rolled back"));
+        instance.rollback();
+        instance.commit();
+        assertThat("testAfterCommitDiscardedOnRollback 0", runs.isEmpty(), equalTo(true));
+
+        instance.afterCommit(() -> runs.add("aborted"));
+        instance.abort();
+        assertThat("testAfterCommitDiscardedOnRollback 1", runs.isEmpty(), equalTo(true));
+
+        // Cleanup our context
+        cleanupContext(instance);
+    }
+
+    @Test
+    public void testTransactionNumber() throws SQLException {
+        Context instance = new Context();
+        long first = instance.getTransactionNumber();
+        instance.commit();
+        long second = instance.getTransactionNumber();
+        assertThat("testTransactionNumber 0", second == first, equalTo(false));
+        instance.rollback();
+        assertThat("testTransactionNumber 1", instance.getTransactionNumber() == second, equalTo(false));
+
+        // Cleanup our context
+        cleanupContext(instance);
+    }
+
 }
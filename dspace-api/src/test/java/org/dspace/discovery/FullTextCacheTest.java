@@ -0,0 +1,150 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.tika.metadata.Metadata;
+import org.dspace.services.ConfigurationService;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Unit tests for {@link FullTextCache}.
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class FullTextCacheTest {
+
+    private static final int CHAR_LIMIT = 1000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Mock
+    private ConfigurationService configurationService;
+
+    @InjectMocks
+    private FullTextCache fullTextCache;
+
+    @Before
+    public void setUp() {
+        when(configurationService.getBooleanProperty("discovery.index.fulltext.cache.enabled", false))
+            .thenReturn(true);
+        when(configurationService.getProperty("discovery.index.fulltext.cache.dir"))
+            .thenReturn(folder.getRoot().getAbsolutePath());
+        when(configurationService.getLongProperty(eq("discovery.index.fulltext.cache.max-size"), anyLong()))
+            .thenReturn(1L);
+    }
+
+    @Test
+    public void testNoKeyWhenDisabled() {
+        when(configurationService.getBooleanProperty("discovery.index.fulltext.cache.enabled", false))
+            .thenReturn(false);
+
+        assertNull(fullTextCache.getKey(List.of("a1"), CHAR_LIMIT));
+    }
+
+    @Test
+    public void testNoKeyWithoutChecksums() {
+        assertNull(fullTextCache.getKey(List.of(), CHAR_LIMIT));
+        assertNull(fullTextCache.getKey(null, CHAR_LIMIT));
+    }
+
+    @Test
+    public void testHitWithSameChecksums() {
+        Metadata metadata = new Metadata();
+        metadata.add("Content-Type", "text/plain");
+        metadata.add("Author", "Smith");
+        metadata.add("Author", "Doe");
+        fullTextCache.put(fullTextCache.getKey(List.of("a1", "b2"), CHAR_LIMIT), "the full text", metadata);
+
+        Metadata cachedMetadata = new Metadata();
+        assertEquals("the full text",
+                     fullTextCache.get(fullTextCache.getKey(List.of("a1", "b2"), CHAR_LIMIT), cachedMetadata));
+        assertEquals("text/plain", cachedMetadata.get("Content-Type"));
+        assertArrayEquals(new String[] {"Smith", "Doe"}, cachedMetadata.getValues("Author"));
+    }
+
+    @Test
+    public void testMissBeforePut() {
+        Metadata metadata = new Metadata();
+        assertNull(fullTextCache.get(fullTextCache.getKey(List.of("a1"), CHAR_LIMIT), metadata));
+        assertEquals(0, metadata.names().length);
+    }
+
+    @Test
+    public void testMissWhenChecksumChanges() {
+        String key = fullTextCache.getKey(List.of("a1", "b2"), CHAR_LIMIT);
+        fullTextCache.put(key, "the full text", new Metadata());
+
+        // a bitstream replaced, reordered or added, or another character limit
+        String changed = fullTextCache.getKey(List.of("a1", "c3"), CHAR_LIMIT);
+        String reordered = fullTextCache.getKey(List.of("b2", "a1"), CHAR_LIMIT);
+        String added = fullTextCache.getKey(List.of("a1", "b2", "c3"), CHAR_LIMIT);
+        String otherLimit = fullTextCache.getKey(List.of("a1", "b2"), CHAR_LIMIT + 1);
+        for (String otherKey : List.of(changed, reordered, added, otherLimit)) {
+            assertNotEquals(key, otherKey);
+            assertNull(fullTextCache.get(otherKey, new Metadata()));
+        }
+        assertNotNull(fullTextCache.get(key, new Metadata()));
+    }
+
+    @Test
+    public void testSizeBoundRemovesLeastRecentlyUsed() throws Exception {
+        // three entries of 400 KB in a cache of 1 MB
+        String text = StringUtils.repeat('x', 400 * 1024);
+        String first = fullTextCache.getKey(List.of("first"), CHAR_LIMIT);
+        String second = fullTextCache.getKey(List.of("second"), CHAR_LIMIT);
+        String third = fullTextCache.getKey(List.of("third"), CHAR_LIMIT);
+
+        fullTextCache.put(first, text, new Metadata());
+        fullTextCache.put(second, text, new Metadata());
+        // the second entry is the least recently used one, even if the first one was written before it
+        setLastUsed(first, System.currentTimeMillis() - 60000);
+        setLastUsed(second, System.currentTimeMillis() - 120000);
+        assertNotNull(fullTextCache.get(first, new Metadata()));
+
+        fullTextCache.put(third, text, new Metadata());
+
+        assertNotNull(fullTextCache.get(first, new Metadata()));
+        assertNull(fullTextCache.get(second, new Metadata()));
+        assertNotNull(fullTextCache.get(third, new Metadata()));
+    }
+
+    @Test
+    public void testEntryLargerThanCacheIsRemoved() {
+        String key = fullTextCache.getKey(List.of("a1"), CHAR_LIMIT);
+        fullTextCache.put(key, StringUtils.repeat('x', 2 * 1024 * 1024), new Metadata());
+
+        assertNull(fullTextCache.get(key, new Metadata()));
+    }
+
+    private void setLastUsed(String key, long millis) throws Exception {
+        Path file = folder.getRoot().toPath().resolve(key.substring(0, 2)).resolve(key);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(millis));
+    }
+}
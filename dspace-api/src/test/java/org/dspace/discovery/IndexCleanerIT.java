@@ -0,0 +1,170 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.Item;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.discovery.indexobject.factory.IndexFactory;
+import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.Test;
+
+/**
+ * Integration tests of the cleaning of the discovery index by {@link IndexCleaner}.
+ */
+public class IndexCleanerIT extends AbstractIntegrationTestWithDatabase {
+
+    private final SolrServiceImpl solrService = (SolrServiceImpl) DSpaceServicesFactory.getInstance()
+        .getServiceManager().getServiceByName(IndexingService.class.getName(), IndexingService.class);
+
+    @Test
+    public void testOrphansAreRemoved() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context)
+                                              .withName("Parent Community")
+                                              .build();
+        Collection collection = CollectionBuilder.createCollection(context, community)
+                                                 .withName("Collection")
+                                                 .build();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            items.add(ItemBuilder.createItem(context, collection)
+                                 .withTitle("Item " + i)
+                                 .build());
+        }
+        context.restoreAuthSystemState();
+        // the workers check the objects with their own Context
+        context.commit();
+
+        SolrClient solr = solrService.solrSearchCore.getSolr();
+        List<String> orphans = addOrphanItems(solr, 5);
+        addInprogressDocument(solr, orphans.get(0));
+        solr.commit();
+        assertEquals(8, countItemDocuments(solr));
+
+        // batches smaller than the number of documents, checked by several workers
+        solrService.cleanIndex(3, 2, null);
+
+        assertEquals(3, countItemDocuments(solr));
+        for (Item item : items) {
+            assertEquals(1, count(solr, SearchUtils.RESOURCE_UNIQUE_ID + ":"
+                + new IndexableItem(item).getUniqueIndexID()));
+        }
+        assertEquals(0, count(solr, "inprogress.item:\"" + orphans.get(0) + "\""));
+    }
+
+    @Test
+    public void testDeleteMoreOrphansThanBooleanClauses() throws Exception {
+        SolrClient solr = solrService.solrSearchCore.getSolr();
+        List<String> orphans = addOrphanItems(solr, 1100);
+        addInprogressDocument(solr, orphans.get(orphans.size() - 1));
+        solr.commit();
+
+        // a single batch, deleted with more identifiers than the default maxBooleanClauses of Solr
+        solrService.cleanIndex(1, 2000, null);
+
+        assertEquals(0, countItemDocuments(solr));
+        assertEquals(0, count(solr, "inprogress.item:\"" + orphans.get(orphans.size() - 1) + "\""));
+    }
+
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public void testFailuresPropagate() throws Exception {
+        SolrClient solr = solrService.solrSearchCore.getSolr();
+        addOrphanItems(solr, 2);
+        solr.commit();
+
+        // a factory unable to check the objects
+        IndexFactory failingFactory = mock(IndexFactory.class);
+        when(failingFactory.getType()).thenReturn(IndexableItem.TYPE);
+        when(failingFactory.findExistingIds(any(), anyList()))
+            .thenThrow(new IllegalStateException("unable to check the objects"));
+
+        SolrServiceImpl failingService = mock(SolrServiceImpl.class);
+        failingService.indexObjectServiceFactory = mock(IndexObjectFactoryFactory.class);
+        failingService.solrSearchCore = solrService.solrSearchCore;
+        when(failingService.indexObjectServiceFactory.getIndexFactoryByType(anyString())).thenReturn(failingFactory);
+        doCallRealMethod().when(failingService).cleanIndex(anyInt(), anyInt(), any());
+
+        try {
+            failingService.cleanIndex(2, 10, null);
+            fail("The failures of the workers must be reported");
+        } catch (SearchServiceException e) {
+            assertTrue(e.getMessage().contains("could not be checked"));
+        }
+        // nothing was deleted
+        assertEquals(2, countItemDocuments(solr));
+    }
+
+    /**
+     * Add to the index the documents of items that don't exist in the database.
+     *
+     * @return the unique index identifiers of the documents
+     */
+    private List<String> addOrphanItems(SolrClient solr, int count) throws Exception {
+        List<String> uniqueIds = new ArrayList<>();
+        List<SolrInputDocument> documents = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String id = UUID.randomUUID().toString();
+            String uniqueId = IndexableItem.TYPE + "-" + id;
+            SolrInputDocument document = new SolrInputDocument();
+            document.addField(SearchUtils.RESOURCE_UNIQUE_ID, uniqueId);
+            document.addField(SearchUtils.RESOURCE_TYPE_FIELD, IndexableItem.TYPE);
+            document.addField(SearchUtils.RESOURCE_ID_FIELD, id);
+            documents.add(document);
+            uniqueIds.add(uniqueId);
+        }
+        solr.add(documents);
+        return uniqueIds;
+    }
+
+    /**
+     * Add to the index the document of a workspace item of the given item, with no type so that it's only removed
+     * along with the item.
+     */
+    private void addInprogressDocument(SolrClient solr, String itemUniqueId) throws Exception {
+        SolrInputDocument document = new SolrInputDocument();
+        document.addField(SearchUtils.RESOURCE_UNIQUE_ID, "inprogress-" + itemUniqueId);
+        document.addField("inprogress.item", itemUniqueId);
+        solr.add(document);
+    }
+
+    private long countItemDocuments(SolrClient solr) throws Exception {
+        return count(solr, SearchUtils.RESOURCE_TYPE_FIELD + ":" + IndexableItem.TYPE);
+    }
+
+    private long count(SolrClient solr, String query) throws Exception {
+        SolrQuery solrQuery = new SolrQuery(query);
+        solrQuery.setRows(0);
+        return solr.query(solrQuery).getResults().getNumFound();
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.Item;
+import org.dspace.content.WorkspaceItem;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.InstallItemService;
+import org.dspace.content.service.ItemService;
+import org.dspace.content.service.WorkspaceItemService;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests of the indexing of the large transactions by the discovery consumer, whose documents are built
+ * by worker threads reading the committed changes with their own Context.
+ */
+public class IndexEventConsumerParallelIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final int ITEMS = 4;
+
+    private final ConfigurationService configurationService = DSpaceServicesFactory.getInstance()
+                                                                                   .getConfigurationService();
+
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+
+    private final WorkspaceItemService workspaceItemService = ContentServiceFactory.getInstance()
+                                                                                   .getWorkspaceItemService();
+
+    private final InstallItemService installItemService = ContentServiceFactory.getInstance()
+                                                                               .getInstallItemService();
+
+    private final SolrServiceImpl solrService = (SolrServiceImpl) DSpaceServicesFactory.getInstance()
+        .getServiceManager().getServiceByName(IndexingService.class.getName(), IndexingService.class);
+
+    private Collection collection;
+
+    private final List<Item> items = new ArrayList<>();
+
+    private final List<UUID> createdItems = new ArrayList<>();
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context)
+                                              .withName("Parent Community")
+                                              .build();
+        collection = CollectionBuilder.createCollection(context, community)
+                                      .withName("Collection")
+                                      .build();
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(ItemBuilder.createItem(context, collection)
+                                 .withTitle("Title " + i)
+                                 .build());
+        }
+        context.restoreAuthSystemState();
+        context.commit();
+
+        configurationService.setProperty("discovery.index.parallel.threshold", 3);
+        configurationService.setProperty("discovery.index.parallel.threads", 2);
+        configurationService.setProperty("discovery.index.parallel.batch-size", 2);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        configurationService.setProperty("discovery.index.parallel.threshold", null);
+        configurationService.setProperty("discovery.index.parallel.threads", null);
+        configurationService.setProperty("discovery.index.parallel.batch-size", null);
+        for (UUID id : createdItems) {
+            ItemBuilder.deleteItem(id);
+        }
+        super.destroy();
+    }
+
+    @Test
+    public void testLargeTransactionIndexedOnceCommitted() throws Exception {
+        context.turnOffAuthorisationSystem();
+        for (int i = 0; i < ITEMS; i++) {
+            Item item = context.reloadEntity(items.get(i));
+            itemService.clearMetadata(context, item, "dc", "title", null, Item.ANY);
+            itemService.addMetadata(context, item, "dc", "title", null, null, "Changed title " + i);
+            itemService.update(context, item);
+        }
+        for (int i = 0; i < 2; i++) {
+            WorkspaceItem workspaceItem = workspaceItemService.create(context, context.reloadEntity(collection),
+                                                                      false);
+            Item item = workspaceItem.getItem();
+            itemService.addMetadata(context, item, "dc", "title", null, null, "New title " + i);
+            createdItems.add(installItemService.installItem(context, workspaceItem).getID());
+        }
+        context.restoreAuthSystemState();
+        context.commit();
+
+        for (int i = 0; i < ITEMS; i++) {
+            assertEquals(List.of("Changed title " + i), getTitles(items.get(i).getID()));
+        }
+        for (int i = 0; i < createdItems.size(); i++) {
+            assertEquals(List.of("New title " + i), getTitles(createdItems.get(i)));
+        }
+    }
+
+    @Test
+    public void testRolledBackTransactionNotIndexed() throws Exception {
+        context.turnOffAuthorisationSystem();
+        for (int i = 0; i < ITEMS; i++) {
+            Item item = context.reloadEntity(items.get(i));
+            itemService.clearMetadata(context, item, "dc", "title", null, Item.ANY);
+            itemService.addMetadata(context, item, "dc", "title", null, null, "Changed title " + i);
+            itemService.update(context, item);
+        }
+        context.restoreAuthSystemState();
+        context.dispatchEvents();
+        context.rollback();
+        context.commit();
+
+        // the documents are neither removed nor updated
+        for (int i = 0; i < ITEMS; i++) {
+            assertEquals(List.of("Title " + i), getTitles(items.get(i).getID()));
+        }
+    }
+
+    private List<Object> getTitles(UUID itemId) throws Exception {
+        SolrQuery query = new SolrQuery(SearchUtils.RESOURCE_UNIQUE_ID + ":" + IndexableItem.TYPE + "-" + itemId);
+        SolrDocumentList documents = solrService.solrSearchCore.getSolr().query(query).getResults();
+        assertEquals(1, documents.size());
+        SolrDocument document = documents.get(0);
+        return new ArrayList<>(document.getFieldValues("dc.title"));
+    }
+}
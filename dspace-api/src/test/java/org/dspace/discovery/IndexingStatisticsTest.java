@@ -0,0 +1,120 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.services.ConfigurationService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Unit tests for {@link IndexingStatistics}. The durations are simulated by passing a start time in the past.
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class IndexingStatisticsTest {
+
+    @Mock
+    private ConfigurationService configurationService;
+
+    @InjectMocks
+    private IndexingStatistics indexingStatistics;
+
+    @Before
+    public void setUp() throws Exception {
+        when(configurationService.getBooleanProperty("discovery.index.statistics.enabled", false)).thenReturn(true);
+    }
+
+    @Test
+    public void testWithoutRecords() {
+        assertTrue(indexingStatistics.getStatistics().isEmpty());
+        assertEquals(List.of(), indexingStatistics.getSummary());
+    }
+
+    @Test
+    public void testOneRecord() {
+        SolrInputDocument document = new SolrInputDocument();
+        document.addField("dc.title", "Title");
+        document.addField("dc.subject", "One");
+        document.addField("dc.subject", "Two");
+        indexingStatistics.recordDocument("Item", "build", startedMillisAgo(3), document);
+
+        Map<String, Object> build = indexingStatistics.getStatistics().get("factory Item build");
+        assertEquals(1L, build.get("count"));
+        assertEquals(3L, build.get("totalMs"));
+        assertEquals(3L, build.get("maxMs"));
+        // the upper bound of the 2-5ms bucket, whatever the percentile
+        assertEquals(5L, build.get("p50Ms"));
+        assertEquals(5L, build.get("p95Ms"));
+        assertEquals(5L, build.get("p99Ms"));
+        assertEquals(2L, build.get("fields"));
+        assertEquals(3L, build.get("values"));
+        assertEquals(11L, build.get("bytes"));
+    }
+
+    @Test
+    public void testPercentilesOfTheHistogram() {
+        for (int i = 0; i < 18; i++) {
+            indexingStatistics.recordDocument("Item", "build", startedMillisAgo(0), null);
+        }
+        indexingStatistics.recordDocument("Item", "build", startedMillisAgo(30), null);
+        indexingStatistics.recordDocument("Item", "build", startedMillisAgo(7000), null);
+
+        Map<String, Object> build = indexingStatistics.getStatistics().get("factory Item build");
+        assertEquals(20L, build.get("count"));
+        assertEquals(7000L, build.get("maxMs"));
+        // 10th, 19th and 20th durations: under 1ms, in the 20-50ms bucket and in the unbounded bucket
+        assertEquals(1L, build.get("p50Ms"));
+        assertEquals(50L, build.get("p95Ms"));
+        assertEquals(-1L, build.get("p99Ms"));
+    }
+
+    @Test
+    public void testSlowestFirstAndReset() {
+        indexingStatistics.recordDocument("Item", "build", startedMillisAgo(3), null);
+        indexingStatistics.recordDocument("Item", "write", startedMillisAgo(30), null);
+        indexingStatistics.recordDocument("Collection", "build", startedMillisAgo(0), null);
+
+        assertEquals(List.of("factory Item write", "factory Item build", "factory Collection build"),
+                     List.copyOf(indexingStatistics.getStatistics().keySet()));
+        assertEquals(3, indexingStatistics.getSummary().size());
+
+        indexingStatistics.reset();
+        assertTrue(indexingStatistics.getStatistics().isEmpty());
+
+        // recorded again from scratch after the reset
+        indexingStatistics.recordDocument("Item", "build", startedMillisAgo(3), null);
+        assertEquals(1L, indexingStatistics.getStatistics().get("factory Item build").get("count"));
+    }
+
+    @Test
+    public void testDisabled() {
+        when(configurationService.getBooleanProperty("discovery.index.statistics.enabled", false)).thenReturn(false);
+
+        long start = indexingStatistics.start();
+        assertEquals(0, start);
+        indexingStatistics.recordDocument("Item", "build", start, new SolrInputDocument());
+
+        assertTrue(indexingStatistics.getStatistics().isEmpty());
+    }
+
+    private long startedMillisAgo(long millis) {
+        return System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
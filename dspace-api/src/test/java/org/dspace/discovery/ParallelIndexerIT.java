@@ -0,0 +1,150 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.common.SolrDocument;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.Item;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.discovery.indexobject.factory.IndexFactory;
+import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.Test;
+
+/**
+ * Integration tests of the parallel reindex of {@link ParallelIndexer}.
+ */
+public class ParallelIndexerIT extends AbstractIntegrationTestWithDatabase {
+
+    private final SolrServiceImpl solrService = (SolrServiceImpl) DSpaceServicesFactory.getInstance()
+        .getServiceManager().getServiceByName(IndexingService.class.getName(), IndexingService.class);
+
+    @Test
+    public void testParallelIndexMatchesSerialIndex() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context)
+                                              .withName("Parent Community")
+                                              .build();
+        Collection collection = CollectionBuilder.createCollection(context, community)
+                                                 .withName("Collection")
+                                                 .build();
+        for (int i = 0; i < 7; i++) {
+            ItemBuilder.createItem(context, collection)
+                       .withTitle("Item " + i)
+                       .withIssueDate("2020-0" + (i + 1))
+                       .withAuthor("Author, " + i)
+                       .withSubject("subject " + (i % 3))
+                       .build();
+        }
+        context.restoreAuthSystemState();
+        // the workers read the objects with their own Context
+        context.commit();
+
+        solrService.updateIndex(context, true, IndexableItem.TYPE);
+        Map<String, Map<String, List<Object>>> serial = getItemDocuments();
+        assertEquals(7, serial.size());
+
+        SolrClient solr = solrService.solrSearchCore.getSolr();
+        solr.deleteByQuery(SearchUtils.RESOURCE_TYPE_FIELD + ":" + IndexableItem.TYPE);
+        solr.commit();
+        assertTrue(getItemDocuments().isEmpty());
+
+        // more threads than batches of 2 items
+        solrService.updateIndex(context, true, IndexableItem.TYPE, 5, 2, null);
+
+        assertEquals(serial, getItemDocuments());
+    }
+
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public void testFailuresPropagate() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context)
+                                              .withName("Parent Community")
+                                              .build();
+        Collection collection = CollectionBuilder.createCollection(context, community)
+                                                 .withName("Collection")
+                                                 .build();
+        Item item = ItemBuilder.createItem(context, collection)
+                               .withTitle("Item")
+                               .build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        // a factory unable to load the objects it lists
+        IndexFactory failingFactory = mock(IndexFactory.class);
+        when(failingFactory.getType()).thenReturn(IndexableItem.TYPE);
+        when(failingFactory.findAll(any())).thenAnswer(
+            invocation -> List.<IndexableObject>of(new IndexableItem(item)).iterator());
+        when(failingFactory.findIndexableObject(any(), anyString()))
+            .thenThrow(new IllegalStateException("unable to load the object"));
+
+        SolrServiceImpl failingService = mock(SolrServiceImpl.class);
+        failingService.indexObjectServiceFactory = mock(IndexObjectFactoryFactory.class);
+        failingService.solrSearchCore = solrService.solrSearchCore;
+        failingService.indexingStatistics = solrService.indexingStatistics;
+        when(failingService.indexObjectServiceFactory.getIndexFactories()).thenReturn(List.of(failingFactory));
+        when(failingService.indexObjectServiceFactory.getIndexableObjectFactory(any(IndexableObject.class)))
+            .thenReturn(failingFactory);
+        doCallRealMethod().when(failingService)
+                          .updateIndex(any(), anyBoolean(), any(), anyInt(), anyInt(), any());
+
+        ParallelIndexer parallelIndexer = new ParallelIndexer(failingService, 2, 1, null);
+        assertEquals(0, parallelIndexer.index(List.<IndexableObject>of(new IndexableItem(item))));
+        assertEquals(1, parallelIndexer.getFailed());
+
+        try {
+            failingService.updateIndex(context, true, null, 2, 1, null);
+            fail("The failures of the workers must be reported");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage().contains("could not be indexed"));
+        }
+    }
+
+    /**
+     * @return the stored fields of the documents of the items, except the ones set at indexing time, by unique id
+     */
+    private Map<String, Map<String, List<Object>>> getItemDocuments() throws Exception {
+        SolrQuery query = new SolrQuery(SearchUtils.RESOURCE_TYPE_FIELD + ":" + IndexableItem.TYPE);
+        query.setRows(100);
+        Map<String, Map<String, List<Object>>> documents = new HashMap<>();
+        for (SolrDocument document : solrService.solrSearchCore.getSolr().query(query).getResults()) {
+            Map<String, List<Object>> fields = new HashMap<>();
+            for (String name : document.getFieldNames()) {
+                if (!"_version_".equals(name) && !SearchUtils.LAST_INDEXED_FIELD.equals(name)) {
+                    fields.put(name, new ArrayList<>(document.getFieldValues(name)));
+                }
+            }
+            documents.put((String) document.getFieldValue(SearchUtils.RESOURCE_UNIQUE_ID), fields);
+        }
+        return documents;
+    }
+}
@@ -0,0 +1,221 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests of the partial update of the documents of the items whose changes are limited to the metadata
+ * fields listed in discovery.index.partial-update.fields.
+ * <p>
+ * A marker field is set on the document of the item before the change: an atomic update keeps it while a full
+ * rebuild of the document drops it, which tells apart the two ways of indexing the change.
+ */
+public class PartialIndexUpdateIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final String MARKER_FIELD = "partialupdatemarker_s";
+
+    private final ConfigurationService configurationService = DSpaceServicesFactory.getInstance()
+                                                                                   .getConfigurationService();
+
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+
+    private final SolrServiceImpl solrService = (SolrServiceImpl) DSpaceServicesFactory.getInstance()
+        .getServiceManager().getServiceByName(IndexingService.class.getName(), IndexingService.class);
+
+    private Collection collection;
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        configurationService.setProperty("discovery.index.partial-update.fields",
+                                         "dc.description.abstract, dc.description.sponsorship");
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context)
+                                              .withName("Parent Community")
+                                              .build();
+        collection = CollectionBuilder.createCollection(context, community)
+                                      .withName("Collection")
+                                      .build();
+        context.restoreAuthSystemState();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        configurationService.setProperty("discovery.index.partial-update.fields", null);
+        super.destroy();
+    }
+
+    @Test
+    public void testMetadataOnlyChangeMatchesFullReindex() throws Exception {
+        Item item = createItem();
+
+        context.turnOffAuthorisationSystem();
+        itemService.clearMetadata(context, item, "dc", "description", "abstract", Item.ANY);
+        itemService.addMetadata(context, item, "dc", "description", "abstract", null, "The new abstract");
+        itemService.addMetadata(context, item, "dc", "description", "sponsorship", null, "A sponsor");
+        itemService.update(context, item);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        Map<String, List<Object>> partial = getDocument(item);
+        assertTrue("The change must be indexed with an atomic update", partial.containsKey(MARKER_FIELD));
+        assertEquals(List.of("The new abstract"), partial.get("dc.description.abstract"));
+        assertEquals(List.of("A sponsor"), partial.get("dc.description.sponsorship"));
+
+        solrService.indexContent(context, new IndexableItem(item), true, true);
+        Map<String, List<Object>> full = getDocument(item);
+        assertFalse(full.containsKey(MARKER_FIELD));
+
+        partial.remove(MARKER_FIELD);
+        assertEquals(full, partial);
+    }
+
+    @Test
+    public void testRemovedValuesMatchFullReindex() throws Exception {
+        Item item = createItem();
+
+        context.turnOffAuthorisationSystem();
+        itemService.clearMetadata(context, item, "dc", "description", "abstract", Item.ANY);
+        itemService.update(context, item);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        Map<String, List<Object>> partial = getDocument(item);
+        assertTrue("The change must be indexed with an atomic update", partial.containsKey(MARKER_FIELD));
+        assertFalse(partial.containsKey("dc.description.abstract"));
+
+        solrService.indexContent(context, new IndexableItem(item), true, true);
+        partial.remove(MARKER_FIELD);
+        assertEquals(getDocument(item), partial);
+    }
+
+    @Test
+    public void testOtherMetadataFallsBackToFullRebuild() throws Exception {
+        Item item = createItem();
+
+        // one of the changed fields is not listed
+        context.turnOffAuthorisationSystem();
+        itemService.addMetadata(context, item, "dc", "description", "sponsorship", null, "A sponsor");
+        itemService.addMetadata(context, item, "dc", "title", "alternative", null, "Another title");
+        itemService.update(context, item);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        Map<String, List<Object>> document = getDocument(item);
+        assertFalse(document.containsKey(MARKER_FIELD));
+        assertEquals(List.of("A sponsor"), document.get("dc.description.sponsorship"));
+        assertEquals(List.of("Another title"), document.get("dc.title.alternative"));
+    }
+
+    @Test
+    public void testNonMetadataChangeFallsBackToFullRebuild() throws Exception {
+        Item item = createItem();
+
+        // a listed field changed along with another property of the item
+        context.turnOffAuthorisationSystem();
+        itemService.addMetadata(context, item, "dc", "description", "sponsorship", null, "A sponsor");
+        item.setDiscoverable(false);
+        itemService.update(context, item);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        Map<String, List<Object>> document = getDocument(item);
+        assertFalse(document.containsKey(MARKER_FIELD));
+        assertEquals(List.of(false), document.get("discoverable"));
+        assertEquals(List.of("A sponsor"), document.get("dc.description.sponsorship"));
+    }
+
+    @Test
+    public void testDisabledByDefault() throws Exception {
+        configurationService.setProperty("discovery.index.partial-update.fields", null);
+        Item item = createItem();
+
+        context.turnOffAuthorisationSystem();
+        itemService.addMetadata(context, item, "dc", "description", "sponsorship", null, "A sponsor");
+        itemService.update(context, item);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertFalse(getDocument(item).containsKey(MARKER_FIELD));
+    }
+
+    /**
+     * Create an indexed item and set the marker field on its document.
+     */
+    private Item createItem() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection)
+                               .withTitle("Item")
+                               .withIssueDate("2020-01-01")
+                               .withAuthor("Smith, John")
+                               .withSubject("subject")
+                               .withDescriptionAbstract("The abstract")
+                               .build();
+        context.restoreAuthSystemState();
+        context.commit();
+        item = context.reloadEntity(item);
+
+        SolrClient solr = solrService.solrSearchCore.getSolr();
+        SolrInputDocument marker = new SolrInputDocument();
+        marker.addField(SearchUtils.RESOURCE_UNIQUE_ID, new IndexableItem(item).getUniqueIndexID());
+        marker.addField(MARKER_FIELD, Collections.singletonMap("set", "marked"));
+        solr.add(marker);
+        solr.commit();
+        assertTrue(getDocument(item).containsKey(MARKER_FIELD));
+        return item;
+    }
+
+    /**
+     * @return the stored fields of the document of the item, except the ones set at indexing time
+     */
+    private Map<String, List<Object>> getDocument(Item item) throws Exception {
+        SolrQuery query = new SolrQuery(SearchUtils.RESOURCE_UNIQUE_ID + ":"
+            + new IndexableItem(item).getUniqueIndexID());
+        List<SolrDocument> documents = solrService.solrSearchCore.getSolr().query(query).getResults();
+        assertEquals(1, documents.size());
+        SolrDocument document = documents.get(0);
+        assertNotNull(document);
+        Map<String, List<Object>> fields = new HashMap<>();
+        for (String name : document.getFieldNames()) {
+            if (!"_version_".equals(name) && !SearchUtils.LAST_INDEXED_FIELD.equals(name)) {
+                fields.put(name, new ArrayList<>(document.getFieldValues(name)));
+            }
+        }
+        return fields;
+    }
+}
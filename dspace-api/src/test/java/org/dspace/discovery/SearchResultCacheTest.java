@@ -0,0 +1,179 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.request.LukeRequest;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.params.SolrParams;
+import org.apache.solr.common.util.NamedList;
+import org.dspace.services.ConfigurationService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Unit tests for {@link SearchResultCache}.
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class SearchResultCacheTest {
+
+    @Mock
+    private ConfigurationService configurationService;
+
+    @Mock
+    private SolrSearchCore solrSearchCore;
+
+    @Mock
+    private SolrClient solr;
+
+    @InjectMocks
+    private SearchResultCache searchResultCache;
+
+    /**
+     * The version of the index returned by the Luke requests
+     */
+    private final AtomicLong indexVersion = new AtomicLong(1);
+
+    @Before
+    public void setUp() throws Exception {
+        when(configurationService.getBooleanProperty("discovery.search.cache.enabled", false)).thenReturn(true);
+        when(configurationService.getLongProperty(eq("discovery.search.cache.version-check-interval"), anyLong()))
+            .thenReturn(0L);
+        when(configurationService.getLongProperty(eq("discovery.search.cache.ttl"), anyLong())).thenReturn(300L);
+        when(configurationService.getLongProperty(eq("discovery.search.cache.max-size"), anyLong())).thenReturn(64L);
+        when(solrSearchCore.getSolr()).thenReturn(solr);
+        when(solr.request(any(LukeRequest.class), any())).thenAnswer(invocation -> {
+            NamedList<Object> index = new NamedList<>();
+            index.add("version", indexVersion.get());
+            NamedList<Object> response = new NamedList<>();
+            response.add("index", index);
+            return response;
+        });
+        when(solr.query(any(SolrParams.class), any(SolrRequest.METHOD.class)))
+            .thenAnswer(invocation -> new QueryResponse(response("Item-1", 1), solr));
+    }
+
+    @Test
+    public void testHitDoesNotQueryAgain() throws Exception {
+        QueryResponse first = searchResultCache.query(new SolrQuery("*:*"));
+        QueryResponse second = searchResultCache.query(new SolrQuery("*:*"));
+
+        verify(solr, times(1)).query(any(SolrParams.class), any(SolrRequest.METHOD.class));
+        assertEquals(1, searchResultCache.getHits());
+        assertEquals(first.getResults().get(0).getFieldValue("search.uniqueid"),
+                     second.getResults().get(0).getFieldValue("search.uniqueid"));
+    }
+
+    @Test
+    public void testHitsAreCopies() throws Exception {
+        QueryResponse miss = searchResultCache.query(new SolrQuery("*:*"));
+        // the caller of a miss alters its response
+        miss.getResults().get(0).setField("search.uniqueid", "Item-2");
+        miss.getResults().setNumFound(42);
+
+        QueryResponse hit = searchResultCache.query(new SolrQuery("*:*"));
+        assertEquals("Item-1", hit.getResults().get(0).getFieldValue("search.uniqueid"));
+        assertEquals(1, hit.getResults().getNumFound());
+        // the caller of a hit alters its response
+        hit.getResults().get(0).addField("title", "added");
+        hit.getResults().clear();
+
+        QueryResponse otherHit = searchResultCache.query(new SolrQuery("*:*"));
+        assertNotSame(hit, otherHit);
+        assertEquals(1, otherHit.getResults().size());
+        assertEquals(1, otherHit.getResults().get(0).getFieldValues("title").size());
+        assertEquals(2, searchResultCache.getHits());
+    }
+
+    @Test
+    public void testKeyIgnoresOrderOfFilterQueries() throws Exception {
+        searchResultCache.query(new SolrQuery("*:*").addFilterQuery("a:1", "b:2"));
+        searchResultCache.query(new SolrQuery("*:*").addFilterQuery("b:2", "a:1"));
+
+        assertEquals(1, searchResultCache.getHits());
+    }
+
+    @Test
+    public void testInvalidateOnLocalCommit() throws Exception {
+        searchResultCache.query(new SolrQuery("*:*"));
+        searchResultCache.invalidate();
+        searchResultCache.query(new SolrQuery("*:*"));
+
+        verify(solr, times(2)).query(any(SolrParams.class), any(SolrRequest.METHOD.class));
+        assertEquals(0, searchResultCache.getHits());
+        assertEquals(2, searchResultCache.getMisses());
+    }
+
+    @Test
+    public void testInvalidateOnIndexVersionChange() throws Exception {
+        searchResultCache.query(new SolrQuery("*:*"));
+        searchResultCache.query(new SolrQuery("*:*"));
+        assertEquals(1, searchResultCache.getHits());
+
+        // committed by another application
+        indexVersion.incrementAndGet();
+        searchResultCache.query(new SolrQuery("*:*"));
+
+        verify(solr, times(2)).query(any(SolrParams.class), any(SolrRequest.METHOD.class));
+        assertEquals(1, searchResultCache.getHits());
+    }
+
+    @Test
+    public void testIndexVersionCheckedAtInterval() throws Exception {
+        when(configurationService.getLongProperty(eq("discovery.search.cache.version-check-interval"), anyLong()))
+            .thenReturn(3600L);
+        searchResultCache.query(new SolrQuery("*:*"));
+
+        // not noticed until the next check
+        indexVersion.incrementAndGet();
+        searchResultCache.query(new SolrQuery("*:*"));
+
+        assertEquals(1, searchResultCache.getHits());
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        when(configurationService.getBooleanProperty("discovery.search.cache.enabled", false)).thenReturn(false);
+        searchResultCache.query(new SolrQuery("*:*"));
+        searchResultCache.query(new SolrQuery("*:*"));
+
+        verify(solr, times(2)).query(any(SolrParams.class), any(SolrRequest.METHOD.class));
+        assertEquals(0, searchResultCache.getHits() + searchResultCache.getMisses());
+    }
+
+    private NamedList<Object> response(String uniqueId, long numFound) {
+        SolrDocument document = new SolrDocument();
+        document.setField("search.uniqueid", uniqueId);
+        document.addField("title", "A title");
+        SolrDocumentList results = new SolrDocumentList();
+        results.add(document);
+        results.setNumFound(numFound);
+        NamedList<Object> response = new NamedList<>();
+        response.add("response", results);
+        return response;
+    }
+}
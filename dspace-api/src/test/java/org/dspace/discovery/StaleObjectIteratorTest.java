@@ -0,0 +1,115 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Test;
+
+public class StaleObjectIteratorTest {
+
+    private static final Date EARLIER = new Date(1000);
+    private static final Date LATER = new Date(2000);
+
+    @Test
+    public void testUpToDateObjectsAreSkipped() {
+        List<String> stale = staleIds(
+            Arrays.asList(Pair.of("a", EARLIER), Pair.of("b", EARLIER)),
+            Arrays.asList(Pair.of("Item-a", LATER), Pair.of("Item-b", EARLIER)));
+
+        assertEquals(Collections.emptyList(), stale);
+    }
+
+    @Test
+    public void testModifiedObjectsAreReturned() {
+        List<String> stale = staleIds(
+            Arrays.asList(Pair.of("a", LATER), Pair.of("b", EARLIER), Pair.of("c", null)),
+            Arrays.asList(Pair.of("Item-a", EARLIER), Pair.of("Item-b", LATER), Pair.of("Item-c", LATER)));
+
+        assertEquals(Arrays.asList("a", "c"), stale);
+    }
+
+    @Test
+    public void testMissingObjectsAreReturned() {
+        List<String> stale = staleIds(
+            Arrays.asList(Pair.of("a", EARLIER), Pair.of("b", EARLIER), Pair.of("d", EARLIER), Pair.of("e", EARLIER)),
+            Arrays.asList(Pair.of("Item-0", LATER), Pair.of("Item-b", LATER), Pair.of("Item-c", LATER)));
+
+        assertEquals(Arrays.asList("a", "d", "e"), stale);
+    }
+
+    @Test
+    public void testEmptyIndex() {
+        List<String> stale = staleIds(
+            Arrays.asList(Pair.of("a", EARLIER), Pair.of("b", EARLIER)),
+            Collections.emptyList());
+
+        assertEquals(Arrays.asList("a", "b"), stale);
+    }
+
+    @Test
+    public void testObjectsOutOfOrderAreReturned() {
+        List<String> stale = staleIds(
+            Arrays.asList(Pair.of("b", EARLIER), Pair.of("a", EARLIER), Pair.of("c", EARLIER)),
+            Arrays.asList(Pair.of("Item-a", LATER), Pair.of("Item-b", LATER), Pair.of("Item-c", LATER)));
+
+        assertEquals(Arrays.asList("a"), stale);
+    }
+
+    @Test
+    public void testNoObjects() {
+        StaleObjectIterator iterator = new StaleObjectIterator("Item", Stream.empty(),
+            Arrays.asList(Pair.of("Item-a", LATER)).iterator());
+
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void testStreamClosedOnceRead() {
+        AtomicBoolean closed = new AtomicBoolean();
+        StaleObjectIterator iterator = new StaleObjectIterator("Item",
+            Stream.of(Pair.of("a", EARLIER)).onClose(() -> closed.set(true)), Collections.emptyIterator());
+
+        assertTrue(iterator.hasNext());
+        iterator.next();
+        assertFalse(closed.get());
+        assertFalse(iterator.hasNext());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void testStreamClosedWhenStoppedEarly() {
+        AtomicBoolean closed = new AtomicBoolean();
+        StaleObjectIterator iterator = new StaleObjectIterator("Item",
+            Stream.of(Pair.of("a", EARLIER), Pair.of("b", EARLIER)).onClose(() -> closed.set(true)),
+            Collections.emptyIterator());
+
+        iterator.next();
+        iterator.close();
+        assertTrue(closed.get());
+    }
+
+    private List<String> staleIds(List<Pair<String, Date>> lastModified, List<Pair<String, Date>> lastIndexed) {
+        StaleObjectIterator iterator = new StaleObjectIterator("Item", lastModified.stream(),
+            lastIndexed.iterator());
+        List<String> ids = new ArrayList<>();
+        iterator.forEachRemaining(ids::add);
+        return ids;
+    }
+}
@@ -0,0 +1,165 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.configuration;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.Item;
+import org.dspace.utils.DSpace;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests of {@link DiscoveryConfigurationUtilsService#hasRelatedItems}, whose answers must match the
+ * search of the related items done by {@link DiscoveryConfigurationUtilsService#findByRelation}, including the
+ * relations filtered with a join.
+ */
+public class RelatedItemsIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final List<String> ORGUNIT_RELATIONS = List.of("rpprojects", "rppublications", "people",
+                                                                  "projects");
+
+    private final DiscoveryConfigurationUtilsService discoveryConfigurationUtilsService = new DSpace()
+        .getServiceManager().getServicesByType(DiscoveryConfigurationUtilsService.class).get(0);
+
+    private Collection orgUnits;
+
+    private Collection people;
+
+    private Collection projects;
+
+    private Collection publications;
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        context.turnOffAuthorisationSystem();
+        Community community = CommunityBuilder.createCommunity(context)
+                                              .withName("Parent Community")
+                                              .build();
+        orgUnits = CollectionBuilder.createCollection(context, community)
+                                    .withName("OrgUnits")
+                                    .withEntityType("OrgUnit")
+                                    .build();
+        people = CollectionBuilder.createCollection(context, community)
+                                  .withName("People")
+                                  .withEntityType("Person")
+                                  .build();
+        projects = CollectionBuilder.createCollection(context, community)
+                                    .withName("Projects")
+                                    .withEntityType("Project")
+                                    .build();
+        publications = CollectionBuilder.createCollection(context, community)
+                                        .withName("Publications")
+                                        .withEntityType("Publication")
+                                        .build();
+        context.restoreAuthSystemState();
+    }
+
+    @Test
+    public void testRelationsWithRelatedItems() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item orgUnit = ItemBuilder.createItem(context, orgUnits)
+                                  .withTitle("OrgUnit")
+                                  .build();
+        Item person = ItemBuilder.createItem(context, people)
+                                 .withTitle("Smith, John")
+                                 .withPersonMainAffiliation("OrgUnit", orgUnit.getID().toString())
+                                 .build();
+        ItemBuilder.createItem(context, projects)
+                   .withTitle("Project")
+                   .withProjectInvestigator("Smith, John", person.getID().toString())
+                   .build();
+        ItemBuilder.createItem(context, publications)
+                   .withTitle("Publication")
+                   .withAuthor("Smith, John", person.getID().toString())
+                   .build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        Map<String, Boolean> results = assertSameAsFindByRelation(context.reloadEntity(orgUnit), ORGUNIT_RELATIONS);
+        assertEquals(Map.of("rpprojects", true, "rppublications", true, "people", true, "projects", false),
+                     results);
+        assertEquals(Map.of("researchoutputs", true),
+                     assertSameAsFindByRelation(context.reloadEntity(person), List.of("researchoutputs")));
+    }
+
+    @Test
+    public void testRelationsWithoutRelatedItems() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item orgUnit = ItemBuilder.createItem(context, orgUnits)
+                                  .withTitle("OrgUnit")
+                                  .build();
+        Item otherOrgUnit = ItemBuilder.createItem(context, orgUnits)
+                                       .withTitle("Other OrgUnit")
+                                       .build();
+        Item person = ItemBuilder.createItem(context, people)
+                                 .withTitle("Smith, John")
+                                 .withPersonMainAffiliation("Other OrgUnit", otherOrgUnit.getID().toString())
+                                 .build();
+        ItemBuilder.createItem(context, projects)
+                   .withTitle("Project")
+                   .withProjectInvestigator("Smith, John", person.getID().toString())
+                   .build();
+        ItemBuilder.createItem(context, publications)
+                   .withTitle("Publication")
+                   .withAuthor("Smith, John")
+                   .build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        Map<String, Boolean> results = assertSameAsFindByRelation(context.reloadEntity(orgUnit), ORGUNIT_RELATIONS);
+        assertEquals(Map.of("rpprojects", false, "rppublications", false, "people", false, "projects", false),
+                     results);
+        assertEquals(Map.of("researchoutputs", false),
+                     assertSameAsFindByRelation(context.reloadEntity(person), List.of("researchoutputs")));
+        assertEquals(Map.of("rpprojects", true, "rppublications", false),
+                     assertSameAsFindByRelation(context.reloadEntity(otherOrgUnit),
+                                                List.of("rpprojects", "rppublications")));
+    }
+
+    @Test
+    public void testUnknownRelation() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item orgUnit = ItemBuilder.createItem(context, orgUnits)
+                                  .withTitle("OrgUnit")
+                                  .build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertEquals(Map.of("unknown", false, "people", false),
+                     assertSameAsFindByRelation(context.reloadEntity(orgUnit), List.of("unknown", "people")));
+    }
+
+    /**
+     * Check the relations of the item with hasRelatedItems and assert that each answer is the same as the one of
+     * the search of its related items.
+     */
+    private Map<String, Boolean> assertSameAsFindByRelation(Item item, List<String> relationNames) {
+        Map<String, Boolean> results = discoveryConfigurationUtilsService.hasRelatedItems(context, item,
+                                                                                          relationNames);
+        Map<String, Boolean> expected = new HashMap<>();
+        for (String relationName : relationNames) {
+            expected.put(relationName,
+                         discoveryConfigurationUtilsService.findByRelation(context, item, relationName).hasNext());
+        }
+        assertEquals(expected, results);
+        return results;
+    }
+}
@@ -0,0 +1,181 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.apache.solr.client.solrj.SolrQuery;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.builder.WorkspaceItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.WorkspaceItem;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.InstallItemService;
+import org.dspace.discovery.SearchUtils;
+import org.dspace.discovery.SolrSearchCore;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.discovery.queue.service.IndexQueueService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests of the asynchronous indexing: the changes are queued by the IndexEventConsumer and indexed by
+ * the {@link IndexQueueProcessor}.
+ */
+public class IndexQueueProcessorIT extends AbstractIntegrationTestWithDatabase {
+
+    private final IndexQueueService indexQueueService = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServiceByName(IndexQueueService.class.getName(), IndexQueueService.class);
+
+    private final IndexQueueProcessor indexQueueProcessor = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServicesByType(IndexQueueProcessor.class).get(0);
+
+    private final SolrSearchCore solrSearchCore = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServicesByType(SolrSearchCore.class).get(0);
+
+    private final ConfigurationService configurationService = DSpaceServicesFactory.getInstance()
+                                                                                   .getConfigurationService();
+
+    private final InstallItemService installItemService = ContentServiceFactory.getInstance()
+                                                                               .getInstallItemService();
+
+    private Collection collection;
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                                          .withName("Parent Community")
+                                          .build();
+        collection = CollectionBuilder.createCollection(context, parentCommunity)
+                                      .withName("Collection")
+                                      .build();
+        context.restoreAuthSystemState();
+        context.commit();
+        configurationService.setProperty("discovery.index.async.enabled", true);
+    }
+
+    @Override
+    @After
+    public void destroy() throws Exception {
+        configurationService.setProperty("discovery.index.async.enabled", false);
+        configurationService.setProperty("discovery.index.async.threads", null);
+        super.destroy();
+    }
+
+    @Test
+    public void testQueuedItemIsIndexedByTheProcessor() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection)
+                               .withTitle("Queued item")
+                               .build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertEquals(0, countDocuments(item));
+        assertTrue(indexQueueService.count(context) > 0);
+
+        assertTrue(indexQueueProcessor.process() > 0);
+
+        assertEquals(1, countDocuments(item));
+        assertEquals(0, indexQueueService.count(context));
+    }
+
+    @Test
+    public void testDuplicatesAreProcessedOnce() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection)
+                               .withTitle("Queued item")
+                               .build();
+        context.restoreAuthSystemState();
+        context.commit();
+        // a single worker, so that the count of the objects processed is predictable
+        configurationService.setProperty("discovery.index.async.threads", 1);
+        indexQueueProcessor.process();
+
+        String uniqueIndexId = IndexableItem.TYPE + "-" + item.getID();
+        indexQueueService.enqueue(context, List.of(uniqueIndexId));
+        indexQueueService.enqueue(context, List.of(uniqueIndexId));
+        context.commit();
+
+        // one object indexed, whatever the number of its records
+        assertEquals(1, indexQueueProcessor.process());
+
+        assertEquals(1, countDocuments(item));
+        assertEquals(0, indexQueueService.count(context));
+    }
+
+    @Test
+    public void testDeletedItemIsRemovedFromTheIndex() throws Exception {
+        configurationService.setProperty("discovery.index.async.enabled", false);
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection)
+                               .withTitle("Deleted item")
+                               .build();
+        context.restoreAuthSystemState();
+        context.commit();
+        assertEquals(1, countDocuments(item));
+
+        configurationService.setProperty("discovery.index.async.enabled", true);
+        ItemBuilder.deleteItem(item.getID());
+        assertEquals(1, countDocuments(item));
+
+        indexQueueProcessor.process();
+
+        assertEquals(0, countDocuments(item));
+        assertEquals(0, indexQueueService.count(context));
+    }
+
+    @Test
+    public void testDepositedItemRemovesTheInProgressSubmission() throws Exception {
+        context.turnOffAuthorisationSystem();
+        WorkspaceItem workspaceItem = WorkspaceItemBuilder.createWorkspaceItem(context, collection)
+                                                          .withTitle("Deposited item")
+                                                          .build();
+        context.restoreAuthSystemState();
+        context.commit();
+        indexQueueProcessor.process();
+        Item item = workspaceItem.getItem();
+        assertEquals(1, countInProgressDocuments(item));
+
+        context.turnOffAuthorisationSystem();
+        installItemService.installItem(context, context.reloadEntity(workspaceItem));
+        context.restoreAuthSystemState();
+        context.commit();
+        indexQueueProcessor.process();
+
+        assertEquals(0, countInProgressDocuments(item));
+        assertEquals(1, countDocuments(item));
+        assertEquals(0, indexQueueService.count(context));
+    }
+
+    private long countDocuments(Item item) throws Exception {
+        SolrQuery query = new SolrQuery(SearchUtils.RESOURCE_UNIQUE_ID + ":" + IndexableItem.TYPE + "-" + item.getID());
+        return solrSearchCore.getSolr().query(query).getResults().getNumFound();
+    }
+
+    /**
+     * Count the documents of the workspace items, workflow items and tasks of the given item.
+     */
+    private long countInProgressDocuments(Item item) throws Exception {
+        SolrQuery query = new SolrQuery("inprogress.item:\"" + IndexableItem.TYPE + "-" + item.getID() + "\"");
+        return solrSearchCore.getSolr().query(query).getResults().getNumFound();
+    }
+}
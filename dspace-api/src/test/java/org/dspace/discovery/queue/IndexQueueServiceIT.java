@@ -0,0 +1,128 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.core.Context;
+import org.dspace.discovery.queue.service.IndexQueueService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Integration tests of the records of the asynchronous indexing queue, stored in the index_queue table.
+ */
+public class IndexQueueServiceIT extends AbstractIntegrationTestWithDatabase {
+
+    private final IndexQueueService indexQueueService = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServiceByName(IndexQueueService.class.getName(), IndexQueueService.class);
+
+    private final ConfigurationService configurationService = DSpaceServicesFactory.getInstance()
+                                                                                   .getConfigurationService();
+
+    @After
+    public void emptyQueue() throws Exception {
+        configurationService.setProperty("discovery.index.async.retry-delay", null);
+        for (IndexQueueEntry entry : indexQueueService.claim(context, 1000)) {
+            indexQueueService.delete(context, entry);
+        }
+        context.commit();
+    }
+
+    @Test
+    public void testEnqueueAndClaim() throws Exception {
+        indexQueueService.enqueue(context, List.of("Item-a", "Item-b"));
+
+        assertEquals(2, indexQueueService.count(context));
+        List<IndexQueueEntry> entries = indexQueueService.claim(context, 10);
+        assertEquals(List.of("Item-a", "Item-b"), uniqueIndexIds(entries));
+        assertEquals(0, entries.get(0).getAttempts().intValue());
+        assertNull(entries.get(0).getNextAttemptDate());
+
+        indexQueueService.delete(context, entries.get(0));
+        assertEquals(1, indexQueueService.count(context));
+    }
+
+    @Test
+    public void testEnqueueToUnIndex() throws Exception {
+        indexQueueService.enqueue(context, List.of("Item-a"), true);
+        indexQueueService.enqueue(context, List.of("Item-b"));
+
+        List<IndexQueueEntry> entries = indexQueueService.claim(context, 10);
+        assertEquals(List.of("Item-a", "Item-b"), uniqueIndexIds(entries));
+        assertTrue(entries.get(0).isUnIndex());
+        assertFalse(entries.get(1).isUnIndex());
+    }
+
+    @Test
+    public void testClaimIncludesTheOtherRecordsOfTheSameObjects() throws Exception {
+        indexQueueService.enqueue(context, List.of("Item-a", "Item-b"));
+        indexQueueService.enqueue(context, List.of("Item-a"));
+
+        // the duplicate is claimed with the oldest record, even though it is beyond the limit
+        assertEquals(List.of("Item-a", "Item-a"), uniqueIndexIds(indexQueueService.claim(context, 1)));
+    }
+
+    @Test
+    public void testConcurrentWorkersClaimDisjointBatches() throws Exception {
+        indexQueueService.enqueue(context, List.of("Item-a", "Item-b", "Item-c"));
+        indexQueueService.enqueue(context, List.of("Item-d", "Item-a"));
+        context.commit();
+
+        Context otherWorker = new Context();
+        try {
+            // the records locked by the other worker are skipped, the duplicate of Item-a included
+            assertEquals(List.of("Item-a", "Item-b", "Item-a"),
+                         uniqueIndexIds(indexQueueService.claim(otherWorker, 2)));
+            assertEquals(List.of("Item-c", "Item-d"), uniqueIndexIds(indexQueueService.claim(context, 10)));
+        } finally {
+            otherWorker.abort();
+        }
+        context.commit();
+
+        // the records are claimed again once released
+        assertEquals(5, indexQueueService.claim(context, 10).size());
+    }
+
+    @Test
+    public void testFailedRecordsWaitBeforeTheNextAttempt() throws Exception {
+        configurationService.setProperty("discovery.index.async.retry-delay", 10);
+        indexQueueService.enqueue(context, List.of("Item-a"));
+        IndexQueueEntry entry = indexQueueService.claim(context, 10).get(0);
+
+        long before = System.currentTimeMillis();
+        indexQueueService.markFailed(context, entry);
+        assertEquals(1, entry.getAttempts().intValue());
+        assertTrue(entry.getNextAttemptDate().getTime() >= before + 10000);
+        assertTrue(indexQueueService.claim(context, 10).isEmpty());
+
+        // the delay doubles with each attempt
+        before = System.currentTimeMillis();
+        indexQueueService.markFailed(context, entry);
+        assertEquals(2, entry.getAttempts().intValue());
+        assertTrue(entry.getNextAttemptDate().getTime() >= before + 20000);
+        assertTrue(entry.getNextAttemptDate().getTime() < before + 30000);
+
+        configurationService.setProperty("discovery.index.async.retry-delay", 0);
+        indexQueueService.markFailed(context, entry);
+        assertEquals(List.of("Item-a"), uniqueIndexIds(indexQueueService.claim(context, 10)));
+    }
+
+    private List<String> uniqueIndexIds(List<IndexQueueEntry> entries) {
+        return entries.stream().map(IndexQueueEntry::getUniqueIndexId).collect(Collectors.toList());
+    }
+}
@@ -23,12 +23,16 @@ import java.util.Collections;
 import java.util.List;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.Logger;
 import org.dspace.AbstractUnitTest;
 import org.dspace.authorize.AuthorizeException;
+import org.dspace.core.Context;
 import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.eperson.service.EPersonService;
 import org.dspace.eperson.service.GroupService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -571,6 +575,67 @@ public class GroupTest extends AbstractUnitTest {
         assertFalse(groupService.isParentOf(context, topGroup, level1Group));
     }
 
+    @Test
+    public void removeMemberGroupUpdatesAncestors() throws SQLException, AuthorizeException {
+        assertTrue(groupService.isParentOf(context, topGroup, level2Group));
+
+        groupService.removeMember(context, level1Group, level2Group);
+        groupService.update(context, level1Group);
+
+        assertFalse(groupService.isParentOf(context, level1Group, level2Group));
+        assertFalse(groupService.isParentOf(context, topGroup, level2Group));
+        assertTrue(groupService.isParentOf(context, topGroup, level1Group));
+        assertEquals(Pair.of(0, 0), groupService.verifyGroupCache(context, false));
+    }
+
+    @Test
+    public void removeMemberGroupUpdatingTheChild() throws SQLException, AuthorizeException {
+        groupService.removeMember(context, topGroup, level1Group);
+        groupService.update(context, level1Group);
+
+        assertFalse(groupService.isParentOf(context, topGroup, level1Group));
+        assertFalse(groupService.isParentOf(context, topGroup, level2Group));
+        assertTrue(groupService.isParentOf(context, level1Group, level2Group));
+        assertEquals(Pair.of(0, 0), groupService.verifyGroupCache(context, false));
+    }
+
+    @Test
+    public void removeMemberGroupKeepsTheOtherPaths() throws SQLException, AuthorizeException, IOException {
+        context.turnOffAuthorisationSystem();
+        Group otherGroup = createGroup("otherGroup");
+        try {
+            groupService.addMember(context, topGroup, otherGroup);
+            groupService.addMember(context, otherGroup, level2Group);
+            groupService.update(context, topGroup);
+            groupService.update(context, otherGroup);
+            assertEquals(Pair.of(0, 0), groupService.verifyGroupCache(context, false));
+
+            groupService.removeMember(context, level1Group, level2Group);
+            groupService.update(context, level1Group);
+
+            // topGroup still reaches level2Group through otherGroup
+            assertFalse(groupService.isParentOf(context, level1Group, level2Group));
+            assertTrue(groupService.isParentOf(context, topGroup, level2Group));
+            assertEquals(Pair.of(0, 0), groupService.verifyGroupCache(context, false));
+        } finally {
+            groupService.delete(context, otherGroup);
+            context.restoreAuthSystemState();
+        }
+        assertFalse(groupService.isParentOf(context, topGroup, level2Group));
+        assertEquals(Pair.of(0, 0), groupService.verifyGroupCache(context, false));
+    }
+
+    @Test
+    public void deleteGroupUpdatesAncestors() throws SQLException, AuthorizeException, IOException {
+        context.turnOffAuthorisationSystem();
+        groupService.delete(context, level1Group);
+        level1Group = null;
+        context.restoreAuthSystemState();
+
+        assertFalse(groupService.isParentOf(context, topGroup, level2Group));
+        assertEquals(Pair.of(0, 0), groupService.verifyGroupCache(context, false));
+    }
+
     @Test
     public void allMemberGroups() throws SQLException, AuthorizeException, EPersonDeletionException, IOException {
         EPerson ePerson = createEPersonAndAddToGroup("allMemberGroups@dspace.org", level1Group);
@@ -585,6 +650,100 @@ public class GroupTest extends AbstractUnitTest {
 
     }
 
+    @Test
+    public void isMemberWithGroupMembershipCache()
+        throws SQLException, AuthorizeException, EPersonDeletionException, IOException {
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        configurationService.setProperty("authorization.group-membership-cache.enabled", true);
+        EPerson ePerson = createEPersonAndAddToGroup("isMemberWithGroupMembershipCache@dspace.org", level2Group);
+        try {
+            context.commit();
+            assertTrue(groupService.isMember(context, ePerson, topGroup));
+            assertTrue(groupService.isMember(context, ePerson, level2Group));
+            assertTrue(groupService.allMemberGroupIds(context, ePerson)
+                                   .containsAll(Arrays.asList(topGroup.getID(), level1Group.getID(),
+                                                              level2Group.getID())));
+
+            // the cached memberships are discarded when the eperson is removed from the group
+            context.turnOffAuthorisationSystem();
+            groupService.removeMember(context, level2Group, ePerson);
+            groupService.update(context, level2Group);
+            context.restoreAuthSystemState();
+            context.commit();
+            assertFalse(groupService.isMember(context, ePerson, topGroup));
+            assertFalse(groupService.isMember(context, ePerson, level2Group));
+        } finally {
+            configurationService.setProperty("authorization.group-membership-cache.enabled", false);
+            context.turnOffAuthorisationSystem();
+            ePersonService.delete(context, ePerson);
+            context.restoreAuthSystemState();
+        }
+    }
+
+    @Test
+    public void isMemberWithGroupMembershipCacheDiscardedOnceCommitted() throws Exception {
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        configurationService.setProperty("authorization.group-membership-cache.enabled", true);
+        EPerson ePerson = createEPersonAndAddToGroup("isMemberDiscardedOnceCommitted@dspace.org", level2Group);
+        Context otherContext = new Context();
+        try {
+            context.commit();
+
+            // the events of the removal are dispatched before the transaction is committed
+            context.turnOffAuthorisationSystem();
+            groupService.removeMember(context, level2Group, ePerson);
+            groupService.update(context, level2Group);
+            context.restoreAuthSystemState();
+            context.dispatchEvents();
+
+            // meanwhile another context caches the committed memberships
+            assertTrue(groupService.isMember(otherContext, otherContext.reloadEntity(ePerson),
+                                             otherContext.reloadEntity(topGroup)));
+
+            // which are discarded by the commit
+            context.commit();
+            assertFalse(groupService.isMember(otherContext, otherContext.reloadEntity(ePerson),
+                                              otherContext.reloadEntity(topGroup)));
+        } finally {
+            otherContext.abort();
+            configurationService.setProperty("authorization.group-membership-cache.enabled", false);
+            context.turnOffAuthorisationSystem();
+            ePersonService.delete(context, context.reloadEntity(ePerson));
+            context.restoreAuthSystemState();
+        }
+    }
+
+    @Test
+    public void isMemberWithGroupMembershipCacheExpired() throws Exception {
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        configurationService.setProperty("authorization.group-membership-cache.enabled", true);
+        EPerson ePerson = createEPersonAndAddToGroup("isMemberExpired@dspace.org", level2Group);
+        try {
+            context.commit();
+            assertTrue(groupService.isMember(context, ePerson, topGroup));
+
+            // a change not notified to the consumer, like the ones made by other applications
+            context.setDispatcher("noindex");
+            context.turnOffAuthorisationSystem();
+            groupService.removeMember(context, level2Group, ePerson);
+            groupService.update(context, level2Group);
+            context.restoreAuthSystemState();
+            context.commit();
+            assertTrue(groupService.isMember(context, ePerson, topGroup));
+
+            // is noticed once the cache expires
+            configurationService.setProperty("authorization.group-membership-cache.ttl", -1);
+            assertFalse(groupService.isMember(context, ePerson, topGroup));
+        } finally {
+            configurationService.setProperty("authorization.group-membership-cache.enabled", false);
+            configurationService.setProperty("authorization.group-membership-cache.ttl", null);
+            context.setDispatcher(null);
+            context.turnOffAuthorisationSystem();
+            ePersonService.delete(context, context.reloadEntity(ePerson));
+            context.restoreAuthSystemState();
+        }
+    }
+
     @Test
     public void allMembers() throws SQLException, AuthorizeException, EPersonDeletionException, IOException {
         List<EPerson> allEPeopleAdded = new ArrayList<>();
@@ -0,0 +1,182 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.layout;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.CrisLayoutBoxBuilder;
+import org.dspace.builder.CrisLayoutTabBuilder;
+import org.dspace.builder.EntityTypeBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.EntityType;
+import org.dspace.content.Item;
+import org.dspace.core.Context;
+import org.dspace.layout.factory.CrisLayoutServiceFactory;
+import org.dspace.layout.service.CrisLayoutBoxService;
+import org.dspace.layout.service.CrisLayoutTabService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests of the caching of the CRIS layout in the Hibernate second level and query caches: the layout
+ * of an item is read from the caches by the next contexts, and the changes of the tabs and boxes are seen once
+ * committed.
+ */
+public class CrisLayoutCacheIT extends AbstractIntegrationTestWithDatabase {
+
+    private final CrisLayoutTabService tabService = CrisLayoutServiceFactory.getInstance().getTabService();
+
+    private final CrisLayoutBoxService boxService = CrisLayoutServiceFactory.getInstance().getBoxService();
+
+    private final Statistics statistics = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServiceByName("sessionFactory", SessionFactory.class).getStatistics();
+
+    private boolean statisticsEnabled;
+
+    private EntityType publicationType;
+
+    private Item item;
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+
+        context.turnOffAuthorisationSystem();
+        publicationType = EntityTypeBuilder.createEntityTypeBuilder(context, "Publication").build();
+        Community community = CommunityBuilder.createCommunity(context)
+                                              .withName("Parent Community")
+                                              .build();
+        Collection collection = CollectionBuilder.createCollection(context, community)
+                                                 .withName("Publications")
+                                                 .withEntityType("Publication")
+                                                 .build();
+        item = ItemBuilder.createItem(context, collection)
+                          .withTitle("Publication")
+                          .withEntityType("Publication")
+                          .build();
+        context.restoreAuthSystemState();
+    }
+
+    @Override
+    @After
+    public void destroy() throws Exception {
+        statistics.setStatisticsEnabled(statisticsEnabled);
+        super.destroy();
+    }
+
+    @Test
+    public void testLayoutReadFromTheCaches() throws Exception {
+        context.turnOffAuthorisationSystem();
+        CrisLayoutBox box = CrisLayoutBoxBuilder.createBuilder(context, publicationType, false, false)
+                                                .withHeader("Box")
+                                                .withShortname("box")
+                                                .withSecurity(LayoutSecurity.PUBLIC)
+                                                .build();
+        CrisLayoutTabBuilder.createTab(context, publicationType, 0)
+                            .withShortName("tab")
+                            .withHeader("Tab")
+                            .withSecurity(LayoutSecurity.PUBLIC)
+                            .addBoxIntoNewRow(box)
+                            .build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertEquals(List.of("Tab: Box"), findLayout(item.getID()));
+
+        long queryCacheHits = statistics.getQueryCacheHitCount();
+        long secondLevelCacheHits = statistics.getSecondLevelCacheHitCount();
+        assertEquals(List.of("Tab: Box"), findLayout(item.getID()));
+
+        // the second context finds the tabs in the query cache and their rows, cells and boxes in the second level
+        // cache
+        assertTrue(statistics.getQueryCacheHitCount() > queryCacheHits);
+        assertTrue(statistics.getSecondLevelCacheHitCount() > secondLevelCacheHits);
+    }
+
+    @Test
+    public void testLayoutChangesSeenOnceCommitted() throws Exception {
+        context.turnOffAuthorisationSystem();
+        CrisLayoutBox box = CrisLayoutBoxBuilder.createBuilder(context, publicationType, false, false)
+                                                .withHeader("Box")
+                                                .withShortname("box")
+                                                .withSecurity(LayoutSecurity.PUBLIC)
+                                                .build();
+        CrisLayoutTab tab = CrisLayoutTabBuilder.createTab(context, publicationType, 0)
+                                                .withShortName("tab")
+                                                .withHeader("Tab")
+                                                .withSecurity(LayoutSecurity.PUBLIC)
+                                                .addBoxIntoNewRow(box)
+                                                .build();
+        context.restoreAuthSystemState();
+        context.commit();
+        assertEquals(List.of("Tab: Box"), findLayout(item.getID()));
+
+        context.turnOffAuthorisationSystem();
+        box = context.reloadEntity(box);
+        box.setHeader("Edited box");
+        boxService.update(context, box);
+        tab = context.reloadEntity(tab);
+        tab.setHeader("Edited tab");
+        tabService.update(context, tab);
+        context.restoreAuthSystemState();
+        context.commit();
+        assertEquals(List.of("Edited tab: Edited box"), findLayout(item.getID()));
+
+        // a new box in a new row of the tab, and a new tab, which invalidates the cached tabs of the entity type
+        context.turnOffAuthorisationSystem();
+        CrisLayoutBox otherBox = CrisLayoutBoxBuilder.createBuilder(context, publicationType, false, false)
+                                                     .withHeader("Other box")
+                                                     .withShortname("otherbox")
+                                                     .withSecurity(LayoutSecurity.PUBLIC)
+                                                     .build();
+        CrisLayoutTabBuilder.createTab(context, publicationType, 1)
+                            .withShortName("othertab")
+                            .withHeader("Other tab")
+                            .withSecurity(LayoutSecurity.PUBLIC)
+                            .addBoxIntoNewRow(otherBox)
+                            .build();
+        context.restoreAuthSystemState();
+        context.commit();
+        assertEquals(List.of("Edited tab: Edited box", "Other tab: Other box"), findLayout(item.getID()));
+    }
+
+    /**
+     * Read the layout of the item with a new context, whose session is empty.
+     *
+     * @return the header of each tab followed by the headers of its boxes
+     */
+    private List<String> findLayout(UUID itemId) throws Exception {
+        try (Context otherContext = new Context()) {
+            List<String> layout = new ArrayList<>();
+            for (CrisLayoutTab tab : tabService.findByItem(otherContext, itemId.toString())) {
+                layout.add(tab.getHeader() + ": " + tab.getBoxes().stream()
+                                                       .map(CrisLayoutBox::getHeader)
+                                                       .collect(Collectors.joining(", ")));
+            }
+            return layout;
+        }
+    }
+}
@@ -7,8 +7,6 @@
  */
 package org.dspace.layout.service.impl;
 
-import static org.apache.commons.collections4.IteratorUtils.arrayIterator;
-import static org.apache.commons.collections4.IteratorUtils.emptyIterator;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertFalse;
@@ -21,9 +19,9 @@ import static org.mockito.Mockito.when;
 
 import java.sql.SQLException;
 import java.util.Arrays;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -105,8 +103,8 @@ public class CrisLayoutBoxServiceImplTest {
         CrisLayoutBox box = crisLayoutBox("authors", CrisLayoutBoxTypes.RELATION.name());
         Item item = item();
 
-        Iterator<Item> relatedItems = arrayIterator(item(), item());
-        when(searchConfigurationUtilsService.findByRelation(context, item, "authors")).thenReturn(relatedItems);
+        when(searchConfigurationUtilsService.hasRelatedItems(context, item, List.of("authors")))
+            .thenReturn(Map.of("authors", true));
         assertThat(crisLayoutBoxService.hasContent(context, box, item), is(true));
 
     }
@@ -117,11 +115,48 @@ public class CrisLayoutBoxServiceImplTest {
         CrisLayoutBox box = crisLayoutBox("authors", CrisLayoutBoxTypes.RELATION.name());
         Item item = item();
 
-        when(searchConfigurationUtilsService.findByRelation(context, item, "authors")).thenReturn(emptyIterator());
+        when(searchConfigurationUtilsService.hasRelatedItems(context, item, List.of("authors")))
+            .thenReturn(Map.of("authors", false));
         assertThat(crisLayoutBoxService.hasContent(context, box, item), is(false));
 
     }
 
+    @Test
+    public void testHasContentOfManyBoxes() throws SQLException {
+
+        when(authorizeService.authorizeActionBoolean(eq(context), any(), eq(Constants.READ))).thenReturn(true);
+
+        MetadataField titleField = metadataField("dc", "title", null);
+        Item item = item(metadataValue(titleField, "John Smith"));
+
+        CrisLayoutBox authorsBox = crisLayoutBox("authors", CrisLayoutBoxTypes.RELATION.name());
+        CrisLayoutBox projectsBox = crisLayoutBox("projects", CrisLayoutBoxTypes.RELATION.name());
+        CrisLayoutBox metadataBox = crisLayoutMetadataBox("Main Box", titleField);
+        CrisLayoutBox metricBox1 = crisLayoutMetricBox("metric1");
+        metricBox1.setShortname("metric1");
+        CrisLayoutBox metricBox2 = crisLayoutMetricBox("metric2");
+        metricBox2.setShortname("metric2");
+
+        when(searchConfigurationUtilsService.hasRelatedItems(eq(context), eq(item), any()))
+            .thenReturn(Map.of("authors", true, "projects", false));
+        storedCrisMetrics();
+        embeddableCrisMetrics("metric1");
+
+        Map<CrisLayoutBox, Boolean> hasContent = crisLayoutBoxService.hasContent(context,
+            List.of(authorsBox, projectsBox, metadataBox, metricBox1, metricBox2), item);
+
+        assertThat(hasContent.get(authorsBox), is(true));
+        assertThat(hasContent.get(projectsBox), is(false));
+        assertThat(hasContent.get(metadataBox), is(true));
+        assertThat(hasContent.get(metricBox1), is(true));
+        assertThat(hasContent.get(metricBox2), is(false));
+
+        // the relations are searched once, and the metrics are read once
+        verify(searchConfigurationUtilsService).hasRelatedItems(context, item, Set.of("authors", "projects"));
+        verify(crisItemMetricsService).getEmbeddableMetrics(context, item.getID(), null);
+        verify(crisItemMetricsService).getStoredMetrics(context, item.getID());
+    }
+
     @Test
     public void testHasContentWithBoxWithoutType() {
 
@@ -0,0 +1,110 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.IOUtils;
+import org.dspace.services.ConfigurationService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Unit tests for {@link BitstreamTransferStatistics}.
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class BitstreamTransferStatisticsTest {
+
+    @Mock
+    private ConfigurationService configurationService;
+
+    @InjectMocks
+    private BitstreamTransferStatistics bitstreamTransferStatistics;
+
+    @Before
+    public void setUp() throws Exception {
+        when(configurationService.getBooleanProperty("assetstore.statistics.enabled", false)).thenReturn(true);
+    }
+
+    @Test
+    public void testReadsRecordedOnClose() throws Exception {
+        InputStream in = bitstreamTransferStatistics.recordRead(0, stream("0123456789"));
+        assertEquals("0123456789", IOUtils.toString(in, UTF_8));
+        // not recorded until the stream is closed
+        assertTrue(bitstreamTransferStatistics.getStatistics().isEmpty());
+
+        in.close();
+        // closed twice, recorded once
+        in.close();
+        try (InputStream other = bitstreamTransferStatistics.recordRead(0, stream("0123456789"))) {
+            IOUtils.skip(other, 4);
+        }
+
+        Map<String, Object> store = bitstreamTransferStatistics.getStatistics().get("store 0");
+        assertEquals(2L, store.get("reads"));
+        assertEquals(14L, store.get("readBytes"));
+        assertEquals(0L, store.get("sendfiles"));
+    }
+
+    @Test
+    public void testSendfilesAndCaches() {
+        bitstreamTransferStatistics.recordSendfile(1, 100);
+        bitstreamTransferStatistics.recordSendfile(1, 50);
+        bitstreamTransferStatistics.recordCacheHit("cachingS3Store", 10);
+        bitstreamTransferStatistics.recordCacheHit("cachingS3Store", 10);
+        bitstreamTransferStatistics.recordCacheHit("cachingS3Store", 10);
+        bitstreamTransferStatistics.recordCacheMiss("cachingS3Store", 30);
+        bitstreamTransferStatistics.recordCacheEvictions("cachingS3Store", 2);
+
+        Map<String, Map<String, Object>> statistics = bitstreamTransferStatistics.getStatistics();
+        assertEquals(List.of("store 1", "cache cachingS3Store"), List.copyOf(statistics.keySet()));
+        Map<String, Object> store = statistics.get("store 1");
+        assertEquals(0L, store.get("reads"));
+        assertEquals(2L, store.get("sendfiles"));
+        assertEquals(150L, store.get("sendfileBytes"));
+        Map<String, Object> cache = statistics.get("cache cachingS3Store");
+        assertEquals(3L, cache.get("hits"));
+        assertEquals(30L, cache.get("hitBytes"));
+        assertEquals(1L, cache.get("misses"));
+        assertEquals(30L, cache.get("missBytes"));
+        assertEquals(0.75, cache.get("hitRatio"));
+        assertEquals(2L, cache.get("evictions"));
+
+        bitstreamTransferStatistics.reset();
+        assertTrue(bitstreamTransferStatistics.getStatistics().isEmpty());
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        when(configurationService.getBooleanProperty("assetstore.statistics.enabled", false)).thenReturn(false);
+        InputStream in = stream("0123456789");
+
+        assertSame(in, bitstreamTransferStatistics.recordRead(0, in));
+        bitstreamTransferStatistics.recordSendfile(0, 10);
+        bitstreamTransferStatistics.recordCacheHit("cachingS3Store", 10);
+
+        assertTrue(bitstreamTransferStatistics.getStatistics().isEmpty());
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(UTF_8));
+    }
+}
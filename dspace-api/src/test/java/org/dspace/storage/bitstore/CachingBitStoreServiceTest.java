@@ -0,0 +1,219 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.io.IOUtils;
+import org.dspace.content.Bitstream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Unit tests for {@link CachingBitStoreService}.
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class CachingBitStoreServiceTest {
+
+    private static final String CONTENT = "0123456789";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Mock
+    private BitStoreService store;
+
+    @Mock
+    private BitstreamTransferStatistics bitstreamTransferStatistics;
+
+    @Mock
+    private Bitstream bitstream;
+
+    @InjectMocks
+    private CachingBitStoreService cachingBitStoreService;
+
+    @Before
+    public void setUp() throws IOException {
+        cachingBitStoreService.setStore(store);
+        cachingBitStoreService.setCacheDir(folder.getRoot().getAbsolutePath());
+        cachingBitStoreService.setBeanName("cachingStore");
+
+        when(bitstream.getInternalId()).thenReturn("123456789");
+        when(bitstream.getChecksum()).thenReturn("781e5e245d69b566979b86e28d23f2c7");
+        when(bitstream.getSizeBytes()).thenReturn((long) CONTENT.length());
+        when(store.get(bitstream)).thenAnswer(invocation -> new ByteArrayInputStream(CONTENT.getBytes(UTF_8)));
+    }
+
+    @Test
+    public void testGetDownloadsOnce() throws IOException {
+        assertEquals(CONTENT, read(cachingBitStoreService.get(bitstream)));
+        assertEquals(CONTENT, read(cachingBitStoreService.get(bitstream)));
+
+        verify(store, times(1)).get(bitstream);
+        verify(bitstreamTransferStatistics).recordCacheMiss("cachingStore", CONTENT.length());
+        verify(bitstreamTransferStatistics).recordCacheHit("cachingStore", CONTENT.length());
+    }
+
+    @Test
+    public void testGetRangeFromCache() throws IOException {
+        assertEquals("345", read(cachingBitStoreService.get(bitstream, 3, 3)));
+        assertEquals("89", read(cachingBitStoreService.get(bitstream, 8, 5)));
+
+        verify(store, times(1)).get(bitstream);
+        verify(store, never()).get(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    public void testLocalFileOnlyOnceCached() throws IOException {
+        assertNull(cachingBitStoreService.getLocalFile(bitstream));
+
+        read(cachingBitStoreService.get(bitstream));
+
+        assertNotNull(cachingBitStoreService.getLocalFile(bitstream));
+        assertEquals(CONTENT, IOUtils.toString(cachingBitStoreService.getLocalFile(bitstream).toURI(), UTF_8));
+    }
+
+    @Test
+    public void testChangedChecksumIsDownloadedAgain() throws IOException {
+        read(cachingBitStoreService.get(bitstream));
+        when(bitstream.getChecksum()).thenReturn("a4e1d0a1b6e5a0a3b0c8c9b8e7f6d5c4");
+        read(cachingBitStoreService.get(bitstream));
+
+        verify(store, times(2)).get(bitstream);
+    }
+
+    @Test
+    public void testLargeBitstreamIsNotCached() throws IOException {
+        cachingBitStoreService.setMaxEntrySize(0);
+
+        assertEquals(CONTENT, read(cachingBitStoreService.get(bitstream)));
+        assertEquals(CONTENT, read(cachingBitStoreService.get(bitstream)));
+
+        verify(store, times(2)).get(bitstream);
+        assertNull(cachingBitStoreService.getLocalFile(bitstream));
+    }
+
+    @Test
+    public void testTruncatedDownloadIsNotCached() throws IOException {
+        when(store.get(bitstream)).thenAnswer(invocation -> new ByteArrayInputStream("01234".getBytes(UTF_8)));
+
+        try {
+            cachingBitStoreService.get(bitstream);
+            fail("A truncated download must fail");
+        } catch (IOException e) {
+            // expected
+        }
+
+        assertNull(cachingBitStoreService.getLocalFile(bitstream));
+    }
+
+    @Test
+    public void testRemoveDeletesTheEntry() throws IOException {
+        read(cachingBitStoreService.get(bitstream));
+
+        cachingBitStoreService.remove(bitstream);
+
+        verify(store).remove(bitstream);
+        assertNull(cachingBitStoreService.getLocalFile(bitstream));
+    }
+
+    @Test
+    public void testPruneKeepsRecentlyUsedEntries() throws IOException {
+        read(cachingBitStoreService.get(bitstream));
+        cachingBitStoreService.setMaxSize(0);
+
+        // the file may be opened after being handed out, e.g. by sendfile
+        File file = cachingBitStoreService.getLocalFile(bitstream);
+        cachingBitStoreService.prune();
+        assertTrue(file.exists());
+
+        assertTrue(file.setLastModified(System.currentTimeMillis() - 120 * 1000));
+        cachingBitStoreService.prune();
+        assertFalse(file.exists());
+        verify(bitstreamTransferStatistics).recordCacheEvictions("cachingStore", 1);
+        assertNull(cachingBitStoreService.getLocalFile(bitstream));
+    }
+
+    @Test
+    public void testPruneFailureDoesNotFailTheRead() throws IOException {
+        cachingBitStoreService.setMaxSize(0);
+        doThrow(new IllegalStateException("failed")).when(bitstreamTransferStatistics)
+                                                    .recordCacheEvictions("cachingStore", 0);
+
+        assertEquals(CONTENT, read(cachingBitStoreService.get(bitstream)));
+        assertEquals(CONTENT, read(cachingBitStoreService.get(bitstream)));
+
+        verify(store, times(1)).get(bitstream);
+    }
+
+    @Test
+    public void testConcurrentReadsDownloadOnce() throws Exception {
+        CountDownLatch downloading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(store.get(bitstream)).thenAnswer(invocation -> {
+            downloading.countDown();
+            release.await();
+            return new ByteArrayInputStream(CONTENT.getBytes(UTF_8));
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> reads = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                reads.add(executor.submit(() -> read(cachingBitStoreService.get(bitstream))));
+            }
+            downloading.await();
+            // let the other reads wait for the download
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<String> read : reads) {
+                assertEquals(CONTENT, read.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(store, times(1)).get(bitstream);
+    }
+
+    private String read(InputStream in) throws IOException {
+        try (InputStream stream = in) {
+            return IOUtils.toString(stream, UTF_8);
+        }
+    }
+}
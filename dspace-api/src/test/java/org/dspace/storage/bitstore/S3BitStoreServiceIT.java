@@ -22,14 +22,17 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.AnonymousAWSCredentials;
@@ -195,6 +198,96 @@ public class S3BitStoreServiceIT extends AbstractIntegrationTestWithDatabase {
 
     }
 
+    @Test
+    public void testBitstreamPutWithMultipartStreamingUpload() throws IOException {
+
+        s3BitStoreService.setUploadPartSize(5);
+        s3BitStoreService.setUploadParallelParts(2);
+        s3BitStoreService.init();
+
+        context.turnOffAuthorisationSystem();
+        Bitstream bitstream = createBitstream("Test bitstream content");
+        context.restoreAuthSystemState();
+
+        // three parts of 5 MB, the last one being partial
+        byte[] content = new byte[12 * 1024 * 1024];
+        new Random(42).nextBytes(content);
+
+        s3BitStoreService.put(bitstream, new ByteArrayInputStream(content));
+
+        assertThat(bitstream.getSizeBytes(), is((long) content.length));
+        assertThat(bitstream.getChecksum(), is(Utils.toHex(generateChecksum(content))));
+        assertThat(bitstream.getChecksumAlgorithm(), is(CSA));
+
+        try (InputStream inputStream = s3BitStoreService.get(bitstream)) {
+            assertThat(Arrays.equals(IOUtils.toByteArray(inputStream), content), is(true));
+        }
+
+    }
+
+    @Test
+    public void testBitstreamPutWithScratchFile() throws IOException {
+
+        s3BitStoreService.setStreamingUpload(false);
+        s3BitStoreService.init();
+
+        context.turnOffAuthorisationSystem();
+        String content = "Test bitstream content";
+        Bitstream bitstream = createBitstream(content);
+        context.restoreAuthSystemState();
+
+        s3BitStoreService.put(bitstream, toInputStream(content));
+
+        assertThat(bitstream.getSizeBytes(), is((long) content.length()));
+        assertThat(bitstream.getChecksum(), is(Utils.toHex(generateChecksum(content))));
+
+        InputStream inputStream = s3BitStoreService.get(bitstream);
+        assertThat(IOUtils.toString(inputStream, UTF_8), is(content));
+
+    }
+
+    @Test
+    public void testBitstreamRangedGet() throws IOException {
+
+        s3BitStoreService.init();
+
+        context.turnOffAuthorisationSystem();
+        String content = "Test bitstream content";
+        Bitstream bitstream = createBitstream(content);
+        context.restoreAuthSystemState();
+
+        s3BitStoreService.put(bitstream, toInputStream(content));
+
+        try (InputStream inputStream = s3BitStoreService.get(bitstream, 5, 9)) {
+            assertThat(IOUtils.toString(inputStream, UTF_8), is("bitstream"));
+        }
+
+        // a range past the end of the bitstream is truncated to its size
+        try (InputStream inputStream = s3BitStoreService.get(bitstream, 15, 100)) {
+            assertThat(IOUtils.toString(inputStream, UTF_8), is("content"));
+        }
+
+    }
+
+    @Test
+    public void testBitstreamGetWithTemporaryFile() throws IOException {
+
+        s3BitStoreService.setStreamingDownload(false);
+        s3BitStoreService.init();
+
+        context.turnOffAuthorisationSystem();
+        String content = "Test bitstream content";
+        Bitstream bitstream = createBitstream(content);
+        context.restoreAuthSystemState();
+
+        s3BitStoreService.put(bitstream, toInputStream(content));
+
+        try (InputStream inputStream = s3BitStoreService.get(bitstream)) {
+            assertThat(IOUtils.toString(inputStream, UTF_8), is(content));
+        }
+
+    }
+
     @Test
     public void testBitstreamDeletion() throws IOException {
 
@@ -383,9 +476,13 @@ public class S3BitStoreServiceIT extends AbstractIntegrationTestWithDatabase {
     }
 
     private byte[] generateChecksum(String content) {
+        return generateChecksum(content.getBytes());
+    }
+
+    private byte[] generateChecksum(byte[] content) {
         try {
             MessageDigest m = MessageDigest.getInstance("MD5");
-            m.update(content.getBytes());
+            m.update(content);
             return m.digest();
         } catch (NoSuchAlgorithmException e) {
             throw new RuntimeException(e);
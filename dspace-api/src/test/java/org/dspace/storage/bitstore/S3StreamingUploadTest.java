@@ -0,0 +1,119 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import static org.dspace.storage.bitstore.S3StreamingUpload.MIN_PART_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.InputStream;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Unit tests for {@link S3StreamingUpload}.
+ */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class S3StreamingUploadTest {
+
+    @Mock
+    private AmazonS3 s3Service;
+
+    @Before
+    public void setUp() throws Exception {
+        InitiateMultipartUploadResult initiateResult = new InitiateMultipartUploadResult();
+        initiateResult.setUploadId("upload");
+        when(s3Service.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class)))
+            .thenReturn(initiateResult);
+    }
+
+    @Test
+    public void testUploadInParts() throws Exception {
+        when(s3Service.uploadPart(any(UploadPartRequest.class))).thenAnswer(invocation -> {
+            UploadPartResult result = new UploadPartResult();
+            result.setPartNumber(invocation.getArgument(0, UploadPartRequest.class).getPartNumber());
+            result.setETag("etag");
+            return result;
+        });
+
+        long length = 2L * MIN_PART_SIZE + 10;
+        long size = new S3StreamingUpload(s3Service, "bucket", "key", MIN_PART_SIZE, 2)
+            .upload(new ZeroInputStream(length));
+
+        assertEquals(length, size);
+        ArgumentCaptor<CompleteMultipartUploadRequest> completeRequest =
+            ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3Service).completeMultipartUpload(completeRequest.capture());
+        assertEquals(3, completeRequest.getValue().getPartETags().size());
+    }
+
+    @Test
+    public void testFailedPartStopsTheReading() throws Exception {
+        when(s3Service.uploadPart(any(UploadPartRequest.class))).thenThrow(new AmazonServiceException("failed"));
+
+        ZeroInputStream in = new ZeroInputStream(1000L * MIN_PART_SIZE);
+        try {
+            new S3StreamingUpload(s3Service, "bucket", "key", MIN_PART_SIZE, 1).upload(in);
+            fail("The upload must fail");
+        } catch (AmazonServiceException e) {
+            assertEquals("failed", e.getErrorMessage());
+        }
+
+        // the parts read while the first one was being sent
+        assertTrue(in.read <= 2L * MIN_PART_SIZE);
+        verify(s3Service).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(s3Service, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    /**
+     * A stream of zeros of the given length, which counts the bytes read.
+     */
+    private static class ZeroInputStream extends InputStream {
+
+        private final long length;
+
+        private long read;
+
+        ZeroInputStream(long length) {
+            this.length = length;
+        }
+
+        @Override
+        public int read() {
+            return read(new byte[1], 0, 1) < 0 ? -1 : 0;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (read == length) {
+                return -1;
+            }
+            int count = (int) Math.min(len, length - read);
+            read += count;
+            return count;
+        }
+    }
+}
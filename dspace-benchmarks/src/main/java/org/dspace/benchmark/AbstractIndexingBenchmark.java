@@ -0,0 +1,172 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+
+import org.dspace.builder.AbstractBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.Item;
+import org.dspace.core.Context;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.servicemanager.DSpaceKernelImpl;
+import org.dspace.servicemanager.DSpaceKernelInit;
+import org.dspace.storage.rdbms.DatabaseUtils;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Base class of the indexing benchmarks. It starts the DSpace kernel on the test environment unpacked by the build
+ * (H2 database and embedded Solr cores, see the dspace.dir system property) and seeds it with synthetic CRIS
+ * entities: OrgUnits, Persons affiliated to them and Publications authored by the Persons, linked through the
+ * authorities of their metadata as the CRIS relationships are.
+ * <p>
+ * The seeded items are created once per trial and removed at its end, the benchmarks must not modify them in a way
+ * that changes the cost of the next invocations.
+ */
+@State(Scope.Benchmark)
+public abstract class AbstractIndexingBenchmark {
+
+    private static final int ORG_UNITS = 10;
+
+    /**
+     * Number of Publications seeded for the benchmark
+     */
+    @Param({ "100" })
+    public int publications;
+
+    /**
+     * Number of authors (i.e. linked Persons) of each Publication
+     */
+    @Param({ "1", "10", "50" })
+    public int authorsPerPublication;
+
+    protected Context context;
+
+    protected List<Item> orgUnitItems = new ArrayList<>();
+
+    protected List<Item> personItems = new ArrayList<>();
+
+    protected List<Item> publicationItems = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUpEnvironment() throws Exception {
+        startKernel();
+
+        context = new Context(Context.Mode.READ_WRITE);
+        context.turnOffAuthorisationSystem();
+        EPersonServiceFactory.getInstance().getGroupService().initDefaultGroupNames(context);
+        seed();
+        context.commit();
+        context.restoreAuthSystemState();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownEnvironment() throws Exception {
+        AbstractBuilder.cleanupObjects();
+        if (context != null && context.isValid()) {
+            context.abort();
+        }
+        orgUnitItems.clear();
+        personItems.clear();
+        publicationItems.clear();
+    }
+
+    /**
+     * Start the kernel and create the database schema, once for each JVM (see AbstractDSpaceIntegrationTest and
+     * AbstractIntegrationTestWithDatabase of the dspace-api tests).
+     */
+    private static synchronized void startKernel() throws Exception {
+        DSpaceKernelImpl kernelImpl = DSpaceKernelInit.getKernel(null);
+        if (kernelImpl.isRunning()) {
+            return;
+        }
+        TimeZone.setDefault(TimeZone.getTimeZone("Europe/Dublin"));
+        String dspaceDir = System.getProperty("dspace.dir");
+        if (dspaceDir == null) {
+            throw new IllegalStateException("The dspace.dir system property must point to the test environment, "
+                + "run the benchmarks with: mvn -Pdspace-benchmarks -pl dspace-benchmarks exec:exec");
+        }
+        kernelImpl.start(dspaceDir);
+        AbstractBuilder.init();
+        DatabaseUtils.updateDatabase();
+    }
+
+    private void seed() {
+        Community community = CommunityBuilder.createCommunity(context)
+                                              .withName("Benchmark community")
+                                              .build();
+        Collection orgUnits = createCollection(community, "OrgUnit");
+        Collection persons = createCollection(community, "Person");
+        Collection publicationCollection = createCollection(community, "Publication");
+
+        for (int i = 0; i < ORG_UNITS; i++) {
+            orgUnitItems.add(ItemBuilder.createItem(context, orgUnits)
+                                        .withEntityType("OrgUnit")
+                                        .withTitle("Benchmark OrgUnit " + i)
+                                        .build());
+        }
+
+        int personCount = Math.max(authorsPerPublication * 2, ORG_UNITS);
+        for (int i = 0; i < personCount; i++) {
+            Item orgUnit = orgUnitItems.get(i % ORG_UNITS);
+            Item formerOrgUnit = orgUnitItems.get((i + 1) % ORG_UNITS);
+            personItems.add(ItemBuilder.createItem(context, persons)
+                                       .withEntityType("Person")
+                                       .withTitle("Person, Benchmark " + i)
+                                       .withPersonMainAffiliation(orgUnit.getName(), orgUnit.getID().toString())
+                                       .withPersonAffiliation(orgUnit.getName(), orgUnit.getID().toString())
+                                       .withPersonAffiliation(formerOrgUnit.getName(),
+                                                              formerOrgUnit.getID().toString())
+                                       .build());
+        }
+
+        for (int i = 0; i < publications; i++) {
+            ItemBuilder publication = ItemBuilder.createItem(context, publicationCollection)
+                                                 .withEntityType("Publication")
+                                                 .withTitle("Benchmark publication " + i)
+                                                 .withIssueDate(String.valueOf(1990 + i % 30))
+                                                 .withSubject("subject " + i % 7)
+                                                 .withSubject("subject " + i % 11)
+                                                 .withDescriptionAbstract(abstractText(i));
+            for (int j = 0; j < authorsPerPublication; j++) {
+                Item person = personItems.get((i + j) % personItems.size());
+                Item orgUnit = orgUnitItems.get((i + j) % ORG_UNITS);
+                publication.withAuthor(person.getName(), person.getID().toString())
+                           .withAuthorAffiliation(orgUnit.getName());
+            }
+            publicationItems.add(publication.build());
+        }
+    }
+
+    private Collection createCollection(Community community, String entityType) {
+        return CollectionBuilder.createCollection(context, community)
+                                .withName("Benchmark " + entityType + "s")
+                                .withEntityType(entityType)
+                                .build();
+    }
+
+    private String abstractText(int seed) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            text.append("word").append((seed + i) % 97).append(' ');
+        }
+        return text.toString();
+    }
+
+}
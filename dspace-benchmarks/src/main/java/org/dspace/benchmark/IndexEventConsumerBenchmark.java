@@ -0,0 +1,73 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.dspace.content.Item;
+import org.dspace.core.Constants;
+import org.dspace.discovery.IndexEventConsumer;
+import org.dspace.event.Event;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link IndexEventConsumer#end}, i.e. of the indexing done when a transaction modifying the metadata
+ * of a given number of Publications is committed. The events are consumed before each invocation, so that only the
+ * indexing is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class IndexEventConsumerBenchmark extends AbstractIndexingBenchmark {
+
+    /**
+     * Number of modified Publications in the transaction
+     */
+    @Param({ "1", "10", "100" })
+    public int transactionSize;
+
+    private IndexEventConsumer consumer;
+
+    private int next;
+
+    @Setup(Level.Invocation)
+    public void consumeEvents() throws Exception {
+        consumer = new IndexEventConsumer();
+        consumer.initialize();
+        for (int i = 0; i < transactionSize; i++) {
+            Item item = publicationItems.get(next++ % publicationItems.size());
+            consumer.consume(context, new Event(Event.MODIFY_METADATA, Constants.ITEM, item.getID(), null));
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void finishConsumer() throws Exception {
+        consumer.finish(context);
+    }
+
+    @Benchmark
+    public void end() throws Exception {
+        consumer.end(context);
+    }
+
+}
@@ -0,0 +1,56 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
+import org.dspace.discovery.indexobject.factory.ItemIndexFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link ItemIndexFactory#buildDocument}, i.e. of the building of the discovery document of a
+ * Publication with all the SolrServiceIndexPlugins, without writing it to Solr.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class ItemIndexFactoryBenchmark extends AbstractIndexingBenchmark {
+
+    private ItemIndexFactory itemIndexFactory;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUpFactory() {
+        itemIndexFactory = (ItemIndexFactory) IndexObjectFactoryFactory.getInstance()
+                                                                       .getIndexFactoryByType(IndexableItem.TYPE);
+    }
+
+    @Benchmark
+    public SolrInputDocument buildDocument() throws Exception {
+        IndexableItem item = new IndexableItem(publicationItems.get(next++ % publicationItems.size()));
+        return itemIndexFactory.buildDocument(context, item);
+    }
+
+}
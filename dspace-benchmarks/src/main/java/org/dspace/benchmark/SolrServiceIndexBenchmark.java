@@ -0,0 +1,63 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.dspace.discovery.IndexingService;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link IndexingService#indexContent} of a Publication against the embedded Solr search core, i.e. of
+ * the building of its document, the extraction of its full text and the writing to Solr, with or without a commit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class SolrServiceIndexBenchmark extends AbstractIndexingBenchmark {
+
+    /**
+     * Whether the search core is committed after each indexed item
+     */
+    @Param({ "false", "true" })
+    public boolean commit;
+
+    private IndexingService indexingService;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUpIndexingService() {
+        indexingService = DSpaceServicesFactory.getInstance().getServiceManager()
+                                               .getServiceByName(IndexingService.class.getName(),
+                                                                 IndexingService.class);
+    }
+
+    @Benchmark
+    public void indexContent() throws Exception {
+        IndexableItem item = new IndexableItem(publicationItems.get(next++ % publicationItems.size()));
+        indexingService.indexContent(context, item, true, commit);
+    }
+
+}
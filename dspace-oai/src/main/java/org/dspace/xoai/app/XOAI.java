@@ -49,6 +49,7 @@ import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.SolrInputDocument;
 import org.dspace.authorize.ResourcePolicy;
 import org.dspace.authorize.factory.AuthorizeServiceFactory;
+import org.dspace.authorize.service.AnonymousReadStateService;
 import org.dspace.authorize.service.AuthorizeService;
 import org.dspace.content.Bitstream;
 import org.dspace.content.Bundle;
@@ -99,6 +100,7 @@ public class XOAI {
     private CollectionsService collectionsService;
 
     private final AuthorizeService authorizeService;
+    private final AnonymousReadStateService anonymousReadStateService;
     private final ItemService itemService;
 
     private final static ConfigurationService configurationService = DSpaceServicesFactory.getInstance()
@@ -129,6 +131,7 @@ public class XOAI {
 
         // Load necessary DSpace services
         this.authorizeService = AuthorizeServiceFactory.getInstance().getAuthorizeService();
+        this.anonymousReadStateService = AuthorizeServiceFactory.getInstance().getAnonymousReadStateService();
         this.itemService = ContentServiceFactory.getInstance().getItemService();
         this.extensionPlugins = new DSpace().getServiceManager()
                 .getServicesByType(XOAIExtensionItemCompilePlugin.class);
@@ -140,6 +143,7 @@ public class XOAI {
 
         // Load necessary DSpace services
         this.authorizeService = AuthorizeServiceFactory.getInstance().getAuthorizeService();
+        this.anonymousReadStateService = AuthorizeServiceFactory.getInstance().getAnonymousReadStateService();
         this.itemService = ContentServiceFactory.getInstance().getItemService();
         this.extensionPlugins = new DSpace().getServiceManager()
                 .getServicesByType(XOAIExtensionItemCompilePlugin.class);
@@ -517,8 +521,8 @@ public class XOAI {
     private boolean isPublic(Item item) {
         boolean pub = false;
         try {
-            // Check if READ access allowed on this Item
-            pub = authorizeService.authorizeActionBoolean(context, item, Constants.READ);
+            // Check if anonymous READ access allowed on this Item
+            pub = anonymousReadStateService.isAnonymousReadable(context, item);
         } catch (SQLException ex) {
             log.error(ex.getMessage());
         }
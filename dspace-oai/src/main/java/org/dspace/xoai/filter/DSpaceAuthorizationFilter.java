@@ -16,11 +16,10 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.authorize.factory.AuthorizeServiceFactory;
-import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.authorize.service.AnonymousReadStateService;
 import org.dspace.content.Item;
 import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.content.service.ItemService;
-import org.dspace.core.Constants;
 import org.dspace.handle.factory.HandleServiceFactory;
 import org.dspace.handle.service.HandleService;
 import org.dspace.xoai.data.DSpaceItem;
@@ -32,8 +31,8 @@ import org.dspace.xoai.filter.results.SolrFilterResult;
 public class DSpaceAuthorizationFilter extends DSpaceFilter {
     private static final Logger log = LogManager.getLogger(DSpaceAuthorizationFilter.class);
 
-    private static final AuthorizeService authorizeService
-        = AuthorizeServiceFactory.getInstance().getAuthorizeService();
+    private static final AnonymousReadStateService anonymousReadStateService
+        = AuthorizeServiceFactory.getInstance().getAnonymousReadStateService();
 
     private static final HandleService handleService
         = HandleServiceFactory.getInstance().getHandleService();
@@ -60,8 +59,8 @@ public class DSpaceAuthorizationFilter extends DSpaceFilter {
                 return false;
             }
 
-            // Check if READ access allowed on Item
-            pub = authorizeService.authorizeActionBoolean(context, dspaceItem, Constants.READ);
+            // Check if anonymous READ access allowed on Item
+            pub = anonymousReadStateService.isAnonymousReadable(context, dspaceItem);
         } catch (SQLException ex) {
             log.error(ex.getMessage(), ex);
         }
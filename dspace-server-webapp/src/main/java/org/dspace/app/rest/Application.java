@@ -23,6 +23,7 @@ import org.dspace.app.rest.utils.DSpaceKernelInitializer;
 import org.dspace.app.sitemap.GenerateSitemaps;
 import org.dspace.app.solrdatabaseresync.SolrDatabaseResyncCli;
 import org.dspace.app.util.DSpaceContextListener;
+import org.dspace.discovery.queue.IndexQueueProcessor;
 import org.dspace.google.GoogleAsyncEventListener;
 import org.dspace.utils.servlet.DSpaceWebappServletFilter;
 import org.slf4j.Logger;
@@ -83,6 +84,11 @@ public class Application extends SpringBootServletInitializer {
         SolrDatabaseResyncCli.runScheduled();
     }
 
+    @Scheduled(cron = "${discovery.index.async.cron:-}")
+    public void processIndexQueue() {
+        IndexQueueProcessor.runScheduled();
+    }
+
     @Scheduled(cron = "${google.analytics.cron:-}")
     public void sendGoogleAnalyticsEvents() {
         googleAsyncEventListener.sendCollectedEvents();
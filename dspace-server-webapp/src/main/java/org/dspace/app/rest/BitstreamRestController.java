@@ -11,6 +11,7 @@ import static org.dspace.app.rest.utils.ContextUtil.obtainContext;
 import static org.dspace.app.rest.utils.RegexUtils.REGEX_REQUESTMAPPING_IDENTIFIER_AS_UUID;
 import static org.springframework.web.bind.annotation.RequestMethod.PUT;
 
+import java.io.File;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.List;
@@ -19,6 +20,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.core.Response;
 
+import org.apache.catalina.Globals;
 import org.apache.catalina.connector.ClientAbortException;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
@@ -39,10 +41,13 @@ import org.dspace.disseminate.service.CitationDocumentService;
 import org.dspace.eperson.EPerson;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.EventService;
+import org.dspace.storage.bitstore.BitstreamTransferStatistics;
 import org.dspace.usage.UsageEvent;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PostAuthorize;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -92,6 +97,9 @@ public class BitstreamRestController {
     @Autowired
     private ConfigurationService configurationService;
 
+    @Autowired
+    private BitstreamTransferStatistics bitstreamTransferStatistics;
+
     @Autowired
     ConverterService converter;
 
@@ -137,10 +145,19 @@ public class BitstreamRestController {
             Boolean citationEnabledForBitstream = citationDocumentService.isCitationEnabledForBitstream(bit, context);
             context.turnOffAuthorisationSystem();
 
+            // The bitstreams of the local stores are sent by the servlet container, without being copied through
+            // the application
+            File localFile = null;
+            if (!citationEnabledForBitstream && filesize > 0 && isSendfileSupported(request)) {
+                localFile = bitstreamService.retrieveLocalFile(context, bit);
+            }
+            int storeNumber = bit.getStoreNumber();
+
             HttpHeadersInitializer httpHeadersInitializer = new HttpHeadersInitializer()
                 .withBufferSize(BUFFER_SIZE)
                 .withFileName(name)
                 .withChecksum(bit.getChecksum())
+                .withLength(filesize)
                 .withMimetype(mimetype)
                 .with(request)
                 .with(response);
@@ -169,6 +186,35 @@ public class BitstreamRestController {
             //Send the data
             if (httpHeadersInitializer.isValid()) {
                 HttpHeaders httpHeaders = httpHeadersInitializer.initialiseHeaders();
+                // A single range of the bitstream is read from the bitstore, Spring handles the other ranges by
+                // skipping through the whole content
+                HttpRange range = null;
+                long start = 0;
+                long end = filesize - 1;
+                try {
+                    range = citationEnabledForBitstream ? null : httpHeadersInitializer.getRequestedRange();
+                    if (range != null) {
+                        start = range.getRangeStart(filesize);
+                        end = range.getRangeEnd(filesize);
+                    }
+                } catch (IllegalArgumentException ex) {
+                    log.debug("Invalid or not satisfiable Range header: " + request.getHeader("Range"), ex);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + filesize);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return null;
+                }
+                if (range != null) {
+                    httpHeadersInitializer.initialiseRangeHeaders(httpHeaders, start, end);
+                }
+                if (localFile != null && (range != null || StringUtils.isBlank(request.getHeader("Range")))) {
+                    sendFile(request, httpHeaders, localFile, storeNumber, start, end);
+                    return ResponseEntity.status(range != null ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
+                                         .headers(httpHeaders).build();
+                }
+                if (range != null) {
+                    return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT).headers(httpHeaders)
+                                         .body(bitstreamResource.withRange(start, end - start + 1));
+                }
                 return ResponseEntity.ok().headers(httpHeaders).body(bitstreamResource);
             }
 
@@ -183,6 +229,25 @@ public class BitstreamRestController {
         return null;
     }
 
+    private boolean isSendfileSupported(HttpServletRequest request) {
+        return configurationService.getBooleanProperty("assetstore.sendfile.enabled", true)
+            && Boolean.TRUE.equals(request.getAttribute(Globals.SENDFILE_SUPPORTED_ATTR))
+            && !RequestMethod.HEAD.name().equals(request.getMethod());
+    }
+
+    /**
+     * Ask the servlet container to send a range of a file as the content of the response, with sendfile
+     */
+    private void sendFile(HttpServletRequest request, HttpHeaders httpHeaders, File file, int storeNumber,
+                          long start, long end) {
+        request.setAttribute(Globals.SENDFILE_FILENAME_ATTR, file.getAbsolutePath());
+        request.setAttribute(Globals.SENDFILE_FILE_START_ATTR, start);
+        // the end position is exclusive
+        request.setAttribute(Globals.SENDFILE_FILE_END_ATTR, end + 1);
+        httpHeaders.setContentLength(end - start + 1);
+        bitstreamTransferStatistics.recordSendfile(storeNumber, end - start + 1);
+    }
+
     private String getBitstreamName(Bitstream bit, BitstreamFormat format) {
         String name = bit.getName();
         if (name == null) {
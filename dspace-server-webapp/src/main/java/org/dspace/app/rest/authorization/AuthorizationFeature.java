@@ -12,6 +12,7 @@ import java.sql.SQLException;
 import org.dspace.app.rest.model.BaseObjectRest;
 import org.dspace.app.rest.model.RestAddressableModel;
 import org.dspace.app.rest.model.SiteRest;
+import org.dspace.app.rest.security.DSpaceRestPermission;
 import org.dspace.core.Context;
 import org.dspace.discovery.SearchServiceException;
 import org.springframework.core.annotation.AnnotationUtils;
@@ -70,4 +71,14 @@ public interface AuthorizationFeature {
      * @return the supported object type, required to be not null
      */
     String[] getSupportedTypes();
+
+    /**
+     * Return the permissions that the feature checks on the object, which can be computed in batch for all the objects
+     * of a request before the feature is evaluated, see {@link AuthorizationFeatureEvaluation}
+     *
+     * @return the permissions checked on the object, empty by default
+     */
+    default DSpaceRestPermission[] getRequiredPermissions() {
+        return new DSpaceRestPermission[0];
+    }
 }
@@ -0,0 +1,218 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.authorization;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.app.rest.model.BaseObjectRest;
+import org.dspace.app.rest.security.DSpaceRestPermission;
+import org.dspace.app.rest.utils.Utils;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.content.DSpaceObject;
+import org.dspace.core.Context;
+import org.dspace.eperson.EPerson;
+import org.dspace.services.RequestService;
+import org.dspace.services.model.Request;
+import org.dspace.util.ThrowingSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shares the facts checked by the {@link AuthorizationFeature}s (whether the user is an administrator of the site,
+ * of any community or collection, the permissions on the objects...) between all the features and all the objects
+ * evaluated in the same request, e.g. when the UI asks all the features of a page of objects to the authorizations
+ * search endpoint.
+ * <p>
+ * The facts are memoized in an evaluation session stored in the current request, which is bound to the context, to
+ * its current transaction, to its current user and to its special groups: committing or rolling back the changes of
+ * the request or switching the user of the context starts a new session, and no fact is memoized while the context
+ * has uncommitted changes or ignores the authorizations. The permissions declared by the
+ * features with {@link AuthorizationFeature#getRequiredPermissions()} can be computed in batch for all the objects
+ * with {@link #prepare(Context, Collection, List)} before the features are evaluated.
+ */
+@Component
+public class AuthorizationFeatureEvaluation {
+
+    private static final String SESSION_ATTRIBUTE = AuthorizationFeatureEvaluation.class.getName();
+
+    @Autowired
+    private AuthorizeService authorizeService;
+
+    @Autowired
+    private RequestService requestService;
+
+    @Autowired
+    private Utils utils;
+
+    /**
+     * Compute in batch the permissions required by the features on all the objects.
+     *
+     * @param context  the DSpace context
+     * @param features the features which will be evaluated
+     * @param objects  the objects the features will be evaluated on
+     * @throws SQLException if a database error occurs
+     */
+    public void prepare(Context context, Collection<AuthorizationFeature> features, List<BaseObjectRest> objects)
+        throws SQLException {
+        Session session = getSession(context);
+        if (session == null) {
+            return;
+        }
+        Set<DSpaceRestPermission> permissions = EnumSet.noneOf(DSpaceRestPermission.class);
+        for (AuthorizationFeature feature : features) {
+            if (feature != null) {
+                permissions.addAll(List.of(feature.getRequiredPermissions()));
+            }
+        }
+        if (permissions.isEmpty()) {
+            return;
+        }
+        List<DSpaceObject> dsos = new ArrayList<>();
+        for (BaseObjectRest object : objects) {
+            Object domainObject = object != null ? getDSpaceAPIObjectFromRest(context, object) : null;
+            if (domainObject instanceof DSpaceObject) {
+                dsos.add((DSpaceObject) domainObject);
+            }
+        }
+        if (dsos.isEmpty()) {
+            return;
+        }
+        for (DSpaceRestPermission permission : permissions) {
+            int action = permission.getDspaceApiActionId();
+            Map<UUID, Boolean> results = authorizeService.batchAuthorizeActionBoolean(context, dsos, action);
+            for (Map.Entry<UUID, Boolean> result : results.entrySet()) {
+                session.facts.putIfAbsent("action|" + action + "|" + result.getKey(), result.getValue());
+            }
+        }
+    }
+
+    /**
+     * @see AuthorizeService#isAdmin(Context)
+     */
+    public boolean isAdmin(Context context) throws SQLException {
+        return get(context, "admin", () -> authorizeService.isAdmin(context));
+    }
+
+    /**
+     * @see AuthorizeService#isAdmin(Context, DSpaceObject)
+     */
+    public boolean isAdmin(Context context, DSpaceObject dso) throws SQLException {
+        return get(context, "admin|" + dso.getID(), () -> authorizeService.isAdmin(context, dso));
+    }
+
+    /**
+     * @see AuthorizeService#isCommunityAdmin(Context)
+     */
+    public boolean isCommunityAdmin(Context context) throws SQLException {
+        return get(context, "communityAdmin", () -> authorizeService.isCommunityAdmin(context));
+    }
+
+    /**
+     * @see AuthorizeService#isCollectionAdmin(Context)
+     */
+    public boolean isCollectionAdmin(Context context) throws SQLException {
+        return get(context, "collectionAdmin", () -> authorizeService.isCollectionAdmin(context));
+    }
+
+    /**
+     * @see AuthorizeService#isComColAdmin(Context)
+     */
+    public boolean isComColAdmin(Context context) throws SQLException {
+        return get(context, "comColAdmin", () -> authorizeService.isComColAdmin(context));
+    }
+
+    /**
+     * Check whether the current user can perform an action on an object, considering the inherited ADMIN policies.
+     *
+     * @see AuthorizeService#authorizeActionBoolean(Context, EPerson, DSpaceObject, int, boolean)
+     */
+    public boolean authorizeActionBoolean(Context context, DSpaceObject dso, int action) throws SQLException {
+        return get(context, "action|" + action + "|" + dso.getID(),
+            () -> authorizeService.authorizeActionBoolean(context, context.getCurrentUser(), dso, action, true));
+    }
+
+    /**
+     * @see Utils#getDSpaceAPIObjectFromRest(Context, BaseObjectRest)
+     */
+    public Object getDSpaceAPIObjectFromRest(Context context, BaseObjectRest object) throws SQLException {
+        return get(context, "object|" + object.getUniqueType() + "|" + object.getId(),
+            () -> utils.getDSpaceAPIObjectFromRest(context, object));
+    }
+
+    /**
+     * Get a fact from the evaluation session of the current request, computing it if it was not yet.
+     *
+     * @param context  the DSpace context
+     * @param key      the unique key of the fact
+     * @param supplier the computation of the fact
+     * @return the fact
+     * @throws SQLException if a database error occurs
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Context context, String key, ThrowingSupplier<T, SQLException> supplier) throws SQLException {
+        Session session = getSession(context);
+        if (session == null) {
+            return supplier.get();
+        }
+        if (session.facts.containsKey(key)) {
+            return (T) session.facts.get(key);
+        }
+        T fact = supplier.get();
+        session.facts.put(key, fact);
+        return fact;
+    }
+
+    /**
+     * @return the evaluation session of the current request for the context, or null if the facts must not be
+     *         memoized
+     */
+    private Session getSession(Context context) {
+        Request request = requestService.getCurrentRequest();
+        if (request == null || context.hasEvents() || context.ignoreAuthorization()) {
+            return null;
+        }
+        Session session = (Session) request.getAttribute(SESSION_ATTRIBUTE);
+        if (session == null || !session.isBoundTo(context)) {
+            session = new Session(context);
+            request.setAttribute(SESSION_ATTRIBUTE, session);
+        }
+        return session;
+    }
+
+    private static class Session {
+        private final Context context;
+        private final long transactionNumber;
+        private final EPerson ePerson;
+        private final Set<UUID> specialGroups;
+        private final Map<String, Object> facts = new HashMap<>();
+
+        Session(Context context) {
+            this.context = context;
+            this.transactionNumber = context.getTransactionNumber();
+            this.ePerson = context.getCurrentUser();
+            this.specialGroups = new HashSet<>(context.getSpecialGroupUuids());
+        }
+
+        boolean isBoundTo(Context current) {
+            return context == current && transactionNumber == current.getTransactionNumber()
+                && Objects.equals(ePerson, current.getCurrentUser())
+                && specialGroups.equals(current.getSpecialGroupUuids());
+        }
+    }
+
+}
@@ -12,13 +12,10 @@ import java.util.Objects;
 
 import org.dspace.app.rest.model.BaseObjectRest;
 import org.dspace.app.rest.security.DSpaceRestPermission;
-import org.dspace.app.rest.utils.Utils;
-import org.dspace.authorize.service.AuthorizeService;
 import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
 import org.dspace.content.service.ItemService;
 import org.dspace.core.Context;
-import org.dspace.eperson.EPerson;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -31,9 +28,7 @@ public class AuthorizeServiceRestUtil {
     @Autowired
     private ItemService itemService;
     @Autowired
-    private AuthorizeService authorizeService;
-    @Autowired
-    private Utils utils;
+    private AuthorizationFeatureEvaluation authorizationFeatureEvaluation;
 
     /**
      * Checks that the specified eperson can perform the given action on the rest given object.
@@ -48,24 +43,28 @@ public class AuthorizeServiceRestUtil {
                                           DSpaceRestPermission dSpaceRestPermission)
         throws SQLException {
 
-        DSpaceObject dSpaceObject = (DSpaceObject)utils.getDSpaceAPIObjectFromRest(context, object);
+        DSpaceObject dSpaceObject =
+            (DSpaceObject) authorizationFeatureEvaluation.getDSpaceAPIObjectFromRest(context, object);
         if (dSpaceObject == null) {
             return false;
         }
 
-        EPerson ePerson = context.getCurrentUser();
-
         // If the item is still inprogress we can process here only the READ permission.
         // Other actions need to be evaluated against the wrapper object (workspace or workflow item)
         if (dSpaceObject instanceof Item) {
             Item item = (Item) dSpaceObject;
             if (!DSpaceRestPermission.READ.equals(dSpaceRestPermission)
-                && (itemService.isInProgressSubmission(context, item) || Objects.nonNull(item.getTemplateItemOf()))) {
+                && (isInProgressSubmission(context, item) || Objects.nonNull(item.getTemplateItemOf()))) {
                 return false;
             }
         }
 
-        return authorizeService.authorizeActionBoolean(context, ePerson, dSpaceObject,
-            dSpaceRestPermission.getDspaceApiActionId(), true);
+        return authorizationFeatureEvaluation.authorizeActionBoolean(context, dSpaceObject,
+            dSpaceRestPermission.getDspaceApiActionId());
+    }
+
+    private boolean isInProgressSubmission(Context context, Item item) throws SQLException {
+        return authorizationFeatureEvaluation.get(context, "inProgressSubmission|" + item.getID(),
+            () -> itemService.isInProgressSubmission(context, item));
     }
 }
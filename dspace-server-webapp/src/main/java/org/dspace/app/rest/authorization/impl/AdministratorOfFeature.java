@@ -11,13 +11,12 @@ import java.sql.SQLException;
 
 import org.dspace.app.rest.authorization.AuthorizationFeature;
 import org.dspace.app.rest.authorization.AuthorizationFeatureDocumentation;
+import org.dspace.app.rest.authorization.AuthorizationFeatureEvaluation;
 import org.dspace.app.rest.model.BaseObjectRest;
 import org.dspace.app.rest.model.CollectionRest;
 import org.dspace.app.rest.model.CommunityRest;
 import org.dspace.app.rest.model.ItemRest;
 import org.dspace.app.rest.model.SiteRest;
-import org.dspace.app.rest.utils.Utils;
-import org.dspace.authorize.service.AuthorizeService;
 import org.dspace.content.Collection;
 import org.dspace.content.Community;
 import org.dspace.content.Item;
@@ -40,27 +39,27 @@ public class AdministratorOfFeature implements AuthorizationFeature {
     public static final String NAME = "administratorOf";
 
     @Autowired
-    AuthorizeService authService;
-    @Autowired
-    private Utils utils;
+    private AuthorizationFeatureEvaluation authorizationFeatureEvaluation;
 
     @Override
     public boolean isAuthorized(Context context, BaseObjectRest object) throws SQLException {
         if (object != null) {
             if (object instanceof CommunityRest) {
-                Community community = (Community) utils.getDSpaceAPIObjectFromRest(context, object);
-                return authService.isAdmin(context, community);
+                Community community =
+                    (Community) authorizationFeatureEvaluation.getDSpaceAPIObjectFromRest(context, object);
+                return authorizationFeatureEvaluation.isAdmin(context, community);
             }
             if (object instanceof CollectionRest) {
-                Collection collection = (Collection) utils.getDSpaceAPIObjectFromRest(context, object);
-                return authService.isAdmin(context, collection);
+                Collection collection =
+                    (Collection) authorizationFeatureEvaluation.getDSpaceAPIObjectFromRest(context, object);
+                return authorizationFeatureEvaluation.isAdmin(context, collection);
             }
             if (object instanceof ItemRest) {
-                Item item = (Item) utils.getDSpaceAPIObjectFromRest(context, object);
-                return authService.isAdmin(context, item);
+                Item item = (Item) authorizationFeatureEvaluation.getDSpaceAPIObjectFromRest(context, object);
+                return authorizationFeatureEvaluation.isAdmin(context, item);
             }
         }
-        return authService.isAdmin(context);
+        return authorizationFeatureEvaluation.isAdmin(context);
     }
 
     @Override
@@ -12,9 +12,9 @@ import java.util.UUID;
 
 import org.dspace.app.rest.authorization.AuthorizationFeature;
 import org.dspace.app.rest.authorization.AuthorizationFeatureDocumentation;
+import org.dspace.app.rest.authorization.AuthorizationFeatureEvaluation;
 import org.dspace.app.rest.model.BaseObjectRest;
 import org.dspace.app.rest.model.ItemRest;
-import org.dspace.authorize.service.AuthorizeService;
 import org.dspace.content.Item;
 import org.dspace.content.service.ItemService;
 import org.dspace.core.Context;
@@ -38,7 +38,7 @@ public class CanManageVersionsFeature implements AuthorizationFeature {
     @Autowired
     private ItemService itemService;
     @Autowired
-    private AuthorizeService authorizeService;
+    private AuthorizationFeatureEvaluation authorizationFeatureEvaluation;
     @Autowired
     private ConfigurationService configurationService;
 
@@ -53,7 +53,7 @@ public class CanManageVersionsFeature implements AuthorizationFeature {
             }
             Item item = itemService.find(context, UUID.fromString(((ItemRest) object).getUuid()));
             if (Objects.nonNull(item)) {
-                return authorizeService.isAdmin(context, item);
+                return authorizationFeatureEvaluation.isAdmin(context, item);
             }
         }
         return false;
@@ -11,9 +11,9 @@ import java.sql.SQLException;
 
 import org.dspace.app.rest.authorization.AuthorizationFeature;
 import org.dspace.app.rest.authorization.AuthorizationFeatureDocumentation;
+import org.dspace.app.rest.authorization.AuthorizationFeatureEvaluation;
 import org.dspace.app.rest.model.BaseObjectRest;
 import org.dspace.app.rest.model.SiteRest;
-import org.dspace.authorize.service.AuthorizeService;
 import org.dspace.core.Context;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -33,16 +33,16 @@ public class ComColAdminFeature implements AuthorizationFeature {
     public final static String NAME = "isComColAdmin";
 
     @Autowired
-    private AuthorizeService authorizeService;
+    private AuthorizationFeatureEvaluation authorizationFeatureEvaluation;
 
     @Override
     public boolean isAuthorized(Context context, BaseObjectRest object) throws SQLException {
         if (object instanceof SiteRest) {
-            if (authorizeService.isAdmin(context)) {
+            if (authorizationFeatureEvaluation.isAdmin(context)) {
                 return true;
             }
 
-            return authorizeService.isComColAdmin(context);
+            return authorizationFeatureEvaluation.isComColAdmin(context);
         }
         return false;
     }
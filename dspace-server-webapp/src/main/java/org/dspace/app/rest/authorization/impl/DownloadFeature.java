@@ -10,12 +10,12 @@ import java.sql.SQLException;
 
 import org.dspace.app.rest.authorization.AuthorizationFeature;
 import org.dspace.app.rest.authorization.AuthorizationFeatureDocumentation;
+import org.dspace.app.rest.authorization.AuthorizationFeatureEvaluation;
 import org.dspace.app.rest.authorization.AuthorizeServiceRestUtil;
 import org.dspace.app.rest.model.BaseObjectRest;
 import org.dspace.app.rest.model.BitstreamRest;
 import org.dspace.app.rest.security.BitstreamCrisSecurityService;
 import org.dspace.app.rest.security.DSpaceRestPermission;
-import org.dspace.app.rest.utils.Utils;
 import org.dspace.content.Bitstream;
 import org.dspace.content.DSpaceObject;
 import org.dspace.core.Context;
@@ -46,7 +46,7 @@ public class DownloadFeature implements AuthorizationFeature {
     private BitstreamCrisSecurityService bitstreamCrisSecurityService;
 
     @Autowired
-    private Utils utils;
+    private AuthorizationFeatureEvaluation authorizationFeatureEvaluation;
 
     @Override
     @SuppressWarnings("rawtypes")
@@ -58,7 +58,8 @@ public class DownloadFeature implements AuthorizationFeature {
             }
         }
         try {
-            DSpaceObject dSpaceObject = (DSpaceObject) utils.getDSpaceAPIObjectFromRest(context, object);
+            DSpaceObject dSpaceObject = (DSpaceObject) authorizationFeatureEvaluation
+                .getDSpaceAPIObjectFromRest(context, object);
             if (dSpaceObject == null) {
                 return false;
             }
@@ -84,4 +85,9 @@ public class DownloadFeature implements AuthorizationFeature {
         };
     }
 
+    @Override
+    public DSpaceRestPermission[] getRequiredPermissions() {
+        return new DSpaceRestPermission[] { DSpaceRestPermission.READ };
+    }
+
 }
\ No newline at end of file
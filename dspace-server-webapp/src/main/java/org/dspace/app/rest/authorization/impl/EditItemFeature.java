@@ -11,11 +11,11 @@ import java.sql.SQLException;
 
 import org.dspace.app.rest.authorization.AuthorizationFeature;
 import org.dspace.app.rest.authorization.AuthorizationFeatureDocumentation;
+import org.dspace.app.rest.authorization.AuthorizationFeatureEvaluation;
 import org.dspace.app.rest.model.BaseObjectRest;
 import org.dspace.app.rest.model.ItemRest;
 import org.dspace.app.rest.model.SiteRest;
-import org.dspace.app.rest.utils.Utils;
-import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.app.rest.security.DSpaceRestPermission;
 import org.dspace.content.Item;
 import org.dspace.content.service.ItemService;
 import org.dspace.core.Constants;
@@ -30,20 +30,18 @@ import org.springframework.stereotype.Component;
 public class EditItemFeature implements AuthorizationFeature {
     public static final String NAME = "canEditItem";
     @Autowired
-    AuthorizeService authService;
-    @Autowired
     ItemService itemService;
 
     @Autowired
-    Utils utils;
+    private AuthorizationFeatureEvaluation authorizationFeatureEvaluation;
 
     @Override
     public boolean isAuthorized(Context context, BaseObjectRest object) throws SQLException, SearchServiceException {
         if (object instanceof SiteRest) {
             return itemService.countItemsWithEdit(context) > 0;
         } else if (object instanceof ItemRest) {
-            Item item = (Item) utils.getDSpaceAPIObjectFromRest(context, object);
-            return authService.authorizeActionBoolean(context, item, Constants.WRITE);
+            Item item = (Item) authorizationFeatureEvaluation.getDSpaceAPIObjectFromRest(context, object);
+            return authorizationFeatureEvaluation.authorizeActionBoolean(context, item, Constants.WRITE);
         }
         return false;
     }
@@ -55,4 +53,9 @@ public class EditItemFeature implements AuthorizationFeature {
             SiteRest.CATEGORY + "." + SiteRest.NAME
         };
     }
+
+    @Override
+    public DSpaceRestPermission[] getRequiredPermissions() {
+        return new DSpaceRestPermission[] { DSpaceRestPermission.WRITE };
+    }
 }
@@ -82,4 +82,9 @@ public class EditMetadataFeature implements AuthorizationFeature {
             SiteRest.CATEGORY + "." + SiteRest.NAME
         };
     }
+
+    @Override
+    public DSpaceRestPermission[] getRequiredPermissions() {
+        return new DSpaceRestPermission[] { DSpaceRestPermission.WRITE };
+    }
 }
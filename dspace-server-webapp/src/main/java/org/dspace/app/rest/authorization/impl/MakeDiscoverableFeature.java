@@ -48,4 +48,9 @@ public class MakeDiscoverableFeature implements AuthorizationFeature {
             ItemRest.CATEGORY + "." + ItemRest.NAME
         };
     }
+
+    @Override
+    public DSpaceRestPermission[] getRequiredPermissions() {
+        return new DSpaceRestPermission[] { DSpaceRestPermission.WRITE };
+    }
 }
@@ -48,4 +48,9 @@ public class MakePrivateFeature implements AuthorizationFeature {
             ItemRest.CATEGORY + "." + ItemRest.NAME
         };
     }
+
+    @Override
+    public DSpaceRestPermission[] getRequiredPermissions() {
+        return new DSpaceRestPermission[] { DSpaceRestPermission.WRITE };
+    }
 }
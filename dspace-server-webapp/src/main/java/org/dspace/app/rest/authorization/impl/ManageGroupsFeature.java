@@ -11,10 +11,10 @@ import java.sql.SQLException;
 
 import org.dspace.app.rest.authorization.AuthorizationFeature;
 import org.dspace.app.rest.authorization.AuthorizationFeatureDocumentation;
+import org.dspace.app.rest.authorization.AuthorizationFeatureEvaluation;
 import org.dspace.app.rest.model.BaseObjectRest;
 import org.dspace.app.rest.model.SiteRest;
 import org.dspace.authorize.AuthorizeConfiguration;
-import org.dspace.authorize.service.AuthorizeService;
 import org.dspace.core.Context;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -34,18 +34,18 @@ public class ManageGroupsFeature implements AuthorizationFeature {
     public final static String NAME = "canManageGroups";
 
     @Autowired
-    private AuthorizeService authorizeService;
+    private AuthorizationFeatureEvaluation authorizationFeatureEvaluation;
 
     @Override
     public boolean isAuthorized(Context context, BaseObjectRest object) throws SQLException {
         if (object instanceof SiteRest) {
-            if (authorizeService.isAdmin(context)) {
+            if (authorizationFeatureEvaluation.isAdmin(context)) {
                 return true;
             }
 
             if ((AuthorizeConfiguration.canCommunityAdminManagePolicies() ||
                 AuthorizeConfiguration.canCommunityAdminManageAdminGroup()) &&
-                authorizeService.isCommunityAdmin(context)) {
+                authorizationFeatureEvaluation.isCommunityAdmin(context)) {
                 return true;
             }
 
@@ -54,7 +54,7 @@ public class ManageGroupsFeature implements AuthorizationFeature {
                     AuthorizeConfiguration.canCommunityAdminManageCollectionSubmitters() ||
                     AuthorizeConfiguration.canCommunityAdminManageCollectionWorkflows() ||
                     AuthorizeConfiguration.canCommunityAdminManageCollectionAdminGroup())
-                    && authorizeService.isCollectionAdmin(context)) {
+                    && authorizationFeatureEvaluation.isCollectionAdmin(context)) {
                 return true;
             }
         }
@@ -48,4 +48,9 @@ public class ReorderBitstreamFeature implements AuthorizationFeature {
             BundleRest.CATEGORY + "." + BundleRest.NAME
         };
     }
+
+    @Override
+    public DSpaceRestPermission[] getRequiredPermissions() {
+        return new DSpaceRestPermission[] { DSpaceRestPermission.WRITE };
+    }
 }
@@ -13,6 +13,9 @@ import java.util.Arrays;
 
 import org.apache.solr.client.solrj.SolrServerException;
 import org.dspace.app.rest.DiscoverableEndpointsService;
+import org.dspace.app.rest.health.BitstreamTransfersHealthIndicator;
+import org.dspace.app.rest.health.DiscoveryIndexingHealthIndicator;
+import org.dspace.app.rest.health.DiscoverySearchCacheHealthIndicator;
 import org.dspace.app.rest.health.GeoIpHealthIndicator;
 import org.dspace.authority.AuthoritySolrServiceImpl;
 import org.dspace.discovery.SolrSearchCore;
@@ -88,6 +91,27 @@ public class ActuatorConfiguration {
         return new GeoIpHealthIndicator();
     }
 
+    @Bean
+    @ConditionalOnEnabledHealthIndicator("discoveryIndexing")
+    @ConditionalOnProperty("discovery.index.statistics.enabled")
+    public DiscoveryIndexingHealthIndicator discoveryIndexingHealthIndicator() {
+        return new DiscoveryIndexingHealthIndicator();
+    }
+
+    @Bean
+    @ConditionalOnEnabledHealthIndicator("discoverySearchCache")
+    @ConditionalOnProperty("discovery.search.cache.enabled")
+    public DiscoverySearchCacheHealthIndicator discoverySearchCacheHealthIndicator() {
+        return new DiscoverySearchCacheHealthIndicator();
+    }
+
+    @Bean
+    @ConditionalOnEnabledHealthIndicator("bitstreamTransfers")
+    @ConditionalOnProperty("assetstore.statistics.enabled")
+    public BitstreamTransfersHealthIndicator bitstreamTransfersHealthIndicator() {
+        return new BitstreamTransfersHealthIndicator();
+    }
+
     public String getActuatorBasePath() {
         return actuatorBasePath;
     }
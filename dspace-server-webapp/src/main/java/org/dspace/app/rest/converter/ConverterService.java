@@ -11,6 +11,8 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -32,8 +34,14 @@ import org.dspace.app.rest.projection.DefaultProjection;
 import org.dspace.app.rest.projection.Projection;
 import org.dspace.app.rest.repository.DSpaceRestRepository;
 import org.dspace.app.rest.security.WebSecurityExpressionEvaluator;
+import org.dspace.app.rest.utils.ContextUtil;
 import org.dspace.app.rest.utils.Utils;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.content.DSpaceObject;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
 import org.dspace.services.RequestService;
+import org.dspace.services.model.Request;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.BeanDefinition;
@@ -88,6 +96,9 @@ public class ConverterService {
     @Autowired
     private RequestService requestService;
 
+    @Autowired
+    private AuthorizeService authorizeService;
+
     /**
      * Converts the given model object to a rest object, using the appropriate {@link DSpaceConverter} and
      * the given projection.
@@ -206,6 +217,7 @@ public class ConverterService {
             pageable = utils.getPageable(pageable);
         }
         List<M> pageableObjects = utils.getPageObjectList(modelObjects, pageable);
+        authorizeReadInBatch(pageableObjects);
         List<R> transformedList = new LinkedList<>();
         for (M modelObject : pageableObjects) {
             R transformedObject = toRest(modelObject, projection);
@@ -230,6 +242,7 @@ public class ConverterService {
      * @return the page.
      */
     public <M, R> Page<R> toRestPage(List<M> modelObjects, Pageable pageable, long total, Projection projection) {
+        authorizeReadInBatch(modelObjects);
         List<R> transformedList = new LinkedList<>();
         for (M modelObject : modelObjects) {
             R transformedObject = toRest(modelObject, projection);
@@ -244,6 +257,48 @@ public class ConverterService {
     }
 
 
+    /**
+     * Check with a single query whether the current user can READ the DSpace objects of a page, before they are
+     * converted one by one. The results are kept by the context, so that the authorization checked for each object
+     * by {@link #toRest(Object, Projection)} doesn't query its policies again.
+     *
+     * @param modelObjects the model objects about to be converted, the objects which are not DSpace objects are
+     *                     ignored
+     */
+    public void authorizeReadInBatch(List<?> modelObjects) {
+        Request currentRequest = requestService.getCurrentRequest();
+        if (currentRequest == null) {
+            return;
+        }
+        authorizeReadInBatch(ContextUtil.obtainContext(currentRequest.getHttpServletRequest()), modelObjects);
+    }
+
+    /**
+     * Check with a single query whether the current user can READ the DSpace objects of a page, before they are
+     * converted one by one.
+     *
+     * @param context      the context of the current request
+     * @param modelObjects the model objects about to be converted, the objects which are not DSpace objects are
+     *                     ignored
+     */
+    public void authorizeReadInBatch(Context context, List<?> modelObjects) {
+        List<DSpaceObject> dsos = new ArrayList<>();
+        for (Object modelObject : modelObjects) {
+            if (modelObject instanceof DSpaceObject) {
+                dsos.add((DSpaceObject) modelObject);
+            }
+        }
+        if (context == null || dsos.size() < 2) {
+            return;
+        }
+        try {
+            authorizeService.batchAuthorizeActionBoolean(context, dsos, Constants.READ);
+        } catch (SQLException e) {
+            // the objects are then checked one by one
+            log.warn("Unable to check the READ permission of a page of objects", e);
+        }
+    }
+
     /**
      * Gets the converter supporting the given class as input.
      *
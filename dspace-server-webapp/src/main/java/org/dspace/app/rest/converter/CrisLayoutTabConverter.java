@@ -9,6 +9,7 @@ package org.dspace.app.rest.converter;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -131,10 +132,20 @@ public class CrisLayoutTabConverter implements DSpaceConverter<CrisLayoutTab, Cr
 
     private boolean hasAccess(Item item, CrisLayoutBox box) {
         Context context = ContextUtil.obtainCurrentRequestContext();
-        return crisLayoutBoxService.hasContent(context, box, item)
+        return hasContent(context, item, box)
             && crisLayoutBoxService.hasAccess(context, box, item);
     }
 
+    @SuppressWarnings("unchecked")
+    private boolean hasContent(Context context, Item item, CrisLayoutBox box) {
+        Map<CrisLayoutBox, Boolean> boxesContent = Optional.ofNullable(requestService.getCurrentRequest())
+            .map(rq -> rq.getAttribute(CrisLayoutTabRestRepository.BOXES_CONTENT_ATTRIBUTE))
+            .map(boxesContentAttribute -> (Map<CrisLayoutBox, Boolean>) boxesContentAttribute)
+            .orElse(Map.of());
+        Boolean hasContent = boxesContent.get(box);
+        return hasContent != null ? hasContent : crisLayoutBoxService.hasContent(context, box, item);
+    }
+
     private CrisLayoutRow toRowModel(Context context, CrisLayoutRowRest rowRest) {
         CrisLayoutRow row = new CrisLayoutRow();
         row.setStyle(rowRest.getStyle());
@@ -7,6 +7,7 @@
  */
 package org.dspace.app.rest.converter;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -59,7 +60,7 @@ public class DiscoverResultConverter {
 
         setRequestInformation(context, query, dsoTypes, configurationName, scope, searchFilters, page, resultsRest);
 
-        addSearchResults(searchResult, resultsRest, projection);
+        addSearchResults(context, searchResult, resultsRest, projection);
 
         addFacetValues(context, searchResult, resultsRest, configuration, projection);
 
@@ -73,8 +74,14 @@ public class DiscoverResultConverter {
         facetConverter.addFacetValues(context, searchResult, resultsRest, configuration, projection);
     }
 
-    private void addSearchResults(final DiscoverResult searchResult, final SearchResultsRest resultsRest,
-                                  final Projection projection) {
+    private void addSearchResults(final Context context, final DiscoverResult searchResult,
+                                  final SearchResultsRest resultsRest, final Projection projection) {
+        List<Object> indexedObjects = new ArrayList<>();
+        for (IndexableObject indexableObject : CollectionUtils.emptyIfNull(searchResult.getIndexableObjects())) {
+            indexedObjects.add(indexableObject.getIndexedObject());
+        }
+        converter.authorizeReadInBatch(context, indexedObjects);
+
         for (IndexableObject dspaceObject : CollectionUtils.emptyIfNull(searchResult.getIndexableObjects())) {
             SearchResultEntryRest resultEntry = new SearchResultEntryRest();
             resultEntry.setProjection(projection);
@@ -0,0 +1,31 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.health;
+
+import org.dspace.storage.bitstore.BitstreamTransferStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health.Builder;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Implementation of {@link HealthIndicator} that exposes the bytes transferred
+ * out of each asset store and the throughput of the reads, as recorded by the
+ * {@link BitstreamTransferStatistics}.
+ */
+public class BitstreamTransfersHealthIndicator extends AbstractHealthIndicator {
+
+    @Autowired
+    private BitstreamTransferStatistics bitstreamTransferStatistics;
+
+    @Override
+    protected void doHealthCheck(Builder builder) throws Exception {
+        builder.up().withDetails(bitstreamTransferStatistics.getStatistics());
+    }
+
+}
@@ -0,0 +1,37 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.health;
+
+import org.dspace.discovery.SearchResultCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health.Builder;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Implementation of {@link HealthIndicator} that exposes the hits, the misses
+ * and the size of the {@link SearchResultCache} of the discovery searches.
+ */
+public class DiscoverySearchCacheHealthIndicator extends AbstractHealthIndicator {
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Override
+    protected void doHealthCheck(Builder builder) throws Exception {
+        long hits = searchResultCache.getHits();
+        long misses = searchResultCache.getMisses();
+        long lookups = hits + misses;
+        builder.up()
+               .withDetail("hits", hits)
+               .withDetail("misses", misses)
+               .withDetail("hitRatio", lookups > 0 ? (double) hits / lookups : 0)
+               .withDetail("size", searchResultCache.getSize());
+    }
+
+}
@@ -14,6 +14,7 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -22,6 +23,7 @@ import org.dspace.app.rest.Parameter;
 import org.dspace.app.rest.SearchRestMethod;
 import org.dspace.app.rest.authorization.Authorization;
 import org.dspace.app.rest.authorization.AuthorizationFeature;
+import org.dspace.app.rest.authorization.AuthorizationFeatureEvaluation;
 import org.dspace.app.rest.authorization.AuthorizationFeatureService;
 import org.dspace.app.rest.authorization.AuthorizationRestUtil;
 import org.dspace.app.rest.converter.ConverterService;
@@ -57,6 +59,9 @@ public class AuthorizationRestRepository extends DSpaceRestRepository<Authorizat
     @Autowired
     private AuthorizationFeatureService authorizationFeatureService;
 
+    @Autowired
+    private AuthorizationFeatureEvaluation authorizationFeatureEvaluation;
+
     @Autowired
     private AuthorizationRestUtil authorizationRestUtil;
 
@@ -207,7 +212,7 @@ public class AuthorizationRestRepository extends DSpaceRestRepository<Authorizat
     private List<Authorization> findAuthorizationsByUUIDList(
         Context context,
         String type, List<String> uuidList, EPerson user,
-        List<String> featureNames) {
+        List<String> featureNames) throws SQLException {
 
         if (featureNames.isEmpty()) {
             return new ArrayList<>();
@@ -219,6 +224,13 @@ public class AuthorizationRestRepository extends DSpaceRestRepository<Authorizat
             .map(uuid -> utils.getBaseObjectRestFromTypeAndUUID(context, type, uuid))
             .collect(Collectors.toList());
 
+        // check the permissions required by the features on all the objects at once
+        List<AuthorizationFeature> features = featureNames.stream()
+            .map(authorizationFeatureService::find)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        authorizationFeatureEvaluation.prepare(context, features, objects);
+
         objects.forEach(object ->
             featureNames.forEach(featureName -> {
                 try {
@@ -29,9 +29,13 @@ import org.dspace.app.rest.model.CrisLayoutTabRest;
 import org.dspace.app.rest.model.patch.Patch;
 import org.dspace.app.rest.repository.patch.ResourcePatch;
 import org.dspace.authorize.AuthorizeException;
+import org.dspace.content.Item;
+import org.dspace.content.service.ItemService;
 import org.dspace.core.Context;
+import org.dspace.layout.CrisLayoutBox;
 import org.dspace.layout.CrisLayoutBoxTypes;
 import org.dspace.layout.CrisLayoutTab;
+import org.dspace.layout.service.CrisLayoutBoxService;
 import org.dspace.layout.service.CrisLayoutTabService;
 import org.dspace.metrics.CrisItemMetricsService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -52,6 +56,8 @@ public class CrisLayoutTabRestRepository extends DSpaceRestRepository<CrisLayout
 
     public static final String SCOPE_ITEM_ATTRIBUTE = "cris-layout-tab.scope-item";
 
+    public static final String BOXES_CONTENT_ATTRIBUTE = "cris-layout-tab.boxes-content";
+
     @Autowired
     private CrisLayoutTabService service;
 
@@ -64,6 +70,12 @@ public class CrisLayoutTabRestRepository extends DSpaceRestRepository<CrisLayout
     @Autowired
     private CrisItemMetricsService metricsService;
 
+    @Autowired
+    private CrisLayoutBoxService boxService;
+
+    @Autowired
+    private ItemService itemService;
+
     @Override
     @PreAuthorize("permitAll")
     public CrisLayoutTabRest findOne(Context context, Integer id) {
@@ -87,8 +99,10 @@ public class CrisLayoutTabRestRepository extends DSpaceRestRepository<CrisLayout
     @SearchRestMethod(name = "findByItem")
     public Page<CrisLayoutTabRest> findByItem(
         @Parameter(value = "uuid", required = true) String itemUuid, Pageable pageable) throws SQLException {
-        List<CrisLayoutTab> tabList = service.findByItem(obtainContext(), itemUuid);
+        Context context = obtainContext();
+        List<CrisLayoutTab> tabList = service.findByItem(context, itemUuid);
         getRequestService().getCurrentRequest().setAttribute(SCOPE_ITEM_ATTRIBUTE, itemUuid);
+        setBoxesContent(context, itemUuid, tabList);
         Page<CrisLayoutTabRest> restTabs = converter.toRestPage(tabList, pageable, utils.obtainProjection());
         restTabs = filterTabWithoutRows(pageable, restTabs);
         return filterBoxesWithMetricsType(restTabs, itemUuid);
@@ -199,6 +213,23 @@ public class CrisLayoutTabRestRepository extends DSpaceRestRepository<CrisLayout
         }
     }
 
+    /**
+     * Evaluate at once whether the boxes of all the tabs have content for the
+     * item, so that the tab converter does not search the content of each box.
+     */
+    private void setBoxesContent(Context context, String itemUuid, List<CrisLayoutTab> tabs) throws SQLException {
+        Item item = itemService.find(context, UUID.fromString(itemUuid));
+        if (item == null) {
+            return;
+        }
+        List<CrisLayoutBox> boxes = tabs.stream()
+            .flatMap(tab -> tab.getBoxes().stream())
+            .distinct()
+            .collect(Collectors.toList());
+        getRequestService().getCurrentRequest()
+            .setAttribute(BOXES_CONTENT_ATTRIBUTE, boxService.hasContent(context, boxes, item));
+    }
+
     private Page<CrisLayoutTabRest> filterTabWithoutRows(Pageable pageable, Page<CrisLayoutTabRest> restTabs) {
         List<CrisLayoutTabRest> listOfTabs = restTabs.filter(tab -> CollectionUtils.isNotEmpty(tab.getRows())).toList();
         return utils.getPage(listOfTabs, pageable);
@@ -220,16 +251,21 @@ public class CrisLayoutTabRestRepository extends DSpaceRestRepository<CrisLayout
                             .equals(CrisLayoutBoxTypes.METRICS.name())))))
             .collect(Collectors.toList());
 
+        if (boxes.isEmpty()) {
+            return utils.getPage(listOfTabs, restTabs.getPageable());
+        }
+
+        List<String> itemMetrics = metricsService.getMetrics(obtainContext(), UUID.fromString(itemUuid))
+            .stream()
+            .map(CrisMetrics::getMetricType)
+            .collect(Collectors.toList());
+
         // Set new metrics for each box
         boxes.forEach(box -> {
             CrisLayoutMetricsConfigurationRest boxConfiguration =
                 ((CrisLayoutMetricsConfigurationRest) box.getConfiguration());
 
             List<String> boxMetrics = boxConfiguration.getMetrics();
-            List<String> itemMetrics = metricsService.getMetrics(obtainContext(), UUID.fromString(itemUuid))
-                .stream()
-                .map(CrisMetrics::getMetricType)
-                .collect(Collectors.toList());
 
             // Inner join metrics of box and item and distinct the results
             boxConfiguration.setMetrics(boxMetrics
@@ -84,6 +84,8 @@ public abstract class JWTTokenHandler {
     private String generatedJwtKey;
     private String generatedEncryptionKey;
 
+    private final VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache();
+
     /**
      * Get the configuration property key for the token secret.
      * @return the configuration property key
@@ -114,6 +116,15 @@ public abstract class JWTTokenHandler {
      */
     protected abstract String getCompressionEnabledConfigurationKey();
 
+    /**
+     * Get the prefix of the configuration property keys of the cache of the verified tokens
+     * (<code>enabled</code>, <code>ttl</code> and <code>max-size</code>).
+     * @return the configuration property key prefix, or null if the tokens are never cached
+     */
+    protected String getTokenCacheConfigurationPrefix() {
+        return null;
+    }
+
     /**
      * Retrieve EPerson from a JSON Web Token (JWT)
      *
@@ -130,6 +141,11 @@ public abstract class JWTTokenHandler {
         if (StringUtils.isBlank(token)) {
             return null;
         }
+        // skip the decryption and the verification of a token already verified for the same session salt
+        EPerson cachedEPerson = parseEPersonFromVerifiedToken(token, request, context);
+        if (cachedEPerson != null) {
+            return cachedEPerson;
+        }
         // parse/decrypt the token
         SignedJWT signedJWT = getSignedJWT(token);
         // get the claims set from the parsed token
@@ -142,6 +158,13 @@ public abstract class JWTTokenHandler {
 
             log.debug("Received valid token for username: " + ePerson.getEmail());
 
+            if (isTokenCacheEnabled()) {
+                String prefix = getTokenCacheConfigurationPrefix();
+                verifiedTokenCache.put(token, ePerson.getID(), jwtClaimsSet, getSalt(jwtClaimsSet, ePerson),
+                                       configurationService.getLongProperty(prefix + ".ttl", 60) * 1000,
+                                       configurationService.getIntProperty(prefix + ".max-size", 10000));
+            }
+
             for (JWTClaimProvider jwtClaimProvider : jwtClaimProviders) {
                 jwtClaimProvider.parseClaim(context, request, jwtClaimsSet);
             }
@@ -153,6 +176,52 @@ public abstract class JWTTokenHandler {
         }
     }
 
+    /**
+     * Retrieve the EPerson of a token found in the cache of the verified tokens, checking that the session salt the
+     * token was signed with is still the current one.
+     * @param token token as a string
+     * @param request current request
+     * @param context current Context
+     * @return the EPerson, or null if the token must be parsed and verified
+     * @throws SQLException
+     */
+    private EPerson parseEPersonFromVerifiedToken(String token, HttpServletRequest request, Context context)
+        throws SQLException {
+        if (!isTokenCacheEnabled()) {
+            return null;
+        }
+        VerifiedTokenCache.VerifiedToken verifiedToken = verifiedTokenCache.get(token);
+        if (verifiedToken == null) {
+            return null;
+        }
+        JWTClaimsSet jwtClaimsSet = verifiedToken.getClaims();
+        EPerson ePerson = getEPerson(context, jwtClaimsSet);
+        if (ePerson == null || !verifiedToken.isSignedWith(getSalt(jwtClaimsSet, ePerson))) {
+            // logged out or salt rotated, maybe on another node
+            verifiedTokenCache.invalidate(token);
+            return null;
+        }
+        for (JWTClaimProvider jwtClaimProvider : jwtClaimProviders) {
+            jwtClaimProvider.parseClaim(context, request, jwtClaimsSet);
+        }
+        return ePerson;
+    }
+
+    private boolean isTokenCacheEnabled() {
+        String prefix = getTokenCacheConfigurationPrefix();
+        return prefix != null && configurationService.getBooleanProperty(prefix + ".enabled", false);
+    }
+
+    /**
+     * Remove the verified tokens of an EPerson from the cache, when its session salt changes.
+     * @param ePerson the EPerson
+     */
+    protected void invalidateVerifiedTokens(EPerson ePerson) {
+        if (ePerson != null) {
+            verifiedTokenCache.invalidate(ePerson.getID());
+        }
+    }
+
     /**
      * Create a JWT with the EPerson details in it
      *
@@ -203,6 +272,7 @@ public abstract class JWTTokenHandler {
             EPerson ePerson = parseEPersonFromToken(token, request, context);
             if (ePerson != null) {
                 ePerson.setSessionSalt("");
+                invalidateVerifiedTokens(ePerson);
             }
 
         }
@@ -220,6 +290,7 @@ public abstract class JWTTokenHandler {
             EPerson ePerson = parseEPersonFromToken(token, request, context);
             if (ePerson != null) {
                 ePerson.setMachineSessionSalt("");
+                invalidateVerifiedTokens(ePerson);
             }
         }
     }
@@ -448,6 +519,7 @@ public abstract class JWTTokenHandler {
                 log.debug("Regenerating auth token as session salt was either empty or expired..");
                 ePerson.setSessionSalt(generateRandomKey());
                 ePersonService.update(context, ePerson);
+                invalidateVerifiedTokens(ePerson);
             }
 
         } catch (AuthorizeException e) {
@@ -464,6 +536,7 @@ public abstract class JWTTokenHandler {
             ePerson = context.getCurrentUser();
             ePerson.setMachineSessionSalt(generateRandomKey());
             ePersonService.update(context, ePerson);
+            invalidateVerifiedTokens(ePerson);
         } catch (AuthorizeException e) {
             ePerson = null;
         }
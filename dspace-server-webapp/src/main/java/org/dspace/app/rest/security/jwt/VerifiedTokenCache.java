@@ -0,0 +1,145 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.security.jwt;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.UUID;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * Bounded cache of the tokens already verified by a {@link JWTTokenHandler}, so that the burst of requests sent by a
+ * client with the same token costs one decryption and one signature verification.
+ * <p>
+ * The tokens are keyed by their SHA-256 digest and mapped to the id of their EPerson, their claims and the digest of
+ * the session salt they were signed with. An entry is only used while the session salt of the EPerson is unchanged,
+ * so a logout or a salt rotation made on any node makes it unusable; it is also removed by the handler in these
+ * cases. The entries expire after the configured TTL or with their token, whichever comes first.
+ */
+public class VerifiedTokenCache {
+
+    /**
+     * The verified tokens, the least recently used first
+     */
+    private final LinkedHashMap<String, VerifiedToken> tokens = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * @param token the serialized token
+     * @return the verified token, or null if it is not cached or expired
+     */
+    public VerifiedToken get(String token) {
+        String digest = DigestUtils.sha256Hex(token);
+        synchronized (tokens) {
+            VerifiedToken verified = tokens.get(digest);
+            if (verified != null && verified.expiration < System.currentTimeMillis()) {
+                tokens.remove(digest);
+                return null;
+            }
+            return verified;
+        }
+    }
+
+    /**
+     * Cache a token whose signature and expiration were verified.
+     *
+     * @param token     the serialized token
+     * @param ePersonId the id of the EPerson of the token
+     * @param claims    the claims of the token
+     * @param salt      the session salt the token was signed with
+     * @param ttl       the time to live of the entry in milliseconds
+     * @param maxSize   the maximum number of cached tokens
+     */
+    public void put(String token, UUID ePersonId, JWTClaimsSet claims, String salt, long ttl, int maxSize) {
+        long expiration = System.currentTimeMillis() + ttl;
+        Date tokenExpiration = claims.getExpirationTime();
+        if (tokenExpiration != null) {
+            expiration = Math.min(expiration, tokenExpiration.getTime());
+        }
+        VerifiedToken verified = new VerifiedToken(ePersonId, claims, DigestUtils.sha256Hex(salt), expiration);
+        synchronized (tokens) {
+            tokens.put(DigestUtils.sha256Hex(token), verified);
+            Iterator<String> oldestFirst = tokens.keySet().iterator();
+            while (tokens.size() > maxSize && oldestFirst.hasNext()) {
+                oldestFirst.next();
+                oldestFirst.remove();
+            }
+        }
+    }
+
+    /**
+     * Remove the tokens of an EPerson, e.g. when its session salt is changed.
+     *
+     * @param ePersonId the id of the EPerson
+     */
+    public void invalidate(UUID ePersonId) {
+        synchronized (tokens) {
+            tokens.values().removeIf(verified -> Objects.equals(verified.ePersonId, ePersonId));
+        }
+    }
+
+    /**
+     * Remove a token.
+     *
+     * @param token the serialized token
+     */
+    public void invalidate(String token) {
+        synchronized (tokens) {
+            tokens.remove(DigestUtils.sha256Hex(token));
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (tokens) {
+            tokens.clear();
+        }
+    }
+
+    public int getSize() {
+        synchronized (tokens) {
+            return tokens.size();
+        }
+    }
+
+    /**
+     * A verified token.
+     */
+    public static class VerifiedToken {
+        private final UUID ePersonId;
+        private final JWTClaimsSet claims;
+        private final String saltDigest;
+        private final long expiration;
+
+        VerifiedToken(UUID ePersonId, JWTClaimsSet claims, String saltDigest, long expiration) {
+            this.ePersonId = ePersonId;
+            this.claims = claims;
+            this.saltDigest = saltDigest;
+            this.expiration = expiration;
+        }
+
+        public UUID getEPersonId() {
+            return ePersonId;
+        }
+
+        public JWTClaimsSet getClaims() {
+            return claims;
+        }
+
+        /**
+         * @param salt the current session salt of the EPerson
+         * @return whether the token was signed with this salt
+         */
+        public boolean isSignedWith(String salt) {
+            return salt != null && saltDigest.equals(DigestUtils.sha256Hex(salt));
+        }
+    }
+
+}
@@ -43,6 +43,8 @@ public class BitstreamResource extends AbstractResource {
     private boolean skipAuthCheck;
     private byte[] file;
     private Set<UUID> currentSpecialGroups;
+    private long offset;
+    private long length = -1;
 
     private BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
     private EPersonService ePersonService = EPersonServiceFactory.getInstance().getEPersonService();
@@ -60,6 +62,24 @@ public class BitstreamResource extends AbstractResource {
         this.skipAuthCheck = skipAuth;
     }
 
+    /**
+     * Restrict the resource to a range of the bitstream, which is read with a ranged read of the bitstore. The range
+     * is ignored when a cover page has to be generated.
+     *
+     * @param offset the position of the first byte of the range
+     * @param length the number of bytes of the range
+     * @return this resource
+     */
+    public BitstreamResource withRange(long offset, long length) {
+        this.offset = offset;
+        this.length = length;
+        return this;
+    }
+
+    private boolean isRange() {
+        return length >= 0 && !shouldGenerateCoverPage;
+    }
+
     /**
      * Get Potential cover page by array, this method should only be called when a coverpage should be generated
      * In case of failure the original file will be returned
@@ -101,6 +121,8 @@ public class BitstreamResource extends AbstractResource {
 
             if (shouldGenerateCoverPage) {
                 out = new ByteArrayInputStream(getCoverpageByteArray(context, bitstream));
+            } else if (isRange()) {
+                out = bitstreamService.retrieve(context, bitstream, offset, length);
             } else {
                 out = bitstreamService.retrieve(context, bitstream);
             }
@@ -119,6 +141,9 @@ public class BitstreamResource extends AbstractResource {
 
     @Override
     public long contentLength() throws IOException {
+        if (isRange()) {
+            return length;
+        }
         try (Context context = initializeContext()) {
             Bitstream bitstream = bitstreamService.find(context, uuid);
             if (shouldGenerateCoverPage) {
@@ -14,6 +14,7 @@ import static javax.mail.internet.MimeUtility.encodeText;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
@@ -22,6 +23,7 @@ import org.apache.tomcat.util.http.FastHttpDateFormat;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 
 /**
  * This class takes data from the Bitstream/File that has to be send. It'll then digest this input and save it in
@@ -55,6 +57,9 @@ public class HttpHeadersInitializer {
     private static final String CONTENT_DISPOSITION = "Content-Disposition";
     private static final String CONTENT_DISPOSITION_FORMAT = "%s;filename=\"%s\"";
     private static final String CACHE_CONTROL = "Cache-Control";
+    private static final String RANGE = "Range";
+    private static final String IF_RANGE = "If-Range";
+    private static final String CONTENT_RANGE = "Content-Range";
 
     private int bufferSize = 1000000;
 
@@ -180,6 +185,37 @@ public class HttpHeadersInitializer {
 
     }
 
+    /**
+     * Get the single byte range requested by the Range header, which can be served with a ranged read of the
+     * Bitstream/File instead of skipping through its whole content.
+     * @return  The requested range, or null if the whole content has to be sent or if several ranges are requested
+     * @throws IllegalArgumentException If the Range header can't be parsed
+     */
+    public HttpRange getRequestedRange() {
+        String range = request.getHeader(RANGE);
+        if (StringUtils.isBlank(range) || METHOD_HEAD.equals(request.getMethod())) {
+            return null;
+        }
+        // If-Range header should contain the ETag, else the whole content is sent
+        String ifRange = request.getHeader(IF_RANGE);
+        if (nonNull(ifRange) && !StringUtils.strip(ifRange, "\"").equals(checksum)) {
+            log.debug("If-Range header doesn't match the ETag, ignoring the Range header.");
+            return null;
+        }
+        List<HttpRange> ranges = HttpRange.parseRanges(range);
+        return ranges.size() == 1 ? ranges.get(0) : null;
+    }
+
+    /**
+     * Add the headers of a response sending a range of the Bitstream/File.
+     * @param httpHeaders   the headers created by {@link #initialiseHeaders()}
+     * @param start         the position of the first byte sent
+     * @param end           the position of the last byte sent
+     */
+    public void initialiseRangeHeaders(HttpHeaders httpHeaders, long start, long end) {
+        httpHeaders.put(CONTENT_RANGE, Collections.singletonList(BYTES + " " + start + "-" + end + "/" + length));
+    }
+
     /**
      * This method will validate whether or not the given Response/Request/Information/Variables are valid.
      * If they're invalid, the Response shouldn't be given.
@@ -41,6 +41,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.io.ByteArrayInputStream;
@@ -315,6 +316,129 @@ public class BitstreamRestControllerIT extends AbstractControllerIntegrationTest
             checkNumberOfStatsRecords(bitstream, 0);
     }
 
+    @Test
+    public void retrieveNotSatisfiableRangeBitstream() throws Exception {
+        createTextBitstream();
+
+        //** WHEN **
+        //We download a range starting after the end of the bitstream
+        getClient().perform(get("/api/core/bitstreams/" + bitstream.getID() + "/content")
+                                .header("Range", "bytes=10-20"))
+
+                   //** THEN **
+                   .andExpect(status().is(416))
+                   //The response should give us the size of the bitstream
+                   .andExpect(header().string("Content-Range", "bytes */10"));
+    }
+
+    @Test
+    public void retrieveSuffixRangeBitstreamWithMatchingIfRange() throws Exception {
+        createTextBitstream();
+
+        //** WHEN **
+        //We download the last bytes of the bitstream with an If-Range matching the ETag
+        getClient().perform(get("/api/core/bitstreams/" + bitstream.getID() + "/content")
+                                .header("Range", "bytes=-2")
+                                .header("If-Range", "\"" + bitstream.getChecksum() + "\""))
+
+                   //** THEN **
+                   .andExpect(status().is(206))
+                   .andExpect(header().longValue("Content-Length", 2))
+                   .andExpect(header().string("Content-Range", "bytes 8-9/10"))
+                   .andExpect(content().bytes("89".getBytes()));
+    }
+
+    /**
+     * Create a public item with a text bitstream of 10 bytes, stored in the bitstream field.
+     */
+    private void createTextBitstream() throws Exception {
+        context.turnOffAuthorisationSystem();
+
+        //** GIVEN **
+        //1. A community-collection structure with one parent community and one collections.
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                                          .withName("Parent Community")
+                                          .build();
+
+        Collection col1 = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection 1").build();
+
+        //2. A public item with a bitstream
+        String bitstreamContent = "0123456789";
+
+        try (InputStream is = IOUtils.toInputStream(bitstreamContent, CharEncoding.UTF_8)) {
+
+            Item publicItem1 = ItemBuilder.createItem(context, col1)
+                                          .withTitle("Public item 1")
+                                          .withIssueDate("2017-10-17")
+                                          .build();
+
+            bitstream = BitstreamBuilder
+                .createBitstream(context, publicItem1, is)
+                .withName("Test bitstream")
+                .withMimeType("text/plain")
+                .build();
+        }
+        context.restoreAuthSystemState();
+    }
+
+    @Test
+    public void retrieveBitstreamWithSendfile() throws Exception {
+        context.turnOffAuthorisationSystem();
+
+        //** GIVEN **
+        //1. A community-collection structure with one parent community and one collections.
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                                          .withName("Parent Community")
+                                          .build();
+
+        Collection col1 = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection 1").build();
+
+        //2. A public item with a bitstream in the local store
+        String bitstreamContent = "0123456789";
+
+        try (InputStream is = IOUtils.toInputStream(bitstreamContent, CharEncoding.UTF_8)) {
+
+            Item publicItem1 = ItemBuilder.createItem(context, col1)
+                                          .withTitle("Public item 1")
+                                          .withIssueDate("2017-10-17")
+                                          .build();
+
+            bitstream = BitstreamBuilder
+                .createBitstream(context, publicItem1, is)
+                .withName("Test bitstream")
+                .withMimeType("text/plain")
+                .build();
+        }
+        context.restoreAuthSystemState();
+
+        //** WHEN **
+        //We download the bitstream from a connector supporting sendfile
+        getClient().perform(get("/api/core/bitstreams/" + bitstream.getID() + "/content")
+                                .requestAttr("org.apache.tomcat.sendfile.support", Boolean.TRUE))
+
+                   //** THEN **
+                   .andExpect(status().isOk())
+                   .andExpect(header().longValue("Content-Length", 10))
+                   //The file is left to the connector instead of being copied in the response
+                   .andExpect(request().attribute("org.apache.tomcat.sendfile.filename", not(nullValue())))
+                   .andExpect(request().attribute("org.apache.tomcat.sendfile.start", 0L))
+                   .andExpect(request().attribute("org.apache.tomcat.sendfile.end", 10L))
+                   .andExpect(content().bytes(new byte[0]));
+
+        //** WHEN **
+        //We download a range of the bitstream from a connector supporting sendfile
+        getClient().perform(get("/api/core/bitstreams/" + bitstream.getID() + "/content")
+                                .requestAttr("org.apache.tomcat.sendfile.support", Boolean.TRUE)
+                                .header("Range", "bytes=1-3"))
+
+                   //** THEN **
+                   .andExpect(status().is(206))
+                   .andExpect(header().longValue("Content-Length", 3))
+                   .andExpect(header().string("Content-Range", "bytes 1-3/10"))
+                   .andExpect(request().attribute("org.apache.tomcat.sendfile.start", 1L))
+                   .andExpect(request().attribute("org.apache.tomcat.sendfile.end", 4L));
+    }
+
     @Test
     public void testBitstreamName() throws Exception {
 
@@ -0,0 +1,111 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.authorization;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.core.Context;
+import org.dspace.eperson.EPerson;
+import org.dspace.services.RequestService;
+import org.dspace.services.model.Request;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Unit tests for {@link AuthorizationFeatureEvaluation}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class AuthorizationFeatureEvaluationTest {
+
+    @InjectMocks
+    private AuthorizationFeatureEvaluation authorizationFeatureEvaluation;
+
+    @Mock
+    private AuthorizeService authorizeService;
+
+    @Mock
+    private RequestService requestService;
+
+    @Mock
+    private Request request;
+
+    @Mock
+    private Context context;
+
+    @Mock
+    private EPerson ePerson;
+
+    @Mock
+    private EPerson otherEPerson;
+
+    private final Map<String, Object> attributes = new HashMap<>();
+
+    @Before
+    public void setUp() throws Exception {
+        lenient().when(requestService.getCurrentRequest()).thenReturn(request);
+        lenient().when(request.getAttribute(anyString()))
+                 .thenAnswer(invocation -> attributes.get(invocation.getArgument(0)));
+        lenient().doAnswer(invocation -> attributes.put(invocation.getArgument(0), invocation.getArgument(1)))
+            .when(request).setAttribute(anyString(), any());
+        lenient().when(context.getCurrentUser()).thenReturn(ePerson);
+        lenient().when(context.getSpecialGroupUuids()).thenReturn(Set.of());
+        when(authorizeService.isComColAdmin(context)).thenReturn(true);
+    }
+
+    @Test
+    public void testFactsAreSharedInTheRequest() throws Exception {
+        assertTrue(authorizationFeatureEvaluation.isComColAdmin(context));
+        assertTrue(authorizationFeatureEvaluation.isComColAdmin(context));
+        verify(authorizeService, times(1)).isComColAdmin(context);
+    }
+
+    @Test
+    public void testFactsAreNotSharedBetweenUsers() throws Exception {
+        assertTrue(authorizationFeatureEvaluation.isComColAdmin(context));
+        when(context.getCurrentUser()).thenReturn(otherEPerson);
+        when(authorizeService.isComColAdmin(context)).thenReturn(false);
+        assertFalse(authorizationFeatureEvaluation.isComColAdmin(context));
+        verify(authorizeService, times(2)).isComColAdmin(context);
+    }
+
+    @Test
+    public void testFactsAreNotSharedBetweenTransactions() throws Exception {
+        assertTrue(authorizationFeatureEvaluation.isComColAdmin(context));
+        // the request committed a change of the permissions
+        when(context.getTransactionNumber()).thenReturn(1L);
+        when(authorizeService.isComColAdmin(context)).thenReturn(false);
+        assertFalse(authorizationFeatureEvaluation.isComColAdmin(context));
+        assertFalse(authorizationFeatureEvaluation.isComColAdmin(context));
+        verify(authorizeService, times(2)).isComColAdmin(context);
+    }
+
+    @Test
+    public void testFactsAreNotMemoizedWithUncommittedChanges() throws Exception {
+        when(context.hasEvents()).thenReturn(true);
+        assertTrue(authorizationFeatureEvaluation.isComColAdmin(context));
+        assertTrue(authorizationFeatureEvaluation.isComColAdmin(context));
+        verify(authorizeService, times(2)).isComColAdmin(context);
+    }
+
+}
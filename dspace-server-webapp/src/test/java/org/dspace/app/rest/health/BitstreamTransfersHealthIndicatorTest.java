@@ -0,0 +1,67 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.health;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anEmptyMap;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+
+import org.dspace.storage.bitstore.BitstreamTransferStatistics;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ * Unit tests for {@link BitstreamTransfersHealthIndicator}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class BitstreamTransfersHealthIndicatorTest {
+
+    @Mock
+    private BitstreamTransferStatistics bitstreamTransferStatistics;
+
+    @InjectMocks
+    private BitstreamTransfersHealthIndicator bitstreamTransfersHealthIndicator;
+
+    @Test
+    public void testWithStatistics() {
+        Map<String, Map<String, Object>> statistics = Map.of("store 0", Map.of("reads", 2L, "readBytes", 20L));
+        when(bitstreamTransferStatistics.getStatistics()).thenReturn(statistics);
+
+        Health health = bitstreamTransfersHealthIndicator.health();
+
+        assertThat(health.getStatus(), is(Status.UP));
+        assertThat(health.getDetails(), is(Map.of("store 0", Map.of("reads", 2L, "readBytes", 20L))));
+    }
+
+    @Test
+    public void testWithoutTransfers() {
+        when(bitstreamTransferStatistics.getStatistics()).thenReturn(Map.of());
+
+        Health health = bitstreamTransfersHealthIndicator.health();
+
+        assertThat(health.getStatus(), is(Status.UP));
+        assertThat(health.getDetails(), anEmptyMap());
+    }
+
+    @Test
+    public void testWithUnexpectedError() {
+        when(bitstreamTransferStatistics.getStatistics()).thenThrow(new RuntimeException("Generic error"));
+
+        Health health = bitstreamTransfersHealthIndicator.health();
+
+        assertThat(health.getStatus(), is(Status.DOWN));
+    }
+}
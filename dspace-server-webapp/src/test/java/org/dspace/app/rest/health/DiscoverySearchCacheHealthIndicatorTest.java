@@ -0,0 +1,65 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.health;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+
+import org.dspace.discovery.SearchResultCache;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ * Unit tests for {@link DiscoverySearchCacheHealthIndicator}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class DiscoverySearchCacheHealthIndicatorTest {
+
+    @Mock
+    private SearchResultCache searchResultCache;
+
+    @InjectMocks
+    private DiscoverySearchCacheHealthIndicator discoverySearchCacheHealthIndicator;
+
+    @Test
+    public void testWithLookups() {
+        when(searchResultCache.getHits()).thenReturn(3L);
+        when(searchResultCache.getMisses()).thenReturn(1L);
+        when(searchResultCache.getSize()).thenReturn(2048L);
+
+        Health health = discoverySearchCacheHealthIndicator.health();
+
+        assertThat(health.getStatus(), is(Status.UP));
+        assertThat(health.getDetails(), is(Map.of("hits", 3L, "misses", 1L, "hitRatio", 0.75, "size", 2048L)));
+    }
+
+    @Test
+    public void testWithoutLookups() {
+        Health health = discoverySearchCacheHealthIndicator.health();
+
+        assertThat(health.getStatus(), is(Status.UP));
+        assertThat(health.getDetails(), is(Map.of("hits", 0L, "misses", 0L, "hitRatio", 0.0, "size", 0L)));
+    }
+
+    @Test
+    public void testWithUnexpectedError() {
+        when(searchResultCache.getHits()).thenThrow(new RuntimeException("Generic error"));
+
+        Health health = discoverySearchCacheHealthIndicator.health();
+
+        assertThat(health.getStatus(), is(Status.DOWN));
+    }
+}
@@ -9,6 +9,8 @@ package org.dspace.app.rest.security.jwt;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.text.ParseException;
@@ -16,6 +18,7 @@ import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 import javax.servlet.http.HttpServletRequest;
 
 import com.nimbusds.jwt.JWTClaimsSet;
@@ -155,4 +158,27 @@ public class JWTTokenHandlerTest {
         assertEquals(null, parsed);
     }
 
+    @Test
+    public void testVerifiedTokenCache() throws Exception {
+        when(configurationService.getBooleanProperty("jwt.login.cache.enabled", false)).thenReturn(true);
+        when(configurationService.getLongProperty("jwt.login.cache.ttl", 60)).thenReturn(60L);
+        when(configurationService.getIntProperty("jwt.login.cache.max-size", 10000)).thenReturn(10000);
+        when(configurationService.getLongProperty("jwt.login.token.expiration", 1800000)).thenReturn(1800000L);
+        when(ePersonClaimProvider.getEPerson(any(Context.class), any(JWTClaimsSet.class))).thenReturn(ePerson);
+        when(ePerson.getID()).thenReturn(UUID.randomUUID());
+        Date previous = new Date(System.currentTimeMillis() - 10000000000L);
+        String token = loginJWTTokenHandler
+            .createTokenForEPerson(context, new MockHttpServletRequest(), previous);
+
+        // the second request with the same token is not verified again
+        assertEquals(ePerson, loginJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+        assertEquals(ePerson, loginJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+        verify(loginJWTTokenHandler, times(1)).isValidToken(any(), any(), any(), any());
+
+        // the cached token is rejected once the session salt changed
+        when(ePerson.getSessionSalt()).thenReturn("98765432109876543210987654321098");
+        assertEquals(null, loginJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+        verify(loginJWTTokenHandler, times(2)).isValidToken(any(), any(), any(), any());
+    }
+
 }